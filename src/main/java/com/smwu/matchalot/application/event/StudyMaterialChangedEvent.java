@@ -0,0 +1,29 @@
+package com.smwu.matchalot.application.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 족보 승인/거절/삭제 등으로 목록 구성이 바뀌었음을 알림 (캐시 무효화 등)
+ */
+@Getter
+public class StudyMaterialChangedEvent extends ApplicationEvent {
+    private final Long materialId;
+    private final Long uploaderId;
+    private final String subject;
+    private final String examType;
+    private final String changeType;
+    // 승인된 족보 목록에 추가/제거가 있었는지 (대기 족보 거절/삭제는 false)
+    private final boolean approvedListChanged;
+
+    public StudyMaterialChangedEvent(Object source, Long materialId, Long uploaderId, String subject, String examType,
+                                     String changeType, boolean approvedListChanged) {
+        super(source);
+        this.materialId = materialId;
+        this.uploaderId = uploaderId;
+        this.subject = subject;
+        this.examType = examType;
+        this.changeType = changeType;
+        this.approvedListChanged = approvedListChanged;
+    }
+}
@@ -0,0 +1,21 @@
+package com.smwu.matchalot.application.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Map;
+
+/**
+ * 과목 이름 변경 알림. 목록/facet/자동완성/매칭 대기열에 과목명이 들어 있으므로 캐시와 색인을 다시 만든다.
+ * 다른 인스턴스에서 바뀐 경우에도 주기적 재로드에서 차이를 발견하면 발행된다.
+ */
+@Getter
+public class SubjectRenamedEvent extends ApplicationEvent {
+    // 예전 이름 -> 새 이름
+    private final Map<String, String> renamedNames;
+
+    public SubjectRenamedEvent(Object source, Map<String, String> renamedNames) {
+        super(source);
+        this.renamedNames = Map.copyOf(renamedNames);
+    }
+}
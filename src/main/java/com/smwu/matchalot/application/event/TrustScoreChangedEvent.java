@@ -0,0 +1,19 @@
+package com.smwu.matchalot.application.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 사용자 신뢰도 변경 알림 (업로더 신뢰도가 포함된 목록 캐시 무효화 등)
+ */
+@Getter
+public class TrustScoreChangedEvent extends ApplicationEvent {
+    private final Long userId;
+    private final int trustScore;
+
+    public TrustScoreChangedEvent(Object source, Long userId, int trustScore) {
+        super(source);
+        this.userId = userId;
+        this.trustScore = trustScore;
+    }
+}
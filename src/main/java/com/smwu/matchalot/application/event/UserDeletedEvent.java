@@ -0,0 +1,20 @@
+package com.smwu.matchalot.application.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 사용자 탈퇴/강제 탈퇴 커밋 후 알림.
+ * 업로드한 족보와 참여한 매칭은 DB cascade로 함께 지워지므로 메모리 색인/캐시는 이 이벤트로 정리한다.
+ */
+@Getter
+public class UserDeletedEvent extends ApplicationEvent {
+    private final Long userId;
+    private final String email;
+
+    public UserDeletedEvent(Object source, Long userId, String email) {
+        super(source);
+        this.userId = userId;
+        this.email = email;
+    }
+}
@@ -0,0 +1,135 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.StudyMaterialChangedEvent;
+import com.smwu.matchalot.application.event.SubjectRenamedEvent;
+import com.smwu.matchalot.application.event.TrustScoreChangedEvent;
+import com.smwu.matchalot.application.event.UserDeletedEvent;
+import com.smwu.matchalot.domain.model.vo.Email;
+import com.smwu.matchalot.domain.model.vo.UserId;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 목록 조건부 GET(ETag/Last-Modified)용 버전.
+ * 전체 목록 버전은 승인된 목록 변경/신뢰도 변경/탈퇴/과목명 변경마다, 사용자별 버전은 그 사용자의 족보/신뢰도 변경마다 증가한다.
+ * 관리자 목록(승인 대기 포함)은 따로 버전을 두고 ETag도 달리 해 일반 목록 응답과 검증자가 섞이지 않게 한다.
+ * 이벤트는 모두 커밋 후에 발행되므로 증가 직후 다시 조회하면 바뀐 목록을 읽는다.
+ * ETag에 기동 시각(epoch)을 넣어 재시작 후 이전 ETag와 섞이지 않게 한다.
+ */
+@Service
+public class CatalogVersionService {
+
+    private static final int MAX_TRACKED_USERS = 10_000;
+    private static final String ADMIN_SUFFIX = "-admin";
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicReference<CatalogVersion> catalogVersion = new AtomicReference<>(initial());
+    private final AtomicReference<CatalogVersion> adminCatalogVersion = new AtomicReference<>(initial(ADMIN_SUFFIX));
+    private final Map<Long, CatalogVersion> userVersions = new ConcurrentHashMap<>();
+    // 로그인 정보에는 이메일만 있으므로 한 번 조회한 사용자 ID를 기억해 두고 DB 없이 버전을 확인
+    private final Map<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+
+    public record CatalogVersion(long counter, String etag, Instant lastModified) {
+    }
+
+    public CatalogVersion catalogVersion() {
+        return catalogVersion.get();
+    }
+
+    // 관리자가 필터 없이 보는 전체 상태 목록용
+    public CatalogVersion adminCatalogVersion() {
+        return adminCatalogVersion.get();
+    }
+
+    // 처음 보는 사용자면 null (DB 조회 후 rememberUser)
+    public CatalogVersion userVersion(Email email) {
+        Long userId = userIdsByEmail.get(email.value());
+        return userId != null ? userVersion(userId) : null;
+    }
+
+    public CatalogVersion userVersion(Long userId) {
+        return userVersions.computeIfAbsent(userId, id -> initial());
+    }
+
+    public void rememberUser(Email email, UserId userId) {
+        if (userIdsByEmail.size() >= MAX_TRACKED_USERS) {
+            userIdsByEmail.clear();
+        }
+        userIdsByEmail.put(email.value(), userId.value());
+    }
+
+    @EventListener
+    public void onStudyMaterialChanged(StudyMaterialChangedEvent event) {
+        // 승인 대기 업로드/거절은 공개 목록을 바꾸지 않음 (관리자 목록과 본인 목록만)
+        if (event.isApprovedListChanged()) {
+            catalogVersion.updateAndGet(current -> next(current, ""));
+        }
+        adminCatalogVersion.updateAndGet(current -> next(current, ADMIN_SUFFIX));
+        bumpUser(event.getUploaderId());
+    }
+
+    // 목록 행에 업로더 신뢰도가 포함됨
+    @EventListener
+    public void onTrustScoreChanged(TrustScoreChangedEvent event) {
+        bumpCatalog();
+        bumpUser(event.getUserId());
+    }
+
+    // 탈퇴한 사용자의 족보가 cascade로 목록에서 빠짐. 같은 이메일로 재가입하면 새 ID로 다시 조회해야 함
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        bumpCatalog();
+        userVersions.remove(event.getUserId());
+        if (event.getEmail() != null) {
+            userIdsByEmail.remove(event.getEmail(), event.getUserId());
+        }
+    }
+
+    // 목록/내 족보 응답의 과목명이 바뀜 -> 전체와 모든 사용자 버전 증가
+    @EventListener
+    public void onSubjectRenamed(SubjectRenamedEvent event) {
+        bumpCatalog();
+        userVersions.replaceAll((id, current) -> next(current));
+    }
+
+    private void bumpCatalog() {
+        catalogVersion.updateAndGet(current -> next(current, ""));
+        adminCatalogVersion.updateAndGet(current -> next(current, ADMIN_SUFFIX));
+    }
+
+    private void bumpUser(Long userId) {
+        if (userId != null) {
+            userVersions.compute(userId, (id, current) -> next(current != null ? current : initial()));
+        }
+    }
+
+    private CatalogVersion initial() {
+        return initial("");
+    }
+
+    private CatalogVersion initial(String suffix) {
+        return version(0, Instant.now().truncatedTo(ChronoUnit.SECONDS), suffix);
+    }
+
+    // HTTP 날짜는 초 단위라 같은 초에 두 번 바뀌면 If-Modified-Since만 보내는 클라이언트가 304를 받음
+    // -> 이전 버전보다 최소 1초 뒤로 올림 (변경이 몰리면 잠시 현재 시각보다 앞설 수 있음)
+    private CatalogVersion next(CatalogVersion current) {
+        return next(current, "");
+    }
+
+    private CatalogVersion next(CatalogVersion current, String suffix) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant lastModified = now.isAfter(current.lastModified()) ? now : current.lastModified().plusSeconds(1);
+        return version(current.counter() + 1, lastModified, suffix);
+    }
+
+    private CatalogVersion version(long counter, Instant lastModified, String suffix) {
+        return new CatalogVersion(counter, "\"" + epoch + "." + counter + suffix + "\"", lastModified);
+    }
+}
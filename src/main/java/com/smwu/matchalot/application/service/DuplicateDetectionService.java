@@ -0,0 +1,205 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.StudyMaterialChangedEvent;
+import com.smwu.matchalot.application.event.UserDeletedEvent;
+import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+import com.smwu.matchalot.domain.model.vo.DuplicateCandidate;
+import com.smwu.matchalot.domain.model.vo.MinHashSignature;
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+import com.smwu.matchalot.domain.repository.MaterialSignatureRepository;
+import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 중복 족보 탐지. 업로드 시 문제 내용의 MinHash 서명을 만들고 메모리 LSH band 색인에서
+ * 같은 버킷에 걸린 족보만 유사도를 비교한다 (전체 족보와 쌍대 비교하지 않음).
+ * 서명은 study_material_signature에 저장해 재시작 시 색인을 복원한다.
+ * 족보 행이 커밋된 뒤에만 색인하고, 삭제/탈퇴 cascade로 사라진 족보는 색인에서 뺀다.
+ */
+@Service
+@Slf4j
+public class DuplicateDetectionService {
+
+    private final MaterialSignatureRepository signatureRepository;
+    private final StudyMaterialRepository studyMaterialRepository;
+    private final double threshold;
+
+    // band 버킷 키 -> 족보 ID 목록
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+    private final Map<Long, MinHashSignature> signatures = new HashMap<>();
+    // 탈퇴 시 cascade로 지워지는 족보를 찾기 위한 업로더별 족보 ID
+    private final Map<Long, Long> uploaderById = new HashMap<>();
+    private final Map<Long, Set<Long>> idsByUploader = new HashMap<>();
+
+    public DuplicateDetectionService(MaterialSignatureRepository signatureRepository,
+                                     StudyMaterialRepository studyMaterialRepository,
+                                     @Value("${app.duplicate.similarity-threshold:0.8}") double threshold) {
+        this.signatureRepository = signatureRepository;
+        this.studyMaterialRepository = studyMaterialRepository;
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSignatures() {
+        signatureRepository.findAllSignatures()
+                .doOnNext(tuple -> index(tuple.getT1().value(), tuple.getT2().value(), tuple.getT3()))
+                .count()
+                .doOnNext(count -> log.info("중복 탐지 색인 로드 완료: {}건", count))
+                // 서명 테이블 생성 이전에 올라온 족보 보충
+                .thenMany(signatureRepository.findMaterialIdsWithoutSignature())
+                .concatMap(id -> studyMaterialRepository.findById(id).flatMap(this::register))
+                .count()
+                .subscribe(
+                        count -> {
+                            if (count > 0) {
+                                log.info("중복 탐지 서명 보충 완료: {}건", count);
+                            }
+                        },
+                        error -> log.error("중복 탐지 색인 로드 실패", error));
+    }
+
+    /**
+     * 새 족보의 서명을 저장/색인하고 중복 의심 족보를 기록한다.
+     * 비교 대상은 LSH 버킷 후보뿐이라 족보 수가 늘어도 업로드당 비용은 거의 일정하다.
+     * 족보 저장 트랜잭션이 커밋된 뒤에 호출해야 한다 (색인된 ID는 다른 업로드의 중복 목록에 FK로 기록됨).
+     */
+    public Mono<List<DuplicateCandidate>> register(StudyMaterial material) {
+        StudyMaterialId id = material.getId();
+        MinHashSignature signature = MinHashSignature.of(material.getQuestions());
+        List<DuplicateCandidate> duplicates =
+                findSimilarAndIndex(id.value(), material.getUploaderId().value(), signature);
+
+        return signatureRepository.saveSignature(id, signature)
+                .doOnError(error -> remove(id.value()))
+                .then(signatureRepository.saveDuplicates(id, duplicates))
+                .doOnSuccess(ignored -> {
+                    if (!duplicates.isEmpty()) {
+                        log.info("중복 의심 족보 탐지: ID={}, 후보={}", id.value(), duplicates.size());
+                    }
+                })
+                .thenReturn(duplicates);
+    }
+
+    // 일괄 업로드용: 서명/중복 목록을 각각 다중 행 INSERT 한 번으로 저장 (같은 묶음 안의 중복도 탐지)
+    public Mono<Map<StudyMaterialId, List<DuplicateCandidate>>> registerAll(List<StudyMaterial> materials) {
+        Map<StudyMaterialId, MinHashSignature> signaturesById = new LinkedHashMap<>();
+        Map<StudyMaterialId, List<DuplicateCandidate>> duplicatesById = new LinkedHashMap<>();
+        for (StudyMaterial material : materials) {
+            MinHashSignature signature = MinHashSignature.of(material.getQuestions());
+            signaturesById.put(material.getId(), signature);
+            duplicatesById.put(material.getId(), findSimilarAndIndex(
+                    material.getId().value(), material.getUploaderId().value(), signature));
+        }
+        return signatureRepository.saveSignatures(signaturesById)
+                .doOnError(error -> signaturesById.keySet().forEach(id -> remove(id.value())))
+                .then(signatureRepository.saveDuplicates(duplicatesById))
+                .thenReturn(duplicatesById);
+    }
+
+    public Mono<Map<Long, List<DuplicateCandidate>>> getDuplicates(Collection<StudyMaterialId> materialIds) {
+        return signatureRepository.findDuplicates(materialIds);
+    }
+
+    @EventListener
+    public void onStudyMaterialChanged(StudyMaterialChangedEvent event) {
+        // 거절된 족보는 재업로드 탐지에 쓰이도록 남겨 둠
+        if ("DELETED".equals(event.getChangeType())) {
+            remove(event.getMaterialId());
+        }
+    }
+
+    // 탈퇴한 이용자의 족보는 DB에서 cascade로 지워짐 -> 남겨 두면 이후 중복 목록 저장이 없는 ID를 가리킴
+    @EventListener
+    public synchronized void onUserDeleted(UserDeletedEvent event) {
+        Set<Long> ids = idsByUploader.get(event.getUserId());
+        if (ids != null) {
+            List.copyOf(ids).forEach(this::remove);
+        }
+    }
+
+    // 후보 조회와 색인을 한 번에: 같은 내용이 동시에 올라와도 나중 족보는 먼저 족보를 후보로 본다
+    private synchronized List<DuplicateCandidate> findSimilarAndIndex(Long id, Long uploaderId,
+                                                                      MinHashSignature signature) {
+        List<DuplicateCandidate> duplicates = findSimilar(id, signature);
+        index(id, uploaderId, signature);
+        return duplicates;
+    }
+
+    private synchronized List<DuplicateCandidate> findSimilar(Long id, MinHashSignature signature) {
+        if (signature.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < MinHashSignature.BANDS; band++) {
+            List<Long> bucket = buckets.get(signature.bandKey(band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(id);
+
+        List<DuplicateCandidate> duplicates = new ArrayList<>();
+        for (Long candidateId : candidates) {
+            double similarity = signature.similarity(signatures.get(candidateId));
+            if (similarity >= threshold) {
+                duplicates.add(DuplicateCandidate.of(StudyMaterialId.of(candidateId), similarity));
+            }
+        }
+        duplicates.sort(Comparator.comparingDouble(DuplicateCandidate::similarity).reversed());
+        return duplicates;
+    }
+
+    private synchronized void index(Long id, Long uploaderId, MinHashSignature signature) {
+        remove(id);
+        // 문제 본문이 비어 있는 족보끼리 100% 유사로 묶이지 않도록 색인하지 않음
+        if (signature.isEmpty()) {
+            return;
+        }
+        signatures.put(id, signature);
+        uploaderById.put(id, uploaderId);
+        idsByUploader.computeIfAbsent(uploaderId, key -> new HashSet<>()).add(id);
+        for (int band = 0; band < MinHashSignature.BANDS; band++) {
+            buckets.computeIfAbsent(signature.bandKey(band), key -> new ArrayList<>(2)).add(id);
+        }
+    }
+
+    private synchronized void remove(Long id) {
+        MinHashSignature signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        Long uploaderId = uploaderById.remove(id);
+        Set<Long> uploaded = idsByUploader.get(uploaderId);
+        if (uploaded != null) {
+            uploaded.remove(id);
+            if (uploaded.isEmpty()) {
+                idsByUploader.remove(uploaderId);
+            }
+        }
+        for (int band = 0; band < MinHashSignature.BANDS; band++) {
+            long key = signature.bandKey(band);
+            List<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.smwu.matchalot.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smwu.matchalot.domain.model.vo.IdempotentResponse;
+import com.smwu.matchalot.domain.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더 처리. 같은 사용자가 같은 키로 다시 보낸 요청은 처음 응답을 그대로 돌려주고
+ * 검증/INSERT/알림을 다시 실행하지 않는다.
+ * 최근 키는 메모리 LRU에서 바로 응답하고, 없으면 idempotency_key 테이블을 한 번 조회한다.
+ * 2xx 응답만 저장하며, 실패하거나 클라이언트가 끊은 요청은 선점을 풀어 같은 키로 다시 시도할 수 있다.
+ * 처리 중에는 claim-timeout의 1/3마다 선점을 갱신하므로 오래 걸리는 업로드도 선점을 잃지 않고,
+ * 선점을 풀지 못하고 죽은 경우에만 claim-timeout 동안 갱신이 끊긴 선점을 다시 선점할 수 있다.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final int cacheSize;
+    private final Counter replayed;
+
+    // owner + 키 -> 완료된 응답 (접근 순서 LRU)
+    private final LinkedHashMap<String, IdempotentResponse> recent = new LinkedHashMap<>(256, 0.75f, true);
+    private volatile Disposable cleanupLoop;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.claim-timeout:30s}") Duration claimTimeout,
+                              @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.cacheSize = cacheSize;
+        this.replayed = Counter.builder("idempotency.replayed")
+                .description("Idempotency-Key 재시도로 저장된 응답을 돌려준 횟수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCleanupLoop() {
+        cleanupLoop = Flux.interval(CLEANUP_INTERVAL)
+                .onBackpressureDrop()
+                .concatMap(tick -> idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl))
+                        .doOnNext(count -> {
+                            if (count > 0) {
+                                log.info("만료된 Idempotency-Key {}건 삭제", count);
+                            }
+                        })
+                        .onErrorResume(error -> {
+                            log.error("Idempotency-Key 정리 실패", error);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopCleanupLoop() {
+        if (cleanupLoop != null) {
+            cleanupLoop.dispose();
+        }
+    }
+
+    /**
+     * key가 없으면 action을 그대로 실행.
+     * 같은 키가 다른 요청(scope)에 쓰였으면 422, 처음 요청이 아직 처리 중이면 409,
+     * 저장된 응답을 읽을 수 없으면 500.
+     */
+    public <T> Mono<ResponseEntity<T>> execute(String ownerEmail, String key, String scope, Class<T> bodyType,
+                                               Supplier<Mono<ResponseEntity<T>>> action) {
+        if (key == null) {
+            return Mono.defer(action);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        String cacheKey = ownerEmail + '\n' + key;
+
+        IdempotentResponse cached = getRecent(cacheKey);
+        if (cached != null) {
+            return Mono.just(replay(cached, scope, bodyType));
+        }
+        return idempotencyKeyRepository.find(ownerEmail, key)
+                .filter(stored -> stored.createdAt().isAfter(LocalDateTime.now().minus(ttl)))
+                // 처리 중인 키는 선점을 시도해 봄 (갱신이 끊긴 선점이면 DB에서 다시 선점됨)
+                .filter(stored -> stored.isCompleted() || !stored.requestScope().equals(scope))
+                .map(stored -> {
+                    if (stored.isCompleted()) {
+                        putRecent(cacheKey, stored);
+                    }
+                    return replay(stored, scope, bodyType);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    String claimToken = UUID.randomUUID().toString();
+                    return idempotencyKeyRepository.claim(ownerEmail, key, scope, claimToken,
+                                    LocalDateTime.now().minus(claimTimeout))
+                            .flatMap(claimed -> claimed
+                                    ? runAndStore(ownerEmail, key, cacheKey, scope, claimToken, action)
+                                    // 같은 키의 처음 요청이 아직 처리 중
+                                    : Mono.just(ResponseEntity.<T>status(HttpStatus.CONFLICT).build()));
+                }));
+    }
+
+    private <T> Mono<ResponseEntity<T>> runAndStore(String ownerEmail, String key, String cacheKey, String scope,
+                                                    String claimToken, Supplier<Mono<ResponseEntity<T>>> action) {
+        // action이 끝나거나(성공/실패/취소) 할 때까지 선점 갱신
+        return Mono.using(() -> startHeartbeat(ownerEmail, key, claimToken), heartbeat -> Mono.defer(action),
+                        Disposable::dispose)
+                .flatMap(response -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        return idempotencyKeyRepository.release(ownerEmail, key, claimToken).thenReturn(response);
+                    }
+                    String body = serialize(response.getBody());
+                    IdempotentResponse stored = new IdempotentResponse(
+                            scope, response.getStatusCode().value(), body, LocalDateTime.now());
+                    return idempotencyKeyRepository.complete(ownerEmail, key, claimToken, stored.status(), body)
+                            .doOnNext(completed -> {
+                                if (completed) {
+                                    putRecent(cacheKey, stored);
+                                } else {
+                                    // 그 사이 다른 요청이 다시 선점함: DB에 없는 응답은 캐시하지 않음
+                                    log.warn("Idempotency-Key 선점을 잃어 응답을 저장하지 못했습니다: scope={}", scope);
+                                }
+                            })
+                            .thenReturn(response);
+                })
+                .onErrorResume(error -> idempotencyKeyRepository.release(ownerEmail, key, claimToken)
+                        .then(Mono.error(error)))
+                // 클라이언트가 끊으면 응답을 저장하지 못하므로 선점을 풀어 재시도를 막지 않음 (구독이 취소돼 따로 실행)
+                .doOnCancel(() -> idempotencyKeyRepository.release(ownerEmail, key, claimToken)
+                        .subscribe(null, error -> log.warn("취소된 요청의 Idempotency-Key 선점 해제 실패: {}", key, error)));
+    }
+
+    private Disposable startHeartbeat(String ownerEmail, String key, String claimToken) {
+        Duration every = claimTimeout.dividedBy(3);
+        return Flux.interval(every, every)
+                .onBackpressureDrop()
+                .concatMap(tick -> idempotencyKeyRepository.renew(ownerEmail, key, claimToken)
+                        .onErrorResume(error -> {
+                            log.warn("Idempotency-Key 선점 갱신 실패: {}", key, error);
+                            return Mono.just(true);
+                        }))
+                .subscribe(renewed -> {
+                    if (!renewed) {
+                        log.warn("Idempotency-Key 선점을 잃었습니다: {}", key);
+                    }
+                });
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotentResponse stored, String scope, Class<T> bodyType) {
+        if (!stored.requestScope().equals(scope)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+        if (!stored.isCompleted()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        T body;
+        try {
+            body = deserialize(stored.body(), bodyType);
+        } catch (JsonProcessingException e) {
+            // 재시도한 클라이언트 잘못이 아니므로 409가 아닌 500
+            log.error("저장된 Idempotency 응답을 읽을 수 없습니다: scope={}", scope, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        replayed.increment();
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(body);
+    }
+
+    private synchronized IdempotentResponse getRecent(String cacheKey) {
+        IdempotentResponse cached = recent.get(cacheKey);
+        if (cached != null && cached.createdAt().isBefore(LocalDateTime.now().minus(ttl))) {
+            recent.remove(cacheKey);
+            return null;
+        }
+        return cached;
+    }
+
+    private synchronized void putRecent(String cacheKey, IdempotentResponse response) {
+        recent.put(cacheKey, response);
+        if (recent.size() > cacheSize) {
+            Map.Entry<String, IdempotentResponse> eldest = recent.entrySet().iterator().next();
+            recent.remove(eldest.getKey());
+        }
+    }
+
+    private String serialize(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 저장 실패", e);
+        }
+    }
+
+    private <T> T deserialize(String body, Class<T> bodyType) throws JsonProcessingException {
+        if (body == null) {
+            return null;
+        }
+        return objectMapper.readValue(body, bodyType);
+    }
+}
@@ -0,0 +1,141 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.domain.model.entity.Match;
+import com.smwu.matchalot.domain.model.vo.MatchId;
+import com.smwu.matchalot.domain.repository.MatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 진행 중 매칭을 만료 시각에 정확히(tick 단위) 만료시키고 양쪽 참여자에게 실시간 알림을 보낸다.
+ * 기동 시 진행 중 매칭의 만료 시각을 한 번 읽어 타이머 휠에 올리고, 이후에는 요청/수락/거절/완료 시점에
+ * 직접 등록/취소하므로 만료 시각을 찾는 주기 조회가 없다.
+ * 휠은 인스턴스 메모리에만 있으므로 다른 인스턴스에서 생긴 매칭이나 놓친 만료는 MatchExpirySweeper가 정리한다.
+ */
+@Service
+@Slf4j
+public class MatchExpiryScheduler {
+
+    private static final int EXPIRE_BATCH_SIZE = 1000;
+
+    private final MatchRepository matchRepository;
+    private final NotificationService notificationService;
+    private final MatchInboxCounterService matchInboxCounterService;
+    private final MaterialAccessService materialAccessService;
+    private final Duration tick;
+    private final MatchExpiryWheel wheel;
+    private final Counter expiredCounter;
+
+    private volatile Disposable tickLoop;
+
+    public MatchExpiryScheduler(MatchRepository matchRepository,
+                                NotificationService notificationService,
+                                MatchInboxCounterService matchInboxCounterService,
+                                MaterialAccessService materialAccessService,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.match.expiry.tick:1s}") Duration tick,
+                                @Value("${app.match.expiry.wheel-slots:4096}") int wheelSlots) {
+        this.matchRepository = matchRepository;
+        this.notificationService = notificationService;
+        this.matchInboxCounterService = matchInboxCounterService;
+        this.materialAccessService = materialAccessService;
+        this.tick = tick;
+        this.wheel = new MatchExpiryWheel(tick.toMillis(), wheelSlots, System.currentTimeMillis());
+
+        this.expiredCounter = Counter.builder("matches.expiry.timer.expired")
+                .description("만료 타이머로 만료된 매칭 수")
+                .register(meterRegistry);
+        Gauge.builder("matches.expiry.timer.scheduled", wheel, MatchExpiryWheel::size)
+                .description("만료 타이머에 등록된 진행 중 매칭 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        matchRepository.findActiveMatches()
+                .doOnNext(this::schedule)
+                .count()
+                .doOnNext(count -> log.info("만료 타이머 적재: 진행 중 매칭 {}건", count))
+                .onErrorResume(error -> {
+                    log.error("만료 타이머 적재 실패 (주기 정리로 대체됨)", error);
+                    return Mono.empty();
+                })
+                .subscribe();
+
+        tickLoop = Flux.interval(tick)
+                .onBackpressureDrop()
+                .concatMap(t -> expireDue()
+                        .onErrorResume(error -> {
+                            log.error("매칭 만료 처리 실패", error);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (tickLoop != null) {
+            tickLoop.dispose();
+        }
+    }
+
+    // 진행 중 매칭이면 만료 시각에 등록(재등록 시 이전 등록 대체), 끝난 매칭이면 취소
+    public void schedule(Match match) {
+        if (match.getId() == null) {
+            return;
+        }
+        if (!match.getStatus().isActive()) {
+            cancel(match.getId());
+            return;
+        }
+        long deadlineMillis = match.getExpiredAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        wheel.schedule(match.getId().value(), deadlineMillis);
+    }
+
+    public void cancel(MatchId matchId) {
+        wheel.cancel(matchId.value());
+    }
+
+    private Mono<Void> expireDue() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return Mono.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // 그 사이 수락/완료/거절된 매칭은 UPDATE 조건에서 빠지므로 실제로 만료된 행만 알림
+        return Flux.fromIterable(due)
+                .map(MatchId::of)
+                .buffer(EXPIRE_BATCH_SIZE)
+                .concatMap(ids -> matchRepository.expireDue(ids, now)
+                        .doOnNext(matchInboxCounterService::evict)
+                        .doOnNext(materialAccessService::evict)
+                        .collectList())
+                .filter(expired -> !expired.isEmpty())
+                .concatMap(expired -> {
+                    expiredCounter.increment(expired.size());
+                    log.info("매칭 만료: {}건", expired.size());
+                    return notificationService.notifyMatchesExpired(expired)
+                            .onErrorResume(error -> {
+                                log.warn("매칭 만료 알림 실패: {}건", expired.size(), error);
+                                return Mono.empty();
+                            })
+                            .then();
+                })
+                .then();
+    }
+}
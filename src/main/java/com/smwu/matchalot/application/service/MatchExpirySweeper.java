@@ -0,0 +1,114 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.domain.repository.MatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 만료 시각이 지난 진행 중(PENDING/ACCEPTED) 매칭을 주기적으로 EXPIRED로 바꾼다.
+ * 행마다 읽고 저장하지 않고 UPDATE 한 번에 batchSize건씩 처리하므로,
+ * 시험 다음 날 아침처럼 만료가 몰려도 한 배치의 비용은 일정하다.
+ */
+@Service
+@Slf4j
+public class MatchExpirySweeper {
+
+    private final MatchRepository matchRepository;
+    private final MatchInboxCounterService matchInboxCounterService;
+    private final MaterialAccessService materialAccessService;
+    private final Duration sweepInterval;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Timer sweepTimer;
+    private final DistributionSummary rowsPerRun;
+    private final Counter expiredTotal;
+
+    private volatile Disposable sweepLoop;
+
+    public MatchExpirySweeper(MatchRepository matchRepository,
+                              MatchInboxCounterService matchInboxCounterService,
+                              MaterialAccessService materialAccessService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.match.expiry.sweep-interval:1m}") Duration sweepInterval,
+                              @Value("${app.match.expiry.batch-size:1000}") int batchSize,
+                              @Value("${app.match.expiry.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.matchRepository = matchRepository;
+        this.matchInboxCounterService = matchInboxCounterService;
+        this.materialAccessService = materialAccessService;
+        this.sweepInterval = sweepInterval;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        this.sweepTimer = Timer.builder("matches.expiry.sweep.duration")
+                .description("만료 매칭 정리 1회 소요 시간")
+                .register(meterRegistry);
+        this.rowsPerRun = DistributionSummary.builder("matches.expiry.sweep.rows")
+                .description("만료 매칭 정리 1회에 만료된 매칭 수")
+                .register(meterRegistry);
+        this.expiredTotal = Counter.builder("matches.expiry.expired")
+                .description("만료 처리된 매칭 누적 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweepLoop() {
+        sweepLoop = Flux.interval(sweepInterval, sweepInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sweep()
+                        .onErrorResume(error -> {
+                            log.error("만료 매칭 정리 실패", error);
+                            return Mono.just(0L);
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopSweepLoop() {
+        if (sweepLoop != null) {
+            sweepLoop.dispose();
+        }
+    }
+
+    /**
+     * 배치를 batchSize보다 적게 만료될 때까지(또는 maxBatchesPerRun번) 반복. 반환값은 만료된 매칭 수.
+     * 남은 행은 다음 주기에 이어서 처리한다.
+     */
+    public Mono<Long> sweep() {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            LocalDateTime now = LocalDateTime.now();
+
+            return Flux.range(0, maxBatchesPerRun)
+                    .concatMap(batch -> matchRepository.expireOverdue(now, batchSize)
+                            .doOnNext(matchInboxCounterService::evict)
+                            .doOnNext(materialAccessService::evict)
+                            .count())
+                    .takeUntil(expired -> expired < batchSize)
+                    .reduce(0L, Long::sum)
+                    .doOnNext(total -> {
+                        sweepTimer.record(Duration.ofNanos(System.nanoTime() - startNanos));
+                        rowsPerRun.record(total);
+                        expiredTotal.increment(total);
+                        if (total > 0) {
+                            log.info("만료 매칭 정리: {}건, {}ms", total,
+                                    Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+                        }
+                    });
+        });
+    }
+}
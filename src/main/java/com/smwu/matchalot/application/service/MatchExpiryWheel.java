@@ -0,0 +1,85 @@
+package com.smwu.matchalot.application.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매칭 만료 시각용 해시 타이머 휠. 슬롯 = 절대 tick % 슬롯 수.
+ * 등록/취소는 O(1)이고, tick마다 해당 슬롯 하나만 훑어 만료 tick이 된 항목을 꺼낸다
+ * (한 바퀴보다 먼 항목은 슬롯에 남아 다음 바퀴에 다시 확인됨).
+ * 매칭 하나당 항목 하나, 재등록하면 이전 항목은 무효가 된다(슬롯에서는 지나갈 때 버림).
+ * 등록/진행 모두 짧은 임계 구역이라 모니터 락 하나로 충분하다.
+ */
+final class MatchExpiryWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Entry>[] slots;
+    private final Map<Long, Entry> entriesByMatch = new HashMap<>();
+    // 여기까지의 tick은 처리 완료
+    private long currentTick;
+
+    private record Entry(long matchId, long deadlineTick) {
+    }
+
+    @SuppressWarnings("unchecked")
+    MatchExpiryWheel(long tickMillis, int slotCount, long nowMillis) {
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("슬롯 수는 2의 거듭제곱이어야 합니다: " + slotCount);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = slotCount - 1;
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    // 이미 지난 만료 시각이면 다음 tick에 만료
+    synchronized void schedule(long matchId, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Entry entry = new Entry(matchId, deadlineTick);
+        entriesByMatch.put(matchId, entry);
+        slots[(int) (deadlineTick & mask)].add(entry);
+    }
+
+    synchronized boolean cancel(long matchId) {
+        return entriesByMatch.remove(matchId) != null;
+    }
+
+    synchronized int size() {
+        return entriesByMatch.size();
+    }
+
+    /**
+     * nowMillis까지 지난 tick들의 슬롯을 훑어 만료된 매칭 ID를 반환.
+     * 멈춰 있던 시간이 한 바퀴 이상이면 모든 슬롯을 한 번씩만 훑는다.
+     */
+    synchronized List<Long> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        if (nowTick <= currentTick) {
+            return List.of();
+        }
+        long steps = Math.min(nowTick - currentTick, slots.length);
+        List<Long> due = new ArrayList<>();
+        for (long i = 1; i <= steps; i++) {
+            List<Entry> slot = slots[(int) ((currentTick + i) & mask)];
+            slot.removeIf(entry -> {
+                if (entriesByMatch.get(entry.matchId()) != entry) {
+                    return true; // 취소/재등록된 항목
+                }
+                if (entry.deadlineTick() > nowTick) {
+                    return false;
+                }
+                entriesByMatch.remove(entry.matchId());
+                due.add(entry.matchId());
+                return true;
+            });
+        }
+        currentTick = nowTick;
+        return due;
+    }
+}
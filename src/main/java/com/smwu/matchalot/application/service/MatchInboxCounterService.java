@@ -0,0 +1,88 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.StudyMaterialChangedEvent;
+import com.smwu.matchalot.application.event.UserDeletedEvent;
+import com.smwu.matchalot.domain.model.entity.Match;
+import com.smwu.matchalot.domain.model.vo.Email;
+import com.smwu.matchalot.domain.model.vo.MatchInboxCounters;
+import com.smwu.matchalot.domain.model.vo.UserId;
+import com.smwu.matchalot.domain.repository.MatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매칭 배지용 카운터(받은/보낸 대기 중 요청 수) 조회.
+ * 값은 DB 트리거가 user_match_counters에 유지하고, 여기서는 사용자별로 메모리에 캐시만 한다.
+ * 요청/수락/거절/만료로 대기 중 매칭이 바뀌면 커밋 후 양쪽 사용자 캐시를 지워 다음 조회에서 한 행만 다시 읽는다.
+ * 다른 인스턴스에서 바뀐 값은 지울 수 없으므로 ttl이 지나면 다시 읽는다.
+ */
+@Service
+@Slf4j
+public class MatchInboxCounterService {
+
+    // 캐시가 이 수를 넘으면 비우고 다시 채움
+    private static final int MAX_CACHED_USERS = 50_000;
+
+    private final MatchRepository matchRepository;
+    private final long ttlNanos;
+
+    private final Map<Email, UserId> userIdByEmail = new ConcurrentHashMap<>();
+    private final Map<UserId, CachedCounters> countersByUser = new ConcurrentHashMap<>();
+
+    private record CachedCounters(MatchInboxCounters counters, long loadedAtNanos) {
+    }
+
+    public MatchInboxCounterService(MatchRepository matchRepository,
+                                    @Value("${app.match.inbox-counter-ttl:30s}") Duration ttl) {
+        this.matchRepository = matchRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Mono<MatchInboxCounters> getCounters(Email email) {
+        UserId userId = userIdByEmail.get(email);
+        if (userId != null) {
+            CachedCounters cached = countersByUser.get(userId);
+            if (cached != null && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+                return Mono.just(cached.counters());
+            }
+        }
+        return matchRepository.findInboxCountersByEmail(email)
+                .doOnNext(counters -> {
+                    if (countersByUser.size() >= MAX_CACHED_USERS) {
+                        countersByUser.clear();
+                        userIdByEmail.clear();
+                    }
+                    userIdByEmail.put(email, counters.userId());
+                    countersByUser.put(counters.userId(), new CachedCounters(counters, System.nanoTime()));
+                });
+    }
+
+    // 대기 중 매칭 수가 바뀐 매칭: 요청자/수신자 캐시 삭제
+    public void evict(Match match) {
+        countersByUser.remove(match.getRequesterId());
+        countersByUser.remove(match.getReceiverId());
+    }
+
+    // 족보 삭제 시 매칭이 cascade로 지워지므로 누가 영향받는지 알 수 없어 전체 삭제 (드묾)
+    @EventListener
+    public void onStudyMaterialChanged(StudyMaterialChangedEvent event) {
+        if ("DELETED".equals(event.getChangeType())) {
+            countersByUser.clear();
+        }
+    }
+
+    // 탈퇴한 사용자 캐시 삭제 (같은 이메일로 다시 가입하면 새 ID로 읽도록)
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        UserId userId = UserId.of(event.getUserId());
+        countersByUser.remove(userId);
+        userIdByEmail.remove(Email.of(event.getEmail()), userId);
+    }
+}
@@ -0,0 +1,156 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+import com.smwu.matchalot.domain.model.vo.UserId;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 한 (과목, 시험종류)의 매칭 대기열. 족보 하나당 주문 하나.
+ * 신뢰도 높은 순, 같으면 먼저 등록한 순으로 정렬해 서로 다른 사용자끼리 앞에서부터 짝짓는다
+ * (비슷한 신뢰도끼리 묶이고 오래 기다린 주문이 먼저 나감).
+ * 갱신/짝짓기 모두 짧은 임계 구역이라 책마다 모니터 락 하나로 충분하다.
+ */
+final class MatchOrderBook {
+
+    // DB에서 거부된 족보 쌍(이미 교환한 쌍 등) 기억 한도
+    private static final int MAX_SKIPPED_PAIRS = 10_000;
+
+    private static final Comparator<Order> PRIORITY = Comparator
+            .comparingInt(Order::trustScore).reversed()
+            .thenComparing(Order::queuedAt)
+            .thenComparingLong(order -> order.materialId().value());
+
+    private final Map<Long, Order> ordersByMaterial = new HashMap<>();
+    private final Set<PairKey> skippedPairs = new HashSet<>();
+    // 짝지어져 저장 중인 족보. 그 사이 취소/삭제되면 여기서 빠져 restore 대상에서 제외됨
+    private final Set<Long> inFlight = new HashSet<>();
+
+    record Order(UserId userId, String nickname, StudyMaterialId materialId, String materialTitle,
+                 int trustScore, LocalDateTime queuedAt) {
+        Order withTrustScore(int trustScore) {
+            return new Order(userId, nickname, materialId, materialTitle, trustScore, queuedAt);
+        }
+    }
+
+    // first가 우선순위가 높은 쪽 (매칭 요청자)
+    record Pairing(Order first, Order second) {
+        PairKey key() {
+            return PairKey.of(first.materialId().value(), second.materialId().value());
+        }
+    }
+
+    private record PairKey(long low, long high) {
+        static PairKey of(long a, long b) {
+            return a < b ? new PairKey(a, b) : new PairKey(b, a);
+        }
+    }
+
+    // 이미 대기 중인 족보면 false
+    synchronized boolean add(Order order) {
+        if (inFlight.contains(order.materialId().value())) {
+            return false;
+        }
+        return ordersByMaterial.putIfAbsent(order.materialId().value(), order) == null;
+    }
+
+    synchronized Order remove(StudyMaterialId materialId) {
+        inFlight.remove(materialId.value());
+        return ordersByMaterial.remove(materialId.value());
+    }
+
+    synchronized void updateTrustScore(UserId userId, int trustScore, boolean participable) {
+        ordersByMaterial.values().removeIf(order -> !participable && order.userId().equals(userId));
+        ordersByMaterial.replaceAll((materialId, order) -> order.userId().equals(userId)
+                ? order.withTrustScore(trustScore)
+                : order);
+    }
+
+    synchronized List<Order> ordersOf(UserId userId) {
+        return ordersByMaterial.values().stream()
+                .filter(order -> order.userId().equals(userId))
+                .toList();
+    }
+
+    // 대기 중인 주문 전체 (짝지어져 저장 중인 주문 제외)
+    synchronized List<Order> orders() {
+        return List.copyOf(ordersByMaterial.values());
+    }
+
+    synchronized int size() {
+        return ordersByMaterial.size();
+    }
+
+    /**
+     * 최대 maxPairs개의 짝을 만들고 해당 주문을 대기열에서 뺀다.
+     * 저장에 실패하거나 거부된 짝은 restore/reject로 되돌린다.
+     */
+    synchronized List<Pairing> drainPairs(int maxPairs) {
+        if (ordersByMaterial.size() < 2) {
+            return List.of();
+        }
+        List<Order> sorted = new ArrayList<>(ordersByMaterial.values());
+        sorted.sort(PRIORITY);
+
+        boolean[] used = new boolean[sorted.size()];
+        List<Pairing> pairings = new ArrayList<>();
+        for (int i = 0; i < sorted.size() && pairings.size() < maxPairs; i++) {
+            if (used[i]) {
+                continue;
+            }
+            Order first = sorted.get(i);
+            for (int j = i + 1; j < sorted.size(); j++) {
+                Order second = sorted.get(j);
+                if (used[j] || second.userId().equals(first.userId())) {
+                    continue;
+                }
+                Pairing pairing = new Pairing(first, second);
+                if (skippedPairs.contains(pairing.key())) {
+                    continue;
+                }
+                used[i] = true;
+                used[j] = true;
+                pairings.add(pairing);
+                break;
+            }
+        }
+        for (Pairing pairing : pairings) {
+            for (Order order : List.of(pairing.first(), pairing.second())) {
+                ordersByMaterial.remove(order.materialId().value());
+                inFlight.add(order.materialId().value());
+            }
+        }
+        return pairings;
+    }
+
+    // 매칭 저장 완료
+    synchronized void complete(Pairing pairing) {
+        inFlight.remove(pairing.first().materialId().value());
+        inFlight.remove(pairing.second().materialId().value());
+    }
+
+    // 저장 실패: 다음 주기에 다시 시도 (그 사이 취소된 주문은 되돌리지 않음)
+    synchronized void restore(Pairing pairing) {
+        for (Order order : List.of(pairing.first(), pairing.second())) {
+            if (inFlight.remove(order.materialId().value())) {
+                ordersByMaterial.putIfAbsent(order.materialId().value(), order);
+            }
+        }
+    }
+
+    // 이미 매칭된 적 있는 쌍: 다시 짝짓지 않도록 기억하고 주문은 되돌림
+    synchronized void reject(Pairing pairing) {
+        if (skippedPairs.size() >= MAX_SKIPPED_PAIRS) {
+            skippedPairs.clear();
+        }
+        skippedPairs.add(pairing.key());
+        restore(pairing);
+    }
+}
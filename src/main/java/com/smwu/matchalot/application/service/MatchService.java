@@ -2,11 +2,13 @@ package com.smwu.matchalot.application.service;
 
 import com.smwu.matchalot.application.event.MatchEvent;
 import com.smwu.matchalot.domain.model.entity.Match;
-import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+import com.smwu.matchalot.domain.model.entity.User;
 import com.smwu.matchalot.domain.model.vo.*;
 import com.smwu.matchalot.domain.repository.MatchRepository;
 import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
 import com.smwu.matchalot.domain.repository.UserRepository;
+import com.smwu.matchalot.web.dto.MatchResponse;
+import com.smwu.matchalot.web.dto.StudyMaterialSummaryResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -15,7 +17,13 @@ import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,13 +37,18 @@ public class MatchService {
     private final ApplicationEventPublisher eventPublisher;
     private final TransactionalOperator transactionalOperator;
     private final NotificationService notificationService;
+    private final MatchExpiryScheduler matchExpiryScheduler;
+    private final MatchInboxCounterService matchInboxCounterService;
+    private final MaterialAccessService materialAccessService;
 
     public Mono<Match> requestMatch(UserId requesterId, StudyMaterialId requesterMaterialId, UserId receiverId, StudyMaterialId receiverMaterialId) {
         long startTime = System.currentTimeMillis();
         log.info("🚀 requestMatch 시작 - requesterId: {}, requesterMaterialId: {}, receiverId: {}, receiverMaterialId: {}", 
             requesterId.value(), requesterMaterialId.value(), receiverId.value(), receiverMaterialId.value());
         
-        return transactionalOperator.transactional(validateMatchRequest(requesterId, requesterMaterialId, receiverId, receiverMaterialId)
+        // 같은 족보 쌍의 자동 매칭/다른 요청과 겹치지 않도록 확인 전에 쌍 잠금
+        return transactionalOperator.transactional(matchRepository.lockMaterialPairs(List.of(List.of(requesterMaterialId, receiverMaterialId)))
+                .then(validateMatchRequest(requesterId, requesterMaterialId, receiverId, receiverMaterialId))
                 .doOnSuccess(v -> log.info("⏱️ Validation completed in {}ms", 
                     System.currentTimeMillis() - startTime))
                 .doOnError(ex -> log.error("❌ Validation 실패: {}", ex.getMessage()))
@@ -47,6 +60,7 @@ public class MatchService {
                     return matchRepository.save(newMatch)
                             .doOnNext(match -> log.info("💾 Match 저장 완료 - id: {}, status: {}", 
                                 match.getId() != null ? match.getId().value() : "null", match.getStatus()))
+                            .doOnNext(matchExpiryScheduler::schedule)
                             .flatMap(match -> {
                                 long eventStart = System.currentTimeMillis();
                                 log.info("⏱️ Match saved to DB in {}ms", eventStart - startTime);
@@ -73,157 +87,245 @@ public class MatchService {
                                         });
                             });
                 })
-        )       .doOnError(error -> log.error("매칭 요청 실패", error));
+        )       .doOnNext(matchInboxCounterService::evict) // 커밋 후 배지 카운터 캐시 갱신
+                .doOnError(error -> log.error("매칭 요청 실패", error));
+    }
+
+    // 일괄 매칭 요청 결과: 요청 순서대로의 대상 + 생성된 매칭 + 요청하지 못한 상대 족보별 사유
+    public record BatchMatchResult(List<StudyMaterialId> targets, List<Match> created,
+                                   Map<StudyMaterialId, String> rejected) {
+    }
+
+    /**
+     * 내 족보 하나로 여러 족보에 한 번에 매칭 요청.
+     * 요청자 검증 1번, 대상 족보/중복 확인 각 1쿼리, 매칭 INSERT 1번, 알림 INSERT 1번 (전체 한 트랜잭션).
+     */
+    public Mono<BatchMatchResult> requestMatches(UserId requesterId, StudyMaterialId requesterMaterialId,
+                                                 List<StudyMaterialId> receiverMaterialIds) {
+        List<StudyMaterialId> targets = receiverMaterialIds.stream().distinct().toList();
+        List<StudyMaterialId> lookupIds = new ArrayList<>(targets);
+        lookupIds.add(requesterMaterialId);
+
+        return transactionalOperator.transactional(userRepository.findById(requesterId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("요청자 정보를 찾을 수 없습니다")))
+                .flatMap(requester -> {
+                    if (!requester.participableInMatch()) {
+                        return Mono.error(new IllegalStateException("매칭에 참여할 수 없는 상태입니다. 신뢰도를 확인해주세요."));
+                    }
+                    return studyMaterialRepository.findApprovedUploaderIds(lookupIds)
+                            .flatMap(uploaders -> {
+                                if (!requesterId.equals(uploaders.get(requesterMaterialId))) {
+                                    return Mono.error(new IllegalStateException("본인의 승인된 족보로만 매칭을 요청할 수 있습니다."));
+                                }
+                                Map<StudyMaterialId, String> rejected = new LinkedHashMap<>();
+                                Map<StudyMaterialId, UserId> receivers = new LinkedHashMap<>();
+                                for (StudyMaterialId target : targets) {
+                                    UserId receiverId = uploaders.get(target);
+                                    if (receiverId == null) {
+                                        rejected.put(target, "족보를 찾을 수 없습니다.");
+                                    } else if (receiverId.equals(requesterId)) {
+                                        rejected.put(target, "본인과는 매칭할 수 없습니다");
+                                    } else {
+                                        receivers.put(target, receiverId);
+                                    }
+                                }
+                                List<List<StudyMaterialId>> pairs = receivers.keySet().stream()
+                                        .map(target -> List.of(requesterMaterialId, target))
+                                        .toList();
+                                return matchRepository.lockMaterialPairs(pairs)
+                                        .thenMany(matchRepository.findActiveCounterpartMaterialIds(requesterId, requesterMaterialId, receivers.keySet()))
+                                        .collectList()
+                                        .flatMap(duplicates -> {
+                                            duplicates.forEach(duplicate -> {
+                                                receivers.remove(duplicate);
+                                                rejected.put(duplicate, "이미 진행 중인 매칭이 있습니다");
+                                            });
+                                            List<Match> newMatches = receivers.entrySet().stream()
+                                                    .map(entry -> new Match(requesterId, entry.getValue(), requesterMaterialId, entry.getKey()))
+                                                    .toList();
+                                            return matchRepository.saveAllSkippingExisting(newMatches)
+                                                    .doOnNext(matchExpiryScheduler::schedule)
+                                                    .collectList();
+                                        })
+                                        .flatMap(created -> {
+                                            // 중복 확인 이후 동시에 생긴 매칭 / 이미 완료된 교환은 INSERT에서 걸러짐
+                                            Set<StudyMaterialId> createdTargets = created.stream()
+                                                    .map(Match::getReceiverMaterialId)
+                                                    .collect(Collectors.toSet());
+                                            receivers.keySet().stream()
+                                                    .filter(target -> !createdTargets.contains(target))
+                                                    .forEach(target -> rejected.put(target, "이미 매칭된 족보입니다"));
+
+                                            return notificationService.notifyMatchRequestsReceived(requester.getNickname(), created)
+                                                    .then(Mono.just(new BatchMatchResult(targets, created, rejected)));
+                                        });
+                            });
+                }))
+                .doOnNext(result -> result.created().forEach(matchInboxCounterService::evict))
+                .doOnNext(result -> log.info("일괄 매칭 요청: 요청자={}, 대상 {}건, 생성 {}건",
+                        requesterId.value(), targets.size(), result.created().size()))
+                .doOnError(error -> log.error("일괄 매칭 요청 실패", error));
     }
 
     public Mono<Match> acceptMatch(MatchId matchId, UserId userId) {
         long startTime = System.currentTimeMillis();
-        
-        return matchRepository.findById(matchId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("매칭을 찾을 수 없습니다")))
-                .flatMap(match -> {
+
+        // 조건부 UPDATE 한 번으로 전이. 0행이면 그때만 다시 읽어 원인에 맞는 오류로 변환
+        return matchRepository.acceptIfPending(matchId, userId)
+                .switchIfEmpty(Mono.defer(() -> transitionFailure(matchId, match -> {
                     if (!match.getReceiverId().equals(userId)) {
-                        return Mono.error(new IllegalStateException("매칭을 수락할 권한이 없습니다"));
+                        throw new IllegalStateException("매칭을 수락할 권한이 없습니다");
                     }
-                    Match acceptedMatch = match.accept();
-                    return matchRepository.save(acceptedMatch)
-                            .doOnNext(m -> {
-                                long eventStart = System.currentTimeMillis();
-                                log.info("Match accepted and saved in {}ms",
-                                    eventStart - startTime);
-                                
-                                eventPublisher.publishEvent(new MatchEvent(
-                                        this,
-                                        match.getRequesterId().value().toString(),
-                                        "MATCH_ACCEPTED",
-                                        Map.of(
-                                                "matchId", m.getId().value(),
-                                                "accepterId", userId.value()
-                                        )
-                                ));
-                                
-                                log.info("Accept event published in {}ms",
-                                    System.currentTimeMillis() - eventStart);
-                                log.info("Total match accept processing time: {}ms",
-                                    System.currentTimeMillis() - startTime);
-                            });
+                    match.accept();
+                })))
+                .doOnNext(matchExpiryScheduler::schedule)
+                .doOnNext(matchInboxCounterService::evict)
+                .doOnNext(materialAccessService::evict)
+                .doOnNext(m -> {
+                    long eventStart = System.currentTimeMillis();
+                    log.info("Match accepted and saved in {}ms",
+                        eventStart - startTime);
+
+                    eventPublisher.publishEvent(new MatchEvent(
+                            this,
+                            m.getRequesterId().value().toString(),
+                            "MATCH_ACCEPTED",
+                            Map.of(
+                                    "matchId", m.getId().value(),
+                                    "accepterId", userId.value()
+                            )
+                    ));
+
+                    log.info("Accept event published in {}ms",
+                        System.currentTimeMillis() - eventStart);
+                    log.info("Total match accept processing time: {}ms",
+                        System.currentTimeMillis() - startTime);
                 });
     }
 
     public Mono<Match> rejectMatch(MatchId matchId, UserId userId) {
-        return matchRepository.findById(matchId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("매칭을 찾을 수 없습니다")))
-                .flatMap(match -> {
+        return matchRepository.rejectIfPending(matchId, userId)
+                .switchIfEmpty(Mono.defer(() -> transitionFailure(matchId, match -> {
                     if (!match.getReceiverId().equals(userId)) {
-                        return Mono.error(new IllegalStateException("매칭을 거절할 권한이 없습니다"));
+                        throw new IllegalStateException("매칭을 거절할 권한이 없습니다");
                     }
-                    Match rejectedMatch = match.reject();
-                    return matchRepository.save(rejectedMatch)
-                            .doOnNext(m -> {
-                                eventPublisher.publishEvent(new MatchEvent(
-                                        this,
-                                        match.getRequesterId().value().toString(),
-                                        "MATCH_REJECTED",
-                                        Map.of(
-                                                "matchId", m.getId().value(),
-                                                "rejecterId", userId.value()
-                                        )
-                                ));
-                            });
+                    match.reject();
+                })))
+                .doOnNext(matchExpiryScheduler::schedule)
+                .doOnNext(matchInboxCounterService::evict)
+                .doOnNext(m -> {
+                    eventPublisher.publishEvent(new MatchEvent(
+                            this,
+                            m.getRequesterId().value().toString(),
+                            "MATCH_REJECTED",
+                            Map.of(
+                                    "matchId", m.getId().value(),
+                                    "rejecterId", userId.value()
+                            )
+                    ));
                 });
     }
 
     public Mono<Match> completeMatch(MatchId matchId, UserId userId) {
+        // 동시에 두 번 완료해도 조건부 UPDATE는 한 번만 성공 -> 신뢰도 반영/알림도 한 번만
         return transactionalOperator.transactional(
-            matchRepository.findById(matchId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("매칭을 찾을 수 없습니다")))
-                .flatMap(match -> {
+            matchRepository.completeIfAccepted(matchId, userId)
+                .switchIfEmpty(Mono.defer(() -> transitionFailure(matchId, match -> {
                     if (!match.isParticipant(userId)) {
-                        return Mono.error(new IllegalStateException("매칭 참여자가 아닙니다"));
-                    }
-                    if (match.getStatus() != MatchStatus.ACCEPTED) {
-                        return Mono.error(new IllegalStateException("수락된 매칭만 완료할 수 있습니다"));
+                        throw new IllegalStateException("매칭 참여자가 아닙니다");
                     }
+                    match.complete();
+                })))
+                .doOnNext(matchExpiryScheduler::schedule)
+                .flatMap(m -> {
+                    Mono<List<User>> updateScores = Flux.merge(
+                            userService.updateTrustScore(m.getRequesterId(), true),
+                            userService.updateTrustScore(m.getReceiverId(), true)
+                    ).collectList();
 
-                    Match completedMatch = match.complete();
-                    return matchRepository.save(completedMatch)
-                            .flatMap(m -> {
-                                Mono<Void> updateRequesterScore = userService.updateTrustScore(
-                                        match.getRequesterId(), true).then();
-                                Mono<Void> updateReceiverScore = userService.updateTrustScore(
-                                        match.getReceiverId(), true).then();
+                    // 양쪽 사용자에게 매칭 완료 알림 생성
+                    Mono<Void> notifyRequester = userRepository.findById(m.getReceiverId())
+                            .flatMap(receiver -> studyMaterialRepository.findById(m.getRequesterMaterialId())
+                                    .flatMap(material -> notificationService.notifyMatchCompleted(
+                                            m.getRequesterId(),
+                                            receiver.getNickname(),
+                                            material.getTitle(),
+                                            m.getId().value()
+                                    )))
+                            .then();
 
-                                // 양쪽 사용자에게 매칭 완료 알림 생성
-                                Mono<Void> notifyRequester = userRepository.findById(match.getReceiverId())
-                                        .flatMap(receiver -> studyMaterialRepository.findById(match.getRequesterMaterialId())
-                                                .flatMap(material -> notificationService.notifyMatchCompleted(
-                                                        match.getRequesterId(),
-                                                        receiver.getNickname(),
-                                                        material.getTitle(),
-                                                        m.getId().value()
-                                                )))
-                                        .then();
-                                
-                                Mono<Void> notifyReceiver = userRepository.findById(match.getRequesterId())
-                                        .flatMap(requester -> studyMaterialRepository.findById(match.getReceiverMaterialId())
-                                                .flatMap(material -> notificationService.notifyMatchCompleted(
-                                                        match.getReceiverId(),
-                                                        requester.getNickname(),
-                                                        material.getTitle(),
-                                                        m.getId().value()
-                                                )))
-                                        .then();
+                    Mono<Void> notifyReceiver = userRepository.findById(m.getRequesterId())
+                            .flatMap(requester -> studyMaterialRepository.findById(m.getReceiverMaterialId())
+                                    .flatMap(material -> notificationService.notifyMatchCompleted(
+                                            m.getReceiverId(),
+                                            requester.getNickname(),
+                                            material.getTitle(),
+                                            m.getId().value()
+                                    )))
+                            .then();
 
-                                return Mono.when(updateRequesterScore, updateReceiverScore, notifyRequester, notifyReceiver)
-                                        .thenReturn(m);
-                            })
-                            .doOnNext(m -> {
-                                // 매칭 완료 이벤트 발행 (양쪽 모두에게 알림)
-                                String otherUserId = userId.equals(match.getRequesterId()) 
-                                    ? match.getReceiverId().value().toString()
-                                    : match.getRequesterId().value().toString();
-                                
-                                eventPublisher.publishEvent(new MatchEvent(
-                                        this,
-                                        otherUserId,
-                                        "MATCH_COMPLETED",
-                                        Map.of(
-                                                "matchId", m.getId().value(),
-                                                "completedBy", userId.value(),
-                                                "trustScoreUpdated", true
-                                        )
-                                ));
-                                
-                                log.info("✅ 매칭 완료: matchId={}, completedBy={}", 
-                                    m.getId().value(), userId.value());
-                            });
+                    return Mono.when(notifyRequester, notifyReceiver)
+                            .then(updateScores)
+                            .map(scoredUsers -> new CompletedMatch(m, scoredUsers));
+                })
+                .doOnNext(completed -> {
+                    Match m = completed.match();
+                    // 매칭 완료 이벤트 발행 (양쪽 모두에게 알림)
+                    String otherUserId = m.getOtherParticipant(userId).value().toString();
+
+                    eventPublisher.publishEvent(new MatchEvent(
+                            this,
+                            otherUserId,
+                            "MATCH_COMPLETED",
+                            Map.of(
+                                    "matchId", m.getId().value(),
+                                    "completedBy", userId.value(),
+                                    "trustScoreUpdated", true
+                            )
+                    ));
+
+                    log.info("✅ 매칭 완료: matchId={}, completedBy={}",
+                        m.getId().value(), userId.value());
                 })
-        );
+        )
+        // 커밋 후: 목록 캐시/버전이 바뀐 신뢰도를 읽도록 이벤트 발행, 열람 권한 집합 갱신
+        .doOnNext(completed -> completed.scoredUsers().forEach(userService::publishTrustScoreChanged))
+        .map(CompletedMatch::match)
+        .doOnNext(materialAccessService::evict);
     }
 
+    private record CompletedMatch(Match match, List<User> scoredUsers) {
+    }
 
-    public Flux<StudyMaterial> findPotentialMatches(UserId userId, StudyMaterialId materialId) {
-        return studyMaterialRepository.findById(materialId)
-                .flatMapMany(material -> {
-                    return studyMaterialRepository.findBySubjectAndExamType(
-                            material.getSubject(),
-                            material.getExamType()
-                    ).filter(m -> !m.getUploaderId().equals(userId));
+    // 조건부 전이가 0행일 때: 현재 상태로 도메인 검증을 다시 돌려 알맞은 예외를 낸다
+    private Mono<Match> transitionFailure(MatchId matchId, Consumer<Match> validation) {
+        return matchRepository.findById(matchId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("매칭을 찾을 수 없습니다")))
+                .flatMap(match -> {
+                    validation.accept(match);
+                    // 검증은 통과했지만 UPDATE 시점에는 조건이 달랐음 (다른 기기에서 동시에 처리)
+                    return Mono.error(new IllegalStateException("매칭 상태가 이미 변경되었습니다. 새로고침 후 다시 시도해주세요."));
                 });
     }
 
-    public Flux<Match> getReceivedRequests(UserId userId) {
-        return matchRepository.findByReceiverId(userId)
-                .filter(match -> match.getStatus() == MatchStatus.PENDING);
+
+    // 같은 과목/시험의 교환 후보를 신뢰도·최신순으로 (진행 중 매칭 상대 족보 제외, 쿼리 1번)
+    public Flux<StudyMaterialSummaryResponse> findPotentialMatches(UserId userId, StudyMaterialId materialId,
+                                                                   PotentialMatchCursor cursor, int limit) {
+        return studyMaterialRepository.findPotentialMatchesWithUploader(userId, materialId, cursor, limit);
+    }
+
+    // 목록 조회는 모두 사용자 조회 + 닉네임/족보 제목까지 쿼리 1번
+    public Flux<MatchResponse> getReceivedRequests(Email email) {
+        return matchRepository.findReceivedRequestListByEmail(email);
     }
 
-    public Flux<Match> getSentRequests(UserId userId) {
-        return matchRepository.findByRequesterId(userId)
-                .filter(match -> match.getStatus() == MatchStatus.PENDING);
+    public Flux<MatchResponse> getSentRequests(Email email) {
+        return matchRepository.findSentRequestListByEmail(email);
     }
 
-    public Flux<Match> getMyMatches(UserId userId) {
-        return matchRepository.findByUserIdInvolved(userId);
+    public Flux<MatchResponse> getMyMatches(Email email) {
+        return matchRepository.findMatchListByEmail(email);
     }
 
     private Mono<Void> validateMatchRequest(UserId requesterId, StudyMaterialId requesterMaterialId, UserId receiverId, StudyMaterialId receiverMaterialId) {
@@ -263,18 +365,7 @@ public class MatchService {
                 .hasElement();
     }
 
-    public Flux<Match> getActiveMatches(UserId userId) {
-        return matchRepository.findByUserIdInvolved(userId)
-                .filter(match -> match.getStatus().isActive())
-                .filter(match -> !match.isExpired());
-    }
-
-
-    public Mono<Long> cleanupExpiredMatches() {
-        return transactionalOperator.transactional(
-            matchRepository.findExpiredMatches()
-                .flatMap(match -> matchRepository.save(match.expire()))
-                .count()
-        );
+    public Flux<MatchResponse> getActiveMatches(Email email) {
+        return matchRepository.findActiveMatchListByEmail(email);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,314 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.MatchEvent;
+import com.smwu.matchalot.application.event.StudyMaterialChangedEvent;
+import com.smwu.matchalot.application.event.SubjectRenamedEvent;
+import com.smwu.matchalot.application.event.TrustScoreChangedEvent;
+import com.smwu.matchalot.application.service.MatchOrderBook.Order;
+import com.smwu.matchalot.application.service.MatchOrderBook.Pairing;
+import com.smwu.matchalot.domain.model.entity.Match;
+import com.smwu.matchalot.domain.model.vo.*;
+import com.smwu.matchalot.domain.repository.MatchRepository;
+import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import com.smwu.matchalot.domain.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 자동 매칭 엔진. (과목, 시험종류)마다 교환 상대를 기다리는 족보 대기열(MatchOrderBook)을 두고,
+ * 주기적으로 모든 대기열에서 짝을 만들어 대기열 단위로 한 번에 매칭을 저장한다.
+ * 처리량은 사용자가 누르는 요청 수가 아니라 대기열 수에 비례한다.
+ * 대기열은 인스턴스마다 메모리에만 있는 best-effort 대기열이라 인스턴스끼리 공유되지 않고, 재시작하면 다시 등록해야 한다.
+ */
+@Service
+@Slf4j
+public class MatchmakingService {
+
+    private static final Duration MATCH_INTERVAL = Duration.ofSeconds(5);
+    // 한 주기에 대기열 하나에서 만드는 최대 매칭 수 (= 한 번의 INSERT 크기)
+    private static final int MAX_PAIRS_PER_BOOK = 200;
+    private static final int BOOK_CONCURRENCY = 4;
+
+    private final StudyMaterialRepository studyMaterialRepository;
+    private final UserRepository userRepository;
+    private final MatchRepository matchRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MatchExpiryScheduler matchExpiryScheduler;
+    private final MaterialAccessService materialAccessService;
+    private final MatchInboxCounterService matchInboxCounterService;
+    private final TransactionalOperator transactionalOperator;
+    private final Counter matchesCreated;
+
+    private final Map<BookKey, MatchOrderBook> books = new ConcurrentHashMap<>();
+    private volatile Disposable matchLoop;
+
+    private record BookKey(String subject, String examType) {
+    }
+
+    public record QueuedMaterial(StudyMaterialId materialId, String materialTitle, Subject subject,
+                                 ExamType examType, LocalDateTime queuedAt, int waitingCount) {
+    }
+
+    public MatchmakingService(StudyMaterialRepository studyMaterialRepository,
+                              UserRepository userRepository,
+                              MatchRepository matchRepository,
+                              NotificationService notificationService,
+                              ApplicationEventPublisher eventPublisher,
+                              MatchExpiryScheduler matchExpiryScheduler,
+                              MaterialAccessService materialAccessService,
+                              MatchInboxCounterService matchInboxCounterService,
+                              TransactionalOperator transactionalOperator,
+                              MeterRegistry meterRegistry) {
+        this.studyMaterialRepository = studyMaterialRepository;
+        this.userRepository = userRepository;
+        this.matchRepository = matchRepository;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.matchExpiryScheduler = matchExpiryScheduler;
+        this.materialAccessService = materialAccessService;
+        this.matchInboxCounterService = matchInboxCounterService;
+        this.transactionalOperator = transactionalOperator;
+
+        this.matchesCreated = Counter.builder("matchmaking.matches.created")
+                .description("자동 매칭으로 생성된 매칭 수")
+                .register(meterRegistry);
+        Gauge.builder("matchmaking.books", books, Map::size)
+                .description("대기 중인 (과목, 시험종류) 대기열 수")
+                .register(meterRegistry);
+        Gauge.builder("matchmaking.orders", books, map -> map.values().stream()
+                        .mapToInt(MatchOrderBook::size)
+                        .sum())
+                .description("매칭 대기 중인 족보 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMatchLoop() {
+        matchLoop = Flux.interval(MATCH_INTERVAL)
+                .onBackpressureDrop()
+                .concatMap(tick -> runMatchingRound()
+                        .onErrorResume(error -> {
+                            log.error("자동 매칭 주기 실패", error);
+                            return Mono.just(0L);
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopMatchLoop() {
+        if (matchLoop != null) {
+            matchLoop.dispose();
+        }
+    }
+
+    /**
+     * 내 족보를 매칭 대기열에 등록. 승인된 본인 족보만 가능하다.
+     */
+    public Mono<QueuedMaterial> enqueue(UserId userId, StudyMaterialId materialId) {
+        return studyMaterialRepository.findById(materialId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("족보를 찾을 수 없습니다.")))
+                .flatMap(material -> {
+                    if (!material.getUploaderId().equals(userId)) {
+                        return Mono.error(new IllegalStateException("본인이 업로드한 족보만 매칭 대기열에 등록할 수 있습니다."));
+                    }
+                    if (!material.isApproved()) {
+                        return Mono.error(new IllegalStateException("승인된 족보만 매칭 대기열에 등록할 수 있습니다."));
+                    }
+                    return userRepository.findById(userId)
+                            .switchIfEmpty(Mono.error(new IllegalArgumentException("사용자를 찾을 수 없습니다")))
+                            .flatMap(user -> {
+                                if (!user.participableInMatch()) {
+                                    return Mono.error(new IllegalStateException("매칭에 참여할 수 없는 상태입니다. 신뢰도를 확인해주세요."));
+                                }
+                                BookKey key = new BookKey(material.getSubject().name(), material.getExamType().type());
+                                MatchOrderBook book = books.computeIfAbsent(key, k -> new MatchOrderBook());
+                                Order order = new Order(userId, user.getNickname(), materialId, material.getTitle(),
+                                        user.getTrustScore().value(), LocalDateTime.now());
+                                if (!book.add(order)) {
+                                    return Mono.error(new IllegalArgumentException("이미 매칭 대기 중인 족보입니다."));
+                                }
+                                log.info("매칭 대기열 등록: 이용자={}, 족보={}, 대기열={}", userId.value(), materialId.value(), key);
+                                return Mono.just(toQueuedMaterial(key, book, order));
+                            });
+                });
+    }
+
+    // 대기 중이던 본인 족보면 true
+    public Mono<Boolean> cancel(UserId userId, StudyMaterialId materialId) {
+        return Mono.fromSupplier(() -> {
+            for (MatchOrderBook book : books.values()) {
+                boolean owned = book.ordersOf(userId).stream()
+                        .anyMatch(order -> order.materialId().equals(materialId));
+                if (owned) {
+                    return book.remove(materialId) != null;
+                }
+            }
+            return false;
+        });
+    }
+
+    public Flux<QueuedMaterial> getQueuedMaterials(UserId userId) {
+        return Flux.fromIterable(books.entrySet())
+                .flatMapIterable(entry -> entry.getValue().ordersOf(userId).stream()
+                        .map(order -> toQueuedMaterial(entry.getKey(), entry.getValue(), order))
+                        .toList())
+                .sort(Comparator.comparing(QueuedMaterial::queuedAt));
+    }
+
+    // 모든 대기열에서 짝을 만들고 저장. 반환값은 생성된 매칭 수
+    Mono<Long> runMatchingRound() {
+        return Flux.fromIterable(books.values())
+                .filter(book -> book.size() >= 2)
+                .flatMap(this::matchBook, BOOK_CONCURRENCY)
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> matchBook(MatchOrderBook book) {
+        List<Pairing> pairings = book.drainPairs(MAX_PAIRS_PER_BOOK);
+        if (pairings.isEmpty()) {
+            return Mono.just(0L);
+        }
+        List<Match> matches = pairings.stream()
+                .map(pairing -> Match.autoMatched(
+                        pairing.first().userId(),
+                        pairing.second().userId(),
+                        pairing.first().materialId(),
+                        pairing.second().materialId()))
+                .toList();
+
+        List<List<StudyMaterialId>> pairs = pairings.stream()
+                .map(pairing -> List.of(pairing.first().materialId(), pairing.second().materialId()))
+                .toList();
+
+        // 쌍 잠금으로 같은 족보 쌍의 수동 요청과 직렬화. Mono로 모아야 커밋 뒤에 값이 나옴
+        return transactionalOperator.transactional(matchRepository.lockMaterialPairs(pairs)
+                        .thenMany(matchRepository.saveAllSkippingExisting(matches))
+                        .collectList())
+                .flatMapIterable(created -> created)
+                .doOnNext(matchExpiryScheduler::schedule)
+                // 바로 ACCEPTED로 생기므로 양쪽 참여자의 열람 권한 집합/배지 카운터 캐시 갱신
+                .doOnNext(materialAccessService::evict)
+                .doOnNext(matchInboxCounterService::evict)
+                .collectMap(match -> List.of(match.getRequesterMaterialId(), match.getReceiverMaterialId()), Function.identity())
+                .flatMap(created -> {
+                    Map<Boolean, List<Pairing>> outcome = pairings.stream()
+                            .collect(Collectors.partitioningBy(pairing -> created.containsKey(
+                                    List.of(pairing.first().materialId(), pairing.second().materialId()))));
+                    outcome.get(false).forEach(book::reject);
+                    outcome.get(true).forEach(book::complete);
+                    matchesCreated.increment(created.size());
+
+                    return Flux.fromIterable(outcome.get(true))
+                            .flatMap(pairing -> notifyMatched(pairing, created.get(
+                                    List.of(pairing.first().materialId(), pairing.second().materialId()))))
+                            .then(Mono.just((long) created.size()));
+                })
+                .doOnNext(count -> log.info("자동 매칭: 후보 {}쌍 중 {}건 생성", pairings.size(), count))
+                .onErrorResume(error -> {
+                    log.error("자동 매칭 저장 실패, 대기열로 되돌림: {}쌍", pairings.size(), error);
+                    pairings.forEach(book::restore);
+                    return Mono.just(0L);
+                });
+    }
+
+    private Mono<Void> notifyMatched(Pairing pairing, Match match) {
+        Order first = pairing.first();
+        Order second = pairing.second();
+        // 각자 상대방 족보를 열람할 수 있게 됨
+        Mono<Void> notifyFirst = notificationService.notifyMatchCompleted(
+                first.userId(), second.nickname(), second.materialTitle(), match.getId().value()).then();
+        Mono<Void> notifySecond = notificationService.notifyMatchCompleted(
+                second.userId(), first.nickname(), first.materialTitle(), match.getId().value()).then();
+
+        return Mono.when(notifyFirst, notifySecond)
+                .doOnSuccess(v -> {
+                    for (Order order : List.of(first, second)) {
+                        eventPublisher.publishEvent(new MatchEvent(
+                                this,
+                                order.userId().value().toString(),
+                                "MATCH_ACCEPTED",
+                                Map.of(
+                                        "matchId", match.getId().value(),
+                                        "accepterId", order.userId().value(),
+                                        "automatic", true
+                                )
+                        ));
+                    }
+                })
+                // 알림 실패가 이미 저장된 매칭을 되돌리지 않도록 함
+                .onErrorResume(error -> {
+                    log.warn("자동 매칭 알림 실패: matchId={}", match.getId().value(), error);
+                    return Mono.empty();
+                });
+    }
+
+    // 삭제/거절된 족보는 대기열에서 제거
+    @EventListener
+    public void onStudyMaterialChanged(StudyMaterialChangedEvent event) {
+        if (!"DELETED".equals(event.getChangeType()) && !"REJECTED".equals(event.getChangeType())) {
+            return;
+        }
+        MatchOrderBook book = books.get(new BookKey(event.getSubject(), event.getExamType()));
+        if (book != null) {
+            book.remove(StudyMaterialId.of(event.getMaterialId()));
+        }
+    }
+
+    // 대기열은 과목명으로 나뉘어 있으므로 예전 이름의 대기열을 새 이름으로 옮김
+    @EventListener
+    public void onSubjectRenamed(SubjectRenamedEvent event) {
+        event.getRenamedNames().forEach((from, to) -> books.keySet().stream()
+                .filter(key -> key.subject().equals(from))
+                .toList()
+                .forEach(key -> {
+                    MatchOrderBook moved = books.remove(key);
+                    if (moved == null) {
+                        return;
+                    }
+                    // 짝짓는 중인 주문이 원래 책으로 돌아올 수 있도록 책 객체를 그대로 옮기고, 이미 있으면 주문만 합침
+                    MatchOrderBook existing = books.putIfAbsent(new BookKey(to, key.examType()), moved);
+                    if (existing != null) {
+                        moved.orders().forEach(existing::add);
+                    }
+                }));
+    }
+
+    // 정렬 기준인 신뢰도 반영, 참여 불가가 되면 대기열에서 제거
+    @EventListener
+    public void onTrustScoreChanged(TrustScoreChangedEvent event) {
+        UserId userId = UserId.of(event.getUserId());
+        boolean participable = new TrustScore(event.getTrustScore()).isAboveThreshold();
+        books.values().forEach(book -> book.updateTrustScore(userId, event.getTrustScore(), participable));
+    }
+
+    private QueuedMaterial toQueuedMaterial(BookKey key, MatchOrderBook book, Order order) {
+        return new QueuedMaterial(
+                order.materialId(),
+                order.materialTitle(),
+                Subject.of(key.subject()),
+                ExamType.of(key.examType()),
+                order.queuedAt(),
+                Math.max(book.size() - 1, 0));
+    }
+}
@@ -0,0 +1,120 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.UserDeletedEvent;
+import com.smwu.matchalot.domain.model.entity.Match;
+import com.smwu.matchalot.domain.model.vo.Email;
+import com.smwu.matchalot.domain.model.vo.MaterialAccess;
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+import com.smwu.matchalot.domain.model.vo.UserId;
+import com.smwu.matchalot.domain.repository.MatchRepository;
+import com.smwu.matchalot.domain.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 족보 상세/PDF 열람 권한 확인용 사용자별 접근 집합.
+ * 사용자를 처음 볼 때 관리자 여부와 매칭으로 열람 가능한 족보 ID를 한 번 읽어 정렬된 long[]로 두고,
+ * 이후 권한 확인은 메모리에서 이진 탐색으로 끝낸다.
+ * 수락/완료/만료로 열람 가능한 족보가 바뀌면 커밋 후 양쪽 참여자의 집합을 지워 다음 조회에서 다시 읽는다.
+ * 다른 인스턴스에서 바뀐 매칭은 지울 수 없으므로 ttl이 지나면 다시 읽는다.
+ */
+@Service
+@Slf4j
+public class MaterialAccessService {
+
+    // 캐시가 이 수를 넘으면 비우고 다시 채움
+    private static final int MAX_CACHED_USERS = 50_000;
+
+    private final UserRepository userRepository;
+    private final MatchRepository matchRepository;
+    private final long ttlNanos;
+
+    private final Map<Email, CachedAccess> accessByEmail = new ConcurrentHashMap<>();
+    private final Map<UserId, Email> emailByUser = new ConcurrentHashMap<>();
+    // 무효화 횟수. 읽는 사이 무효화가 있었으면 읽은 집합은 캐시하지 않음 (수락 직후 이전 집합이 남는 것 방지)
+    // 확인과 저장, 무효화는 이 객체의 락 안에서 해 확인 직후 들어온 무효화를 놓치지 않음
+    private long invalidations;
+
+    private record CachedAccess(MaterialAccess access, long loadedAtNanos) {
+    }
+
+    public MaterialAccessService(UserRepository userRepository,
+                                 MatchRepository matchRepository,
+                                 @Value("${app.match.material-access-ttl:1m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.matchRepository = matchRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    // 사용자가 없으면 empty
+    public Mono<MaterialAccess> getAccess(Email email) {
+        CachedAccess cached = accessByEmail.get(email);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+            return Mono.just(cached.access());
+        }
+        return Mono.defer(() -> {
+            long invalidationsAtLoad = currentInvalidations();
+            return load(email)
+                    .doOnNext(access -> cacheIfUnchanged(email, access, invalidationsAtLoad));
+        });
+    }
+
+    private synchronized long currentInvalidations() {
+        return invalidations;
+    }
+
+    private synchronized void cacheIfUnchanged(Email email, MaterialAccess access, long invalidationsAtLoad) {
+        if (invalidations != invalidationsAtLoad) {
+            return;
+        }
+        if (accessByEmail.size() >= MAX_CACHED_USERS) {
+            accessByEmail.clear();
+            emailByUser.clear();
+        }
+        emailByUser.put(access.userId(), email);
+        accessByEmail.put(email, new CachedAccess(access, System.nanoTime()));
+    }
+
+    // 열람 가능한 족보가 바뀐 매칭(수락/완료/만료): 요청자/수신자 집합 삭제
+    public void evict(Match match) {
+        evictUser(match.getRequesterId());
+        evictUser(match.getReceiverId());
+    }
+
+    // 사용자 한 명의 집합 삭제. 읽는 중이던 집합도 캐시되지 않음
+    public synchronized void evictUser(UserId userId) {
+        invalidations++;
+        Email email = emailByUser.remove(userId);
+        if (email != null) {
+            accessByEmail.remove(email);
+        }
+    }
+
+    // 탈퇴한 사용자 (같은 이메일로 재가입하면 새 ID로 다시 읽어야 함)
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        evictUser(UserId.of(event.getUserId()));
+    }
+
+    private Mono<MaterialAccess> load(Email email) {
+        return userRepository.findByEmail(email)
+                .flatMap(user -> {
+                    // 관리자는 모든 족보를 열람하므로 매칭 조회 생략
+                    if (user.isAdmin()) {
+                        return Mono.just(new MaterialAccess(user.getId(), true, new long[0]));
+                    }
+                    return matchRepository.findAccessibleMaterialIds(user.getId())
+                            .map(StudyMaterialId::value)
+                            .collectList()
+                            .map(ids -> new MaterialAccess(user.getId(), false,
+                                    ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+                });
+    }
+}
@@ -1,5 +1,6 @@
 package com.smwu.matchalot.application.service;
 
+import com.smwu.matchalot.domain.model.entity.Match;
 import com.smwu.matchalot.domain.model.entity.Notification;
 import com.smwu.matchalot.domain.model.entity.Notification.NotificationType;
 import com.smwu.matchalot.domain.model.vo.NotificationId;
@@ -11,6 +12,9 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -30,6 +34,12 @@ public class NotificationService {
                 });
     }
 
+    // 여러 알림을 INSERT 한 번으로 저장한 뒤 각각 실시간 전송
+    public Flux<Notification> createNotifications(List<Notification> notifications) {
+        return notificationRepository.saveAll(notifications)
+                .doOnNext(saved -> streamService.emit(saved.getUserId(), saved));
+    }
+
     public Flux<Notification> getUserNotifications(UserId userId) {
         return notificationRepository.findByUserId(userId);
     }
@@ -87,8 +97,32 @@ public class NotificationService {
     }
 
     public Mono<Notification> notifyMatchRequestReceived(UserId userId, String requesterNickname, Long matchId) {
-        String title = "매칭 요청";
-        String message = String.format("%s님이 매칭을 요청했습니다. 확인해주세요.", requesterNickname);
-        return createNotification(userId, NotificationType.MATCH_REQUEST_RECEIVED, title, message, matchId.toString());
+        return createNotification(userId, NotificationType.MATCH_REQUEST_RECEIVED, "매칭 요청",
+                matchRequestMessage(requesterNickname), matchId.toString());
+    }
+
+    // 일괄 매칭 요청: 받는 사람마다 알림 하나씩, 저장은 한 번에
+    public Flux<Notification> notifyMatchRequestsReceived(String requesterNickname, List<Match> matches) {
+        String message = matchRequestMessage(requesterNickname);
+        List<Notification> notifications = matches.stream()
+                .map(match -> new Notification(match.getReceiverId(), NotificationType.MATCH_REQUEST_RECEIVED,
+                        "매칭 요청", message, match.getId().value().toString()))
+                .toList();
+        return createNotifications(notifications);
+    }
+
+    // 만료된 매칭마다 양쪽 참여자에게 알림, 저장은 한 번에
+    public Flux<Notification> notifyMatchesExpired(List<Match> matches) {
+        List<Notification> notifications = matches.stream()
+                .flatMap(match -> Stream.of(match.getRequesterId(), match.getReceiverId())
+                        .map(userId -> new Notification(userId, NotificationType.MATCH_EXPIRED, "매칭 만료",
+                                "진행 중이던 매칭이 기한 내에 완료되지 않아 만료되었습니다.",
+                                match.getId().value().toString())))
+                .toList();
+        return createNotifications(notifications);
+    }
+
+    private static String matchRequestMessage(String requesterNickname) {
+        return String.format("%s님이 매칭을 요청했습니다. 확인해주세요.", requesterNickname);
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.SubjectRenamedEvent;
+import com.smwu.matchalot.application.event.UserDeletedEvent;
+import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+import com.smwu.matchalot.domain.model.vo.MaterialFacet;
+import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import com.smwu.matchalot.web.dto.StudyMaterialFacetsResponse;
+import com.smwu.matchalot.web.dto.StudyMaterialFacetsResponse.FacetCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 승인된 족보의 과목 × 시험 유형 × 학기별 건수.
+ * 시작 시 GROUP BY 한 번으로 채우고, 이후에는 승인/삭제 때 메모리에서만 증감한다.
+ * 전체 로드는 새 맵에 채운 뒤 교체한다. 로드 중 증감은 새 맵에도 반영하되,
+ * DB 집계에 이미 포함됐는지 알 수 없으므로 한 번 더 로드해 맞춘다 (승인/삭제는 드묾).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudyMaterialFacetService {
+
+    private final StudyMaterialRepository studyMaterialRepository;
+    private volatile Map<MaterialFacet, LongAdder> counts = new ConcurrentHashMap<>();
+    // 로드 중일 때만 non-null: 로드 중 반영한 증감. this로 보호
+    private List<Consumer<Map<MaterialFacet, LongAdder>>> changesDuringLoad;
+    private boolean reloadRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCounts() {
+        synchronized (this) {
+            if (changesDuringLoad != null) {
+                reloadRequested = true;
+                return;
+            }
+            changesDuringLoad = new ArrayList<>();
+        }
+        studyMaterialRepository.countApprovedByFacet()
+                .subscribe(loaded -> {
+                    Map<MaterialFacet, LongAdder> fresh = new ConcurrentHashMap<>();
+                    loaded.forEach((facet, count) -> cell(fresh, facet).add(count));
+                    swapIn(fresh);
+                    log.info("족보 facet 건수 로드 완료: {}개 조합", loaded.size());
+                }, error -> {
+                    // 기존 건수 유지
+                    finishLoad(false);
+                    log.error("족보 facet 건수 로드 실패", error);
+                });
+    }
+
+    // 탈퇴한 사용자의 족보는 cascade로 지워짐. 어떤 족보였는지 알 수 없으므로 다시 집계 (드묾)
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        loadCounts();
+    }
+
+    // 건수가 과목명별로 쌓여 있으므로 새 이름으로 다시 집계
+    @EventListener
+    public void onSubjectRenamed(SubjectRenamedEvent event) {
+        loadCounts();
+    }
+
+    public void onApproved(StudyMaterial material) {
+        MaterialFacet facet = facetOf(material);
+        apply(target -> cell(target, facet).increment());
+    }
+
+    // 승인된 족보가 삭제될 때만 감소 (대기/거절 족보는 집계 대상이 아님)
+    public void onDeleted(StudyMaterial material) {
+        if (!material.isApproved()) {
+            return;
+        }
+        MaterialFacet facet = facetOf(material);
+        apply(target -> cell(target, facet).decrement());
+    }
+
+    private synchronized void apply(Consumer<Map<MaterialFacet, LongAdder>> change) {
+        change.accept(counts);
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(change);
+        }
+    }
+
+    private void swapIn(Map<MaterialFacet, LongAdder> fresh) {
+        boolean changedDuringLoad;
+        synchronized (this) {
+            changesDuringLoad.forEach(change -> change.accept(fresh));
+            changedDuringLoad = !changesDuringLoad.isEmpty();
+            counts = fresh;
+        }
+        finishLoad(changedDuringLoad);
+    }
+
+    private void finishLoad(boolean reload) {
+        synchronized (this) {
+            changesDuringLoad = null;
+            reload |= reloadRequested;
+            reloadRequested = false;
+        }
+        if (reload) {
+            loadCounts();
+        }
+    }
+
+    public StudyMaterialFacetsResponse getFacets() {
+        List<FacetCount> facets = new ArrayList<>();
+        Map<String, Long> subjects = new LinkedHashMap<>();
+        Map<String, Long> examTypes = new LinkedHashMap<>();
+        Map<String, Long> semesters = new LinkedHashMap<>();
+        long total = 0;
+
+        List<Map.Entry<MaterialFacet, LongAdder>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Comparator
+                .comparing((Map.Entry<MaterialFacet, LongAdder> entry) -> entry.getKey().subject().name())
+                .thenComparing(entry -> entry.getKey().examType().type())
+                .thenComparing(entry -> -entry.getKey().semester().year())
+                .thenComparing(entry -> entry.getKey().semester().season()));
+
+        for (Map.Entry<MaterialFacet, LongAdder> entry : entries) {
+            long count = entry.getValue().sum();
+            if (count <= 0) {
+                continue;
+            }
+            MaterialFacet facet = entry.getKey();
+            facets.add(new FacetCount(
+                    facet.subject().name(),
+                    facet.examType().type(),
+                    facet.semester().year(),
+                    facet.semester().season(),
+                    facet.semester().getDisplayName(),
+                    count));
+            subjects.merge(facet.subject().name(), count, Long::sum);
+            examTypes.merge(facet.examType().type(), count, Long::sum);
+            semesters.merge(facet.semester().getDisplayName(), count, Long::sum);
+            total += count;
+        }
+        return new StudyMaterialFacetsResponse(total, subjects, examTypes, semesters, facets);
+    }
+
+    private static LongAdder cell(Map<MaterialFacet, LongAdder> target, MaterialFacet facet) {
+        return target.computeIfAbsent(facet, key -> new LongAdder());
+    }
+
+    private static MaterialFacet facetOf(StudyMaterial material) {
+        return MaterialFacet.of(material.getSubject(), material.getExamType(), material.getSemester());
+    }
+}
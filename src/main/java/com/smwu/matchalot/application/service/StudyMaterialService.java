@@ -1,18 +1,30 @@
 package com.smwu.matchalot.application.service;
 
+import com.smwu.matchalot.application.event.StudyMaterialChangedEvent;
 import com.smwu.matchalot.domain.model.entity.StudyMaterial;
 import com.smwu.matchalot.domain.model.entity.User;
 import com.smwu.matchalot.domain.model.vo.*;
+import com.smwu.matchalot.domain.repository.PdfStorage;
 import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import com.smwu.matchalot.domain.repository.SubjectRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.unit.DataSize;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,18 +35,26 @@ public class StudyMaterialService {
     private final UserService userService;
     private final TransactionalOperator transactionalOperator;
     private final NotificationService notificationService;
+    private final PdfStorage pdfStorage;
+    private final StudyMaterialSuggestService suggestService;
+    private final StudyMaterialFacetService facetService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final SubjectRepository subjectRepository;
+
+    @Value("${app.storage.pdf.max-size:20MB}")
+    private DataSize maxPdfSize;
 
-    @Transactional
     public Mono<StudyMaterial> uploadStudyMaterial(UserId uploaderId,
                                                    String title,
                                                    Subject subject,
                                                    ExamType examType,
                                                    Semester semester,
                                                    Questions questions) {
-        return uploadStudyMaterial(uploaderId, title, subject, examType, semester, questions, null);
+        return uploadStudyMaterial(uploaderId, title, subject, examType, semester, questions, (String) null);
     }
 
-    @Transactional
+    // 트랜잭션은 행 저장에만 (saveNewMaterial). PDF 저장은 되돌릴 수 없으므로 저장 실패 시 직접 정리
     public Mono<StudyMaterial> uploadStudyMaterial(UserId uploaderId,
                                                    String title,
                                                    Subject subject,
@@ -42,18 +62,148 @@ public class StudyMaterialService {
                                                    Semester semester,
                                                    Questions questions,
                                                    String tempPdfData) {
+        return checkUploader(uploaderId)
+                .flatMap(user -> checkSubject(subject))
+                // PDF는 행에 넣지 않고 저장소에 보관, 행에는 해시와 크기만
+                .flatMap(registered -> pdfStorage.storeBase64(tempPdfData)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty()))
+                .flatMap(pdfFile -> saveNewMaterial(uploaderId, title, subject, examType, semester, questions, pdfFile.orElse(null)));
+    }
+
+    // multipart 업로드: 업로더 확인 후 PDF를 스트리밍으로 저장 (메모리에 파일 전체를 올리지 않음)
+    public Mono<StudyMaterial> uploadStudyMaterial(UserId uploaderId,
+                                                   String title,
+                                                   Subject subject,
+                                                   ExamType examType,
+                                                   Semester semester,
+                                                   Questions questions,
+                                                   Flux<DataBuffer> pdfContent) {
+        return checkUploader(uploaderId)
+                .flatMap(user -> checkSubject(subject))
+                .flatMap(registered -> pdfStorage.store(pdfContent, maxPdfSize.toBytes()))
+                .doOnNext(pdfFile -> log.info("PDF 스트리밍 저장 완료: hash={}, size={}", pdfFile.sha256(), pdfFile.size()))
+                .flatMap(pdfFile -> saveNewMaterial(uploaderId, title, subject, examType, semester, questions, pdfFile));
+    }
+
+    // 일괄 업로드 항목 (검증/VO 변환이 끝난 상태)
+    public record NewStudyMaterial(String title, Subject subject, ExamType examType, Semester semester,
+                                   Questions questions, String tempPdfData) {
+    }
+
+    // 일괄 업로드 항목별 결과 (입력 순서): 저장된 족보, 또는 과목/PDF가 잘못된 항목이면 그 사유
+    public record NewStudyMaterialResult(StudyMaterial saved, String error) {
+        static NewStudyMaterialResult invalid(String error) {
+            return new NewStudyMaterialResult(null, error);
+        }
+    }
+
+    /**
+     * 일괄 업로드: 업로더 확인 1번, 하나의 트랜잭션에서 다중 행 INSERT.
+     * 등록되지 않은 과목이나 PDF가 잘못된 항목만 INVALID로 빼고 나머지를 저장하며, 저장이 실패하면 전체가 롤백되고
+     * 이번 요청에서 저장한 PDF도 해제한다. 결과는 입력 순서대로 반환.
+     */
+    public Mono<List<NewStudyMaterialResult>> uploadStudyMaterials(UserId uploaderId, List<NewStudyMaterial> items) {
+        if (items.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return checkUploader(uploaderId)
+                .flatMap(user -> Mono.defer(() -> {
+                    List<PdfFile> storedPdfs = new ArrayList<>();
+                    return Flux.fromIterable(items)
+                            .concatMap(item -> checkSubject(item.subject())
+                                    .flatMap(registered -> pdfStorage.storeBase64(item.tempPdfData())
+                                            .doOnNext(storedPdfs::add)
+                                            .map(Optional::of)
+                                            .defaultIfEmpty(Optional.empty()))
+                                    .map(pdfFile -> new NewStudyMaterialResult(new StudyMaterial(uploaderId,
+                                            item.title(), item.subject(), item.examType(), item.semester(),
+                                            item.questions(), pdfFile.orElse(null)), null))
+                                    // 과목/Base64가 잘못된 항목 하나 때문에 묶음 전체를 거절하지 않음
+                                    .onErrorResume(IllegalArgumentException.class,
+                                            error -> Mono.just(NewStudyMaterialResult.invalid(error.getMessage()))))
+                            .collectList()
+                            .flatMap(results -> saveNewMaterials(uploaderId, results))
+                            .onErrorResume(error -> Flux.fromIterable(storedPdfs)
+                                    .distinct()
+                                    .concatMap(this::releasePdf)
+                                    .then(Mono.error(error)));
+                }));
+    }
+
+    private Mono<List<NewStudyMaterialResult>> saveNewMaterials(UserId uploaderId, List<NewStudyMaterialResult> results) {
+        List<StudyMaterial> materials = results.stream()
+                .map(NewStudyMaterialResult::saved)
+                .filter(Objects::nonNull)
+                .toList();
+        if (materials.isEmpty()) {
+            return Mono.just(results);
+        }
+        return transactionalOperator.transactional(
+                        Flux.fromIterable(materials)
+                                .filter(StudyMaterial::hasPdf)
+                                .map(StudyMaterial::getPdfFile)
+                                .distinct()
+                                .concatMap(this::holdPdfReference)
+                                .thenMany(studyMaterialRepository.saveAll(materials)))
+                .collectList()
+                .doOnNext(saved -> {
+                    log.info("족보 일괄 업로드 완료: 이용자={}, {}건", uploaderId.value(), saved.size());
+                    saved.forEach(material -> publishChanged(material, "UPLOADED", false));
+                })
+                .flatMap(saved -> duplicateDetectionService.registerAll(saved)
+                        .onErrorResume(error -> {
+                            log.warn("일괄 업로드 중복 탐지 실패 (무시): 오류={}", error.getMessage());
+                            return Mono.empty();
+                        })
+                        .then(Mono.fromCallable(() -> withSavedMaterials(results, saved))));
+    }
+
+    // saveAll은 입력 순서대로 돌려주므로 유효한 항목 자리에 ID가 붙은 족보를 차례로 넣음
+    private static List<NewStudyMaterialResult> withSavedMaterials(List<NewStudyMaterialResult> results,
+                                                                   List<StudyMaterial> saved) {
+        List<NewStudyMaterialResult> merged = new ArrayList<>(results.size());
+        int next = 0;
+        for (NewStudyMaterialResult result : results) {
+            merged.add(result.saved() != null ? new NewStudyMaterialResult(saved.get(next++), null) : result);
+        }
+        return merged;
+    }
+
+    // 업로드로 과목이 새로 생기지 않도록 등록된 과목만 허용 (추가는 관리자)
+    private Mono<Subject> checkSubject(Subject subject) {
+        return subjectRepository.isRegistered(subject)
+                .filter(registered -> registered)
+                .map(registered -> subject)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("등록되지 않은 과목입니다: " + subject.name())));
+    }
+
+    private Mono<User> checkUploader(UserId uploaderId) {
         return userService.getUserById(uploaderId)
                 .doOnNext(user -> log.info("족보 업로드 시도: 이용자={}, 닉네임={}", user.getId().value(), user.getNickname()))
                 .filter(User::canUploadMaterial) //ban당하지않는이상..
-                .switchIfEmpty(Mono.error(new IllegalStateException("신뢰도가 부족하여 족보를 업로드할 수 없습니다")))
-                .flatMap(user -> {
-                    StudyMaterial studyMaterial = new StudyMaterial(
-                            uploaderId, title, subject, examType, semester, questions, tempPdfData
-                    );
-                    return studyMaterialRepository.save(studyMaterial);
-                })
+                .switchIfEmpty(Mono.error(new IllegalStateException("신뢰도가 부족하여 족보를 업로드할 수 없습니다")));
+    }
+
+    private Mono<StudyMaterial> saveNewMaterial(UserId uploaderId, String title, Subject subject, ExamType examType,
+                                                Semester semester, Questions questions, PdfFile pdfFile) {
+        StudyMaterial studyMaterial = new StudyMaterial(
+                uploaderId, title, subject, examType, semester, questions, pdfFile
+        );
+        return transactionalOperator.transactional(
+                        holdPdfReference(pdfFile).then(studyMaterialRepository.save(studyMaterial)))
                 .doOnSuccess(saved -> log.info("저장 성공 ID={}", saved != null && saved.getId() != null ? saved.getId().value() : "null"))
-                .doOnError(error -> log.error("저장 실패: 오류={}", error.getMessage()));
+                .doOnError(error -> log.error("저장 실패: 오류={}", error.getMessage()))
+                // 행이 롤백되면 방금 저장한 PDF는 참조가 없으므로 해제 (같은 해시를 쓰는 다른 족보가 있으면 유지)
+                .onErrorResume(error -> releasePdf(pdfFile).then(Mono.error(error)))
+                .doOnNext(saved -> publishChanged(saved, "UPLOADED", false))
+                // 중복 탐지 실패가 업로드 실패가 되지 않도록 함
+                .flatMap(saved -> duplicateDetectionService.register(saved)
+                        .onErrorResume(error -> {
+                            log.warn("중복 탐지 실패 (무시): ID={}, 오류={}", saved.getId().value(), error.getMessage());
+                            return Mono.empty();
+                        })
+                        .thenReturn(saved));
     }
 
     public Flux<StudyMaterial> getAllStudyMaterials() {
@@ -88,6 +238,16 @@ public class StudyMaterialService {
         return studyMaterialRepository.findByUploaderId(uploaderId);
     }
 
+    // 비로그인/미매칭 상세 조회용: 앞쪽 문제 일부만 DB에서 잘라서 가져옴
+    public Mono<StudyMaterial> getStudyMaterialPreview(StudyMaterialId id, int questionLimit) {
+        if (id == null || id.value() == null) {
+            return Mono.error(new IllegalArgumentException("유효하지 않은 족보의 ID"));
+        }
+        return studyMaterialRepository.findPreviewById(id, questionLimit)
+                .filter(material -> material.getStatus() == MaterialStatus.APPROVED)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("족보를 찾을 수 없습니다")));
+    }
+
     public Mono<StudyMaterial> getStudyMaterial(StudyMaterialId id) {
         if (id == null || id.value() == null) {
             return Mono.error(new IllegalArgumentException("유효하지 않은 족보의 ID"));
@@ -97,6 +257,26 @@ public class StudyMaterialService {
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("족보를 찾을 수 없습니다")));
     }
     
+    /**
+     * PDF 열람용 조회. 관리자와 업로더는 상태와 무관(승인 대기 중에도 본인 파일 확인 가능),
+     * 그 외에는 승인된 족보를 매칭으로 열람할 수 있을 때만. 권한이 없으면 IllegalStateException
+     */
+    public Mono<StudyMaterial> getStudyMaterialForPdf(StudyMaterialId id, MaterialAccess access) {
+        return getStudyMaterialBasicInfo(id)
+                .flatMap(material -> {
+                    if (access.admin() || material.isUploadedBy(access.userId())) {
+                        return Mono.just(material);
+                    }
+                    // 미승인 족보는 업로더/관리자 외에는 없는 것으로 취급
+                    if (!material.isApproved()) {
+                        return Mono.error(new IllegalArgumentException("족보를 찾을 수 없습니다"));
+                    }
+                    return access.canViewFull(material)
+                            ? Mono.just(material)
+                            : Mono.error(new IllegalStateException("PDF 열람 권한이 없습니다"));
+                });
+    }
+
     // 매칭 정보용 - 권한 체크 없이 기본 정보만 조회
     public Mono<StudyMaterial> getStudyMaterialBasicInfo(StudyMaterialId id) {
         if (id == null || id.value() == null) {
@@ -113,7 +293,61 @@ public class StudyMaterialService {
                     if (!studyMaterial.isUploadedBy(requestUserId)) {
                         return Mono.error(new IllegalStateException("본인이 업로드한 족보만 삭제할 수 있습니다"));
                     }
-                    return studyMaterialRepository.deleteById(id);
+                    return studyMaterialRepository.deleteById(id)
+                            .then(Mono.fromRunnable(() -> {
+                                suggestService.remove(id);
+                                facetService.onDeleted(studyMaterial);
+                                publishChanged(studyMaterial, "DELETED", studyMaterial.isApproved());
+                            }))
+                            .then(releasePdf(studyMaterial.getPdfFile()));
+                });
+    }
+
+    // 승인 심사용 전체 조회 응답 (기존 관리자 화면 호환을 위해 Base64로 전달).
+    // 승인된 족보의 PDF는 상세 응답에 싣지 않고 /pdf 다운로드로만 제공
+    public Mono<String> loadPdfAsBase64(StudyMaterial studyMaterial) {
+        if (!studyMaterial.hasPdf() || !studyMaterial.isPendingApproval()) {
+            return Mono.empty();
+        }
+        return pdfStorage.load(studyMaterial.getPdfFile())
+                .map(bytes -> Base64.getEncoder().encodeToString(bytes));
+    }
+
+    public Mono<Resource> openPdf(StudyMaterial studyMaterial) {
+        if (!studyMaterial.hasPdf()) {
+            return Mono.empty();
+        }
+        return pdfStorage.open(studyMaterial.getPdfFile());
+    }
+
+    // PDF를 참조하는 행을 쓰기 전 (트랜잭션 안): 공유 잠금을 잡고 파일이 남아 있는지 확인.
+    // 저장 직후 다른 족보의 마지막 참조가 해제되며 같은 해시 파일이 지워졌을 수 있음
+    private Mono<Void> holdPdfReference(PdfFile pdfFile) {
+        if (pdfFile == null) {
+            return Mono.empty();
+        }
+        return studyMaterialRepository.lockPdfReference(pdfFile, false)
+                .then(pdfStorage.exists(pdfFile))
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IllegalStateException("PDF 저장 중 충돌이 발생했습니다. 다시 업로드해주세요")));
+    }
+
+    // 내용 주소 기반이라 같은 PDF를 다른 족보가 참조할 수 있음 -> 참조가 없을 때만 삭제.
+    // 배타 잠금을 잡은 채로 참조 수 확인과 삭제를 끝내므로, 같은 해시를 저장 중인 업로드와 겹치지 않음
+    private Mono<Void> releasePdf(PdfFile pdfFile) {
+        if (pdfFile == null) {
+            return Mono.empty();
+        }
+        return transactionalOperator.transactional(
+                        studyMaterialRepository.lockPdfReference(pdfFile, true)
+                                .then(studyMaterialRepository.countByPdfFile(pdfFile))
+                                .filter(count -> count == 0)
+                                .flatMap(count -> pdfStorage.delete(pdfFile)
+                                        .doOnSuccess(ignored -> log.info("PDF 해제: {}", pdfFile.sha256()))))
+                .onErrorResume(error -> {
+                    log.warn("PDF 삭제 실패 (무시): hash={}, 오류={}", pdfFile.sha256(), error.getMessage());
+                    return Mono.empty();
                 });
     }
 
@@ -145,7 +379,22 @@ public class StudyMaterialService {
                                 ).then(checkForUserPromotion(saved.getUploaderId(), saved))
                             );
                 })
-        );
+        )
+                // 커밋 이후에 자동완성 색인/facet 건수 반영, 등업으로 바뀐 신뢰도 발행
+                .doOnNext(approval -> {
+                    StudyMaterial approved = approval.material();
+                    suggestService.index(approved);
+                    facetService.onApproved(approved);
+                    publishChanged(approved, "APPROVED", true);
+                    if (approval.promoted() != null) {
+                        userService.publishTrustScoreChanged(approval.promoted());
+                    }
+                })
+                .map(Approval::material);
+    }
+
+    // 승인 트랜잭션 결과: 첫 승인으로 등업된 경우 promoted에 갱신된 업로더
+    private record Approval(StudyMaterial material, User promoted) {
     }
 
 
@@ -156,6 +405,12 @@ public class StudyMaterialService {
                     StudyMaterial rejectedMaterial = material.reject();
 
                     return studyMaterialRepository.save(rejectedMaterial)
+                            .doOnNext(saved -> {
+                                suggestService.remove(saved.getId());
+                                // 대기 족보만 거절 가능하므로 승인 목록은 그대로
+                                publishChanged(saved, "REJECTED", false);
+                            })
+                            .flatMap(saved -> releasePdf(material.getPdfFile()).thenReturn(saved))
                             .flatMap(saved -> 
                                 // 업로드 사용자에게 거절 알림
                                 notificationService.notifyMaterialRejection(
@@ -171,18 +426,27 @@ public class StudyMaterialService {
     }
 
 
-    private Mono<StudyMaterial> checkForUserPromotion(UserId uploaderId, StudyMaterial approvedMaterial) {
+    private void publishChanged(StudyMaterial material, String changeType, boolean approvedListChanged) {
+        eventPublisher.publishEvent(new StudyMaterialChangedEvent(
+                this,
+                material.getId().value(),
+                material.getUploaderId().value(),
+                material.getSubject().name(),
+                material.getExamType().type(),
+                changeType,
+                approvedListChanged
+        ));
+    }
+
+    private Mono<Approval> checkForUserPromotion(UserId uploaderId, StudyMaterial approvedMaterial) {
         return userService.getUserById(uploaderId)
-                .flatMap(user -> {
-                    // 준회원이고 첫 번째 족보가 승인된 경우 정회원으로 승격
-                    if (user.isPending()) {
-                        return userService.promoteToMember(uploaderId)
-                                .doOnSuccess(promoted -> log.info("사용자 승격: {} → 정회원 (신뢰도 +5점)",
-                                        promoted.getEmail().value()))
-                                .then(Mono.just(approvedMaterial));
-                    }
-                    return Mono.just(approvedMaterial);
-                });
+                // 준회원이고 첫 번째 족보가 승인된 경우 정회원으로 승격
+                .filter(User::isPending)
+                .flatMap(user -> userService.promoteToMember(uploaderId))
+                .doOnNext(promoted -> log.info("사용자 승격: {} → 정회원 (신뢰도 +5점)",
+                        promoted.getEmail().value()))
+                .map(promoted -> new Approval(approvedMaterial, promoted))
+                .defaultIfEmpty(new Approval(approvedMaterial, null));
     }
 
     /**
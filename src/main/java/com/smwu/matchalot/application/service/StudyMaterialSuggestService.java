@@ -0,0 +1,199 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.SubjectRenamedEvent;
+import com.smwu.matchalot.application.event.UserDeletedEvent;
+import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import com.smwu.matchalot.web.dto.StudyMaterialSuggestion;
+import com.smwu.matchalot.web.dto.SuggestResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 검색창 자동완성. 승인된 족보 제목/과목을 메모리 n-gram 색인에 올려두고 키 입력마다 DB 없이 응답한다.
+ * 시작 시 승인 족보 전체로 채우고, 이후 승인/거절/삭제 때 StudyMaterialService가 갱신한다.
+ * 전체 로드는 새 색인에 채운 뒤 교체하고, 로드 중 들어온 갱신은 새 색인에 다시 적용한 뒤 교체한다.
+ */
+@Service
+@Slf4j
+public class StudyMaterialSuggestService {
+
+    private final StudyMaterialRepository studyMaterialRepository;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    private volatile Indexes current;
+    // 로드 중일 때만 non-null: 로드 중 적용된 갱신 (로드가 끝나면 새 색인에 다시 적용). this로 보호
+    private List<Consumer<Indexes>> changesDuringLoad;
+    private boolean reloadRequested;
+
+    public StudyMaterialSuggestService(
+            StudyMaterialRepository studyMaterialRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.suggest.max-entries:50000}") int maxEntries,
+            @Value("${app.suggest.max-memory:32MB}") DataSize maxMemory) {
+        this.studyMaterialRepository = studyMaterialRepository;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxMemory.toBytes();
+        this.current = new Indexes();
+
+        Gauge.builder("study_material.suggest.entries", this, service -> service.current.materialIndex.size())
+                .description("자동완성 색인에 올라간 족보 수")
+                .register(meterRegistry);
+        Gauge.builder("study_material.suggest.memory", this, service -> service.current.estimatedBytes())
+                .description("자동완성 색인 추정 메모리")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("study_material.suggest.rejected", this, service -> service.current.materialIndex.rejectedCount())
+                .description("한도 초과로 색인하지 못한 족보 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadApprovedMaterials() {
+        synchronized (this) {
+            if (changesDuringLoad != null) {
+                reloadRequested = true;
+                return;
+            }
+            changesDuringLoad = new ArrayList<>();
+        }
+        Indexes fresh = new Indexes();
+        studyMaterialRepository.findApprovedSuggestions()
+                .doOnNext(row -> fresh.put(row.id(), row.title(), row.subject(), row.examType()))
+                .count()
+                .subscribe(
+                        count -> {
+                            swapIn(fresh);
+                            log.info("자동완성 색인 로드 완료: {}건, 추정 메모리 {}KB", count, fresh.estimatedBytes() / 1024);
+                        },
+                        error -> {
+                            // 기존 색인 유지
+                            finishLoad();
+                            log.error("자동완성 색인 로드 실패", error);
+                        });
+    }
+
+    // 탈퇴한 사용자의 족보는 cascade로 지워짐. 어떤 족보였는지 알 수 없으므로 다시 로드 (드묾)
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        loadApprovedMaterials();
+    }
+
+    // 과목 색인과 족보 항목에 과목명이 들어 있으므로 새 이름으로 다시 로드
+    @EventListener
+    public void onSubjectRenamed(SubjectRenamedEvent event) {
+        loadApprovedMaterials();
+    }
+
+    public SuggestResponse suggest(String query, int limit) {
+        Indexes indexes = current;
+        return new SuggestResponse(
+                indexes.subjectIndex.search(query, limit),
+                indexes.materialIndex.search(query, limit));
+    }
+
+    // 승인된 족보만 색인 (그 외 상태면 제거)
+    public void index(StudyMaterial material) {
+        if (!material.isApproved()) {
+            remove(material.getId());
+            return;
+        }
+        Long id = material.getId().value();
+        String title = material.getTitle();
+        String subject = material.getSubject().name();
+        String examType = material.getExamType().type();
+        apply(indexes -> indexes.put(id, title, subject, examType));
+    }
+
+    public void remove(StudyMaterialId id) {
+        if (id == null || id.value() == null) {
+            return;
+        }
+        Long key = id.value();
+        apply(indexes -> indexes.remove(key));
+    }
+
+    private synchronized void apply(Consumer<Indexes> change) {
+        change.accept(current);
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(change);
+        }
+    }
+
+    private void swapIn(Indexes fresh) {
+        synchronized (this) {
+            // 로드 쿼리 이후의 승인/삭제를 새 색인에도 반영 (같은 순서로, put/remove는 반복 적용해도 결과가 같음)
+            changesDuringLoad.forEach(change -> change.accept(fresh));
+            current = fresh;
+        }
+        finishLoad();
+    }
+
+    private void finishLoad() {
+        boolean reload;
+        synchronized (this) {
+            changesDuringLoad = null;
+            reload = reloadRequested;
+            reloadRequested = false;
+        }
+        if (reload) {
+            loadApprovedMaterials();
+        }
+    }
+
+    // 족보 색인 + 과목 색인 + 과목별 참조 수. 전체 로드 시 한 번에 교체
+    private final class Indexes {
+        private final SuggestIndex<Long, StudyMaterialSuggestion> materialIndex = new SuggestIndex<>(maxEntries, maxBytes);
+        private final SuggestIndex<String, String> subjectIndex = new SuggestIndex<>(maxEntries, maxBytes);
+        // 과목별 승인 족보 수 (0이 되면 과목 제안에서 제거)
+        private final Map<String, Integer> subjectRefCounts = new HashMap<>();
+
+        long estimatedBytes() {
+            return materialIndex.estimatedBytes() + subjectIndex.estimatedBytes();
+        }
+
+        void put(Long id, String title, String subject, String examType) {
+            remove(id);
+            // 제목에 과목명이 없어도 과목명으로 족보를 찾을 수 있도록 함께 색인
+            if (materialIndex.put(id, title + " " + subject, new StudyMaterialSuggestion(id, title, subject, examType))) {
+                retainSubject(subject);
+            } else {
+                log.warn("자동완성 색인 한도 초과로 족보 제외: ID={}", id);
+            }
+        }
+
+        void remove(Long id) {
+            StudyMaterialSuggestion removed = materialIndex.remove(id);
+            if (removed != null) {
+                releaseSubject(removed.subject());
+            }
+        }
+
+        private synchronized void retainSubject(String subject) {
+            if (subjectRefCounts.merge(subject, 1, Integer::sum) == 1) {
+                subjectIndex.put(subject, subject, subject);
+            }
+        }
+
+        private synchronized void releaseSubject(String subject) {
+            Integer remaining = subjectRefCounts.computeIfPresent(subject, (key, count) -> count > 1 ? count - 1 : null);
+            if (remaining == null) {
+                subjectIndex.remove(subject);
+            }
+        }
+    }
+}
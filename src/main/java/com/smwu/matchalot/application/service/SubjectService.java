@@ -0,0 +1,84 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.SubjectRenamedEvent;
+import com.smwu.matchalot.domain.model.vo.Subject;
+import com.smwu.matchalot.domain.repository.SubjectRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 과목 목록 관리. 추가/이름 변경은 관리자만 하며, 이름이 바뀌면 SubjectRenamedEvent로
+ * 목록 캐시/facet/자동완성/ETag/매칭 대기열을 갱신한다 (추가된 과목은 아직 참조하는 족보가 없음).
+ * 다른 인스턴스에서 바뀐 이름은 주기적으로 다시 읽어 차이가 있을 때만 같은 이벤트를 발행한다.
+ */
+@Service
+@Slf4j
+public class SubjectService {
+
+    private final SubjectRepository subjectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration refreshInterval;
+
+    private volatile Disposable refreshLoop;
+
+    public SubjectService(SubjectRepository subjectRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${app.subject.refresh-interval:5m}") Duration refreshInterval) {
+        this.subjectRepository = subjectRepository;
+        this.eventPublisher = eventPublisher;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshLoop() {
+        refreshLoop = Flux.interval(refreshInterval, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> subjectRepository.reload()
+                        .filter(renamed -> !renamed.isEmpty())
+                        .doOnNext(renamed -> {
+                            log.info("다른 인스턴스에서 바뀐 과목명 반영: {}", renamed);
+                            publishRenamed(renamed);
+                        })
+                        .onErrorResume(error -> {
+                            log.error("과목 목록 재로드 실패", error);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRefreshLoop() {
+        if (refreshLoop != null) {
+            refreshLoop.dispose();
+        }
+    }
+
+    public Flux<Subject> getSubjects() {
+        return subjectRepository.findAll();
+    }
+
+    public Mono<Subject> createSubject(Subject subject) {
+        return subjectRepository.create(subject);
+    }
+
+    // subjects 한 행만 바꾸면 족보는 subject_id로 참조하므로 그대로 새 이름으로 조회된다
+    public Mono<Subject> renameSubject(Subject from, Subject to) {
+        return subjectRepository.rename(from, to)
+                .doOnNext(renamed -> publishRenamed(Map.of(from.name(), renamed.name())));
+    }
+
+    private void publishRenamed(Map<String, String> renamedNames) {
+        eventPublisher.publishEvent(new SubjectRenamedEvent(this, renamedNames));
+    }
+}
@@ -0,0 +1,315 @@
+package com.smwu.matchalot.application.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 자동완성용 문자 n-gram 역색인 (1-gram + 2-gram, 공백 무시, 소문자).
+ * posting은 슬롯 번호 int 배열이고 슬롯은 증가만 하므로 항상 정렬 상태 -> 교집합은 이진 탐색.
+ * 읽기는 공유 락, 갱신(승인/거절/삭제)은 드물어서 배타 락으로 충분하다.
+ * 항목 수와 추정 메모리가 한도를 넘으면 더 이상 추가하지 않는다.
+ */
+final class SuggestIndex<K, V> {
+
+    // 한 번의 검색에서 확인하는 후보 수 상한 (흔한 글자 한 개 검색 시 응답 시간 보장)
+    private static final int MAX_CANDIDATES = 2_000;
+    // 객체 헤더/참조/HashMap 노드 등 대략적인 고정 비용
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int POSTINGS_OVERHEAD_BYTES = 80;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, Postings> postingsByGram = new HashMap<>();
+    private final Map<K, Integer> slotByKey = new HashMap<>();
+    private Entry<K, V>[] entries;
+    private int nextSlot;
+    private long estimatedBytes;
+    private long rejectedCount;
+
+    private record Entry<K, V>(K key, String normalized, int[] grams, V value, long bytes) {
+    }
+
+    @SuppressWarnings("unchecked")
+    SuggestIndex(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.entries = new Entry[64];
+    }
+
+    // 같은 key가 있으면 교체. 한도 초과로 추가하지 못하면 false
+    boolean put(K key, String text, V value) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return false;
+        }
+        int[] grams = grams(normalized);
+        long bytes = ENTRY_OVERHEAD_BYTES + normalized.length() * 2L + grams.length * 4L;
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            if (slotByKey.size() >= maxEntries || estimatedBytes + bytes > maxBytes) {
+                rejectedCount++;
+                return false;
+            }
+            compactIfSparse();
+            int slot = nextSlot++;
+            if (slot == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[slot] = new Entry<>(key, normalized, grams, value, bytes);
+            slotByKey.put(key, slot);
+            estimatedBytes += bytes;
+            for (int gram : grams) {
+                Postings postings = postingsByGram.get(gram);
+                if (postings == null) {
+                    postings = new Postings();
+                    postingsByGram.put(gram, postings);
+                    estimatedBytes += POSTINGS_OVERHEAD_BYTES;
+                }
+                estimatedBytes += postings.append(slot);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    V remove(K key) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 모든 n-gram을 포함하는 항목 중 실제로 검색어를 포함하는 것만 반환.
+     * 검색어로 시작하는 항목 우선, 그다음 짧은 순.
+     */
+    List<V> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int[] grams = queryGrams(normalized);
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                Postings postings = postingsByGram.get(grams[i]);
+                if (postings == null) {
+                    return List.of();
+                }
+                lists[i] = postings;
+            }
+            // 가장 짧은 posting부터 순회해야 교집합 비용이 최소
+            Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+            List<Entry<K, V>> matches = new ArrayList<>();
+            Postings smallest = lists[0];
+            for (int i = 0; i < smallest.size && matches.size() < MAX_CANDIDATES; i++) {
+                int slot = smallest.slots[i];
+                if (!containsInAll(lists, slot)) {
+                    continue;
+                }
+                Entry<K, V> entry = entries[slot];
+                if (entry.normalized().contains(normalized)) {
+                    matches.add(entry);
+                }
+            }
+
+            matches.sort(Comparator
+                    .comparing((Entry<K, V> entry) -> !entry.normalized().startsWith(normalized))
+                    .thenComparingInt(entry -> entry.normalized().length()));
+            return matches.stream()
+                    .limit(limit)
+                    .map(Entry::value)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return estimatedBytes + entries.length * 8L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long rejectedCount() {
+        lock.readLock().lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private V removeLocked(K key) {
+        Integer slot = slotByKey.remove(key);
+        if (slot == null) {
+            return null;
+        }
+        Entry<K, V> entry = entries[slot];
+        entries[slot] = null;
+        estimatedBytes -= entry.bytes();
+        for (int gram : entry.grams()) {
+            Postings postings = postingsByGram.get(gram);
+            if (postings == null) {
+                continue;
+            }
+            estimatedBytes -= postings.remove(slot);
+            if (postings.size == 0) {
+                postingsByGram.remove(gram);
+                estimatedBytes -= POSTINGS_OVERHEAD_BYTES;
+            }
+        }
+        return entry.value();
+    }
+
+    // 삭제로 빈 슬롯이 절반을 넘으면 슬롯 번호를 다시 매겨 배열/posting을 압축
+    @SuppressWarnings("unchecked")
+    private void compactIfSparse() {
+        int live = slotByKey.size();
+        if (nextSlot < 1024 || nextSlot - live <= live) {
+            return;
+        }
+        Entry<K, V>[] old = entries;
+        int oldSize = nextSlot;
+        entries = new Entry[Math.max(64, Integer.highestOneBit(Math.max(live, 1)) * 2)];
+        nextSlot = 0;
+        slotByKey.clear();
+        postingsByGram.clear();
+        estimatedBytes = 0;
+        for (int i = 0; i < oldSize; i++) {
+            Entry<K, V> entry = old[i];
+            if (entry == null) {
+                continue;
+            }
+            int slot = nextSlot++;
+            entries[slot] = entry;
+            slotByKey.put(entry.key(), slot);
+            estimatedBytes += entry.bytes();
+            for (int gram : entry.grams()) {
+                Postings postings = postingsByGram.get(gram);
+                if (postings == null) {
+                    postings = new Postings();
+                    postingsByGram.put(gram, postings);
+                    estimatedBytes += POSTINGS_OVERHEAD_BYTES;
+                }
+                estimatedBytes += postings.append(slot);
+            }
+        }
+    }
+
+    private static boolean containsInAll(Postings[] lists, int slot) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i].slots, 0, lists[i].size, slot) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // 색인용: 1-gram + 2-gram (중복 제거)
+    private static int[] grams(String normalized) {
+        int[] grams = new int[normalized.length() * 2 - 1];
+        int n = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            grams[n++] = unigram(normalized.charAt(i));
+            if (i + 1 < normalized.length()) {
+                grams[n++] = bigram(normalized.charAt(i), normalized.charAt(i + 1));
+            }
+        }
+        return Arrays.stream(grams, 0, n).distinct().toArray();
+    }
+
+    // 검색용: 한 글자는 1-gram, 그 이상은 2-gram만 (더 선택적)
+    private static int[] queryGrams(String normalized) {
+        if (normalized.length() == 1) {
+            return new int[]{unigram(normalized.charAt(0))};
+        }
+        int[] grams = new int[normalized.length() - 1];
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            grams[i] = bigram(normalized.charAt(i), normalized.charAt(i + 1));
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    // 1-gram은 하위 16비트만, 2-gram은 첫 글자(0이 아님)를 상위 16비트에 -> 두 종류가 겹치지 않음
+    private static int unigram(char c) {
+        return c;
+    }
+
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    // 정렬된 int 슬롯 목록. 반환값은 추정 메모리 변화량(bytes)
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        long append(int slot) {
+            long grown = 0;
+            if (size == slots.length) {
+                grown = slots.length * 4L;
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+            slots[size++] = slot;
+            return grown;
+        }
+
+        long remove(int slot) {
+            int idx = Arrays.binarySearch(slots, 0, size, slot);
+            if (idx < 0) {
+                return 0;
+            }
+            System.arraycopy(slots, idx + 1, slots, idx, size - idx - 1);
+            size--;
+            if (size > 4 && size < slots.length / 4) {
+                long shrunk = (slots.length - slots.length / 2) * 4L;
+                slots = Arrays.copyOf(slots, slots.length / 2);
+                return shrunk;
+            }
+            return 0;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.smwu.matchalot.application.service;
 
+import com.smwu.matchalot.application.event.TrustScoreChangedEvent;
+import com.smwu.matchalot.application.event.UserDeletedEvent;
 import com.smwu.matchalot.domain.model.entity.User;
 import com.smwu.matchalot.domain.model.vo.Email;
 import com.smwu.matchalot.domain.model.vo.UserId;
@@ -8,6 +10,7 @@ import com.smwu.matchalot.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,6 +24,7 @@ import java.util.Set;
 public class UserService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${spring.application.email}")
     private String ADMIN_EMAILS;
@@ -76,6 +80,7 @@ public class UserService {
     public Mono<User> promoteToMember(UserId userId) {
         return userRepository.findById(userId)
                 .map(User::promoteToMember)
+                // 등업 시 신뢰도 +5 (승인 트랜잭션 안에서 호출되므로 신뢰도 변경 발행은 호출자가 커밋 후에)
                 .flatMap(userRepository::save)
                 .flatMap(user -> {
                     // 알림 생성
@@ -85,6 +90,12 @@ public class UserService {
                 .doOnSuccess(user -> log.info("등업 성공:{} {}", user.getId().value(), user.getRole().getDescription()));
     }
 
+    // 트랜잭션 안에서 신뢰도를 바꾼 호출자는 커밋 후에 직접 발행한다
+    public void publishTrustScoreChanged(User user) {
+        eventPublisher.publishEvent(new TrustScoreChangedEvent(
+                this, user.getId().value(), user.getTrustScore().value()));
+    }
+
     public Mono<Boolean> isAdminById(UserId userId) {
         return userRepository.findById(userId)
                 .map(User::isAdmin)
@@ -118,7 +129,8 @@ public class UserService {
                         return Mono.error(new IllegalStateException("관리자는 탈퇴할 수 없습니다"));
                     }
 
-                    return userRepository.deleteById(userId);
+                    return userRepository.deleteById(userId)
+                            .then(Mono.<Void>fromRunnable(() -> publishUserDeleted(user)));
                 })
                 .doOnSuccess(ignored -> log.info("사용자 탈퇴 완료: ID={}", userId.value()))
                 .doOnError(error -> log.error("사용자 탈퇴 실패: ID={}, 오류={}", userId.value(), error.getMessage()));
@@ -148,7 +160,8 @@ public class UserService {
                         return Mono.error(new IllegalStateException("관리자는 강제 탈퇴시킬 수 없습니다"));
                     }
 
-                    return userRepository.deleteById(userId);
+                    return userRepository.deleteById(userId)
+                            .then(Mono.<Void>fromRunnable(() -> publishUserDeleted(user)));
                 })
                 .doOnSuccess(ignored -> log.info("사용자 강제 탈퇴 완료: ID={}, 사유={}", userId.value(), reason))
                 .doOnError(error -> log.error("사용자 강제 탈퇴 실패: ID={}, 오류={}", userId.value(), error.getMessage()));
@@ -168,11 +181,17 @@ public class UserService {
                     // 3. 신고 관련 데이터 처리
                     // TODO: 관련 서비스들과 연동하여 데이터 정리
 
-                    return userRepository.deleteById(userId);
+                    return userRepository.deleteById(userId)
+                            .then(Mono.<Void>fromRunnable(() -> publishUserDeleted(user)));
                 })
                 .doOnSuccess(ignored -> log.info("사용자 데이터 정리 및 탈퇴 완료: ID={}", userId.value()));
     }
 
+    // 족보/매칭이 cascade로 지워졌으므로 메모리 색인/캐시 정리용으로 알림
+    private void publishUserDeleted(User user) {
+        eventPublisher.publishEvent(new UserDeletedEvent(this, user.getId().value(), user.getEmail().value()));
+    }
+
     public Flux<User> getAll(UserRole role) {
         if (role != null) {
             return userRepository.findByRole(role);
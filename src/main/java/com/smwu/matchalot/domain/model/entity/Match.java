@@ -16,6 +16,9 @@ import static com.smwu.matchalot.domain.model.vo.MatchStatus.ACCEPTED;
 @Getter
 @AllArgsConstructor
 public class Match {
+    // 진행 중(PENDING/ACCEPTED) 매칭은 생성 후 1일이면 만료되므로, 정리 지연을 넉넉히 잡아도 이 기간 안에 생성된 것뿐
+    private static final int ACTIVE_WINDOW_DAYS = 7;
+
     private final MatchId id;
     private final UserId requesterId;
     private final UserId receiverId;
@@ -30,6 +33,12 @@ public class Match {
         this(null, requesterId, receiverId, requesterMaterialId, receiverMaterialId, MatchStatus.PENDING, LocalDateTime.now(), LocalDateTime.now().plusDays(1), LocalDateTime.now());
     }
 
+    // 매칭 대기열에서 자동으로 짝지어진 매칭: 양쪽 모두 교환을 원해 등록했으므로 바로 수락 상태
+    public static Match autoMatched(UserId requesterId, UserId receiverId, StudyMaterialId requesterMaterialId, StudyMaterialId receiverMaterialId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Match(null, requesterId, receiverId, requesterMaterialId, receiverMaterialId, ACCEPTED, now, now.plusDays(1), now);
+    }
+
     public Match accept() {
         if (status != MatchStatus.PENDING) {
             throw new IllegalStateException("대기 중인 매칭만 수락할 수 있습니다");
@@ -61,6 +70,11 @@ public class Match {
         return new Match(id, requesterId, receiverId, requesterMaterialId, receiverMaterialId, MatchStatus.COMPLETED, createdAt, expiredAt, LocalDateTime.now());
     }
 
+    // 진행 중 매칭 조회 조건(created_at >= 이 값)으로 최근 파티션만 읽게 함
+    public static LocalDateTime activeCreatedSince(LocalDateTime now) {
+        return now.minusDays(ACTIVE_WINDOW_DAYS);
+    }
+
     //이 매칭의 참여자인지 확인하기
     public boolean isParticipant(UserId userId) {
         return userId.equals(requesterId) || userId.equals(receiverId);
@@ -51,6 +51,7 @@ public class Notification {
         MATERIAL_REJECTED("족보 거절"),
         MATCH_COMPLETED("매칭 성사"),
         MATCH_REQUEST_RECEIVED("매칭 요청 받음"),
+        MATCH_EXPIRED("매칭 만료"),
         SYSTEM("시스템 알림");
 
         private final String description;
@@ -20,20 +20,24 @@ public class StudyMaterial {
     private  Questions questions;
     private MaterialStatus status;
     private  LocalDateTime createdAt;
-    private String tempPdfData;
+    private PdfFile pdfFile; // 족보 PDF (거절/삭제 시 해제, 승인 후에는 다운로드로 제공)
 
     public StudyMaterial(UserId uploaderId, String title, Subject subject, ExamType examType, Semester semester, Questions questions) {
         this(null, uploaderId, title, subject, examType, semester, questions,MaterialStatus.PENDING, LocalDateTime.now(), null);
     }
 
-    public StudyMaterial(UserId uploaderId, String title, Subject subject, ExamType examType, Semester semester, Questions questions, String tempPdfData) {
-        this(null, uploaderId, title, subject, examType, semester, questions,MaterialStatus.PENDING, LocalDateTime.now(), tempPdfData);
+    public StudyMaterial(UserId uploaderId, String title, Subject subject, ExamType examType, Semester semester, Questions questions, PdfFile pdfFile) {
+        this(null, uploaderId, title, subject, examType, semester, questions,MaterialStatus.PENDING, LocalDateTime.now(), pdfFile);
     }
 
     public StudyMaterial(UserId uploaderId, String title, Subject subject, ExamType examType, Semester semester, Questions questions, MaterialStatus status) {
         this(null, uploaderId, title, subject, examType, semester, questions, status, LocalDateTime.now(), null);
     }
 
+    public boolean hasPdf() {
+        return pdfFile != null;
+    }
+
     public boolean isUploadedBy(UserId userId) {
         return uploaderId.equals(userId);
     }
@@ -55,9 +59,9 @@ public class StudyMaterial {
         return this.id;
     }
 
-    // id 설정 메서드 (저장 후 사용)
-    public void setId(StudyMaterialId id) {
-        this.id = id;
+    // 저장 후 발급된 id를 붙인 사본
+    public StudyMaterial withId(StudyMaterialId id) {
+        return new StudyMaterial(id, uploaderId, title, subject, examType, semester, questions, status, createdAt, pdfFile);
     }
 
     public Question getQuestion(int number) {
@@ -73,7 +77,7 @@ public class StudyMaterial {
         if (status != MaterialStatus.PENDING) {
             throw new IllegalStateException("승인 대기 상태의 자료만 승인 가능합니다.");
         }
-        return new StudyMaterial(id, uploaderId, title, subject, examType, semester, questions, MaterialStatus.APPROVED, createdAt, null);
+        return new StudyMaterial(id, uploaderId, title, subject, examType, semester, questions, MaterialStatus.APPROVED, createdAt, pdfFile);
     }
 
     public StudyMaterial reject() {
@@ -0,0 +1,47 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+//목록 keyset 페이지네이션 커서 (created_at, id). 클라이언트에는 불투명한 문자열로만 노출
+public record CatalogCursor(LocalDateTime createdAt, Long id) {
+    private static final String DELIMITER = "|";
+
+    public CatalogCursor {
+        if (createdAt == null || id == null) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+
+    public static CatalogCursor of(LocalDateTime createdAt, Long id) {
+        return new CatalogCursor(createdAt, id);
+    }
+
+    public String encode() {
+        String raw = createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CatalogCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(DELIMITER);
+            if (idx <= 0) {
+                throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+            }
+            return new CatalogCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException도 IllegalArgumentException 하위
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.smwu.matchalot.domain.model.vo;
+
+//중복 의심 족보와 추정 유사도 (0~1)
+public record DuplicateCandidate(StudyMaterialId materialId, double similarity) {
+    public static DuplicateCandidate of(StudyMaterialId materialId, double similarity) {
+        return new DuplicateCandidate(materialId, similarity);
+    }
+}
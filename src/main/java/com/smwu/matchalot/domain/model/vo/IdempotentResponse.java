@@ -0,0 +1,11 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import java.time.LocalDateTime;
+
+// Idempotency-Key로 저장한 최초 응답. status가 null이면 아직 처리 중
+public record IdempotentResponse(String requestScope, Integer status, String body, LocalDateTime createdAt) {
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
@@ -0,0 +1,5 @@
+package com.smwu.matchalot.domain.model.vo;
+
+// 사용자별 대기 중(PENDING) 매칭 요청 수: 받은 요청 / 보낸 요청
+public record MatchInboxCounters(UserId userId, int pendingReceived, int pendingSent) {
+}
@@ -0,0 +1,21 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+
+import java.util.Arrays;
+
+// 사용자별 족보 열람 권한: 관리자 여부 + 매칭으로 열람 가능한 족보 ID (오름차순 정렬)
+public record MaterialAccess(UserId userId, boolean admin, long[] matchedMaterialIds) {
+
+    // 전체 열람 가능 여부: 관리자, 본인 업로드, 수락/완료된 매칭의 족보
+    public boolean canViewFull(StudyMaterial material) {
+        return admin
+                || material.isUploadedBy(userId)
+                || hasMatched(material.getId());
+    }
+
+    // 수락/완료된 매칭으로 열람 가능한 족보인지 (족보를 읽기 전에 판단할 때)
+    public boolean hasMatched(StudyMaterialId materialId) {
+        return Arrays.binarySearch(matchedMaterialIds, materialId.value()) >= 0;
+    }
+}
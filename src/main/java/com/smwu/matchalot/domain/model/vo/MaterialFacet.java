@@ -0,0 +1,14 @@
+package com.smwu.matchalot.domain.model.vo;
+
+//족보 필터 조합 (과목 × 시험 유형 × 학기). 건수 집계의 키
+public record MaterialFacet(Subject subject, ExamType examType, Semester semester) {
+    public MaterialFacet {
+        if (subject == null || examType == null || semester == null) {
+            throw new IllegalArgumentException("과목, 시험 유형, 학기는 필수입니다.");
+        }
+    }
+
+    public static MaterialFacet of(Subject subject, ExamType examType, Semester semester) {
+        return new MaterialFacet(subject, examType, semester);
+    }
+}
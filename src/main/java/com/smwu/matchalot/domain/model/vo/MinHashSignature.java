@@ -0,0 +1,137 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 문제 내용의 MinHash 서명 (Jaccard 유사도 추정용).
+ * 정규화한 문제 본문을 글자 5-gram shingle로 나눠 128개 해시 함수별 최솟값을 저장한다.
+ * LSH는 16 band × 8 row -> 유사도 약 0.7 이상이면 높은 확률로 같은 band 버킷에 걸린다.
+ * 해시 계수는 고정 seed로 만들어 DB에 저장한 서명과 재시작 후 계산한 서명이 호환된다.
+ */
+public record MinHashSignature(int[] values) {
+    public static final int NUM_HASHES = 128;
+    public static final int BANDS = 16;
+    public static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    private static final int SHINGLE_SIZE = 5;
+
+    private static final long[] MULTIPLIERS = new long[NUM_HASHES];
+    private static final long[] OFFSETS = new long[NUM_HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x6D61746368L);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1L;
+            OFFSETS[i] = random.nextLong();
+        }
+    }
+
+    public MinHashSignature {
+        if (values == null || values.length != NUM_HASHES) {
+            throw new IllegalArgumentException("MinHash 서명 길이가 올바르지 않습니다.");
+        }
+        values = values.clone();
+    }
+
+    public static MinHashSignature of(int[] values) {
+        return new MinHashSignature(values);
+    }
+
+    public static MinHashSignature of(Questions questions) {
+        StringBuilder text = new StringBuilder();
+        for (Question question : questions.getSortedQuestions()) {
+            text.append(normalize(question.content()));
+        }
+        return ofNormalizedText(text.toString());
+    }
+
+    private static MinHashSignature ofNormalizedText(String text) {
+        int[] mins = new int[NUM_HASHES];
+        Arrays.fill(mins, Integer.MAX_VALUE);
+        if (text.isEmpty()) {
+            return new MinHashSignature(mins);
+        }
+        int shingleCount = Math.max(1, text.length() - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingleCount; start++) {
+            int end = Math.min(text.length(), start + SHINGLE_SIZE);
+            long shingle = text.substring(start, end).hashCode();
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int hash = (int) (mix(shingle * MULTIPLIERS[i] + OFFSETS[i]) >>> 32);
+                if (hash < mins[i]) {
+                    mins[i] = hash;
+                }
+            }
+        }
+        return new MinHashSignature(mins);
+    }
+
+    // 정규화 후 남는 글자가 없으면 모든 값이 MAX_VALUE -> 다른 빈 서명과 100% 일치하므로 비교/색인하지 않음
+    public boolean isEmpty() {
+        for (int value : values) {
+            if (value != Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 추정 Jaccard 유사도 = 같은 자리 값이 일치하는 비율
+    public double similarity(MinHashSignature other) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (values[i] == other.values[i]) {
+                same++;
+            }
+        }
+        return (double) same / NUM_HASHES;
+    }
+
+    // band 번호를 섞은 버킷 키 (band가 다르면 같은 값이어도 다른 버킷)
+    public long bandKey(int band) {
+        long hash = band;
+        int from = band * ROWS_PER_BAND;
+        for (int i = from; i < from + ROWS_PER_BAND; i++) {
+            hash = hash * 31 + values[i];
+        }
+        return mix(hash);
+    }
+
+    @Override
+    public int[] values() {
+        return values.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MinHashSignature other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "MinHashSignature[" + NUM_HASHES + "]";
+    }
+
+    // 공백/문장부호/대소문자/전각 차이는 무시
+    private static String normalize(String content) {
+        String normalized = Normalizer.normalize(content, Normalizer.Form.NFKC);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        normalized.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
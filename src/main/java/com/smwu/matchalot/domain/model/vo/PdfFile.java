@@ -0,0 +1,36 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+//내용 주소 기반(SHA-256) PDF 참조. 실제 바이트는 PdfStorage에 저장
+public record PdfFile(String sha256, long size) {
+    public PdfFile {
+        if (sha256 == null || !sha256.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("유효하지 않은 PDF 해시입니다.");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("PDF 파일이 비어 있습니다.");
+        }
+    }
+
+    public static PdfFile of(String sha256, long size) {
+        return new PdfFile(sha256, size);
+    }
+
+    public static PdfFile fromContent(byte[] content) {
+        if (content == null || content.length == 0) {
+            throw new IllegalArgumentException("PDF 파일이 비어 있습니다.");
+        }
+        return new PdfFile(HexFormat.of().formatHex(newDigest().digest(content)), content.length);
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+}
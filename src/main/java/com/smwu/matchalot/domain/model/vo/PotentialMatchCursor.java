@@ -0,0 +1,48 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+//매칭 후보 keyset 페이지네이션 커서 (업로더 신뢰도, created_at, id)
+public record PotentialMatchCursor(int trustScore, LocalDateTime createdAt, Long id) {
+    private static final String DELIMITER = "|";
+
+    public PotentialMatchCursor {
+        if (createdAt == null || id == null) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+
+    public static PotentialMatchCursor of(int trustScore, LocalDateTime createdAt, Long id) {
+        return new PotentialMatchCursor(trustScore, createdAt, id);
+    }
+
+    public String encode() {
+        String raw = trustScore + DELIMITER + createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PotentialMatchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+            }
+            return new PotentialMatchCursor(
+                    Integer.parseInt(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    Long.parseLong(parts[2])
+            );
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException도 IllegalArgumentException 하위
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+}
@@ -1,37 +1,109 @@
 package com.smwu.matchalot.domain.model.vo;
 
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
-public record Questions(List<Question> questions) {
-    public Questions {
-        if (questions == null || questions.isEmpty()) {
-            throw new IllegalArgumentException("문제는 필수입니다.");
-        }
-        var questionNumbers = questions.stream()
-                .map(Question::number)
-                .collect(Collectors.toSet());
-        if (questionNumbers.size() != questions.size()) {
-            throw new IllegalArgumentException("문제 번호 중복");
+/**
+ * 족보 문제 묶음. 저장소에서 읽은 경우 하위 클래스가 원본(JSON 등)만 들고 있다가
+ * 문제 목록에 처음 접근할 때 한 번만 변환한다. 제목/과목만 쓰는 조회는 변환 비용이 없다.
+ */
+public class Questions {
+    private static final int UNKNOWN_COUNT = -1;
+
+    private final int questionCount;
+    private volatile Indexed indexed;
+
+    public Questions(List<Question> questions) {
+        this.indexed = Indexed.of(questions);
+        this.questionCount = indexed.sorted().size();
+    }
+
+    // 지연 로딩용: 개수를 모르면 음수를 넘긴다
+    protected Questions(int questionCount) {
+        this.questionCount = questionCount >= 0 ? questionCount : UNKNOWN_COUNT;
+    }
+
+    // 지연 로딩 하위 클래스가 구현 (최초 접근 시 한 번만 호출됨)
+    protected List<Question> load() {
+        throw new IllegalStateException("문제 목록을 불러올 수 없습니다.");
+    }
+
+    protected final boolean isLoaded() {
+        return indexed != null;
+    }
+
+    private Indexed indexed() {
+        Indexed local = indexed;
+        if (local == null) {
+            synchronized (this) {
+                local = indexed;
+                if (local == null) {
+                    local = Indexed.of(load());
+                    indexed = local;
+                }
+            }
         }
+        return local;
+    }
+
+    public List<Question> questions() {
+        return indexed().sorted();
     }
 
     public int getQuestionCount() {
-        return questions.size();
+        return questionCount != UNKNOWN_COUNT ? questionCount : indexed().sorted().size();
     }
 
     public Question getQuestion(int number) {
-        return questions.stream()
-                .filter(q -> q.number() == number)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException(String.format("문제 %d을 찾을 수 없습니다.", number)));
-
+        Question question = indexed().byNumber().get(number);
+        if (question == null) {
+            throw new IllegalArgumentException(String.format("문제 %d을 찾을 수 없습니다.", number));
+        }
+        return question;
     }
 
+    // 생성 시점에 이미 정렬해 두므로 복사/정렬 없음
     public List<Question> getSortedQuestions() {
-        return questions.stream()
-                .sorted((q1,q2) -> Integer.compare(q1.number(), q2.number())) //record는 자동 private final 필드임. getter 가 자동배치되므로 number() 사용
-                .toList();
+        return indexed().sorted();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Questions other)) return false;
+        return questions().equals(other.questions());
+    }
+
+    @Override
+    public int hashCode() {
+        return questions().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return isLoaded() ? "Questions" + questions() : "Questions[count=" + questionCount + ", not loaded]";
+    }
+
+    // 번호순 정렬 목록 + 번호 -> 문제 O(1) 조회
+    private record Indexed(List<Question> sorted, Map<Integer, Question> byNumber) {
+        static Indexed of(List<Question> questions) {
+            if (questions == null || questions.isEmpty()) {
+                throw new IllegalArgumentException("문제는 필수입니다.");
+            }
+            Map<Integer, Question> byNumber = new HashMap<>(questions.size() * 2);
+            for (Question question : questions) {
+                if (byNumber.put(question.number(), question) != null) {
+                    throw new IllegalArgumentException("문제 번호 중복");
+                }
+            }
+            List<Question> sorted = questions.stream()
+                    .sorted(Comparator.comparingInt(Question::number))
+                    .toList();
+            return new Indexed(sorted, Collections.unmodifiableMap(byNumber));
+        }
     }
 }
@@ -0,0 +1,46 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+//검색 결과 keyset 페이지네이션 커서 (rank, id). rank는 SQL에서 반올림한 numeric이라 정확히 비교 가능
+public record SearchCursor(BigDecimal rank, Long id) {
+    private static final String DELIMITER = "|";
+
+    public SearchCursor {
+        if (rank == null || id == null) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+
+    public static SearchCursor of(BigDecimal rank, Long id) {
+        return new SearchCursor(rank, id);
+    }
+
+    public String encode() {
+        String raw = rank.toPlainString() + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(DELIMITER);
+            if (idx <= 0) {
+                throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+            }
+            return new SearchCursor(
+                    new BigDecimal(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException도 IllegalArgumentException 하위
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+}
@@ -1,24 +1,36 @@
 package com.smwu.matchalot.domain.model.vo;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public record Subject(String name) {
+    // subjects 테이블에 등록된 과목은 하나의 인스턴스만 사용 (SubjectRegistry가 기동 시 채움)
+    private static final Map<String, Subject> INTERNED = new ConcurrentHashMap<>();
+
     public Subject {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("과목명은 필수입니다.");
         }
     }
 
+    // 등록된 과목이면 공유 인스턴스, 아니면 새 인스턴스 (검색어 등 임의 문자열로 등록 목록이 늘지 않도록)
     public static Subject of(String name) {
-        return new Subject(name);
+        Subject interned = name != null ? INTERNED.get(name) : null;
+        return interned != null ? interned : new Subject(name);
+    }
+
+    public static Subject intern(String name) {
+        return INTERNED.computeIfAbsent(name, Subject::new);
     }
 
-    public static final Subject COMPUTER_NETWORK_1 = new Subject("컴퓨터네트워크Ⅰ");
-    public static final Subject SOCIAL_MEDIA_UNDERSTANDING = new Subject("소셜미디어의이해와활용");
-    public static final Subject KOREAN_CULTURE_UNDERSTANDING = new Subject("한국문화의이해");
-    public static final Subject CLASSIC_FIELD_STORY = new Subject("고전의현장과스토리");
-    public static final Subject DIGITAL_PHILOSOPHY = new Subject("디지털철학");
-    public static final Subject WESTERN_HISTORY_CULTURE = new Subject("서양의역사와문화");
-    public static final Subject COMPUTER_MATH_YO = new Subject("컴퓨터수학-최영우 교수님");
-    public static final Subject COMPUTER_MATH_HJ = new Subject("컴퓨터수학-채희준 교수님");
+    public static final Subject COMPUTER_NETWORK_1 = intern("컴퓨터네트워크Ⅰ");
+    public static final Subject SOCIAL_MEDIA_UNDERSTANDING = intern("소셜미디어의이해와활용");
+    public static final Subject KOREAN_CULTURE_UNDERSTANDING = intern("한국문화의이해");
+    public static final Subject CLASSIC_FIELD_STORY = intern("고전의현장과스토리");
+    public static final Subject DIGITAL_PHILOSOPHY = intern("디지털철학");
+    public static final Subject WESTERN_HISTORY_CULTURE = intern("서양의역사와문화");
+    public static final Subject COMPUTER_MATH_YO = intern("컴퓨터수학-최영우 교수님");
+    public static final Subject COMPUTER_MATH_HJ = intern("컴퓨터수학-채희준 교수님");
 
 
 }
@@ -0,0 +1,20 @@
+package com.smwu.matchalot.domain.repository;
+
+import com.smwu.matchalot.domain.model.vo.IdempotentResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepository {
+    Mono<IdempotentResponse> find(String ownerEmail, String key);
+    // 처리 중으로 선점. 이미 있는 키면 false (staleBefore 이전부터 갱신이 끊긴 처리 중 키는 다시 선점)
+    Mono<Boolean> claim(String ownerEmail, String key, String requestScope, String claimToken,
+                        LocalDateTime staleBefore);
+    // 처리 중임을 알림. 그 사이 다른 요청이 다시 선점했으면 false
+    Mono<Boolean> renew(String ownerEmail, String key, String claimToken);
+    // claimToken으로 선점한 경우에만 응답 저장. 선점을 잃었으면 false
+    Mono<Boolean> complete(String ownerEmail, String key, String claimToken, int status, String body);
+    // 실패한 요청은 선점을 풀어 같은 키로 다시 시도할 수 있게 함 (claimToken으로 선점한 경우에만)
+    Mono<Void> release(String ownerEmail, String key, String claimToken);
+    Mono<Long> deleteCreatedBefore(LocalDateTime cutoff);
+}
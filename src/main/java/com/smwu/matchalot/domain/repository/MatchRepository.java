@@ -1,16 +1,34 @@
 package com.smwu.matchalot.domain.repository;
 
 import com.smwu.matchalot.domain.model.entity.Match;
+import com.smwu.matchalot.domain.model.vo.Email;
 import com.smwu.matchalot.domain.model.vo.MatchId;
+import com.smwu.matchalot.domain.model.vo.MatchInboxCounters;
 import com.smwu.matchalot.domain.model.vo.MatchStatus;
 import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
 import com.smwu.matchalot.domain.model.vo.UserId;
+import com.smwu.matchalot.web.dto.MatchResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 public interface MatchRepository {
     Mono<Match> save(Match match);
+    // 새 매칭 일괄 저장. 같은 족보 쌍의 진행 중/완료 매칭이 이미 있으면 그 행은 건너뛰고, 저장된 것만 반환
+    Flux<Match> saveAllSkippingExisting(List<Match> matches);
+    // 족보 쌍([a, b], 방향 무관) 단위 잠금 (트랜잭션 안에서만 의미 있음, 커밋/롤백 시 해제).
+    // 수동 요청과 자동 매칭의 "진행 중 매칭 확인 -> INSERT"를 직렬화한다.
+    // matches는 created_at 파티션 테이블이라 족보 쌍 UNIQUE 인덱스를 둘 수 없어 잠금으로 막는다
+    Mono<Void> lockMaterialPairs(Collection<List<StudyMaterialId>> pairs);
     Mono<Match> findById(MatchId matchId);
+
+    // 조건부 상태 전이(UPDATE ... WHERE status = 기대 상태 RETURNING *). 조건이 맞지 않으면 empty
+    Mono<Match> acceptIfPending(MatchId matchId, UserId receiverId);
+    Mono<Match> rejectIfPending(MatchId matchId, UserId receiverId);
+    Mono<Match> completeIfAccepted(MatchId matchId, UserId participantId);
     Mono<Void> deleteById(MatchId matchId);
 
     
@@ -26,6 +44,12 @@ public interface MatchRepository {
     Flux<Match> findByReceiverId(UserId receiverId);
     Flux<Match> findByRequesterId(UserId requesterId);
     Flux<Match> findByUserIdInvolved(UserId userId);
+
+    // 목록 화면용: 로그인 이메일 기준, 닉네임/족보 제목까지 채운 응답을 쿼리 1번으로
+    Flux<MatchResponse> findMatchListByEmail(Email email);
+    Flux<MatchResponse> findReceivedRequestListByEmail(Email email);
+    Flux<MatchResponse> findSentRequestListByEmail(Email email);
+    Flux<MatchResponse> findActiveMatchListByEmail(Email email);
     Mono<Match> findCompletedMatchByUserAndMaterial(UserId userId, StudyMaterialId materialId);
 
     Mono<Boolean> existsPendingMatchBetween(UserId user1, UserId user2);
@@ -34,15 +58,28 @@ public interface MatchRepository {
     Flux<Match> findByMaterialIds(StudyMaterialId materialId1, StudyMaterialId materialId2);
 
     Flux<Match> findExpiredMatches();
+    // now 이전에 만료된 진행 중 매칭을 최대 limit건 EXPIRED로 바꾸고 바뀐 행 반환 (UPDATE 한 번)
+    Flux<Match> expireOverdue(LocalDateTime now, int limit);
+    // 지정한 매칭 중 now 기준 만료된 진행 중 매칭만 EXPIRED로 바꾸고 바뀐 행 반환
+    Flux<Match> expireDue(Collection<MatchId> matchIds, LocalDateTime now);
+    // 진행 중(PENDING/ACCEPTED) 매칭 전체 (만료 타이머 적재용)
+    Flux<Match> findActiveMatches();
 
     Mono<Long> countByUserIdAndStudyMaterialId(UserId userId, StudyMaterialId studyMaterialId);
     Mono<Long> countTotalMatchesByUserId(UserId userId);
     Mono<Long> countByUserIdAndStatus(UserId userId, MatchStatus status);
+    // user_match_counters 한 행 (로그인 이메일 기준, 카운터 행이 없으면 0). 사용자가 없으면 empty
+    Mono<MatchInboxCounters> findInboxCountersByEmail(Email email);
 
     //접근권
     Mono<Boolean> hasAccessToMaterial(UserId userId, StudyMaterialId materialId);
+    // userId가 열람할 수 있는 족보 전체 (hasAccessToMaterial이 true인 족보 집합, 중복 없음)
+    Flux<StudyMaterialId> findAccessibleMaterialIds(UserId userId);
     
     //중복 매칭 체크
+    // userId가 materialId로 참여 중인(PENDING/ACCEPTED) 매칭 중 상대 족보가 counterpartMaterialIds에 있는 것
+    Flux<StudyMaterialId> findActiveCounterpartMaterialIds(UserId userId, StudyMaterialId materialId,
+                                                          Collection<StudyMaterialId> counterpartMaterialIds);
     Mono<Boolean> existsActiveMatchForSpecificMaterials(UserId requesterId, UserId receiverId, StudyMaterialId requesterMaterialId, StudyMaterialId receiverMaterialId);
 
 }
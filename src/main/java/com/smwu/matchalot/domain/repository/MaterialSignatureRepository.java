@@ -0,0 +1,28 @@
+package com.smwu.matchalot.domain.repository;
+
+import com.smwu.matchalot.domain.model.vo.DuplicateCandidate;
+import com.smwu.matchalot.domain.model.vo.MinHashSignature;
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+import com.smwu.matchalot.domain.model.vo.UserId;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple3;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface MaterialSignatureRepository {
+    Mono<Void> saveSignature(StudyMaterialId materialId, MinHashSignature signature);
+    // 일괄 업로드용 (다중 행 INSERT 한 번)
+    Mono<Void> saveSignatures(Map<StudyMaterialId, MinHashSignature> signatures);
+    // (족보 ID, 업로더 ID, 서명): 탈퇴 시 업로더의 족보를 색인에서 빼기 위해 업로더도 함께
+    Flux<Tuple3<StudyMaterialId, UserId, MinHashSignature>> findAllSignatures();
+    // 서명이 아직 없는 족보 (마이그레이션 이전 데이터 보충용)
+    Flux<StudyMaterialId> findMaterialIdsWithoutSignature();
+
+    Mono<Void> saveDuplicates(StudyMaterialId materialId, List<DuplicateCandidate> duplicates);
+    Mono<Void> saveDuplicates(Map<StudyMaterialId, List<DuplicateCandidate>> duplicatesByMaterial);
+    // 족보 ID -> 중복 의심 목록 (유사도 높은 순)
+    Mono<Map<Long, List<DuplicateCandidate>>> findDuplicates(Collection<StudyMaterialId> materialIds);
+}
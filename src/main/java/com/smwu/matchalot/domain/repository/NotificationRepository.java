@@ -6,8 +6,12 @@ import com.smwu.matchalot.domain.model.vo.UserId;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface NotificationRepository {
     Mono<Notification> save(Notification notification);
+    // 새 알림 여러 건을 INSERT 한 번으로 저장
+    Flux<Notification> saveAll(List<Notification> notifications);
     Mono<Notification> findById(NotificationId id);
     Flux<Notification> findByUserId(UserId userId);
     Flux<Notification> findUnreadByUserId(UserId userId);
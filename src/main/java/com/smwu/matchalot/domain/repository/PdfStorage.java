@@ -0,0 +1,33 @@
+package com.smwu.matchalot.domain.repository;
+
+import com.smwu.matchalot.domain.model.vo.PdfFile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Base64;
+
+//족보 PDF 저장소. SHA-256 해시를 키로 사용하므로 같은 파일은 한 번만 저장된다
+public interface PdfStorage {
+    Mono<PdfFile> store(byte[] content);
+    // 스트리밍 업로드: 받는 대로 저장하며 해시 계산, maxBytes 초과 시 즉시 IllegalArgumentException
+    Mono<PdfFile> store(Flux<DataBuffer> content, long maxBytes);
+    Mono<byte[]> load(PdfFile pdfFile);
+    // 다운로드용 파일 기반 Resource (zero-copy 전송, Range 응답 가능). 없으면 empty
+    Mono<Resource> open(PdfFile pdfFile);
+    Mono<Boolean> exists(PdfFile pdfFile);
+    Mono<Void> delete(PdfFile pdfFile);
+
+    // 기존 JSON 업로드(Base64, data URL 허용) 호환용
+    default Mono<PdfFile> storeBase64(String base64) {
+        if (base64 == null || base64.isBlank()) {
+            return Mono.empty();
+        }
+        String data = base64.startsWith("data:") ? base64.substring(base64.indexOf(',') + 1) : base64;
+        return Mono.fromCallable(() -> Base64.getMimeDecoder().decode(data))
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new IllegalArgumentException("PDF 데이터가 올바른 Base64 형식이 아닙니다", e))
+                .flatMap(this::store);
+    }
+}
@@ -2,13 +2,23 @@ package com.smwu.matchalot.domain.repository;
 
 import com.smwu.matchalot.domain.model.entity.StudyMaterial;
 import com.smwu.matchalot.domain.model.vo.*;
+import com.smwu.matchalot.web.dto.StudyMaterialSearchHit;
+import com.smwu.matchalot.web.dto.StudyMaterialSuggestion;
 import com.smwu.matchalot.web.dto.StudyMaterialSummaryResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface StudyMaterialRepository {
     Mono<StudyMaterial> save(StudyMaterial studyMaterial);
+    // 신규 족보 일괄 저장 (다중 행 INSERT). 입력 순서대로 ID가 채워진 족보를 반환
+    Flux<StudyMaterial> saveAll(List<StudyMaterial> studyMaterials);
     Mono<StudyMaterial> findById(StudyMaterialId id);
+    // 미리보기 전용: 앞쪽 questionLimit개 문제만 읽음 (문제 수는 전체 기준). 저장에 사용할 수 없음
+    Mono<StudyMaterial> findPreviewById(StudyMaterialId id, int questionLimit);
     Flux<StudyMaterial> findByUploaderId(UserId uploaderId);
     Flux<StudyMaterial> findBySubject(Subject subject);
     Flux<StudyMaterial> findBySubjectAndExamType(Subject subject, ExamType examType);
@@ -21,17 +31,36 @@ public interface StudyMaterialRepository {
     Mono<Void> deleteById(StudyMaterialId id);
     Flux<StudyMaterial> findAll();
     Flux<StudyMaterial> findByStatus(MaterialStatus status);
+    Mono<Long> countByPdfFile(PdfFile pdfFile);
+    // PDF 해시 단위 잠금 (트랜잭션 안에서만 의미 있음, 커밋/롤백 시 해제).
+    // 참조 행 저장은 공유 잠금, 참조 수 확인 후 파일 삭제는 배타 잠금
+    Mono<Void> lockPdfReference(PdfFile pdfFile, boolean exclusive);
 
     //관리자용
     Mono<Long> countByStatus(MaterialStatus status);
+    // 승인된 족보의 과목 × 시험 유형 × 학기별 건수 (GROUP BY 1회)
+    Mono<Map<MaterialFacet, Long>> countApprovedByFacet();
     Flux<StudyMaterial> findAllApproved();
     Flux<StudyMaterial> findBySubjectAndStatus(Subject subject, MaterialStatus status);
     Flux<StudyMaterial> findBySubjectAndExamTypeAndStatus(Subject subject, ExamType examType, MaterialStatus status);
     
 
-    Flux<StudyMaterialSummaryResponse> findAllWithUploader();
-    Flux<StudyMaterialSummaryResponse> findAllWithUploaderForAdmin();
-    Flux<StudyMaterialSummaryResponse> findBySubjectWithUploader(Subject subject);
-    Flux<StudyMaterialSummaryResponse> findBySubjectAndExamTypeWithUploader(Subject subject, ExamType examType);
+    // 자동완성 색인 전체 로드용 (승인 족보의 제목/과목/시험 유형만, 캐시 거치지 않음)
+    Flux<StudyMaterialSuggestion> findApprovedSuggestions();
     Flux<StudyMaterialSummaryResponse> findByUploaderIdWithUploader(UserId uploaderId);
+
+    // keyset 페이지네이션 (created_at DESC, id DESC). subject/examType/cursor는 null 허용
+    Flux<StudyMaterialSummaryResponse> findPageWithUploader(Subject subject, ExamType examType, boolean approvedOnly,
+                                                            CatalogCursor cursor, int limit);
+
+    // 승인된 족보의 업로더만 한 번에 조회 (없거나 미승인 족보는 결과에서 빠짐)
+    Mono<Map<StudyMaterialId, UserId>> findApprovedUploaderIds(Collection<StudyMaterialId> ids);
+
+    // materialId와 같은 과목/시험의 다른 이용자 승인 족보 중, userId와 진행 중 매칭이 없는 것
+    // (uploader 신뢰도 DESC, created_at DESC, id DESC keyset). cursor는 null 허용
+    Flux<StudyMaterialSummaryResponse> findPotentialMatchesWithUploader(UserId userId, StudyMaterialId materialId,
+                                                                        PotentialMatchCursor cursor, int limit);
+
+    // 승인된 족보 제목/문제 내용 검색 (rank DESC, id DESC keyset). cursor는 null 허용
+    Flux<StudyMaterialSearchHit> searchApproved(String query, SearchCursor cursor, int limit);
 }
@@ -0,0 +1,19 @@
+package com.smwu.matchalot.domain.repository;
+
+import com.smwu.matchalot.domain.model.vo.Subject;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+// 과목 목록 (subjects 테이블). 족보는 등록된 과목으로만 올릴 수 있고, 추가/이름 변경은 관리자만
+public interface SubjectRepository {
+    Flux<Subject> findAll();
+    Mono<Boolean> isRegistered(Subject subject);
+    // 이미 있는 이름이면 IllegalArgumentException
+    Mono<Subject> create(Subject subject);
+    // 없는 과목이거나 새 이름이 이미 있으면 IllegalArgumentException
+    Mono<Subject> rename(Subject from, Subject to);
+    // DB 전체를 다시 읽어 메모리 사본과 맞춤. 이름이 바뀐 과목을 (예전 이름 -> 새 이름)으로 반환
+    Mono<Map<String, String>> reload();
+}
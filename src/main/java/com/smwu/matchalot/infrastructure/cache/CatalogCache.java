@@ -0,0 +1,174 @@
+package com.smwu.matchalot.infrastructure.cache;
+
+import com.smwu.matchalot.application.event.StudyMaterialChangedEvent;
+import com.smwu.matchalot.application.event.SubjectRenamedEvent;
+import com.smwu.matchalot.application.event.TrustScoreChangedEvent;
+import com.smwu.matchalot.application.event.UserDeletedEvent;
+import com.smwu.matchalot.domain.model.vo.CatalogCursor;
+import com.smwu.matchalot.web.dto.StudyMaterialSummaryResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 승인된 족보 목록 조회 결과 캐시 (read-through).
+ * 키는 필터 형태(과목/시험 유형/커서/limit), 용량은 캐시된 총 행 수 기준 LRU.
+ * 같은 키의 동시 미스는 쿼리 하나를 공유하고, 승인/거절/삭제/신뢰도 변경/탈퇴/과목명 변경 이벤트로 해당 키만 무효화한다.
+ */
+@Component
+@Slf4j
+public class CatalogCache {
+
+    // subject/examType이 null이면 해당 조건 없음(전체)
+    public record CatalogKey(String shape, String subject, String examType, CatalogCursor cursor, int limit) {
+        boolean covers(String changedSubject, String changedExamType) {
+            return (subject == null || Objects.equals(subject, changedSubject))
+                    && (examType == null || Objects.equals(examType, changedExamType));
+        }
+    }
+
+    private final long maxRows;
+    private final LinkedHashMap<CatalogKey, List<StudyMaterialSummaryResponse>> entries =
+            new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<CatalogKey, Mono<List<StudyMaterialSummaryResponse>>> inFlight = new ConcurrentHashMap<>();
+    // 무효화 세대: 조회 도중 무효화되면 그 결과는 저장하지 않음
+    private final AtomicLong generation = new AtomicLong();
+    private long cachedRows;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    public CatalogCache(MeterRegistry meterRegistry,
+                        @Value("${app.cache.catalog.max-rows:20000}") long maxRows) {
+        this.maxRows = maxRows;
+        this.hits = Counter.builder("cache.gets").tag("cache", "catalog").tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", "catalog").tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", "catalog")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("cache.invalidations").tag("cache", "catalog")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, CatalogCache::size).tag("cache", "catalog")
+                .register(meterRegistry);
+        Gauge.builder("cache.rows", this, CatalogCache::rows).tag("cache", "catalog")
+                .register(meterRegistry);
+    }
+
+    public Flux<StudyMaterialSummaryResponse> get(CatalogKey key, Supplier<Flux<StudyMaterialSummaryResponse>> loader) {
+        List<StudyMaterialSummaryResponse> cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return Flux.fromIterable(cached);
+        }
+        misses.increment();
+        return inFlight.computeIfAbsent(key, k -> {
+                    long loadGeneration = generation.get();
+                    return loader.get()
+                            .collectList()
+                            .doOnNext(rows -> store(k, List.copyOf(rows), loadGeneration))
+                            .doFinally(signal -> inFlight.remove(k))
+                            .cache();
+                })
+                .flatMapIterable(rows -> rows);
+    }
+
+    @EventListener
+    public void onStudyMaterialChanged(StudyMaterialChangedEvent event) {
+        if (!event.isApprovedListChanged()) {
+            return;
+        }
+        invalidateIf(entry -> entry.getKey().covers(event.getSubject(), event.getExamType()));
+    }
+
+    // 목록 행에 업로더 신뢰도가 들어 있으므로 그 업로더의 행을 가진 키만 제거
+    @EventListener
+    public void onTrustScoreChanged(TrustScoreChangedEvent event) {
+        invalidateUploader(event.getUserId());
+    }
+
+    // 탈퇴 시 업로드한 족보가 cascade로 삭제되므로 그 업로더의 행을 가진 키를 제거
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        invalidateUploader(event.getUserId());
+    }
+
+    // 행과 키 모두 과목명을 담고 있으므로 전부 제거
+    @EventListener
+    public void onSubjectRenamed(SubjectRenamedEvent event) {
+        invalidateIf(entry -> true);
+    }
+
+    private void invalidateUploader(Long uploaderId) {
+        invalidateIf(entry -> entry.getValue().stream()
+                .anyMatch(row -> uploaderId.equals(row.uploaderId())));
+    }
+
+    private synchronized List<StudyMaterialSummaryResponse> lookup(CatalogKey key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(CatalogKey key, List<StudyMaterialSummaryResponse> rows, long loadGeneration) {
+        // 한 항목이 용량의 절반을 넘으면 캐시하지 않음 (다른 키를 모두 밀어내지 않도록)
+        if (loadGeneration != generation.get() || rows.size() > maxRows / 2) {
+            return;
+        }
+        List<StudyMaterialSummaryResponse> previous = entries.put(key, rows);
+        cachedRows += rows.size() - (previous != null ? previous.size() : 0);
+
+        Iterator<Map.Entry<CatalogKey, List<StudyMaterialSummaryResponse>>> eldest = entries.entrySet().iterator();
+        while (cachedRows > maxRows && eldest.hasNext()) {
+            Map.Entry<CatalogKey, List<StudyMaterialSummaryResponse>> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                continue;
+            }
+            cachedRows -= entry.getValue().size();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void invalidateIf(Predicate<Map.Entry<CatalogKey, List<StudyMaterialSummaryResponse>>> predicate) {
+        generation.incrementAndGet();
+        Iterator<Map.Entry<CatalogKey, List<StudyMaterialSummaryResponse>>> it = entries.entrySet().iterator();
+        int removed = 0;
+        while (it.hasNext()) {
+            Map.Entry<CatalogKey, List<StudyMaterialSummaryResponse>> entry = it.next();
+            if (predicate.test(entry)) {
+                cachedRows -= entry.getValue().size();
+                it.remove();
+                removed++;
+            }
+        }
+        invalidations.increment(removed);
+        if (removed > 0) {
+            log.debug("목록 캐시 무효화: {}건", removed);
+        }
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized long rows() {
+        return cachedRows;
+    }
+}
@@ -0,0 +1,26 @@
+package com.smwu.matchalot.infrastructure.persistence;
+
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.time.LocalDateTime;
+
+/**
+ * 매칭 목록 조회용 projection: 매칭 + 양쪽 닉네임 + 양쪽 족보 제목 (+ 조회한 사용자 ID).
+ */
+public record MatchListView(
+        @Column("id") Long id,
+        @Column("viewer_id") Long viewerId,
+        @Column("requester_id") Long requesterId,
+        @Column("receiver_id") Long receiverId,
+        @Column("requester_material_id") Long requesterMaterialId,
+        @Column("receiver_material_id") Long receiverMaterialId,
+        @Column("status") String status,
+        @Column("created_at") LocalDateTime createdAt,
+        @Column("expired_at") LocalDateTime expiredAt,
+        @Column("updated_at") LocalDateTime updatedAt,
+        @Column("requester_nickname") String requesterNickname,
+        @Column("receiver_nickname") String receiverNickname,
+        @Column("requester_material_title") String requesterMaterialTitle,
+        @Column("receiver_material_title") String receiverMaterialTitle
+) {
+}
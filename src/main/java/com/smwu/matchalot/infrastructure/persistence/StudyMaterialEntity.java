@@ -13,8 +13,8 @@ public class StudyMaterialEntity extends BaseEntity {
     @Column("uploader_id")
     private Long uploaderId;
 
-    @Column("subject")
-    private String subject;
+    @Column("subject_id")
+    private Integer subjectId;  // subjects.id
 
     @Column("exam_type")
     private String examType;
@@ -37,6 +37,9 @@ public class StudyMaterialEntity extends BaseEntity {
     @Column("status")
     private String status;
 
-    @Column("temp_pdf_data")
-    private String tempPdfData;
+    @Column("pdf_sha256")
+    private String pdfSha256;
+
+    @Column("pdf_size")
+    private Long pdfSize;
 }
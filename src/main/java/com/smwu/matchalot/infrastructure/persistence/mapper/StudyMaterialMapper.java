@@ -2,52 +2,64 @@ package com.smwu.matchalot.infrastructure.persistence.mapper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.smwu.matchalot.domain.model.entity.StudyMaterial;
 import com.smwu.matchalot.domain.model.vo.*;
 import com.smwu.matchalot.infrastructure.persistence.StudyMaterialEntity;
 import io.r2dbc.postgresql.codec.Json;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 @Component
-@RequiredArgsConstructor
 public class StudyMaterialMapper {
 
     private final ObjectMapper objectMapper;
+    // 스레드 안전 + 타입 정보 캐시 재사용
+    private final ObjectReader questionsReader;
 
-    public StudyMaterial toDomain(StudyMaterialEntity entity) {
-        try {
-            // JSON을 Questions 객체로 변환
-            String questionsJsonString = entity.getQuestionsJson().asString();
-            QuestionDto[] questionDtos = objectMapper.readValue(questionsJsonString, QuestionDto[].class);
-            List<Question> questionList = java.util.Arrays.stream(questionDtos)
-                    .map(dto -> Question.of(dto.number(), dto.content(), dto.answer(), dto.explanation() != null && !dto.explanation().trim().isEmpty()
-                            ? dto.explanation()
-                            : "해설 없음"))
-                    .toList();
-            Questions questions = new Questions(questionList);
-
-            return new StudyMaterial(
-                    entity.getId() != null ? StudyMaterialId.of(entity.getId()) : null,
-                    UserId.of(entity.getUploaderId()),
-                    entity.getTitle(),
-                    Subject.of(entity.getSubject()),
-                    ExamType.of(entity.getExamType()),
-                    new Semester(entity.getYear(), entity.getSeason()),
-                    questions,
-                    entity.getStatus() != null ? MaterialStatus.valueOf(entity.getStatus()) : MaterialStatus.PENDING,
-                    entity.getCreatedAt(),
-                    entity.getTempPdfData()
-            );
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Questions JSON 파싱 실패", e);
-        }
+    public StudyMaterialMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.questionsReader = objectMapper.readerFor(QuestionDto[].class);
     }
 
-    public StudyMaterialEntity toEntity(StudyMaterial domain) {
+    // subject는 entity.subjectId를 SubjectRegistry로 해석한 값
+    public StudyMaterial toDomain(StudyMaterialEntity entity, Subject subject) {
+        return toDomain(entity, subject, false);
+    }
+
+    // questions 컬럼이 앞부분만 잘린 미리보기 행
+    public StudyMaterial toPreviewDomain(StudyMaterialEntity entity, Subject subject) {
+        return toDomain(entity, subject, true);
+    }
+
+    private StudyMaterial toDomain(StudyMaterialEntity entity, Subject subject, boolean partial) {
+        // 문제 JSON은 실제로 접근할 때만 파싱 (목록/매칭/제목 조회는 파싱하지 않음)
+        Questions questions = new JsonQuestions(
+                entity.getQuestionsJson(),
+                entity.getQuestionCount() != null ? entity.getQuestionCount() : -1,
+                questionsReader,
+                partial
+        );
+
+        return new StudyMaterial(
+                entity.getId() != null ? StudyMaterialId.of(entity.getId()) : null,
+                UserId.of(entity.getUploaderId()),
+                entity.getTitle(),
+                subject,
+                ExamType.of(entity.getExamType()),
+                new Semester(entity.getYear(), entity.getSeason()),
+                questions,
+                entity.getStatus() != null ? MaterialStatus.valueOf(entity.getStatus()) : MaterialStatus.PENDING,
+                entity.getCreatedAt(),
+                entity.getPdfSha256() != null ? PdfFile.of(entity.getPdfSha256(), entity.getPdfSize()) : null
+        );
+    }
+
+    public StudyMaterialEntity toEntity(StudyMaterial domain, Integer subjectId) {
         try {
             StudyMaterialEntity entity = new StudyMaterialEntity();
 
@@ -58,20 +70,31 @@ public class StudyMaterialMapper {
 
             entity.setUploaderId(domain.getUploaderId().value());
             entity.setTitle(domain.getTitle());
-            entity.setSubject(domain.getSubject().name());
+            entity.setSubjectId(subjectId);
             entity.setExamType(domain.getExamType().type());
             entity.setYear(domain.getSemester().year());
             entity.setSeason(domain.getSemester().season());
             entity.setStatus(domain.getStatus().name());
             entity.setQuestionCount(domain.getQuestionCount());
-            // Questions를 JSON으로 변환
-            List<QuestionDto> questionDtos = domain.getAllQuestions().stream()
-                    .map(q -> new QuestionDto(q.number(), q.content(), q.answer(), q.explanation()))
-                    .toList();
-
-            String questionsJsonString = objectMapper.writeValueAsString(questionDtos);
-            entity.setQuestionsJson(Json.of(questionsJsonString));
-            entity.setTempPdfData(domain.getTempPdfData());
+            // DB에서 읽은 문제는 불변이므로 원본 JSON을 그대로 되돌려 씀 (승인/거절 저장 시 파싱/재직렬화 없음)
+            if (domain.getQuestions() instanceof JsonQuestions jsonQuestions) {
+                if (jsonQuestions.partial) {
+                    throw new IllegalStateException("미리보기로 조회한 족보는 저장할 수 없습니다.");
+                }
+                entity.setQuestionsJson(jsonQuestions.json);
+            } else {
+                // Questions를 JSON으로 변환
+                List<QuestionDto> questionDtos = domain.getAllQuestions().stream()
+                        .map(q -> new QuestionDto(q.number(), q.content(), q.answer(), q.explanation()))
+                        .toList();
+
+                String questionsJsonString = objectMapper.writeValueAsString(questionDtos);
+                entity.setQuestionsJson(Json.of(questionsJsonString));
+            }
+            if (domain.getPdfFile() != null) {
+                entity.setPdfSha256(domain.getPdfFile().sha256());
+                entity.setPdfSize(domain.getPdfFile().size());
+            }
             entity.setCreatedAt(domain.getCreatedAt());
             entity.setUpdatedAt(LocalDateTime.now());
 
@@ -88,6 +111,34 @@ public class StudyMaterialMapper {
     }
 
 
+    // JSONB 원본만 들고 있다가 최초 접근 시 파싱
+    private static final class JsonQuestions extends Questions {
+        private final Json json;
+        private final ObjectReader reader;
+        private final boolean partial;
+
+        private JsonQuestions(Json json, int questionCount, ObjectReader reader, boolean partial) {
+            super(questionCount);
+            this.json = json;
+            this.reader = reader;
+            this.partial = partial;
+        }
+
+        @Override
+        protected List<Question> load() {
+            try {
+                QuestionDto[] questionDtos = reader.readValue(json.asArray());
+                return Arrays.stream(questionDtos)
+                        .map(dto -> Question.of(dto.number(), dto.content(), dto.answer(), dto.explanation() != null && !dto.explanation().trim().isEmpty()
+                                ? dto.explanation()
+                                : "해설 없음"))
+                        .toList();
+            } catch (IOException e) {
+                throw new RuntimeException("Questions JSON 파싱 실패", e);
+            }
+        }
+    }
+
     public record QuestionDto(
             int number,
             String content,
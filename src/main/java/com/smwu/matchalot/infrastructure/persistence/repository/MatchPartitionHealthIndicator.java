@@ -0,0 +1,39 @@
+package com.smwu.matchalot.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * matches 학기 파티션 상태 (readiness 그룹에 포함, 이름 matchPartition).
+ * default 파티션이 없어 파티션 범위 밖 INSERT는 실패하므로, 파티션 생성이 실패했거나 이번 학기 파티션이 없으면 DOWN.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchPartitionHealthIndicator implements ReactiveHealthIndicator {
+
+    private final MatchPartitionMaintainer maintainer;
+
+    @Override
+    public Mono<Health> health() {
+        return Mono.fromSupplier(() -> {
+            MatchPartitionMaintainer.PartitionStatus status = maintainer.partitionStatus();
+            if (status.ensureError() != null) {
+                return Health.down()
+                        .withDetail("error", status.ensureError())
+                        .withDetail("coveredUntil", String.valueOf(status.coveredUntil()))
+                        .build();
+            }
+            if (status.coveredUntil() == null) {
+                // 기동 직후 첫 확인 전
+                return Health.unknown().build();
+            }
+            Health.Builder builder = status.coveredUntil().isAfter(LocalDateTime.now()) ? Health.up() : Health.down();
+            return builder.withDetail("coveredUntil", status.coveredUntil().toString()).build();
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package com.smwu.matchalot.infrastructure.persistence.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * matches 학기 파티션 관리 (V21, V24).
+ * 기동 시와 이후 주기마다 이번 학기부터 ahead-semesters 학기 뒤까지 파티션을 미리 만들고
+ * (default 파티션이 없으므로 범위 밖 INSERT가 실패하지 않게), 보관 학기 수가 지난 파티션 중 진행 중 매칭이 없는 것을
+ * matches_archive로 옮긴다. 파티션 생성이 실패하면 retry-interval마다 다시 시도하고,
+ * 그동안은 {@link MatchPartitionHealthIndicator}가 readiness를 DOWN으로 알린다.
+ */
+@Component
+@Slf4j
+public class MatchPartitionMaintainer {
+
+    // 식별자는 바인딩할 수 없어 SQL에 직접 넣으므로 학기 파티션 이름만 허용
+    private static final Pattern PARTITION_NAME = Pattern.compile("matches_[0-9]{4}_[12]");
+
+    private final DatabaseClient databaseClient;
+    private final Duration interval;
+    private final Duration retryInterval;
+    private final int aheadSemesters;
+    private final int retentionSemesters;
+    private final Counter archivedPartitions;
+    private final Counter ensureFailures;
+
+    private volatile Disposable maintenanceLoop;
+    private volatile LocalDateTime nextRunAt;
+    // 파티션이 만들어져 있는 마지막 시각(마지막 파티션의 끝), 마지막 생성 실패 사유
+    private volatile LocalDateTime coveredUntil;
+    private volatile String ensureError;
+
+    public record PartitionStatus(LocalDateTime coveredUntil, String ensureError) {
+    }
+
+    public MatchPartitionMaintainer(DatabaseClient databaseClient,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.match.partition.maintenance-interval:1d}") Duration interval,
+                                    @Value("${app.match.partition.retry-interval:1m}") Duration retryInterval,
+                                    @Value("${app.match.partition.ahead-semesters:2}") int aheadSemesters,
+                                    @Value("${app.match.partition.retention-semesters:6}") int retentionSemesters) {
+        this.databaseClient = databaseClient;
+        this.interval = interval;
+        this.retryInterval = retryInterval;
+        this.aheadSemesters = aheadSemesters;
+        this.retentionSemesters = retentionSemesters;
+        this.archivedPartitions = Counter.builder("matches.partitions.archived")
+                .description("matches_archive로 옮긴 학기 파티션 수")
+                .register(meterRegistry);
+        this.ensureFailures = Counter.builder("matches.partitions.ensure.failures")
+                .description("학기 파티션 미리 만들기 실패 횟수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMaintenanceLoop() {
+        // retry-interval마다 깨어나 주기가 됐거나 직전 파티션 생성이 실패했으면 실행
+        maintenanceLoop = Flux.interval(Duration.ZERO, retryInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    if (ensureError == null && nextRunAt != null && now.isBefore(nextRunAt)) {
+                        return Mono.empty();
+                    }
+                    nextRunAt = now.plus(interval);
+                    return maintain()
+                            .onErrorResume(error -> {
+                                log.error("매칭 파티션 관리 실패", error);
+                                return Mono.empty();
+                            });
+                })
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopMaintenanceLoop() {
+        if (maintenanceLoop != null) {
+            maintenanceLoop.dispose();
+        }
+    }
+
+    public Mono<Void> maintain() {
+        LocalDateTime now = LocalDateTime.now();
+        return ensurePartitions(now)
+                .then(archivePartitions(now))
+                .then();
+    }
+
+    public PartitionStatus partitionStatus() {
+        return new PartitionStatus(coveredUntil, ensureError);
+    }
+
+    // 이번 학기부터 aheadSemesters 학기 뒤까지
+    private Mono<Void> ensurePartitions(LocalDateTime now) {
+        return databaseClient.sql("""
+                SELECT create_match_partition(semester) AS partition_name,
+                       semester + INTERVAL '6 months' AS covered_until
+                FROM generate_series(match_semester_start(:now),
+                                     match_semester_start(:now) + make_interval(months => :aheadMonths),
+                                     INTERVAL '6 months') AS semester
+                """)
+                .bind("now", now)
+                .bind("aheadMonths", aheadSemesters * 6)
+                .map((row, metadata) -> row.get("covered_until", LocalDateTime.class))
+                .all()
+                .reduce((a, b) -> a.isAfter(b) ? a : b)
+                .doOnNext(until -> {
+                    coveredUntil = until;
+                    ensureError = null;
+                    log.debug("매칭 파티션 확인: {}까지", until);
+                })
+                .doOnError(error -> {
+                    ensureFailures.increment();
+                    ensureError = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+                })
+                .then();
+    }
+
+    // 이번 학기 시작 기준 retentionSemesters 학기 이전에 끝난 파티션을 보관으로
+    private Mono<Long> archivePartitions(LocalDateTime now) {
+        return databaseClient.sql("""
+                SELECT partition_name, step
+                FROM archivable_match_partitions(
+                    match_semester_start(:now) - make_interval(months => :retentionMonths)
+                )
+                """)
+                .bind("now", now)
+                .bind("retentionMonths", retentionSemesters * 6)
+                .map((row, metadata) -> Map.entry(row.get("partition_name", String.class), row.get("step", String.class)))
+                .all()
+                .concatMap(target -> archivePartition(target.getKey(), target.getValue()))
+                .doOnNext(partition -> {
+                    archivedPartitions.increment();
+                    log.info("매칭 파티션 보관 이동: {}", partition);
+                })
+                .count();
+    }
+
+    /**
+     * DETACH ... CONCURRENTLY는 트랜잭션 블록 안에서 돌 수 없어 단독 문장(autocommit)으로 실행.
+     * 중간에 끊겨 보류된 파티션은 FINALIZE로 마무리하고, 떼어낸 뒤 붙이지 못한 파티션은 붙이기만 다시 한다.
+     */
+    private Mono<String> archivePartition(String partition, String step) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            return Mono.error(new IllegalStateException("매칭 파티션 이름이 아닙니다: " + partition));
+        }
+        Mono<Void> detach = switch (step) {
+            case "DETACH" -> databaseClient.sql("ALTER TABLE matches DETACH PARTITION " + partition + " CONCURRENTLY").then();
+            case "FINALIZE" -> databaseClient.sql("ALTER TABLE matches DETACH PARTITION " + partition + " FINALIZE").then();
+            case "ATTACH" -> Mono.empty();
+            default -> Mono.error(new IllegalStateException("알 수 없는 파티션 보관 단계: " + step));
+        };
+        return detach.then(databaseClient.sql("SELECT attach_archived_match_partition(:partition) AS archived")
+                .bind("partition", partition)
+                .map((row, metadata) -> row.get("archived", String.class))
+                .one());
+    }
+}
@@ -4,6 +4,7 @@ import com.smwu.matchalot.domain.model.entity.Match;
 import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
 import com.smwu.matchalot.domain.model.vo.UserId;
 import com.smwu.matchalot.infrastructure.persistence.MatchEntity;
+import com.smwu.matchalot.infrastructure.persistence.MatchListView;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
@@ -12,33 +13,70 @@ import reactor.core.publisher.Mono;
 import java.time.LocalDateTime;
 
 public interface MatchR2dbcRepository extends R2dbcRepository<MatchEntity, Long> {
-    @Query("SELECT * FROM matches WHERE requester_id = :userId OR receiver_id = :userId ORDER BY created_at DESC")
+    // 매칭 목록: 로그인 이메일로 본인을 찾고 닉네임/족보 제목까지 한 번에 조인 (목록당 쿼리 1번)
+    String MATCH_LIST_COLUMNS = "SELECT m.id, me.id AS viewer_id, m.requester_id, m.receiver_id, " +
+            "m.requester_material_id, m.receiver_material_id, m.status, m.created_at, m.expired_at, m.updated_at, " +
+            "COALESCE(ru.nickname, '알 수 없는 이용자') AS requester_nickname, " +
+            "COALESCE(pu.nickname, '알 수 없는 이용자') AS receiver_nickname, " +
+            "COALESCE(rm.title, '알 수 없음') AS requester_material_title, " +
+            "COALESCE(pm.title, '알 수 없음') AS receiver_material_title ";
+    String MATCH_LIST_JOINS = "LEFT JOIN users ru ON ru.id = m.requester_id " +
+            "LEFT JOIN users pu ON pu.id = m.receiver_id " +
+            "LEFT JOIN study_material rm ON rm.id = m.requester_material_id " +
+            "LEFT JOIN study_material pm ON pm.id = m.receiver_material_id " +
+            "WHERE me.email = :email ";
+    // 진행 중 목록은 최근 학기(matches)만, 전체 이력은 보관 학기까지 포함한 matches_all (V24)
+    String MATCH_LIST_VIEW = MATCH_LIST_COLUMNS +
+            "FROM users me JOIN matches m ON m.requester_id = me.id OR m.receiver_id = me.id " + MATCH_LIST_JOINS;
+    String MATCH_HISTORY_LIST_VIEW = MATCH_LIST_COLUMNS +
+            "FROM users me JOIN matches_all m ON m.requester_id = me.id OR m.receiver_id = me.id " + MATCH_LIST_JOINS;
+
+    @Query(MATCH_HISTORY_LIST_VIEW + "ORDER BY m.created_at DESC")
+    Flux<MatchListView> findListViewsByEmail(String email);
+
+    // 진행 중 매칭 조회는 created_at >= :activeSince 조건으로 최근 학기 파티션만 읽음
+    @Query(MATCH_LIST_VIEW + "AND m.receiver_id = me.id AND m.status = 'PENDING' AND m.created_at >= :activeSince " +
+            "ORDER BY m.created_at DESC")
+    Flux<MatchListView> findReceivedRequestListViewsByEmail(String email, LocalDateTime activeSince);
+
+    @Query(MATCH_LIST_VIEW + "AND m.requester_id = me.id AND m.status = 'PENDING' AND m.created_at >= :activeSince " +
+            "ORDER BY m.created_at DESC")
+    Flux<MatchListView> findSentRequestListViewsByEmail(String email, LocalDateTime activeSince);
+
+    @Query(MATCH_LIST_VIEW + "AND m.status IN ('PENDING', 'ACCEPTED') AND m.expired_at > :now " +
+            "AND m.created_at >= :activeSince ORDER BY m.created_at DESC")
+    Flux<MatchListView> findActiveListViewsByEmail(String email, LocalDateTime now, LocalDateTime activeSince);
+
+    // 이력 조회/통계는 보관 학기까지 포함
+    @Query("SELECT * FROM matches_all WHERE requester_id = :userId OR receiver_id = :userId ORDER BY created_at DESC")
     Flux<MatchEntity> findByUserId(Long userId);
-    @Query("SELECT * FROM matches WHERE requester_id = :userId OR receiver_id = :userId ORDER BY created_at DESC")
+    @Query("SELECT * FROM matches_all WHERE requester_id = :userId OR receiver_id = :userId ORDER BY created_at DESC")
     Flux<MatchEntity> findMatchesByUser(Long userId);
 
-    @Query("SELECT * FROM matches WHERE (requester_id = :userId OR receiver_id = :userId) AND status = :status ORDER BY created_at DESC")
+    @Query("SELECT * FROM matches_all WHERE (requester_id = :userId OR receiver_id = :userId) AND status = :status ORDER BY created_at DESC")
     Flux<MatchEntity> findByUserIdAndStatus(Long userId, String status);
 
-    @Query("SELECT * FROM matches WHERE receiver_id = :receiverId AND status = 'PENDING' ORDER BY created_at DESC")
-    Flux<MatchEntity> findPendingRequestsToUser(Long receiverId);
+    @Query("SELECT * FROM matches WHERE receiver_id = :receiverId AND status = 'PENDING' " +
+            "AND created_at >= :activeSince ORDER BY created_at DESC")
+    Flux<MatchEntity> findPendingRequestsToUser(Long receiverId, LocalDateTime activeSince);
 
-    @Query("SELECT * FROM matches WHERE requester_id = :requesterId AND status = 'PENDING' ORDER BY created_at DESC")
-    Flux<MatchEntity> findSentRequestsByUser(Long requesterId);
+    @Query("SELECT * FROM matches WHERE requester_id = :requesterId AND status = 'PENDING' " +
+            "AND created_at >= :activeSince ORDER BY created_at DESC")
+    Flux<MatchEntity> findSentRequestsByUser(Long requesterId, LocalDateTime activeSince);
 
     @Query("SELECT COUNT(*) > 0 FROM matches WHERE " +
             "((requester_id = :userId1 AND receiver_id = :userId2) OR " +
             " (requester_id = :userId2 AND receiver_id = :userId1)) AND " +
-            "status IN ('PENDING', 'ACCEPTED')")
-    Mono<Boolean> existsPendingMatchBetween(Long userId1, Long userId2);
+            "status IN ('PENDING', 'ACCEPTED') AND created_at >= :activeSince")
+    Mono<Boolean> existsPendingMatchBetween(Long userId1, Long userId2, LocalDateTime activeSince);
 
     @Query("SELECT COUNT(*) > 0 FROM matches WHERE " +
             "(requester_material_id = :materialId OR receiver_material_id = :materialId) AND " +
-            "status IN ('PENDING', 'ACCEPTED')")
-    Mono<Boolean> existsActiveMatchForMaterial(Long materialId);
+            "status IN ('PENDING', 'ACCEPTED') AND created_at >= :activeSince")
+    Mono<Boolean> existsActiveMatchForMaterial(Long materialId, LocalDateTime activeSince);
 
     // 특정 족보 간 매칭
-    @Query("SELECT * FROM matches WHERE " +
+    @Query("SELECT * FROM matches_all WHERE " +
             "((requester_material_id = :materialId1 AND receiver_material_id = :materialId2) OR " +
             " (requester_material_id = :materialId2 AND receiver_material_id = :materialId1)) " +
             "ORDER BY created_at DESC")
@@ -49,30 +87,39 @@ public interface MatchR2dbcRepository extends R2dbcRepository<MatchEntity, Long>
     Flux<MatchEntity> findExpiredMatches(LocalDateTime now);
 
     // 통계
-    @Query("SELECT COUNT(*) FROM matches WHERE (requester_id = :userId OR receiver_id = :userId) AND status = :status")
+    @Query("SELECT COUNT(*) FROM matches_all WHERE (requester_id = :userId OR receiver_id = :userId) AND status = :status")
     Mono<Long> countByUserIdAndStatus(Long userId, String status);
 
 
 
-    @Query("SELECT COUNT(*) FROM matches WHERE requester_id = :userId OR receiver_id = :userId")
+    @Query("SELECT COUNT(*) FROM matches_all WHERE requester_id = :userId OR receiver_id = :userId")
     Mono<Long> countTotalMatchesByUserId(Long userId);
 
-    @Query("SELECT COUNT(*) FROM matches WHERE " +
+    @Query("SELECT COUNT(*) FROM matches_all WHERE " +
             "(requester_id = :userId AND requester_material_id = :materialId) OR " +
             "(receiver_id = :userId AND receiver_material_id = :materialId)")
     Mono<Long> countByUserIdAndStudyMaterialId(Long userId, Long materialId);
 
-    @Query("SELECT * FROM matches WHERE " +
+    // 완료 이력은 보관 학기(matches_archive)에도 있으므로 함께 확인
+    @Query("SELECT * FROM (" +
+            "SELECT * FROM matches WHERE " +
             "((requester_id = :userId AND requester_material_id = :materialId) OR " +
-            "(receiver_id = :userId AND receiver_material_id = :materialId)) AND " +
-            "status = 'COMPLETED' " +
-            "ORDER BY created_at DESC LIMIT 1")
+            "(receiver_id = :userId AND receiver_material_id = :materialId)) AND status = 'COMPLETED' " +
+            "UNION ALL " +
+            "SELECT * FROM matches_archive WHERE " +
+            "((requester_id = :userId AND requester_material_id = :materialId) OR " +
+            "(receiver_id = :userId AND receiver_material_id = :materialId)) AND status = 'COMPLETED'" +
+            ") completed ORDER BY created_at DESC LIMIT 1")
     Mono<MatchEntity> findCompletedMatchByUserAndMaterial(Long userId, Long materialId);
 
-    @Query("SELECT COUNT(*) > 0 FROM matches WHERE " +
+    @Query("SELECT EXISTS (SELECT 1 FROM matches WHERE " +
+            "((requester_id = :userId AND (requester_material_id = :materialId OR receiver_material_id = :materialId)) OR " +
+            "(receiver_id = :userId AND (requester_material_id = :materialId OR receiver_material_id = :materialId))) AND " +
+            "status IN ('ACCEPTED', 'COMPLETED')) " +
+            "OR EXISTS (SELECT 1 FROM matches_archive WHERE " +
             "((requester_id = :userId AND (requester_material_id = :materialId OR receiver_material_id = :materialId)) OR " +
             "(receiver_id = :userId AND (requester_material_id = :materialId OR receiver_material_id = :materialId))) AND " +
-            "status IN ('ACCEPTED', 'COMPLETED')")
+            "status = 'COMPLETED')")
     Mono<Boolean> hasAccessToMaterial(Long userId, Long materialId);
 
     @Query("SELECT COUNT(*) > 0 FROM matches WHERE " +
@@ -80,7 +127,8 @@ public interface MatchR2dbcRepository extends R2dbcRepository<MatchEntity, Long>
             "requester_material_id = :requesterMaterialId AND receiver_material_id = :receiverMaterialId) OR " +
             "(requester_id = :receiverId AND receiver_id = :requesterId AND " +
             "requester_material_id = :receiverMaterialId AND receiver_material_id = :requesterMaterialId)) AND " +
-            "status IN ('PENDING', 'ACCEPTED')")
-    Mono<Boolean> existsActiveMatchForSpecificMaterials(Long requesterId, Long receiverId, Long requesterMaterialId, Long receiverMaterialId);
+            "status IN ('PENDING', 'ACCEPTED') AND created_at >= :activeSince")
+    Mono<Boolean> existsActiveMatchForSpecificMaterials(Long requesterId, Long receiverId, Long requesterMaterialId, Long receiverMaterialId,
+                                                        LocalDateTime activeSince);
 
 }
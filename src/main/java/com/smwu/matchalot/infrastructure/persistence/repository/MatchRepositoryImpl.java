@@ -1,18 +1,27 @@
 package com.smwu.matchalot.infrastructure.persistence.repository;
 
 import com.smwu.matchalot.domain.model.entity.Match;
+import com.smwu.matchalot.domain.model.vo.Email;
 import com.smwu.matchalot.domain.model.vo.MatchId;
+import com.smwu.matchalot.domain.model.vo.MatchInboxCounters;
 import com.smwu.matchalot.domain.model.vo.MatchStatus;
 import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
 import com.smwu.matchalot.domain.model.vo.UserId;
 import com.smwu.matchalot.domain.repository.MatchRepository;
+import com.smwu.matchalot.infrastructure.persistence.MatchListView;
 import com.smwu.matchalot.infrastructure.persistence.mapper.MatchMapper;
+import com.smwu.matchalot.web.dto.MatchResponse;
+import io.r2dbc.spi.Row;
 import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 
 import static com.smwu.matchalot.domain.model.vo.MatchStatus.*;
 
@@ -21,6 +30,9 @@ import static com.smwu.matchalot.domain.model.vo.MatchStatus.*;
 public class MatchRepositoryImpl implements MatchRepository {
     private final MatchR2dbcRepository r2dbcRepository;
     private final MatchMapper mapper;
+    private final DatabaseClient databaseClient;
+
+    private static final int BULK_INSERT_CHUNK_SIZE = 500;
 
     @Override
     public Mono<Match> save(Match match) {
@@ -34,12 +46,139 @@ public class MatchRepositoryImpl implements MatchRepository {
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public Flux<Match> saveAllSkippingExisting(List<Match> matches) {
+        return Flux.fromIterable(matches)
+                .buffer(BULK_INSERT_CHUNK_SIZE)
+                .concatMap(this::insertChunk);
+    }
+
+    private Flux<Match> insertChunk(List<Match> chunk) {
+        // 다중 행 INSERT ... SELECT 한 번으로 저장하면서, 양방향 어느 쪽이든 같은 족보 쌍 매칭이 있으면 제외
+        // (보관 학기의 완료된 교환도 포함해 matches_all에서 확인)
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO matches (requester_id, receiver_id, requester_material_id, receiver_material_id,
+                                     status, expired_at, created_at, updated_at)
+                SELECT v.requester_id, v.receiver_id, v.requester_material_id, v.receiver_material_id,
+                       v.status, v.expired_at, v.created_at, v.updated_at
+                FROM (VALUES
+                """);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0) {
+                sql.append(",\n");
+            }
+            sql.append(String.format(
+                    "(:requesterId%1$d, :receiverId%1$d, :requesterMaterialId%1$d, :receiverMaterialId%1$d, "
+                            + ":status%1$d, :expiredAt%1$d, :createdAt%1$d, :updatedAt%1$d)", i));
+        }
+        sql.append("""
+                ) AS v(requester_id, receiver_id, requester_material_id, receiver_material_id,
+                       status, expired_at, created_at, updated_at)
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM matches_all m
+                    WHERE ((m.requester_material_id = v.requester_material_id AND m.receiver_material_id = v.receiver_material_id)
+                        OR (m.requester_material_id = v.receiver_material_id AND m.receiver_material_id = v.requester_material_id))
+                      AND m.status IN ('PENDING', 'ACCEPTED', 'COMPLETED')
+                )
+                RETURNING *
+                """);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < chunk.size(); i++) {
+            Match match = chunk.get(i);
+            if (match.getId() != null) {
+                return Flux.error(new IllegalArgumentException("이미 저장된 매칭은 일괄 저장할 수 없습니다."));
+            }
+            spec = spec.bind("requesterId" + i, match.getRequesterId().value())
+                    .bind("receiverId" + i, match.getReceiverId().value())
+                    .bind("requesterMaterialId" + i, match.getRequesterMaterialId().value())
+                    .bind("receiverMaterialId" + i, match.getReceiverMaterialId().value())
+                    .bind("status" + i, match.getStatus().name())
+                    .bind("expiredAt" + i, match.getExpiredAt())
+                    .bind("createdAt" + i, match.getCreatedAt())
+                    .bind("updatedAt" + i, match.getUpdatedAt());
+        }
+        return spec.map((row, metadata) -> toDomain(row))
+                .all();
+    }
+
+    @Override
+    public Mono<Void> lockMaterialPairs(Collection<List<StudyMaterialId>> pairs) {
+        if (pairs.isEmpty()) {
+            return Mono.empty();
+        }
+        // (작은 ID, 큰 ID)로 정규화해 방향과 무관하게 같은 키, 항상 같은 순서로 잡아 교착을 피함
+        String[] keys = pairs.stream()
+                .map(pair -> new long[]{
+                        Math.min(pair.get(0).value(), pair.get(1).value()),
+                        Math.max(pair.get(0).value(), pair.get(1).value())})
+                .sorted(Comparator.<long[]>comparingLong(pair -> pair[0]).thenComparingLong(pair -> pair[1]))
+                .map(pair -> "match-pair:" + pair[0] + ":" + pair[1])
+                .distinct()
+                .toArray(String[]::new);
+        return databaseClient.sql("""
+                SELECT pg_advisory_xact_lock(hashtextextended(k.key, 0))
+                FROM unnest(CAST(:keys AS TEXT[])) WITH ORDINALITY AS k(key, ord)
+                ORDER BY k.ord
+                """)
+                .bind("keys", keys)
+                .then();
+    }
+
     @Override
     public Mono<Match> findById(MatchId matchId) {
         return r2dbcRepository.findById(matchId.value())
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public Mono<Match> acceptIfPending(MatchId matchId, UserId receiverId) {
+        return databaseClient.sql("""
+                UPDATE matches SET status = 'ACCEPTED', updated_at = :now
+                WHERE id = :id AND status = 'PENDING' AND receiver_id = :userId AND expired_at > :now
+                  AND created_at >= :activeSince
+                RETURNING *
+                """)
+                .bind("id", matchId.value())
+                .bind("userId", receiverId.value())
+                .bind("now", LocalDateTime.now())
+                .bind("activeSince", activeSince())
+                .map((row, metadata) -> toDomain(row))
+                .one();
+    }
+
+    @Override
+    public Mono<Match> rejectIfPending(MatchId matchId, UserId receiverId) {
+        return databaseClient.sql("""
+                UPDATE matches SET status = 'REJECTED', updated_at = :now
+                WHERE id = :id AND status = 'PENDING' AND receiver_id = :userId
+                  AND created_at >= :activeSince
+                RETURNING *
+                """)
+                .bind("id", matchId.value())
+                .bind("userId", receiverId.value())
+                .bind("now", LocalDateTime.now())
+                .bind("activeSince", activeSince())
+                .map((row, metadata) -> toDomain(row))
+                .one();
+    }
+
+    @Override
+    public Mono<Match> completeIfAccepted(MatchId matchId, UserId participantId) {
+        return databaseClient.sql("""
+                UPDATE matches SET status = 'COMPLETED', updated_at = :now
+                WHERE id = :id AND status = 'ACCEPTED' AND (requester_id = :userId OR receiver_id = :userId)
+                  AND created_at >= :activeSince
+                RETURNING *
+                """)
+                .bind("id", matchId.value())
+                .bind("userId", participantId.value())
+                .bind("now", LocalDateTime.now())
+                .bind("activeSince", activeSince())
+                .map((row, metadata) -> toDomain(row))
+                .one();
+    }
+
     @Override
     public Mono<Void> deleteById(MatchId matchId) {
         return r2dbcRepository.deleteById(matchId.value());
@@ -55,7 +194,7 @@ public class MatchRepositoryImpl implements MatchRepository {
 
     @Override
     public Flux<Match> findSentRequestsByUser(UserId myId) {
-        return r2dbcRepository.findSentRequestsByUser(myId.value())
+        return r2dbcRepository.findSentRequestsByUser(myId.value(), activeSince())
                 .map(mapper::toDomain);
     }
 
@@ -79,6 +218,31 @@ public class MatchRepositoryImpl implements MatchRepository {
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public Flux<MatchResponse> findMatchListByEmail(Email email) {
+        return r2dbcRepository.findListViewsByEmail(email.value())
+                .map(MatchRepositoryImpl::toMatchResponse);
+    }
+
+    @Override
+    public Flux<MatchResponse> findReceivedRequestListByEmail(Email email) {
+        return r2dbcRepository.findReceivedRequestListViewsByEmail(email.value(), activeSince())
+                .map(MatchRepositoryImpl::toMatchResponse);
+    }
+
+    @Override
+    public Flux<MatchResponse> findSentRequestListByEmail(Email email) {
+        return r2dbcRepository.findSentRequestListViewsByEmail(email.value(), activeSince())
+                .map(MatchRepositoryImpl::toMatchResponse);
+    }
+
+    @Override
+    public Flux<MatchResponse> findActiveMatchListByEmail(Email email) {
+        LocalDateTime now = LocalDateTime.now();
+        return r2dbcRepository.findActiveListViewsByEmail(email.value(), now, Match.activeCreatedSince(now))
+                .map(MatchRepositoryImpl::toMatchResponse);
+    }
+
     @Override
     public Mono<Match> findCompletedMatchByUserAndMaterial(UserId userId, StudyMaterialId materialId) {
         return r2dbcRepository.findCompletedMatchByUserAndMaterial(userId.value(), materialId.value())
@@ -105,7 +269,7 @@ public class MatchRepositoryImpl implements MatchRepository {
 
     @Override
     public Flux<Match> findPendingRequestsToUser(UserId receiverId) {
-        return r2dbcRepository.findPendingRequestsToUser(receiverId.value())
+        return r2dbcRepository.findPendingRequestsToUser(receiverId.value(), activeSince())
                 .map(mapper::toDomain);
     }
 
@@ -113,12 +277,12 @@ public class MatchRepositoryImpl implements MatchRepository {
 
     @Override
     public Mono<Boolean> existsPendingMatchBetween(UserId userId1, UserId userId2) {
-        return r2dbcRepository.existsPendingMatchBetween(userId1.value(), userId2.value());
+        return r2dbcRepository.existsPendingMatchBetween(userId1.value(), userId2.value(), activeSince());
     }
 
     @Override
     public Mono<Boolean> existsActiveMAtchForMaterial(StudyMaterialId materialId) {
-        return r2dbcRepository.existsActiveMatchForMaterial(materialId.value());
+        return r2dbcRepository.existsActiveMatchForMaterial(materialId.value(), activeSince());
     }
 
 
@@ -134,6 +298,52 @@ public class MatchRepositoryImpl implements MatchRepository {
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public Flux<Match> expireOverdue(LocalDateTime now, int limit) {
+        // 다른 인스턴스의 스위퍼/수락 요청이 잡은 행은 건너뜀 (SKIP LOCKED)
+        return databaseClient.sql("""
+                UPDATE matches SET status = 'EXPIRED', updated_at = :now
+                WHERE id IN (
+                    SELECT id FROM matches
+                    WHERE expired_at < :now AND status IN ('PENDING', 'ACCEPTED')
+                    ORDER BY expired_at
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING *
+                """)
+                .bind("now", now)
+                .bind("limit", limit)
+                .map((row, metadata) -> toDomain(row))
+                .all();
+    }
+
+    @Override
+    public Flux<Match> expireDue(Collection<MatchId> matchIds, LocalDateTime now) {
+        if (matchIds.isEmpty()) {
+            return Flux.empty();
+        }
+        Long[] ids = matchIds.stream().map(MatchId::value).toArray(Long[]::new);
+        return databaseClient.sql("""
+                UPDATE matches SET status = 'EXPIRED', updated_at = :now
+                WHERE id = ANY(:ids) AND status IN ('PENDING', 'ACCEPTED') AND expired_at <= :now
+                  AND created_at >= :activeSince
+                RETURNING *
+                """)
+                .bind("ids", ids)
+                .bind("now", now)
+                .bind("activeSince", Match.activeCreatedSince(now))
+                .map((row, metadata) -> toDomain(row))
+                .all();
+    }
+
+    @Override
+    public Flux<Match> findActiveMatches() {
+        return databaseClient.sql("SELECT * FROM matches WHERE status IN ('PENDING', 'ACCEPTED')")
+                .map((row, metadata) -> toDomain(row))
+                .all();
+    }
+
     @Override
     public Mono<Long> countByUserIdAndStudyMaterialId(UserId userId, StudyMaterialId studyMaterialId) {
         return r2dbcRepository.countByUserIdAndStudyMaterialId(userId.value(), studyMaterialId.value());
@@ -142,6 +352,24 @@ public class MatchRepositoryImpl implements MatchRepository {
     public Mono<Long> countByUserIdAndStatus(UserId userId, MatchStatus status) {
         return r2dbcRepository.countByUserIdAndStatus(userId.value(), status.name());
     }
+    @Override
+    public Mono<MatchInboxCounters> findInboxCountersByEmail(Email email) {
+        return databaseClient.sql("""
+                SELECT u.id AS user_id,
+                       COALESCE(c.pending_received, 0) AS pending_received,
+                       COALESCE(c.pending_sent, 0) AS pending_sent
+                FROM users u
+                LEFT JOIN user_match_counters c ON c.user_id = u.id
+                WHERE u.email = :email
+                """)
+                .bind("email", email.value())
+                .map((row, metadata) -> new MatchInboxCounters(
+                        UserId.of(row.get("user_id", Long.class)),
+                        row.get("pending_received", Integer.class),
+                        row.get("pending_sent", Integer.class)))
+                .one();
+    }
+
     @Override
     public Mono<Long> countTotalMatchesByUserId(UserId userId) {
         return r2dbcRepository.countTotalMatchesByUserId(userId.value());
@@ -152,14 +380,101 @@ public class MatchRepositoryImpl implements MatchRepository {
         return r2dbcRepository.hasAccessToMaterial(userId.value(), materialId.value());
     }
 
+    @Override
+    public Flux<StudyMaterialId> findAccessibleMaterialIds(UserId userId) {
+        // hasAccessToMaterial과 같은 조건: 참여한 수락/완료 매칭(보관 학기는 완료)의 양쪽 족보
+        return databaseClient.sql("""
+                SELECT DISTINCT v.material_id
+                FROM (
+                    SELECT requester_material_id, receiver_material_id FROM matches
+                    WHERE (requester_id = :userId OR receiver_id = :userId)
+                      AND status IN ('ACCEPTED', 'COMPLETED')
+                    UNION ALL
+                    SELECT requester_material_id, receiver_material_id FROM matches_archive
+                    WHERE (requester_id = :userId OR receiver_id = :userId)
+                      AND status = 'COMPLETED'
+                ) m
+                CROSS JOIN LATERAL (VALUES (m.requester_material_id), (m.receiver_material_id)) AS v(material_id)
+                """)
+                .bind("userId", userId.value())
+                .map((row, metadata) -> StudyMaterialId.of(row.get("material_id", Long.class)))
+                .all();
+    }
+
     @Override
     public Mono<Boolean> existsActiveMatchForSpecificMaterials(UserId requesterId, UserId receiverId, StudyMaterialId requesterMaterialId, StudyMaterialId receiverMaterialId) {
         return r2dbcRepository.existsActiveMatchForSpecificMaterials(
                 requesterId.value(), 
                 receiverId.value(), 
                 requesterMaterialId.value(), 
-                receiverMaterialId.value()
+                receiverMaterialId.value(),
+                activeSince()
         );
     }
 
+    @Override
+    public Flux<StudyMaterialId> findActiveCounterpartMaterialIds(UserId userId, StudyMaterialId materialId,
+                                                                 Collection<StudyMaterialId> counterpartMaterialIds) {
+        if (counterpartMaterialIds.isEmpty()) {
+            return Flux.empty();
+        }
+        Long[] ids = counterpartMaterialIds.stream().map(StudyMaterialId::value).toArray(Long[]::new);
+        return databaseClient.sql("""
+                SELECT CASE WHEN requester_material_id = :materialId
+                            THEN receiver_material_id
+                            ELSE requester_material_id END AS counterpart_material_id
+                FROM matches
+                WHERE status IN ('PENDING', 'ACCEPTED') AND created_at >= :activeSince
+                  AND ((requester_id = :userId AND requester_material_id = :materialId AND receiver_material_id = ANY(:ids))
+                    OR (receiver_id = :userId AND receiver_material_id = :materialId AND requester_material_id = ANY(:ids)))
+                """)
+                .bind("activeSince", activeSince())
+                .bind("userId", userId.value())
+                .bind("materialId", materialId.value())
+                .bind("ids", ids)
+                .map((row, metadata) -> StudyMaterialId.of(row.get("counterpart_material_id", Long.class)))
+                .all();
+    }
+
+    private static LocalDateTime activeSince() {
+        return Match.activeCreatedSince(LocalDateTime.now());
+    }
+
+    private static MatchResponse toMatchResponse(MatchListView view) {
+        Match match = new Match(
+                MatchId.of(view.id()),
+                UserId.of(view.requesterId()),
+                UserId.of(view.receiverId()),
+                StudyMaterialId.of(view.requesterMaterialId()),
+                StudyMaterialId.of(view.receiverMaterialId()),
+                MatchStatus.valueOf(view.status()),
+                view.createdAt(),
+                view.expiredAt(),
+                view.updatedAt()
+        );
+        // 조회한 사용자 기준 상대방 족보
+        Long partnerMaterialId = view.requesterId().equals(view.viewerId())
+                ? view.receiverMaterialId()
+                : view.requesterMaterialId();
+        return MatchResponse.from(match,
+                view.requesterNickname(),
+                view.receiverNickname(),
+                view.requesterMaterialTitle(),
+                view.receiverMaterialTitle(),
+                partnerMaterialId);
+    }
+
+    private Match toDomain(Row row) {
+        return new Match(
+                MatchId.of(row.get("id", Long.class)),
+                UserId.of(row.get("requester_id", Long.class)),
+                UserId.of(row.get("receiver_id", Long.class)),
+                StudyMaterialId.of(row.get("requester_material_id", Long.class)),
+                StudyMaterialId.of(row.get("receiver_material_id", Long.class)),
+                MatchStatus.valueOf(row.get("status", String.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("expired_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class)
+        );
+    }
 }
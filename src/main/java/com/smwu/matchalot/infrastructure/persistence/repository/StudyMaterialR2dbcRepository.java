@@ -8,17 +8,17 @@ import reactor.core.publisher.Mono;
 
 public interface StudyMaterialR2dbcRepository extends R2dbcRepository<StudyMaterialEntity, Long> {
 
-    Flux<StudyMaterialEntity> findBySubject(String subject);
+    Flux<StudyMaterialEntity> findBySubjectId(Integer subjectId);
 
-    Flux<StudyMaterialEntity> findBySubjectAndExamType(String subject, String examType);
+    Flux<StudyMaterialEntity> findBySubjectIdAndExamType(Integer subjectId, String examType);
 
     Flux<StudyMaterialEntity> findByUploaderId(Long uploaderId);
 
-    Flux<StudyMaterialEntity> findByUploaderIdAndSubjectAndExamType(Long uploaderId, String subject, String examType);
+    Flux<StudyMaterialEntity> findByUploaderIdAndSubjectIdAndExamType(Long uploaderId, Integer subjectId, String examType);
 
-    Flux<StudyMaterialEntity> findBySubjectAndYearAndSeason(String subject, Integer year, String season);
+    Flux<StudyMaterialEntity> findBySubjectIdAndYearAndSeason(Integer subjectId, Integer year, String season);
 
-    Mono<Boolean> existsBySubjectAndExamTypeAndYearAndSeason(String subject, String examType, Integer year, String season);
+    Mono<Boolean> existsBySubjectIdAndExamTypeAndYearAndSeason(Integer subjectId, String examType, Integer year, String season);
 
     Flux<StudyMaterialEntity> findAllByOrderByCreatedAtDesc();
 
@@ -26,16 +26,28 @@ public interface StudyMaterialR2dbcRepository extends R2dbcRepository<StudyMater
 
     Mono<Long> countByStatus(String status);
 
+    Mono<Long> countByPdfSha256(String pdfSha256);
+
     @Query("SELECT * FROM study_material WHERE status = 'APPROVED' ORDER BY created_at DESC")
     Flux<StudyMaterialEntity> findAllApproved();
 
 
-    Flux<StudyMaterialEntity> findBySubjectAndStatus(String subject, String status);
+    Flux<StudyMaterialEntity> findBySubjectIdAndStatus(Integer subjectId, String status);
 
 
-    Flux<StudyMaterialEntity> findBySubjectAndExamTypeAndStatus(String subject, String examType, String status);
+    Flux<StudyMaterialEntity> findBySubjectIdAndExamTypeAndStatus(Integer subjectId, String examType, String status);
 
 
     @Query("SELECT * FROM study_material WHERE status = :status ORDER BY created_at DESC")
     Flux<StudyMaterialEntity> findByStatusOrderByCreatedAtDesc(String status);
+
+    // 미리보기용: 문제 JSONB에서 앞부분만 잘라서 가져옴 (questionsPath 예: '$[0 to 1]')
+    @Query("""
+            SELECT id, uploader_id, subject_id, exam_type, year, season, title, question_count, status,
+                   pdf_sha256, pdf_size, created_at, updated_at,
+                   jsonb_path_query_array(questions, CAST(:questionsPath AS jsonpath)) AS questions
+            FROM study_material
+            WHERE id = :id
+            """)
+    Mono<StudyMaterialEntity> findPreviewById(Long id, String questionsPath);
 }
@@ -1,14 +1,25 @@
 package com.smwu.matchalot.infrastructure.persistence.repository;
 
+import com.smwu.matchalot.domain.model.entity.Match;
 import com.smwu.matchalot.domain.model.entity.StudyMaterial;
 import com.smwu.matchalot.domain.model.vo.*;
 import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import com.smwu.matchalot.infrastructure.cache.CatalogCache;
+import com.smwu.matchalot.infrastructure.cache.CatalogCache.CatalogKey;
 import com.smwu.matchalot.infrastructure.persistence.StudyMaterialEntity;
 import com.smwu.matchalot.infrastructure.persistence.mapper.StudyMaterialMapper;
+import com.smwu.matchalot.web.dto.StudyMaterialSearchHit;
+import com.smwu.matchalot.web.dto.StudyMaterialSuggestion;
 import com.smwu.matchalot.web.dto.StudyMaterialSummaryResponse;
+import io.r2dbc.spi.Row;
 import org.springframework.r2dbc.core.DatabaseClient;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
@@ -23,6 +34,10 @@ public class StudyMaterialRepositoryImpl implements StudyMaterialRepository {
     private final StudyMaterialR2dbcRepository r2dbcRepository;
     private final StudyMaterialMapper mapper;
     private final DatabaseClient databaseClient;
+    private final CatalogCache catalogCache;
+    private final SubjectRegistry subjectRegistry;
+
+    private static final int BULK_INSERT_CHUNK_SIZE = 500;
 
     @Override
     public Mono<StudyMaterial> save(StudyMaterial studyMaterial) {
@@ -31,25 +46,28 @@ public class StudyMaterialRepositoryImpl implements StudyMaterialRepository {
                 studyMaterial.getSubject().name(),
                 studyMaterial.getId());
 
-        StudyMaterialEntity entity = mapper.toEntity(studyMaterial);
+        return subjectRegistry.getRegisteredId(studyMaterial.getSubject())
+                .flatMap(subjectId -> {
+                    StudyMaterialEntity entity = mapper.toEntity(studyMaterial, subjectId);
 
-        log.info("변환된 엔티티: id={}, title={}, uploaderId={}, questionsJson 길이={}",
-                entity.getId(),
-                entity.getTitle(),
-                entity.getUploaderId(),
-                entity.getQuestionsJson() != null ? entity.getQuestionsJson().asString() : "null");
+                    log.info("변환된 엔티티: id={}, title={}, uploaderId={}, questionsJson 길이={}",
+                            entity.getId(),
+                            entity.getTitle(),
+                            entity.getUploaderId(),
+                            entity.getQuestionsJson() != null ? entity.getQuestionsJson().asString() : "null");
 
-        //entity.onCreate();
+                    //entity.onCreate();
 
-        log.info("onCreate 후: createdAt={}, updatedAt={}", entity.getCreatedAt(), entity.getUpdatedAt());
+                    log.info("onCreate 후: createdAt={}, updatedAt={}", entity.getCreatedAt(), entity.getUpdatedAt());
 
-        if (studyMaterial.getId() == null) {
-            entity.setTimestamps();
-        } else {
-            entity.setUpdatedAt();
-        }
-        return r2dbcRepository.save(entity)
-                .map(mapper::toDomain)
+                    if (studyMaterial.getId() == null) {
+                        entity.setTimestamps();
+                    } else {
+                        entity.setUpdatedAt();
+                    }
+                    return r2dbcRepository.save(entity);
+                })
+                .flatMap(this::toDomain)
                 .doOnSuccess(saved -> log.info("StudyMaterial 저장 완료: ID={}, title={}, status={}",
                         saved.getId() != null ? saved.getId().value() : "null",
                         saved.getTitle(),
@@ -60,48 +78,167 @@ public class StudyMaterialRepositoryImpl implements StudyMaterialRepository {
 
     }
 
+    @Override
+    public Flux<StudyMaterial> saveAll(List<StudyMaterial> studyMaterials) {
+        // 바인드 파라미터 한도(65535)를 넘지 않도록 나눠서 INSERT
+        return Flux.fromIterable(studyMaterials)
+                .buffer(BULK_INSERT_CHUNK_SIZE)
+                .concatMap(this::insertChunk);
+    }
+
+    private Flux<StudyMaterial> insertChunk(List<StudyMaterial> chunk) {
+        // 청크에 나오는 과목 ID를 먼저 확보 (대부분 캐시 적중)
+        return Flux.fromIterable(chunk)
+                .map(StudyMaterial::getSubject)
+                .distinct()
+                .concatMap(subject -> subjectRegistry.getRegisteredId(subject).map(id -> Map.entry(subject, id)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMapMany(subjectIds -> insertChunk(chunk, subjectIds));
+    }
+
+    private Flux<StudyMaterial> insertChunk(List<StudyMaterial> chunk, Map<Subject, Integer> subjectIds) {
+        List<StudyMaterialEntity> entities = chunk.stream()
+                .map(material -> {
+                    if (material.getId() != null) {
+                        throw new IllegalArgumentException("이미 저장된 족보는 일괄 저장할 수 없습니다.");
+                    }
+                    StudyMaterialEntity entity = mapper.toEntity(material, subjectIds.get(material.getSubject()));
+                    entity.setTimestamps();
+                    return entity;
+                })
+                .toList();
+
+        // RETURNING 순서는 보장되지 않으므로 ID를 먼저 행 번호(ord)별로 받아 두고 (ord, id)를 돌려받아 맞춘다
+        StringBuilder sql = new StringBuilder("""
+                WITH input (ord, uploader_id, subject_id, exam_type, year, season, title,
+                            questions, question_count, status, pdf_sha256, pdf_size, created_at, updated_at) AS (
+                    VALUES
+                """);
+        for (int i = 0; i < entities.size(); i++) {
+            if (i > 0) {
+                sql.append(",\n");
+            }
+            sql.append(String.format(
+                    "(%1$d, :uploaderId%1$d, :subjectId%1$d, :examType%1$d, :year%1$d, :season%1$d, :title%1$d, "
+                            + ":questions%1$d, :questionCount%1$d, :status%1$d, :pdfSha256%1$d, :pdfSize%1$d, "
+                            + ":createdAt%1$d, :updatedAt%1$d)", i));
+        }
+        sql.append("""
+                ),
+                ids AS (
+                    SELECT ord, nextval(pg_get_serial_sequence('study_material', 'id')) AS id
+                    FROM input
+                ),
+                inserted AS (
+                    INSERT INTO study_material (id, uploader_id, subject_id, exam_type, year, season, title,
+                                                questions, question_count, status, pdf_sha256, pdf_size,
+                                                created_at, updated_at)
+                    SELECT ids.id, i.uploader_id, i.subject_id, i.exam_type, i.year, i.season, i.title,
+                           i.questions, i.question_count, i.status, i.pdf_sha256, i.pdf_size,
+                           i.created_at, i.updated_at
+                    FROM input i
+                    JOIN ids USING (ord)
+                    RETURNING id
+                )
+                SELECT ids.ord, ids.id
+                FROM ids
+                JOIN inserted USING (id)
+                """);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < entities.size(); i++) {
+            StudyMaterialEntity entity = entities.get(i);
+            spec = spec.bind("uploaderId" + i, entity.getUploaderId())
+                    .bind("subjectId" + i, entity.getSubjectId())
+                    .bind("examType" + i, entity.getExamType())
+                    .bind("year" + i, entity.getYear())
+                    .bind("season" + i, entity.getSeason())
+                    .bind("title" + i, entity.getTitle())
+                    .bind("questions" + i, entity.getQuestionsJson())
+                    .bind("questionCount" + i, entity.getQuestionCount())
+                    .bind("status" + i, entity.getStatus())
+                    .bind("createdAt" + i, entity.getCreatedAt())
+                    .bind("updatedAt" + i, entity.getUpdatedAt());
+            spec = entity.getPdfSha256() != null
+                    ? spec.bind("pdfSha256" + i, entity.getPdfSha256()).bind("pdfSize" + i, entity.getPdfSize())
+                    : spec.bindNull("pdfSha256" + i, String.class).bindNull("pdfSize" + i, Long.class);
+        }
+
+        return spec.map((row, metadata) -> Map.entry(row.get("ord", Integer.class), row.get("id", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                // 반환 순서와 무관하게 입력 순서로 내보냄
+                .flatMapIterable(ids -> {
+                    List<StudyMaterial> saved = new ArrayList<>(chunk.size());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Long id = ids.get(i);
+                        if (id == null) {
+                            throw new IllegalStateException("일괄 저장된 족보의 ID를 받지 못했습니다: " + i);
+                        }
+                        saved.add(chunk.get(i).withId(StudyMaterialId.of(id)));
+                    }
+                    return saved;
+                })
+                .doOnComplete(() -> log.info("StudyMaterial 일괄 저장 완료: {}건", chunk.size()));
+    }
+
     @Override
     public Mono<StudyMaterial> findById(StudyMaterialId id) {
         return r2dbcRepository.findById(id.value())
-                .map(mapper::toDomain);
+                .flatMap(this::toDomain);
+    }
+
+    @Override
+    public Mono<StudyMaterial> findPreviewById(StudyMaterialId id, int questionLimit) {
+        // 문제는 번호순으로 저장되므로 배열 앞부분 = 앞 번호 문제
+        String questionsPath = String.format("$[0 to %d]", Math.max(questionLimit, 1) - 1);
+        return r2dbcRepository.findPreviewById(id.value(), questionsPath)
+                .flatMap(entity -> subjectRegistry.findById(entity.getSubjectId())
+                        .map(subject -> mapper.toPreviewDomain(entity, subject)));
     }
 
     @Override
     public Flux<StudyMaterial> findBySubject(Subject subject) {
-        return r2dbcRepository.findBySubject(subject.name())
-                .map(mapper::toDomain);
+        return subjectRegistry.findId(subject)
+                .flatMapMany(r2dbcRepository::findBySubjectId)
+                .concatMap(this::toDomain);
     }
 
     @Override
     public Flux<StudyMaterial> findBySubjectAndExamType(Subject subject, ExamType examType) {
-        return r2dbcRepository.findBySubjectAndExamType(subject.name(), examType.type())
-                .map(mapper::toDomain);
+        return subjectRegistry.findId(subject)
+                .flatMapMany(subjectId -> r2dbcRepository.findBySubjectIdAndExamType(subjectId, examType.type()))
+                .concatMap(this::toDomain);
     }
 
     @Override
     public Flux<StudyMaterial> findByUploaderId(UserId uploaderId) {
         return r2dbcRepository.findByUploaderId(uploaderId.value())
-                .map(mapper::toDomain);
+                .concatMap(this::toDomain);
     }
 
     @Override
     public Flux<StudyMaterial> findBySubjectAndSemester(Subject subject, Semester semester) {
-        return r2dbcRepository.findBySubjectAndYearAndSeason(
-                        subject.name(), semester.year(), semester.season())
-                .map(mapper::toDomain);
+        return subjectRegistry.findId(subject)
+                .flatMapMany(subjectId -> r2dbcRepository.findBySubjectIdAndYearAndSeason(
+                        subjectId, semester.year(), semester.season()))
+                .concatMap(this::toDomain);
     }
 
     @Override
     public Flux<StudyMaterial> findByUploaderIdAndSubjectAndExamType(UserId uploaderId, Subject subject, ExamType examType) {
-        return r2dbcRepository.findByUploaderIdAndSubjectAndExamType(
-                uploaderId.value(), subject.name(), examType.type())
-                .map(mapper::toDomain);
+        return subjectRegistry.findId(subject)
+                .flatMapMany(subjectId -> r2dbcRepository.findByUploaderIdAndSubjectIdAndExamType(
+                        uploaderId.value(), subjectId, examType.type()))
+                .concatMap(this::toDomain);
     }
 
     @Override
     public Mono<Boolean> existsBySubjectAndExamTypeAndSemester(Subject subject, ExamType examType, Semester semester) {
-        return r2dbcRepository.existsBySubjectAndExamTypeAndYearAndSeason(
-                subject.name(), examType.type(), semester.year(), semester.season());
+        return subjectRegistry.findId(subject)
+                .flatMap(subjectId -> r2dbcRepository.existsBySubjectIdAndExamTypeAndYearAndSeason(
+                        subjectId, examType.type(), semester.year(), semester.season()))
+                .defaultIfEmpty(false);
     }
 
     @Override
@@ -112,13 +249,26 @@ public class StudyMaterialRepositoryImpl implements StudyMaterialRepository {
     @Override
     public Flux<StudyMaterial> findAll() {
         return r2dbcRepository.findAllByOrderByCreatedAtDesc() // 최신순
-                .map(mapper::toDomain);
+                .concatMap(this::toDomain);
     }
 
     @Override
     public Flux<StudyMaterial> findByStatus(MaterialStatus status) {
         return r2dbcRepository.findByStatus(status.name())
-                .map(mapper::toDomain);
+                .concatMap(this::toDomain);
+    }
+
+    @Override
+    public Mono<Long> countByPdfFile(PdfFile pdfFile) {
+        return r2dbcRepository.countByPdfSha256(pdfFile.sha256());
+    }
+
+    @Override
+    public Mono<Void> lockPdfReference(PdfFile pdfFile, boolean exclusive) {
+        String lock = exclusive ? "pg_advisory_xact_lock" : "pg_advisory_xact_lock_shared";
+        return databaseClient.sql("SELECT " + lock + "(hashtextextended(:sha256, 0))")
+                .bind("sha256", pdfFile.sha256())
+                .then();
     }
 
     @Override
@@ -129,164 +279,267 @@ public class StudyMaterialRepositoryImpl implements StudyMaterialRepository {
     @Override
     public Flux<StudyMaterial> findAllApproved() {
         return r2dbcRepository.findAllApproved()
-                .map(mapper::toDomain);
+                .concatMap(this::toDomain);
     }
 
     @Override
     public Flux<StudyMaterial> findBySubjectAndStatus(Subject subject, MaterialStatus status) {
-        return r2dbcRepository.findBySubjectAndStatus(subject.name(), status.name())
-                .map(mapper::toDomain);
+        return subjectRegistry.findId(subject)
+                .flatMapMany(subjectId -> r2dbcRepository.findBySubjectIdAndStatus(subjectId, status.name()))
+                .concatMap(this::toDomain);
     }
 
     @Override
     public Flux<StudyMaterial> findBySubjectAndExamTypeAndStatus(Subject subject, ExamType examType, MaterialStatus status) {
-        return r2dbcRepository.findBySubjectAndExamTypeAndStatus(
-                        subject.name(), examType.type(), status.name())
-                .map(mapper::toDomain);
+        return subjectRegistry.findId(subject)
+                .flatMapMany(subjectId -> r2dbcRepository.findBySubjectIdAndExamTypeAndStatus(
+                        subjectId, examType.type(), status.name()))
+                .concatMap(this::toDomain);
     }
 
     // JOIN 메서드들 구현 - N+1 문제 해결
     @Override
-    public Flux<StudyMaterialSummaryResponse> findAllWithUploader() {
+    public Mono<Map<MaterialFacet, Long>> countApprovedByFacet() {
         return databaseClient.sql("""
-                SELECT 
-                    m.id, m.uploader_id, m.title, m.subject, m.exam_type, 
-                    m.year, m.season, m.question_count, m.created_at, m.temp_pdf_data,
-                    u.trust_score
+                SELECT s.name AS subject, m.exam_type, m.year, m.season, COUNT(*) AS cnt
                 FROM study_material m
-                INNER JOIN users u ON m.uploader_id = u.id
+                INNER JOIN subjects s ON s.id = m.subject_id
                 WHERE m.status = 'APPROVED'
-                ORDER BY m.created_at DESC
+                GROUP BY s.name, m.exam_type, m.year, m.season
                 """)
-                .map((row, metadata) -> StudyMaterialSummaryResponse.fromJoinResult(
-                        row.get("id", Long.class),
-                        row.get("uploader_id", Long.class),
-                        row.get("subject", String.class),
-                        row.get("exam_type", String.class),
-                        row.get("year", Integer.class),
-                        row.get("season", String.class),
-                        row.get("title", String.class),
-                        row.get("question_count", Integer.class),
-                        row.get("trust_score", Integer.class),
-                        row.get("created_at", LocalDateTime.class),
-                        row.get("temp_pdf_data", String.class)
-                ))
-                .all();
+                .map((row, metadata) -> Map.entry(
+                        MaterialFacet.of(
+                                Subject.of(row.get("subject", String.class)),
+                                ExamType.of(row.get("exam_type", String.class)),
+                                Semester.of(row.get("year", Integer.class), row.get("season", String.class))),
+                        row.get("cnt", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
     }
 
     @Override
-    public Flux<StudyMaterialSummaryResponse> findAllWithUploaderForAdmin() {
+    public Flux<StudyMaterialSuggestion> findApprovedSuggestions() {
         return databaseClient.sql("""
-                SELECT 
-                    m.id, m.uploader_id, m.title, m.subject, m.exam_type, 
-                    m.year, m.season, m.question_count, m.created_at, m.temp_pdf_data,
-                    u.trust_score
+                SELECT m.id, m.title, s.name AS subject, m.exam_type
                 FROM study_material m
-                INNER JOIN users u ON m.uploader_id = u.id
-                ORDER BY m.created_at DESC
+                INNER JOIN subjects s ON s.id = m.subject_id
+                WHERE m.status = 'APPROVED'
                 """)
-                .map((row, metadata) -> StudyMaterialSummaryResponse.fromJoinResult(
+                .map((row, metadata) -> new StudyMaterialSuggestion(
                         row.get("id", Long.class),
-                        row.get("uploader_id", Long.class),
-                        row.get("subject", String.class),
-                        row.get("exam_type", String.class),
-                        row.get("year", Integer.class),
-                        row.get("season", String.class),
                         row.get("title", String.class),
-                        row.get("question_count", Integer.class),
-                        row.get("trust_score", Integer.class),
-                        row.get("created_at", LocalDateTime.class),
-                        row.get("temp_pdf_data", String.class)
-                ))
+                        row.get("subject", String.class),
+                        row.get("exam_type", String.class)))
                 .all();
     }
 
     @Override
-    public Flux<StudyMaterialSummaryResponse> findBySubjectWithUploader(Subject subject) {
+    public Flux<StudyMaterialSummaryResponse> findByUploaderIdWithUploader(UserId uploaderId) {
         return databaseClient.sql("""
                 SELECT 
-                    m.id, m.uploader_id, m.title, m.subject, m.exam_type, 
-                    m.year, m.season, m.question_count, m.created_at, m.temp_pdf_data,
+                    m.id, m.uploader_id, m.title, s.name AS subject, m.exam_type, 
+                    m.year, m.season, m.question_count, m.created_at, m.pdf_size,
                     u.trust_score
                 FROM study_material m
                 INNER JOIN users u ON m.uploader_id = u.id
-                WHERE m.subject = :subject AND m.status = 'APPROVED'
+                INNER JOIN subjects s ON s.id = m.subject_id
+                WHERE m.uploader_id = :uploaderId
                 ORDER BY m.created_at DESC
                 """)
-                .bind("subject", subject.name())
-                .map((row, metadata) -> StudyMaterialSummaryResponse.fromJoinResult(
-                        row.get("id", Long.class),
-                        row.get("uploader_id", Long.class),
-                        row.get("subject", String.class),
-                        row.get("exam_type", String.class),
-                        row.get("year", Integer.class),
-                        row.get("season", String.class),
-                        row.get("title", String.class),
-                        row.get("question_count", Integer.class),
-                        row.get("trust_score", Integer.class),
-                        row.get("created_at", LocalDateTime.class),
-                        row.get("temp_pdf_data", String.class)
-                ))
+                .bind("uploaderId", uploaderId.value())
+                .map((row, metadata) -> toSummaryResponse(row))
                 .all();
     }
 
     @Override
-    public Flux<StudyMaterialSummaryResponse> findBySubjectAndExamTypeWithUploader(Subject subject, ExamType examType) {
-        return databaseClient.sql("""
+    public Flux<StudyMaterialSummaryResponse> findPageWithUploader(Subject subject, ExamType examType, boolean approvedOnly,
+                                                                   CatalogCursor cursor, int limit) {
+        // 등록되지 않은 과목이면 결과 없음
+        Flux<StudyMaterialSummaryResponse> rows = subject == null
+                ? findPageRows(null, examType, approvedOnly, cursor, limit)
+                : subjectRegistry.findId(subject)
+                        .flatMapMany(subjectId -> findPageRows(subjectId, examType, approvedOnly, cursor, limit));
+        if (!approvedOnly) {
+            // 관리자 전체 조회는 대기 족보가 섞여 있어 캐시하지 않음
+            return rows;
+        }
+        CatalogKey key = new CatalogKey("page",
+                subject != null ? subject.name() : null,
+                examType != null ? examType.type() : null,
+                cursor, limit);
+        return catalogCache.get(key, () -> rows);
+    }
+
+    private Flux<StudyMaterialSummaryResponse> findPageRows(Integer subjectId, ExamType examType, boolean approvedOnly,
+                                                            CatalogCursor cursor, int limit) {
+        // 조건이 선택적이라 SQL을 조립하고, 값은 모두 바인딩 (idx_study_material_*_keyset 인덱스 사용)
+        StringBuilder sql = new StringBuilder("""
                 SELECT 
-                    m.id, m.uploader_id, m.title, m.subject, m.exam_type, 
-                    m.year, m.season, m.question_count, m.created_at, m.temp_pdf_data,
+                    m.id, m.uploader_id, m.title, s.name AS subject, m.exam_type, 
+                    m.year, m.season, m.question_count, m.created_at, m.pdf_size,
                     u.trust_score
                 FROM study_material m
                 INNER JOIN users u ON m.uploader_id = u.id
-                WHERE m.subject = :subject AND m.exam_type = :examType AND m.status = 'APPROVED'
-                ORDER BY m.created_at DESC
-                """)
-                .bind("subject", subject.name())
-                .bind("examType", examType.type())
-                .map((row, metadata) -> StudyMaterialSummaryResponse.fromJoinResult(
-                        row.get("id", Long.class),
-                        row.get("uploader_id", Long.class),
-                        row.get("subject", String.class),
-                        row.get("exam_type", String.class),
-                        row.get("year", Integer.class),
-                        row.get("season", String.class),
-                        row.get("title", String.class),
-                        row.get("question_count", Integer.class),
-                        row.get("trust_score", Integer.class),
-                        row.get("created_at", LocalDateTime.class),
-                        row.get("temp_pdf_data", String.class)
-                ))
+                INNER JOIN subjects s ON s.id = m.subject_id
+                WHERE 1 = 1
+                """);
+        if (approvedOnly) {
+            sql.append(" AND m.status = 'APPROVED'");
+        }
+        if (subjectId != null) {
+            sql.append(" AND m.subject_id = :subjectId");
+        }
+        if (examType != null) {
+            sql.append(" AND m.exam_type = :examType");
+        }
+        if (cursor != null) {
+            sql.append(" AND (m.created_at, m.id) < (:cursorCreatedAt, :cursorId)");
+        }
+        sql.append(" ORDER BY m.created_at DESC, m.id DESC LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("limit", limit);
+        if (subjectId != null) {
+            spec = spec.bind("subjectId", subjectId);
+        }
+        if (examType != null) {
+            spec = spec.bind("examType", examType.type());
+        }
+        if (cursor != null) {
+            spec = spec.bind("cursorCreatedAt", cursor.createdAt())
+                    .bind("cursorId", cursor.id());
+        }
+        return spec.map((row, metadata) -> toSummaryResponse(row))
                 .all();
     }
 
     @Override
-    public Flux<StudyMaterialSummaryResponse> findByUploaderIdWithUploader(UserId uploaderId) {
+    public Mono<Map<StudyMaterialId, UserId>> findApprovedUploaderIds(Collection<StudyMaterialId> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        Long[] materialIds = ids.stream().map(StudyMaterialId::value).toArray(Long[]::new);
         return databaseClient.sql("""
-                SELECT 
-                    m.id, m.uploader_id, m.title, m.subject, m.exam_type, 
-                    m.year, m.season, m.question_count, m.created_at, m.temp_pdf_data,
+                SELECT id, uploader_id
+                FROM study_material
+                WHERE id = ANY(:ids) AND status = 'APPROVED'
+                """)
+                .bind("ids", materialIds)
+                .map((row, metadata) -> Map.entry(
+                        StudyMaterialId.of(row.get("id", Long.class)),
+                        UserId.of(row.get("uploader_id", Long.class))))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    @Override
+    public Flux<StudyMaterialSummaryResponse> findPotentialMatchesWithUploader(UserId userId, StudyMaterialId materialId,
+                                                                               PotentialMatchCursor cursor, int limit) {
+        // 기준 족보와 self-join 해서 과목/시험을 DB에서 맞추고, 이미 진행 중인 매칭 상대 족보는 anti-join으로 제외
+        StringBuilder sql = new StringBuilder("""
+                SELECT
+                    m.id, m.uploader_id, m.title, s.name AS subject, m.exam_type,
+                    m.year, m.season, m.question_count, m.created_at, m.pdf_size,
                     u.trust_score
-                FROM study_material m
+                FROM study_material src
+                INNER JOIN study_material m ON m.subject_id = src.subject_id AND m.exam_type = src.exam_type
                 INNER JOIN users u ON m.uploader_id = u.id
-                WHERE m.uploader_id = :uploaderId
-                ORDER BY m.created_at DESC
-                """)
-                .bind("uploaderId", uploaderId.value())
-                .map((row, metadata) -> StudyMaterialSummaryResponse.fromJoinResult(
-                        row.get("id", Long.class),
-                        row.get("uploader_id", Long.class),
-                        row.get("subject", String.class),
-                        row.get("exam_type", String.class),
-                        row.get("year", Integer.class),
-                        row.get("season", String.class),
-                        row.get("title", String.class),
-                        row.get("question_count", Integer.class),
-                        row.get("trust_score", Integer.class),
-                        row.get("created_at", LocalDateTime.class),
-                        row.get("temp_pdf_data", String.class)
-                ))
+                INNER JOIN subjects s ON s.id = m.subject_id
+                WHERE src.id = :materialId
+                  AND m.status = 'APPROVED'
+                  AND m.uploader_id <> :userId
+                  AND NOT EXISTS (
+                      SELECT 1 FROM matches x
+                      WHERE x.status IN ('PENDING', 'ACCEPTED') AND x.created_at >= :activeSince
+                        AND ((x.requester_id = :userId AND x.receiver_material_id = m.id)
+                          OR (x.receiver_id = :userId AND x.requester_material_id = m.id))
+                  )
+                """);
+        if (cursor != null) {
+            sql.append(" AND (u.trust_score, m.created_at, m.id) < (:cursorTrustScore, :cursorCreatedAt, :cursorId)");
+        }
+        sql.append(" ORDER BY u.trust_score DESC, m.created_at DESC, m.id DESC LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("materialId", materialId.value())
+                .bind("userId", userId.value())
+                .bind("activeSince", Match.activeCreatedSince(LocalDateTime.now()))
+                .bind("limit", limit);
+        if (cursor != null) {
+            spec = spec.bind("cursorTrustScore", cursor.trustScore())
+                    .bind("cursorCreatedAt", cursor.createdAt())
+                    .bind("cursorId", cursor.id());
+        }
+        return spec.map((row, metadata) -> toSummaryResponse(row))
+                .all();
+    }
+
+    @Override
+    public Flux<StudyMaterialSearchHit> searchApproved(String query, SearchCursor cursor, int limit) {
+        // 부분 일치(trigram GIN) OR 단어 일치(tsvector GIN) -> BitmapOr 로 JSONB 순차 스캔 없음
+        // rank: 제목 유사도를 우선, 본문 단어 일치를 보조로. 커서 비교를 위해 numeric으로 반올림
+        StringBuilder sql = new StringBuilder("""
+                SELECT *
+                FROM (
+                    SELECT
+                        m.id, m.uploader_id, m.title, s.name AS subject, m.exam_type,
+                        m.year, m.season, m.question_count, m.created_at, m.pdf_size,
+                        u.trust_score,
+                        ROUND((2 * word_similarity(:query, m.title)
+                               + ts_rank(m.search_vector, plainto_tsquery('simple', :query)))::numeric, 6) AS rank
+                    FROM study_material m
+                    INNER JOIN users u ON m.uploader_id = u.id
+                    INNER JOIN subjects s ON s.id = m.subject_id
+                    WHERE m.status = 'APPROVED'
+                      AND (m.search_text ILIKE :pattern
+                           OR m.search_vector @@ plainto_tsquery('simple', :query))
+                ) hits
+                """);
+        if (cursor != null) {
+            sql.append(" WHERE (hits.rank, hits.id) < (:cursorRank, :cursorId)");
+        }
+        sql.append(" ORDER BY hits.rank DESC, hits.id DESC LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("query", query)
+                .bind("pattern", "%" + escapeLike(query) + "%")
+                .bind("limit", limit);
+        if (cursor != null) {
+            spec = spec.bind("cursorRank", cursor.rank())
+                    .bind("cursorId", cursor.id());
+        }
+        return spec.map((row, metadata) -> new StudyMaterialSearchHit(
+                        toSummaryResponse(row),
+                        row.get("rank", BigDecimal.class)))
                 .all();
     }
 
+    // ILIKE 와일드카드 문자는 그대로 검색되도록 이스케이프 (기본 ESCAPE 문자 '\')
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private Mono<StudyMaterial> toDomain(StudyMaterialEntity entity) {
+        return subjectRegistry.findById(entity.getSubjectId())
+                .map(subject -> mapper.toDomain(entity, subject));
+    }
+
+    private StudyMaterialSummaryResponse toSummaryResponse(Row row) {
+        return StudyMaterialSummaryResponse.fromJoinResult(
+                row.get("id", Long.class),
+                row.get("uploader_id", Long.class),
+                row.get("subject", String.class),
+                row.get("exam_type", String.class),
+                row.get("year", Integer.class),
+                row.get("season", String.class),
+                row.get("title", String.class),
+                row.get("question_count", Integer.class),
+                row.get("trust_score", Integer.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("pdf_size", Long.class)
+        );
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.smwu.matchalot.infrastructure.persistence.repository;
+
+import com.smwu.matchalot.domain.model.vo.Subject;
+import com.smwu.matchalot.domain.repository.SubjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * subjects 테이블(id <-> 과목명)의 메모리 사본.
+ * 기동 시 전체를 읽어 Subject 인스턴스를 intern 해두고, 족보 조회/저장은 여기서 id를 얻어 정수로 비교한다.
+ * 다른 인스턴스에서 추가된 과목은 처음 마주칠 때 DB에서 한 번 읽어 등록한다.
+ * 이름 변경은 사본 전체를 다시 읽어 통째로 교체한다 (예전 이름이 남지 않도록).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubjectRegistry implements SubjectRepository, SmartInitializingSingleton {
+
+    private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(30);
+
+    private final DatabaseClient databaseClient;
+
+    private record Snapshot(Map<Subject, Integer> idBySubject, Map<Integer, Subject> subjectById) {
+        static Snapshot empty() {
+            return new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private volatile Snapshot snapshot = Snapshot.empty();
+
+    // 모든 싱글톤(Flyway 포함) 생성 후, 웹 서버가 요청을 받기 전에 실행
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload().block(LOAD_TIMEOUT);
+        log.info("과목 {}개 로드 완료", snapshot.subjectById().size());
+    }
+
+    @Override
+    public Mono<Map<String, String>> reload() {
+        return databaseClient.sql("SELECT id, name FROM subjects")
+                .map((row, metadata) -> Map.entry(row.get("id", Integer.class), row.get("name", String.class)))
+                .all()
+                .collectList()
+                .map(rows -> {
+                    Snapshot previous = snapshot;
+                    Snapshot fresh = Snapshot.empty();
+                    rows.forEach(row -> register(fresh, row.getKey(), row.getValue()));
+                    snapshot = fresh;
+
+                    Map<String, String> renamed = new HashMap<>();
+                    fresh.subjectById().forEach((id, subject) -> {
+                        Subject before = previous.subjectById().get(id);
+                        if (before != null && !before.equals(subject)) {
+                            renamed.put(before.name(), subject.name());
+                        }
+                    });
+                    return renamed;
+                });
+    }
+
+    @Override
+    public Flux<Subject> findAll() {
+        return Flux.fromIterable(snapshot.subjectById().values())
+                .sort(Comparator.comparing(Subject::name));
+    }
+
+    @Override
+    public Mono<Boolean> isRegistered(Subject subject) {
+        return findId(subject).hasElement();
+    }
+
+    @Override
+    public Mono<Subject> create(Subject subject) {
+        return databaseClient.sql("""
+                INSERT INTO subjects (name) VALUES (:name)
+                ON CONFLICT (name) DO NOTHING
+                RETURNING id
+                """)
+                .bind("name", subject.name())
+                .map((row, metadata) -> row.get("id", Integer.class))
+                .one()
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("이미 등록된 과목입니다: " + subject.name())))
+                .map(id -> {
+                    log.info("과목 등록: id={}, name={}", id, subject.name());
+                    return register(snapshot, id, subject.name());
+                });
+    }
+
+    @Override
+    public Mono<Subject> rename(Subject from, Subject to) {
+        return databaseClient.sql("""
+                UPDATE subjects SET name = :to
+                WHERE name = :from
+                  AND NOT EXISTS (SELECT 1 FROM subjects WHERE name = :to)
+                RETURNING id
+                """)
+                .bind("from", from.name())
+                .bind("to", to.name())
+                .map((row, metadata) -> row.get("id", Integer.class))
+                .one()
+                .switchIfEmpty(Mono.error(new IllegalArgumentException(
+                        "없는 과목이거나 이미 있는 과목명입니다: " + from.name() + " -> " + to.name())))
+                // 같은 이름으로 동시에 바꾼 경우 UNIQUE 위반
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new IllegalArgumentException("이미 있는 과목명입니다: " + to.name(), e))
+                .doOnNext(id -> log.info("과목 이름 변경: id={}, {} -> {}", id, from.name(), to.name()))
+                .flatMap(id -> reload())
+                .then(Mono.fromCallable(() -> Subject.intern(to.name())));
+    }
+
+    public Mono<Subject> findById(int id) {
+        Subject cached = snapshot.subjectById().get(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return databaseClient.sql("SELECT id, name FROM subjects WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> register(snapshot, row.get("id", Integer.class), row.get("name", String.class)))
+                .one()
+                .switchIfEmpty(Mono.error(new IllegalStateException("등록되지 않은 과목 ID: " + id)));
+    }
+
+    // 조회 조건용: 없는 과목이면 empty (등록하지 않음)
+    public Mono<Integer> findId(Subject subject) {
+        Integer cached = snapshot.idBySubject().get(subject);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return databaseClient.sql("SELECT id, name FROM subjects WHERE name = :name")
+                .bind("name", subject.name())
+                .map((row, metadata) -> {
+                    Integer id = row.get("id", Integer.class);
+                    register(snapshot, id, row.get("name", String.class));
+                    return id;
+                })
+                .one();
+    }
+
+    // 저장용: 등록된 과목만 허용 (업로드로 임의의 과목이 생기지 않도록, 추가는 관리자 create로)
+    public Mono<Integer> getRegisteredId(Subject subject) {
+        return findId(subject)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("등록되지 않은 과목입니다: " + subject.name())));
+    }
+
+    private static Subject register(Snapshot target, Integer id, String name) {
+        Subject subject = Subject.intern(name);
+        Subject previous = target.subjectById().put(id, subject);
+        if (previous != null && !previous.equals(subject)) {
+            target.idBySubject().remove(previous, id);
+        }
+        target.idBySubject().put(subject, id);
+        return subject;
+    }
+}
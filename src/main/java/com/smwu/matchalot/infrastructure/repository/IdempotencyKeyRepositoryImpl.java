@@ -0,0 +1,114 @@
+package com.smwu.matchalot.infrastructure.repository;
+
+import com.smwu.matchalot.domain.model.vo.IdempotentResponse;
+import com.smwu.matchalot.domain.repository.IdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepositoryImpl implements IdempotencyKeyRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<IdempotentResponse> find(String ownerEmail, String key) {
+        return databaseClient.sql("""
+                SELECT request_scope, response_status, response_body, created_at
+                FROM idempotency_key
+                WHERE owner_email = :ownerEmail AND idempotency_key = :key
+                """)
+                .bind("ownerEmail", ownerEmail)
+                .bind("key", key)
+                .map((row, metadata) -> {
+                    Short status = row.get("response_status", Short.class);
+                    return new IdempotentResponse(
+                            row.get("request_scope", String.class),
+                            status != null ? status.intValue() : null,
+                            row.get("response_body", String.class),
+                            row.get("created_at", LocalDateTime.class));
+                })
+                .one();
+    }
+
+    @Override
+    public Mono<Boolean> claim(String ownerEmail, String key, String requestScope, String claimToken,
+                               LocalDateTime staleBefore) {
+        // 처리 중인 채로 갱신이 끊긴 선점(응답 전에 죽은 인스턴스 등)만 덮어씀. 완료된 응답은 건드리지 않음
+        return databaseClient.sql("""
+                INSERT INTO idempotency_key (owner_email, idempotency_key, request_scope, claim_token, heartbeat_at, created_at)
+                VALUES (:ownerEmail, :key, :requestScope, :claimToken, :now, :now)
+                ON CONFLICT (owner_email, idempotency_key) DO UPDATE
+                    SET request_scope = EXCLUDED.request_scope, claim_token = EXCLUDED.claim_token,
+                        heartbeat_at = EXCLUDED.heartbeat_at, created_at = EXCLUDED.created_at
+                    WHERE idempotency_key.response_status IS NULL AND idempotency_key.heartbeat_at < :staleBefore
+                """)
+                .bind("ownerEmail", ownerEmail)
+                .bind("key", key)
+                .bind("requestScope", requestScope)
+                .bind("claimToken", claimToken)
+                .bind("now", LocalDateTime.now())
+                .bind("staleBefore", staleBefore)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    @Override
+    public Mono<Boolean> renew(String ownerEmail, String key, String claimToken) {
+        return databaseClient.sql("""
+                UPDATE idempotency_key SET heartbeat_at = :now
+                WHERE owner_email = :ownerEmail AND idempotency_key = :key
+                  AND claim_token = :claimToken AND response_status IS NULL
+                """)
+                .bind("ownerEmail", ownerEmail)
+                .bind("key", key)
+                .bind("claimToken", claimToken)
+                .bind("now", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    @Override
+    public Mono<Boolean> complete(String ownerEmail, String key, String claimToken, int status, String body) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                UPDATE idempotency_key SET response_status = :status, response_body = :body
+                WHERE owner_email = :ownerEmail AND idempotency_key = :key
+                  AND claim_token = :claimToken AND response_status IS NULL
+                """)
+                .bind("ownerEmail", ownerEmail)
+                .bind("key", key)
+                .bind("claimToken", claimToken)
+                .bind("status", (short) status);
+        spec = body != null ? spec.bind("body", body) : spec.bindNull("body", String.class);
+        return spec.fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    @Override
+    public Mono<Void> release(String ownerEmail, String key, String claimToken) {
+        return databaseClient.sql("""
+                DELETE FROM idempotency_key
+                WHERE owner_email = :ownerEmail AND idempotency_key = :key
+                  AND claim_token = :claimToken AND response_status IS NULL
+                """)
+                .bind("ownerEmail", ownerEmail)
+                .bind("key", key)
+                .bind("claimToken", claimToken)
+                .then();
+    }
+
+    @Override
+    public Mono<Long> deleteCreatedBefore(LocalDateTime cutoff) {
+        return databaseClient.sql("DELETE FROM idempotency_key WHERE created_at < :cutoff")
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+}
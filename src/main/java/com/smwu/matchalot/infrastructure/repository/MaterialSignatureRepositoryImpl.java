@@ -0,0 +1,170 @@
+package com.smwu.matchalot.infrastructure.repository;
+
+import com.smwu.matchalot.domain.model.vo.DuplicateCandidate;
+import com.smwu.matchalot.domain.model.vo.MinHashSignature;
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+import com.smwu.matchalot.domain.model.vo.UserId;
+import com.smwu.matchalot.domain.repository.MaterialSignatureRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuple3;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class MaterialSignatureRepositoryImpl implements MaterialSignatureRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Void> saveSignature(StudyMaterialId materialId, MinHashSignature signature) {
+        return saveSignatures(Map.of(materialId, signature));
+    }
+
+    @Override
+    public Mono<Void> saveSignatures(Map<StudyMaterialId, MinHashSignature> signatures) {
+        if (signatures.isEmpty()) {
+            return Mono.empty();
+        }
+        List<Map.Entry<StudyMaterialId, MinHashSignature>> entries = new ArrayList<>(signatures.entrySet());
+        StringBuilder sql = new StringBuilder("INSERT INTO study_material_signature (material_id, minhash) VALUES ");
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:materialId").append(i).append(", :minhash").append(i).append(")");
+        }
+        sql.append(" ON CONFLICT (material_id) DO UPDATE SET minhash = EXCLUDED.minhash");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < entries.size(); i++) {
+            spec = spec.bind("materialId" + i, entries.get(i).getKey().value())
+                    .bind("minhash" + i, toIntegerArray(entries.get(i).getValue().values()));
+        }
+        return spec.then();
+    }
+
+    @Override
+    public Flux<Tuple3<StudyMaterialId, UserId, MinHashSignature>> findAllSignatures() {
+        return databaseClient.sql("""
+                SELECT s.material_id, m.uploader_id, s.minhash
+                FROM study_material_signature s
+                JOIN study_material m ON m.id = s.material_id
+                """)
+                .map((row, metadata) -> Tuples.of(
+                        StudyMaterialId.of(row.get("material_id", Long.class)),
+                        UserId.of(row.get("uploader_id", Long.class)),
+                        MinHashSignature.of(toIntArray(row.get("minhash", Integer[].class)))))
+                .all();
+    }
+
+    @Override
+    public Flux<StudyMaterialId> findMaterialIdsWithoutSignature() {
+        return databaseClient.sql("""
+                SELECT m.id
+                FROM study_material m
+                WHERE NOT EXISTS (SELECT 1 FROM study_material_signature s WHERE s.material_id = m.id)
+                ORDER BY m.id
+                """)
+                .map((row, metadata) -> StudyMaterialId.of(row.get("id", Long.class)))
+                .all();
+    }
+
+    @Override
+    public Mono<Void> saveDuplicates(StudyMaterialId materialId, List<DuplicateCandidate> duplicates) {
+        return saveDuplicates(Map.of(materialId, duplicates));
+    }
+
+    @Override
+    public Mono<Void> saveDuplicates(Map<StudyMaterialId, List<DuplicateCandidate>> duplicatesByMaterial) {
+        List<Long[]> pairs = new ArrayList<>();
+        List<Float> similarities = new ArrayList<>();
+        duplicatesByMaterial.forEach((materialId, duplicates) -> duplicates.forEach(duplicate -> {
+            pairs.add(new Long[]{materialId.value(), duplicate.materialId().value()});
+            similarities.add((float) duplicate.similarity());
+        }));
+        if (pairs.isEmpty()) {
+            return Mono.empty();
+        }
+        // 후보 수만큼 VALUES를 붙여 한 번에 저장
+        // 그 사이 삭제된 족보(탈퇴 cascade 등)를 가리키는 쌍은 FK 위반 대신 건너뜀
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO study_material_duplicate (material_id, duplicate_of_id, similarity)
+                SELECT v.material_id, v.duplicate_of_id, v.similarity
+                FROM (VALUES\s""");
+        for (int i = 0; i < pairs.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(:materialId").append(i).append(" AS BIGINT)")
+                    .append(", CAST(:duplicateOf").append(i).append(" AS BIGINT)")
+                    .append(", CAST(:similarity").append(i).append(" AS REAL))");
+        }
+        sql.append("""
+                ) AS v(material_id, duplicate_of_id, similarity)
+                WHERE EXISTS (SELECT 1 FROM study_material m WHERE m.id = v.material_id)
+                  AND EXISTS (SELECT 1 FROM study_material m WHERE m.id = v.duplicate_of_id)
+                ON CONFLICT (material_id, duplicate_of_id) DO UPDATE SET similarity = EXCLUDED.similarity""");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < pairs.size(); i++) {
+            spec = spec.bind("materialId" + i, pairs.get(i)[0])
+                    .bind("duplicateOf" + i, pairs.get(i)[1])
+                    .bind("similarity" + i, similarities.get(i));
+        }
+        return spec.then();
+    }
+
+    @Override
+    public Mono<Map<Long, List<DuplicateCandidate>>> findDuplicates(Collection<StudyMaterialId> materialIds) {
+        if (materialIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        Long[] ids = materialIds.stream().map(StudyMaterialId::value).toArray(Long[]::new);
+        return databaseClient.sql("""
+                SELECT material_id, duplicate_of_id, similarity
+                FROM study_material_duplicate
+                WHERE material_id = ANY(:ids)
+                ORDER BY material_id, similarity DESC
+                """)
+                .bind("ids", ids)
+                .map((row, metadata) -> Tuples.of(
+                        row.get("material_id", Long.class),
+                        DuplicateCandidate.of(
+                                StudyMaterialId.of(row.get("duplicate_of_id", Long.class)),
+                                row.get("similarity", Float.class))))
+                .all()
+                .collectMultimap(Tuple2::getT1, Tuple2::getT2)
+                .map(grouped -> {
+                    Map<Long, List<DuplicateCandidate>> result = new HashMap<>();
+                    grouped.forEach((id, candidates) -> result.put(id, new ArrayList<>(candidates)));
+                    return result;
+                });
+    }
+
+    private static Integer[] toIntegerArray(int[] values) {
+        Integer[] boxed = new Integer[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return boxed;
+    }
+
+    private static int[] toIntArray(Integer[] values) {
+        int[] unboxed = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            unboxed[i] = values[i];
+        }
+        return unboxed;
+    }
+}
@@ -13,6 +13,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 //기술적 구현이므로 인프라 계층에
 @Repository
@@ -51,6 +52,45 @@ public class NotificationRepositoryImpl implements NotificationRepository {
                     notification.getUserId().value(), notification.getType()));
     }
 
+    @Override
+    public Flux<Notification> saveAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return Flux.empty();
+        }
+        StringBuilder sql = new StringBuilder("""
+            INSERT INTO notifications (user_id, type, title, message, is_read, created_at, related_entity_id)
+            VALUES
+            """);
+        for (int i = 0; i < notifications.size(); i++) {
+            if (i > 0) {
+                sql.append(",\n");
+            }
+            sql.append(String.format(
+                    "(:userId%1$d, :type%1$d, :title%1$d, :message%1$d, :isRead%1$d, :createdAt%1$d, :relatedEntityId%1$d)", i));
+        }
+        sql.append(" RETURNING id, user_id, type, title, message, is_read, created_at, related_entity_id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            if (notification.getId() != null) {
+                return Flux.error(new IllegalArgumentException("이미 저장된 알림은 일괄 저장할 수 없습니다."));
+            }
+            spec = spec.bind("userId" + i, notification.getUserId().value())
+                    .bind("type" + i, notification.getType().name())
+                    .bind("title" + i, notification.getTitle())
+                    .bind("message" + i, notification.getMessage())
+                    .bind("isRead" + i, notification.isRead())
+                    .bind("createdAt" + i, notification.getCreatedAt());
+            spec = notification.getRelatedEntityId() != null
+                    ? spec.bind("relatedEntityId" + i, notification.getRelatedEntityId())
+                    : spec.bindNull("relatedEntityId" + i, String.class);
+        }
+        return spec.map(this::mapToNotification)
+                .all()
+                .doOnComplete(() -> log.info("알림 일괄 생성: {}건", notifications.size()));
+    }
+
     
     private Mono<Notification> update(Notification notification) {
         String sql = """
@@ -0,0 +1,193 @@
+package com.smwu.matchalot.infrastructure.storage;
+
+import com.azure.core.util.BinaryData;
+import com.azure.identity.DefaultAzureCredentialBuilder;
+import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobErrorCode;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.smwu.matchalot.domain.model.vo.PdfFile;
+import com.smwu.matchalot.domain.repository.PdfStorage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//운영용 Azure Blob 저장소. blob 이름 = {sha256}.pdf
+//열람용 로컬 캐시는 cache.max-size/max-age로 제한 (내려받을 때와 sweep-interval마다 정리)
+@Component
+@ConditionalOnProperty(name = "app.storage.pdf.type", havingValue = "azure")
+@Slf4j
+public class AzureBlobPdfStorage implements PdfStorage {
+
+    private final BlobContainerAsyncClient containerClient;
+    private final Path spoolDir;
+    private final Path cacheDir;
+    private final long cacheMaxBytes;
+    private final Duration cacheMaxAge;
+    private final Duration cacheSweepInterval;
+    // 내려받을 때마다 정리를 예약하되 동시에 하나만 돌게
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile Disposable sweepLoop;
+
+    public AzureBlobPdfStorage(
+            @Value("${app.storage.pdf.azure.connection-string:}") String connectionString,
+            @Value("${app.storage.pdf.azure.endpoint:}") String endpoint,
+            @Value("${app.storage.pdf.azure.container}") String container,
+            @Value("${app.storage.pdf.local-dir:${java.io.tmpdir}/matchalot/pdf}") String spoolDir,
+            @Value("${app.storage.pdf.cache.max-size:2GB}") DataSize cacheMaxSize,
+            @Value("${app.storage.pdf.cache.max-age:7d}") Duration cacheMaxAge,
+            @Value("${app.storage.pdf.cache.sweep-interval:10m}") Duration cacheSweepInterval
+    ) {
+        this.spoolDir = Paths.get(spoolDir).toAbsolutePath().resolve("tmp");
+        this.cacheDir = Paths.get(spoolDir).toAbsolutePath().resolve("cache");
+        this.cacheMaxBytes = cacheMaxSize.toBytes();
+        this.cacheMaxAge = cacheMaxAge;
+        this.cacheSweepInterval = cacheSweepInterval;
+        BlobServiceClientBuilder builder = new BlobServiceClientBuilder();
+        if (!connectionString.isBlank()) {
+            builder.connectionString(connectionString);
+        } else {
+            // VM Managed Identity 등
+            builder.endpoint(endpoint).credential(new DefaultAzureCredentialBuilder().build());
+        }
+        this.containerClient = builder.buildAsyncClient().getBlobContainerAsyncClient(container);
+        this.containerClient.createIfNotExists().block();
+        log.info("Azure Blob PDF 저장소 사용: container={}", container);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCacheSweepLoop() {
+        // 오래 안 쓴 캐시는 다운로드가 없어도 지워지도록
+        sweepLoop = Flux.interval(cacheSweepInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sweepCache())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopCacheSweepLoop() {
+        if (sweepLoop != null) {
+            sweepLoop.dispose();
+        }
+    }
+
+    @Override
+    public Mono<PdfFile> store(byte[] content) {
+        return Mono.fromCallable(() -> PdfFile.fromContent(content))
+                .flatMap(pdfFile -> blob(pdfFile)
+                        .upload(BinaryData.fromBytes(content), false)
+                        .thenReturn(pdfFile)
+                        // 같은 해시 = 같은 내용이므로 이미 있으면 성공으로 처리
+                        .onErrorResume(BlobStorageException.class, e -> isAlreadyExists(e)
+                                ? Mono.just(pdfFile)
+                                : Mono.error(e)));
+    }
+
+    @Override
+    public Mono<PdfFile> store(Flux<DataBuffer> content, long maxBytes) {
+        // 해시를 알아야 blob 이름이 정해지므로 로컬 임시 파일에 먼저 흘려보낸 뒤 파일에서 업로드
+        return PdfSpooler.spool(content, maxBytes, spoolDir, spooled -> blob(spooled.pdfFile())
+                .uploadFromFile(spooled.path().toString(), false)
+                .thenReturn(spooled.pdfFile())
+                .onErrorResume(BlobStorageException.class, e -> isAlreadyExists(e)
+                        ? Mono.just(spooled.pdfFile())
+                        : Mono.error(e)));
+    }
+
+    @Override
+    public Mono<byte[]> load(PdfFile pdfFile) {
+        return blob(pdfFile).downloadContent()
+                .map(BinaryData::toBytes)
+                .onErrorResume(BlobStorageException.class, e -> e.getErrorCode() == BlobErrorCode.BLOB_NOT_FOUND
+                        ? Mono.empty()
+                        : Mono.error(e));
+    }
+
+    @Override
+    public Mono<Resource> open(PdfFile pdfFile) {
+        // 내용 해시가 이름이라 캐시가 낡을 일이 없음 -> 첫 요청에만 내려받고 이후엔 로컬 파일로 zero-copy 전송
+        Path cached = cacheDir.resolve(pdfFile.sha256() + ".pdf");
+        return Mono.fromCallable(() -> Files.exists(cached))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(hit -> {
+                    if (!hit) {
+                        return downloadToCache(pdfFile, cached);
+                    }
+                    // 수정 시각 = 마지막 사용 시각 (정리 순서)
+                    PdfCacheSweeper.touch(cached);
+                    return Mono.just(cached);
+                })
+                .map(path -> (Resource) new FileSystemResource(path));
+    }
+
+    @Override
+    public Mono<Boolean> exists(PdfFile pdfFile) {
+        return blob(pdfFile).exists();
+    }
+
+    @Override
+    public Mono<Void> delete(PdfFile pdfFile) {
+        return blob(pdfFile).deleteIfExists()
+                .then(PdfSpooler.deleteQuietly(cacheDir.resolve(pdfFile.sha256() + ".pdf")));
+    }
+
+    private Mono<Path> downloadToCache(PdfFile pdfFile, Path cached) {
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(cacheDir);
+                    return Files.createTempFile(cacheDir, pdfFile.sha256(), ".tmp");
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(temp -> blob(pdfFile).downloadToFile(temp.toString(), true)
+                        .then(Mono.fromCallable(() -> Files.move(temp, cached,
+                                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING))
+                                .subscribeOn(Schedulers.boundedElastic()))
+                        .doOnNext(path -> sweepCache().subscribe())
+                        .onErrorResume(error -> PdfSpooler.deleteQuietly(temp).then(Mono.error(error))))
+                .onErrorResume(BlobStorageException.class, e -> e.getErrorCode() == BlobErrorCode.BLOB_NOT_FOUND
+                        ? Mono.empty()
+                        : Mono.error(e));
+    }
+
+    private Mono<Void> sweepCache() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> PdfCacheSweeper.sweep(cacheDir, cacheMaxBytes, cacheMaxAge, Instant.now()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(error -> {
+                    log.error("PDF 캐시 정리 실패", error);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> sweeping.set(false))
+                .then();
+    }
+
+    private BlobAsyncClient blob(PdfFile pdfFile) {
+        return containerClient.getBlobAsyncClient(pdfFile.sha256() + ".pdf");
+    }
+
+    private boolean isAlreadyExists(BlobStorageException e) {
+        return e.getErrorCode() == BlobErrorCode.BLOB_ALREADY_EXISTS || e.getStatusCode() == 409;
+    }
+}
@@ -0,0 +1,62 @@
+package com.smwu.matchalot.infrastructure.storage;
+
+import com.smwu.matchalot.domain.repository.PdfStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * temp_pdf_data(Base64 TEXT)에 남아 있는 PDF를 PdfStorage로 옮기고 해시/크기만 남긴다.
+ * 한 번에 한 행씩 처리해서 메모리 사용량은 PDF 1개 크기로 제한된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LegacyPdfDataMigrator {
+
+    private final DatabaseClient databaseClient;
+    private final PdfStorage pdfStorage;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        databaseClient.sql("SELECT id FROM study_material WHERE temp_pdf_data IS NOT NULL ORDER BY id")
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .concatMap(this::migrateOne)
+                .count()
+                .subscribe(
+                        migrated -> {
+                            if (migrated > 0) {
+                                log.info("temp_pdf_data -> PdfStorage 이전 완료: {}건", migrated);
+                            }
+                        },
+                        error -> log.error("temp_pdf_data 이전 실패: {}", error.getMessage(), error)
+                );
+    }
+
+    private Mono<Long> migrateOne(Long id) {
+        return databaseClient.sql("SELECT temp_pdf_data FROM study_material WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("temp_pdf_data", String.class))
+                .one()
+                .flatMap(pdfStorage::storeBase64)
+                .flatMap(pdfFile -> databaseClient.sql("""
+                                UPDATE study_material
+                                SET pdf_sha256 = :sha256, pdf_size = :size, temp_pdf_data = NULL
+                                WHERE id = :id
+                                """)
+                        .bind("sha256", pdfFile.sha256())
+                        .bind("size", pdfFile.size())
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated())
+                .onErrorResume(error -> {
+                    log.warn("족보 {} PDF 이전 실패 (건너뜀): {}", id, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,116 @@
+package com.smwu.matchalot.infrastructure.storage;
+
+import com.smwu.matchalot.domain.model.vo.PdfFile;
+import com.smwu.matchalot.domain.repository.PdfStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+//개발/테스트용 로컬 파일시스템 저장소: {baseDir}/ab/cd/{sha256}.pdf
+@Component
+@ConditionalOnProperty(name = "app.storage.pdf.type", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalPdfStorage implements PdfStorage {
+
+    private final Path baseDir;
+
+    public LocalPdfStorage(@Value("${app.storage.pdf.local-dir:${java.io.tmpdir}/matchalot/pdf}") String baseDir) {
+        this.baseDir = Paths.get(baseDir).toAbsolutePath();
+        log.info("로컬 PDF 저장소 사용: {}", this.baseDir);
+    }
+
+    @Override
+    public Mono<PdfFile> store(byte[] content) {
+        return Mono.fromCallable(() -> {
+                    PdfFile pdfFile = PdfFile.fromContent(content);
+                    Path target = resolve(pdfFile);
+                    if (Files.exists(target)) {
+                        log.debug("이미 저장된 PDF 재사용: {}", pdfFile.sha256());
+                        return pdfFile;
+                    }
+                    Files.createDirectories(target.getParent());
+                    // 임시 파일에 쓰고 원자적으로 이동 (동시 업로드 시에도 반쯤 쓰인 파일 노출 방지)
+                    Path temp = Files.createTempFile(target.getParent(), pdfFile.sha256(), ".tmp");
+                    try {
+                        Files.write(temp, content);
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } finally {
+                        Files.deleteIfExists(temp);
+                    }
+                    return pdfFile;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<PdfFile> store(Flux<DataBuffer> content, long maxBytes) {
+        // 이미 있는 내용이면 옮기지 않음 (남은 임시 파일은 PdfSpooler가 지움)
+        return PdfSpooler.spool(content, maxBytes, baseDir.resolve("tmp"), spooled -> Mono.fromCallable(() -> {
+                    Path target = resolve(spooled.pdfFile());
+                    if (!Files.exists(target)) {
+                        Files.createDirectories(target.getParent());
+                        Files.move(spooled.path(), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    return spooled.pdfFile();
+                })
+                .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    @Override
+    public Mono<byte[]> load(PdfFile pdfFile) {
+        return Mono.fromCallable(() -> {
+                    Path path = resolve(pdfFile);
+                    return Files.exists(path) ? Files.readAllBytes(path) : null;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Resource> open(PdfFile pdfFile) {
+        return Mono.fromCallable(() -> {
+                    Path path = resolve(pdfFile);
+                    return Files.exists(path) ? (Resource) new FileSystemResource(path) : null;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Boolean> exists(PdfFile pdfFile) {
+        return Mono.fromCallable(() -> Files.exists(resolve(pdfFile)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> delete(PdfFile pdfFile) {
+        return Mono.fromRunnable(() -> {
+                    try {
+                        Files.deleteIfExists(resolve(pdfFile));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    Path resolve(PdfFile pdfFile) {
+        String hash = pdfFile.sha256();
+        return baseDir.resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4))
+                .resolve(hash + ".pdf");
+    }
+}
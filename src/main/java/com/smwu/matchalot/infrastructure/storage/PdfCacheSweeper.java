@@ -0,0 +1,85 @@
+package com.smwu.matchalot.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 PDF 캐시 디렉터리 정리.
+ * 수정 시각을 마지막 사용 시각으로 쓰며(캐시 적중 시 {@link #touch}), maxAge보다 오래 안 쓴 파일을 지운 뒤
+ * 남은 합계가 maxBytes를 넘으면 오래 안 쓴 파일부터 지운다. 내려받는 중 남은 .tmp도 maxAge가 지나면 지운다.
+ */
+@Slf4j
+final class PdfCacheSweeper {
+
+    private PdfCacheSweeper() {
+    }
+
+    record CachedFile(Path path, long size, Instant lastUsed) {
+    }
+
+    /** 지운 파일 수 */
+    static int sweep(Path cacheDir, long maxBytes, Duration maxAge, Instant now) throws IOException {
+        if (!Files.isDirectory(cacheDir)) {
+            return 0;
+        }
+        List<CachedFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(cacheDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        files.add(new CachedFile(path, attributes.size(), attributes.lastModifiedTime().toInstant()));
+                    }
+                } catch (IOException e) {
+                    // 그 사이 지워진 파일
+                }
+            }
+        }
+
+        Instant expiredBefore = now.minus(maxAge);
+        files.sort(Comparator.comparing(CachedFile::lastUsed));
+        long totalBytes = files.stream()
+                .filter(file -> file.path().toString().endsWith(".pdf"))
+                .mapToLong(CachedFile::size)
+                .sum();
+        int removed = 0;
+        for (CachedFile file : files) {
+            boolean pdf = file.path().toString().endsWith(".pdf");
+            boolean expired = file.lastUsed().isBefore(expiredBefore);
+            if (!expired && (!pdf || totalBytes <= maxBytes)) {
+                continue;
+            }
+            // 전송 중인 파일을 지워도 열린 파일 핸들은 끝까지 읽힘
+            if (Files.deleteIfExists(file.path())) {
+                removed++;
+            }
+            if (pdf) {
+                totalBytes -= file.size();
+            }
+        }
+        if (removed > 0) {
+            log.debug("PDF 캐시 정리: {}개 삭제, 남은 용량 {}바이트", removed, totalBytes);
+        }
+        return removed;
+    }
+
+    static void touch(Path cached) {
+        try {
+            Files.setLastModifiedTime(cached, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // 정리 순서에만 쓰이므로 실패해도 무시
+            log.debug("PDF 캐시 사용 시각 갱신 실패: {}", cached, e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.smwu.matchalot.infrastructure.storage;
+
+import com.smwu.matchalot.domain.model.vo.PdfFile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 업로드 스트림을 임시 파일로 흘려보내면서 SHA-256과 크기를 점진적으로 계산한다.
+ * 버퍼는 받는 즉시 디스크에 쓰고 해제하므로 파일 크기와 무관하게 메모리 사용량이 일정하다.
+ */
+final class PdfSpooler {
+
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    private PdfSpooler() {
+    }
+
+    record SpooledPdf(Path path, PdfFile pdfFile) {
+    }
+
+    /**
+     * 임시 파일에 받은 뒤 consumer(저장소로 이동/업로드)에 넘긴다.
+     * 임시 파일은 성공/실패/취소(클라이언트 연결 끊김 등) 모두에서 지운다.
+     * consumer가 파일을 옮겼으면 지울 것이 없으므로 그대로 끝난다.
+     */
+    static <T> Mono<T> spool(Flux<DataBuffer> content, long maxBytes, Path tempDir,
+                             Function<SpooledPdf, Mono<T>> consumer) {
+        return Mono.usingWhen(
+                Mono.fromCallable(() -> {
+                            Files.createDirectories(tempDir);
+                            return Files.createTempFile(tempDir, "upload-", ".tmp");
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()),
+                temp -> write(content, maxBytes, temp).flatMap(consumer),
+                PdfSpooler::deleteQuietly,
+                (temp, error) -> deleteQuietly(temp),
+                PdfSpooler::deleteQuietly);
+    }
+
+    private static Mono<SpooledPdf> write(Flux<DataBuffer> content, long maxBytes, Path temp) {
+        MessageDigest digest = PdfFile.newDigest();
+        AtomicLong size = new AtomicLong();
+
+        Flux<DataBuffer> hashed = content.handle((buffer, sink) -> {
+            if (size.addAndGet(buffer.readableByteCount()) > maxBytes) {
+                DataBufferUtils.release(buffer);
+                sink.error(new IllegalArgumentException(
+                        String.format("PDF 파일은 최대 %dMB까지 업로드할 수 있습니다", maxBytes / (1024 * 1024))));
+                return;
+            }
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    digest.update(iterator.next());
+                }
+            }
+            sink.next(buffer);
+        });
+
+        return DataBufferUtils.write(hashed, temp)
+                .then(Mono.fromCallable(() -> {
+                    if (size.get() == 0) {
+                        throw new IllegalArgumentException("PDF 파일이 비어 있습니다.");
+                    }
+                    if (!hasPdfMagic(temp)) {
+                        throw new IllegalArgumentException("PDF 파일만 업로드할 수 있습니다.");
+                    }
+                    PdfFile pdfFile = PdfFile.of(HexFormat.of().formatHex(digest.digest()), size.get());
+                    return new SpooledPdf(temp, pdfFile);
+                }).subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    static Mono<Void> deleteQuietly(Path path) {
+        return Mono.<Void>fromRunnable(() -> {
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException ignored) {
+                        // 임시 파일 정리 실패는 무시
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static boolean hasPdfMagic(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return Arrays.equals(in.readNBytes(PDF_MAGIC.length), PDF_MAGIC);
+        }
+    }
+}
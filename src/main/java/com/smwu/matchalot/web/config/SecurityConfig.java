@@ -102,6 +102,9 @@ public class SecurityConfig {
                         .pathMatchers(HttpMethod.GET, "/api/v1/study-materials").permitAll()
                         .pathMatchers(HttpMethod.GET, "/api/v1/study-materials/subjects").permitAll()
                         .pathMatchers(HttpMethod.GET, "/api/v1/study-materials/exam-types").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/v1/study-materials/search").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/v1/study-materials/suggest").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/v1/study-materials/facets").permitAll()
                         ///api/v1/study-materials/{id}, 족보삭제, 내 자료와 업로드 api부터는 인증 필요
                         
                         // SSE는 인증 필요
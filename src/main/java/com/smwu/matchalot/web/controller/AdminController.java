@@ -1,11 +1,14 @@
 package com.smwu.matchalot.web.controller;
 
+import com.smwu.matchalot.application.service.DuplicateDetectionService;
 import com.smwu.matchalot.application.service.ReportService;
 import com.smwu.matchalot.application.service.StudyMaterialService;
+import com.smwu.matchalot.application.service.SubjectService;
 import com.smwu.matchalot.application.service.UserService;
 import com.smwu.matchalot.domain.model.entity.StudyMaterial;
 import com.smwu.matchalot.domain.model.vo.*;
 import com.smwu.matchalot.web.dto.AdminReportResponse;  // ✅ 추가된 import
+import com.smwu.matchalot.web.dto.PendingMaterialResponse;
 import com.smwu.matchalot.web.dto.StudyMaterialResponse;
 import com.smwu.matchalot.web.dto.StudyMaterialSummaryResponse;
 import com.smwu.matchalot.web.dto.UserResponse;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -28,6 +32,8 @@ public class AdminController {
     private final StudyMaterialService studyMaterialService;
     private final UserService userService;
     private final ReportService reportService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final SubjectService subjectService;
 
     /**
      * 관리자 권한 확인 미들웨어
@@ -49,12 +55,19 @@ public class AdminController {
      * 승인 대기 중인 족보 목록 조회
      */
     @GetMapping("/materials/pending")
-    public Flux<StudyMaterialSummaryResponse> getPendingMaterials(
+    public Flux<PendingMaterialResponse> getPendingMaterials(
             @AuthenticationPrincipal OAuth2User oauth2User) {
 
         return checkAdminPermission(oauth2User)
                 .thenMany(studyMaterialService.getPendingMaterials())
-                .flatMap(this::toSummaryResponse);
+                .collectList()
+                .flatMapMany(materials -> duplicateDetectionService.getDuplicates(
+                                materials.stream().map(StudyMaterial::getId).toList())
+                        // 중복 의심 목록은 한 번에 조회
+                        .flatMapMany(duplicates -> Flux.fromIterable(materials)
+                                .flatMapSequential(material -> toSummaryResponse(material)
+                                        .map(summary -> PendingMaterialResponse.of(summary,
+                                                duplicates.getOrDefault(material.getId().value(), List.of()))))));
     }
 
     /**
@@ -166,6 +179,48 @@ public class AdminController {
                         ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "권한이 없거나 거절할 수 없는 상태입니다.")));
     }
 
+    /**
+     * 과목 추가 (족보 업로드는 등록된 과목만 허용)
+     */
+    @PostMapping("/subjects")
+    public Mono<ResponseEntity<Map<String, String>>> createSubject(
+            @RequestBody Map<String, String> body,
+            @AuthenticationPrincipal OAuth2User oauth2User) {
+
+        return checkAdminPermission(oauth2User)
+                .then(Mono.fromCallable(() -> Subject.of(body.get("name"))))
+                .flatMap(subjectService::createSubject)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                        "message", "과목이 추가되었습니다.",
+                        "name", created.name()
+                )))
+                .onErrorResume(IllegalArgumentException.class, e ->
+                        Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))))
+                .onErrorReturn(IllegalStateException.class,
+                        ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "관리자 권한이 필요합니다.")));
+    }
+
+    /**
+     * 과목 이름 변경. 족보는 과목 ID로 참조하므로 모두 새 이름으로 조회되고, 목록 캐시/facet/자동완성도 다시 만든다.
+     */
+    @PutMapping("/subjects")
+    public Mono<ResponseEntity<Map<String, String>>> renameSubject(
+            @RequestBody Map<String, String> body,
+            @AuthenticationPrincipal OAuth2User oauth2User) {
+
+        return checkAdminPermission(oauth2User)
+                .then(Mono.fromCallable(() -> Map.entry(Subject.of(body.get("name")), Subject.of(body.get("newName")))))
+                .flatMap(rename -> subjectService.renameSubject(rename.getKey(), rename.getValue()))
+                .map(renamed -> ResponseEntity.ok(Map.of(
+                        "message", "과목 이름이 변경되었습니다.",
+                        "name", renamed.name()
+                )))
+                .onErrorResume(IllegalArgumentException.class, e ->
+                        Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))))
+                .onErrorReturn(IllegalStateException.class,
+                        ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "관리자 권한이 필요합니다.")));
+    }
+
     /**
      * 관리자 대시보드 통계
      */
@@ -272,7 +327,10 @@ public class AdminController {
                         studyMaterial,
                         uploader.getTrustScore().value()
                 ))
-                .switchIfEmpty(Mono.just(StudyMaterialResponse.from(studyMaterial,  0)));
+                .switchIfEmpty(Mono.just(StudyMaterialResponse.from(studyMaterial,  0)))
+                .flatMap(response -> studyMaterialService.loadPdfAsBase64(studyMaterial)
+                        .map(response::withTempPdfData)
+                        .defaultIfEmpty(response));
     }
 
     /**
@@ -1,17 +1,25 @@
 package com.smwu.matchalot.web.controller;
 
+import com.smwu.matchalot.application.service.IdempotencyService;
+import com.smwu.matchalot.application.service.MatchExpirySweeper;
+import com.smwu.matchalot.application.service.MatchInboxCounterService;
 import com.smwu.matchalot.application.service.MatchService;
+import com.smwu.matchalot.application.service.MatchmakingService;
 import com.smwu.matchalot.application.service.StudyMaterialService;
 import com.smwu.matchalot.application.service.UserService;
 import com.smwu.matchalot.domain.model.entity.Match;
-import com.smwu.matchalot.domain.model.entity.StudyMaterial;
 import com.smwu.matchalot.domain.model.vo.Email;
 import com.smwu.matchalot.domain.model.vo.MatchId;
+import com.smwu.matchalot.domain.model.vo.PotentialMatchCursor;
 import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
 import com.smwu.matchalot.domain.model.vo.UserId;
+import com.smwu.matchalot.web.dto.MatchBatchRequestDto;
+import com.smwu.matchalot.web.dto.MatchBatchResponse;
+import com.smwu.matchalot.web.dto.MatchCountersResponse;
+import com.smwu.matchalot.web.dto.MatchQueueResponse;
 import com.smwu.matchalot.web.dto.MatchRequestDto;
 import com.smwu.matchalot.web.dto.MatchResponse;
-import com.smwu.matchalot.web.dto.StudyMaterialSummaryResponse;
+import com.smwu.matchalot.web.dto.StudyMaterialPageResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,11 +42,19 @@ public class MatchController {
     private final MatchService matchService;
     private final UserService userService;
     private final StudyMaterialService studyMaterialService;
+    private final MatchmakingService matchmakingService;
+    private final MatchExpirySweeper matchExpirySweeper;
+    private final IdempotencyService idempotencyService;
+    private final MatchInboxCounterService matchInboxCounterService;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     @PostMapping("/request/{materialId}")
     public Mono<ResponseEntity<MatchResponse>> requestMatch(
             @PathVariable("materialId") Long materialId,
             @Valid @RequestBody MatchRequestDto request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal OAuth2User oAuth2User) {
 
 
@@ -58,7 +74,9 @@ public class MatchController {
         log.info("요청자 이메일: {}", email);
         Email userEmail = Email.of(email);
 
-        return userService.getUserByEmail(userEmail)
+        // 같은 Idempotency-Key 재시도는 검증/저장/알림 없이 처음 응답을 돌려줌
+        return idempotencyService.execute(email, idempotencyKey, "POST /api/v1/match/request/" + materialId,
+                MatchResponse.class, () -> userService.getUserByEmail(userEmail)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("사용자를 찾을 수 없습니다")))
                 .flatMap(user -> {
                     log.info("사용자 조회 성공: {}", user.getId().value());
@@ -95,20 +113,110 @@ public class MatchController {
                 .onErrorResume(Exception.class, ex -> {  // 🎯 모든 예외 처리
                     log.error("매칭 요청 처리 중 예상치 못한 오류: {}", ex.getMessage(), ex);
                     return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                }));
+    }
+
+    /**
+     * 내 족보 하나로 여러 족보에 한 번에 매칭 요청 (대상별 결과 반환)
+     */
+    @PostMapping("/request/batch")
+    public Mono<ResponseEntity<MatchBatchResponse>> requestMatches(
+            @Valid @RequestBody MatchBatchRequestDto request,
+            @AuthenticationPrincipal OAuth2User oAuth2User) {
+
+        if (oAuth2User == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        String email = oAuth2User.getAttribute("email");
+        Email userEmail = Email.of(email);
+
+        return userService.getUserByEmail(userEmail)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("사용자를 찾을 수 없습니다")))
+                .flatMap(user -> matchService.requestMatches(
+                        user.getId(),
+                        request.getRequesterMaterialId(),
+                        request.getReceiverMaterialIds()))
+                .map(result -> ResponseEntity.status(result.created().isEmpty() ? HttpStatus.OK : HttpStatus.CREATED)
+                        .body(MatchBatchResponse.from(result)))
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.error("잘못된 일괄 매칭 요청: {}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                })
+                .onErrorResume(IllegalStateException.class, ex -> {
+                    log.error("일괄 매칭 권한 오류: {}", ex.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
                 });
     }
 
     @GetMapping("/potential/{materialId}")
-    public Flux<StudyMaterialSummaryResponse> getPotentialPartners(
-            @AuthenticationPrincipal OAuth2User oAuth2User, @PathVariable("materialId") Long materialId) {
+    public Mono<StudyMaterialPageResponse> getPotentialPartners(
+            @AuthenticationPrincipal OAuth2User oAuth2User,
+            @PathVariable("materialId") Long materialId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
 
         String email = oAuth2User.getAttribute("email");
         Email userEmail = Email.of(email);
         StudyMaterialId studyMaterialId = StudyMaterialId.of(materialId);
+        PotentialMatchCursor pageCursor = PotentialMatchCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // 업로더 신뢰도까지 JOIN 된 후보를 한 번에 조회 (다음 페이지 확인용으로 1건 더)
+        return userService.getUserByEmail(userEmail)
+                .flatMap(user -> matchService.findPotentialMatches(user.getId(), studyMaterialId, pageCursor, pageSize + 1)
+                        .collectList())
+                .map(rows -> StudyMaterialPageResponse.ofPotentialMatches(rows, pageSize));
+    }
+
+    /**
+     * 자동 매칭 대기열 등록: 같은 과목/시험 족보를 가진 다른 이용자와 자동으로 교환 매칭.
+     * 대기열은 best-effort다. 요청을 받은 서버 인스턴스의 메모리에만 있어 다른 인스턴스의 대기열과는 짝지어지지 않고,
+     * 재배포/재시작하면 사라지므로 클라이언트는 GET /queue에 족보가 없으면 다시 등록해야 한다.
+     */
+    @PostMapping("/queue/{materialId}")
+    public Mono<ResponseEntity<MatchQueueResponse>> enqueueForMatching(
+            @PathVariable("materialId") Long materialId,
+            @AuthenticationPrincipal OAuth2User oauth2User) {
+
+        String email = oauth2User.getAttribute("email");
+        Email userEmail = Email.of(email);
 
         return userService.getUserByEmail(userEmail)
-                .flatMapMany(user -> matchService.findPotentialMatches(user.getId(), studyMaterialId))
-                .flatMap(this::toStudyMaterialSummaryResponse);
+                .flatMap(user -> matchmakingService.enqueue(user.getId(), StudyMaterialId.of(materialId)))
+                .map(queued -> ResponseEntity.status(HttpStatus.ACCEPTED).body(MatchQueueResponse.from(queued)))
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.warn("매칭 대기열 등록 거부: {}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                })
+                .onErrorReturn(IllegalStateException.class,
+                        ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+    }
+
+    @DeleteMapping("/queue/{materialId}")
+    public Mono<ResponseEntity<Map<String, String>>> cancelMatchingQueue(
+            @PathVariable("materialId") Long materialId,
+            @AuthenticationPrincipal OAuth2User oauth2User) {
+
+        String email = oauth2User.getAttribute("email");
+        Email userEmail = Email.of(email);
+
+        return userService.getUserByEmail(userEmail)
+                .flatMap(user -> matchmakingService.cancel(user.getId(), StudyMaterialId.of(materialId)))
+                .map(cancelled -> cancelled
+                        ? ResponseEntity.ok(Map.of("message", "매칭 대기를 취소했습니다."))
+                        : ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .body(Map.of("error", "대기 중인 족보가 아닙니다.")));
+    }
+
+    // 이 인스턴스의 대기열에 남아 있는 내 족보 (재시작 후에는 비어 있음, 등록 API 참고)
+    @GetMapping("/queue")
+    public Flux<MatchQueueResponse> getMatchingQueue(@AuthenticationPrincipal OAuth2User oauth2User) {
+        String email = oauth2User.getAttribute("email");
+        Email userEmail = Email.of(email);
+
+        return userService.getUserByEmail(userEmail)
+                .flatMapMany(user -> matchmakingService.getQueuedMaterials(user.getId()))
+                .map(MatchQueueResponse::from);
     }
 
     @PutMapping("/{matchId}/accept")
@@ -169,23 +277,34 @@ public class MatchController {
                 .onErrorReturn(IllegalStateException.class,
                         ResponseEntity.status(HttpStatus.FORBIDDEN).build());
     }
+    /**
+     * 배지용: 받은/보낸 대기 중 요청 수 (캐시 hit이면 DB 조회 없음)
+     */
+    @GetMapping("/counters")
+    public Mono<ResponseEntity<MatchCountersResponse>> getMatchCounters(@AuthenticationPrincipal OAuth2User oauth2User) {
+        if (oauth2User == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        Email userEmail = Email.of(oauth2User.getAttribute("email"));
+
+        return matchInboxCounterService.getCounters(userEmail)
+                .map(counters -> ResponseEntity.ok(MatchCountersResponse.from(counters)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/received")
     public Flux<MatchResponse> getReceivedRequests(@AuthenticationPrincipal OAuth2User oauth2User) {
         String email = oauth2User.getAttribute("email");
         Email userEmail = Email.of(email);
 
-        return userService.getUserByEmail(userEmail)
-                .flatMapMany(user -> matchService.getReceivedRequests(user.getId())
-                        .flatMap(match -> toMatchResponse(match, user.getId())));
+        return matchService.getReceivedRequests(userEmail);
     }
     @GetMapping("/sent")
     public Flux<MatchResponse> getSentRequests(@AuthenticationPrincipal OAuth2User oauth2User) {
         String email = oauth2User.getAttribute("email");
         Email userEmail = Email.of(email);
 
-        return userService.getUserByEmail(userEmail)
-                .flatMapMany(user -> matchService.getSentRequests(user.getId())
-                        .flatMap(match -> toMatchResponse(match, user.getId())));
+        return matchService.getSentRequests(userEmail);
     }
 
     /**
@@ -196,9 +315,7 @@ public class MatchController {
         String email = oauth2User.getAttribute("email");
         Email userEmail = Email.of(email);
 
-        return userService.getUserByEmail(userEmail)
-                .flatMapMany(user -> matchService.getMyMatches(user.getId())
-                        .flatMap(match -> toMatchResponse(match, user.getId())));
+        return matchService.getMyMatches(userEmail);
     }
 
     /**
@@ -209,28 +326,18 @@ public class MatchController {
         String email = oauth2User.getAttribute("email");
         Email userEmail = Email.of(email);
 
-        return userService.getUserByEmail(userEmail)
-                .flatMapMany(user -> matchService.getActiveMatches(user.getId())
-                        .flatMap(match -> toMatchResponse(match, user.getId())));
+        return matchService.getActiveMatches(userEmail);
     }
 
+    // 평소에는 MatchExpirySweeper가 주기적으로 정리하고, 이 엔드포인트는 즉시 한 번 더 돌림
     @PostMapping("/cleanup")
     public Mono<ResponseEntity<Map<String, Object>>> cleanupExpiredMatches() {
-        return matchService.cleanupExpiredMatches()
+        return matchExpirySweeper.sweep()
                 .map(count -> ResponseEntity.ok(Map.of(
                         "message", "만료된 매칭을 정리했습니다",
                         "cleanedCount", count
                 )));
     }
-    private Mono<StudyMaterialSummaryResponse> toStudyMaterialSummaryResponse(StudyMaterial studyMaterial) {
-        return userService.getUserById(studyMaterial.getUploaderId())  // Mono<User> 반환
-                .map(uploader -> StudyMaterialSummaryResponse.from(  // uploader는 User 객체
-                        studyMaterial,
-
-                        uploader.getTrustScore().value()  // User.getTrustScore() ✅
-                ))
-                .switchIfEmpty(Mono.just(StudyMaterialSummaryResponse.from(studyMaterial,  0)));
-    }
     private Mono<String> getUserNickname(UserId userId) {
         return userService.getUserById(userId)
                 .map(user -> user.getNickname())
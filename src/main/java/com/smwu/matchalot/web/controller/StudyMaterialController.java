@@ -1,26 +1,49 @@
 package com.smwu.matchalot.web.controller;
 
+import com.smwu.matchalot.application.service.CatalogVersionService;
+import com.smwu.matchalot.application.service.IdempotencyService;
+import com.smwu.matchalot.application.service.MaterialAccessService;
 import com.smwu.matchalot.application.service.MatchService;
 import com.smwu.matchalot.application.service.StudyMaterialService;
+import com.smwu.matchalot.application.service.StudyMaterialFacetService;
+import com.smwu.matchalot.application.service.StudyMaterialSuggestService;
+import com.smwu.matchalot.application.service.SubjectService;
 import com.smwu.matchalot.application.service.UserService;
-import com.smwu.matchalot.domain.repository.MatchRepository;
 import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
 import com.smwu.matchalot.domain.model.entity.StudyMaterial;
 import com.smwu.matchalot.domain.model.vo.*;
 import com.smwu.matchalot.web.dto.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.FormPartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @RestController
@@ -29,15 +52,31 @@ import java.util.stream.Collectors;
 @Slf4j
 public class StudyMaterialController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MIN_SEARCH_QUERY_LENGTH = 2;
+    private static final int DEFAULT_SUGGEST_SIZE = 8;
+    private static final int MAX_SUGGEST_SIZE = 20;
+    // JSON/multipart 업로드는 같은 요청으로 취급 (같은 키로 방식만 바꿔 재시도해도 재생)
+    private static final String UPLOAD_SCOPE = "POST /api/v1/study-materials";
+
     private final StudyMaterialService studyMaterialService;
+    private final StudyMaterialSuggestService suggestService;
+    private final StudyMaterialFacetService facetService;
+    private final CatalogVersionService catalogVersionService;
+    private final IdempotencyService idempotencyService;
+    private final MaterialAccessService materialAccessService;
+    private final SubjectService subjectService;
     private final UserService userService;
     private final MatchService matchService;
-    private final MatchRepository matchRepository;
     private final StudyMaterialRepository studyMaterialRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @PostMapping
     public Mono<ResponseEntity<StudyMaterialResponse>> uploadStudyMaterial(
             @Valid @RequestBody StudyMaterialUploadRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal OAuth2User oauth2User) {
 
         if (oauth2User == null) {
@@ -47,7 +86,8 @@ public class StudyMaterialController {
         String email = oauth2User.getAttribute("email");
         Email userEmail = Email.of(email);
         log.info("email: {}", email);
-        return userService.getUserByEmail(userEmail)
+        return idempotencyService.execute(email, idempotencyKey, UPLOAD_SCOPE, StudyMaterialResponse.class,
+                () -> userService.getUserByEmail(userEmail)
                 .flatMap(user -> studyMaterialService.uploadStudyMaterial(
                         user.getId(),
                         request.title(),
@@ -63,39 +103,207 @@ public class StudyMaterialController {
                             .map(uploader -> StudyMaterialResponse.from(studyMaterial, uploader.getTrustScore().value()));
                 })
                 .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response))
+                .onErrorReturn(IllegalArgumentException.class,
+                        ResponseEntity.badRequest().build())
+                .onErrorReturn(IllegalStateException.class,
+                        ResponseEntity.status(HttpStatus.FORBIDDEN).build()));
+    }
+
+    /**
+     * 일괄 업로드: 항목별로 검증한 뒤 유효한 항목만 한 트랜잭션에서 다중 행 INSERT.
+     * 잘못된 항목(PDF Base64 오류 포함)은 INVALID로 표시하고 나머지는 저장하며, 결과는 요청 순서(index)대로 반환한다.
+     * 저장된 항목이 없어도 항목별 결과를 봐야 하므로 200으로 응답한다.
+     */
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<StudyMaterialBulkUploadResponse>> uploadStudyMaterials(
+            @Valid @RequestBody StudyMaterialBulkUploadRequest request,
+            @AuthenticationPrincipal OAuth2User oauth2User) {
+
+        if (oauth2User == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        List<StudyMaterialUploadRequest> items = request.materials();
+        StudyMaterialBulkUploadResponse.ItemResult[] results = new StudyMaterialBulkUploadResponse.ItemResult[items.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<StudyMaterialService.NewStudyMaterial> validItems = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            StudyMaterialUploadRequest item = items.get(i);
+            try {
+                validateUploadRequest(item);
+                validItems.add(new StudyMaterialService.NewStudyMaterial(
+                        item.title(),
+                        item.getSubjectVO(),
+                        item.getExamTypeVO(),
+                        item.getSemesterVO(),
+                        item.getQuestionsVO(),
+                        item.tempPdfData()));
+                validIndexes.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = StudyMaterialBulkUploadResponse.ItemResult.invalid(i, e.getMessage());
+            }
+        }
+
+        Email userEmail = Email.of(oauth2User.getAttribute("email"));
+        return userService.getUserByEmail(userEmail)
+                .flatMap(user -> studyMaterialService.uploadStudyMaterials(user.getId(), validItems))
+                .map(uploaded -> {
+                    for (int i = 0; i < uploaded.size(); i++) {
+                        int index = validIndexes.get(i);
+                        StudyMaterialService.NewStudyMaterialResult result = uploaded.get(i);
+                        results[index] = result.saved() != null
+                                ? StudyMaterialBulkUploadResponse.ItemResult.created(index, result.saved().getId().value())
+                                : StudyMaterialBulkUploadResponse.ItemResult.invalid(index, result.error());
+                    }
+                    return ResponseEntity.ok(StudyMaterialBulkUploadResponse.of(List.of(results)));
+                })
                 .onErrorReturn(IllegalArgumentException.class,
                         ResponseEntity.badRequest().build())
                 .onErrorReturn(IllegalStateException.class,
                         ResponseEntity.status(HttpStatus.FORBIDDEN).build());
     }
 
+    /**
+     * multipart 업로드: "metadata"(JSON) 파트 다음에 "file"(PDF) 파트 순서로 보내야 한다.
+     * 파일은 PartEvent 단위로 받는 즉시 저장소로 흘려보내므로 파일 크기와 무관하게 메모리 사용량이 일정하다.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<StudyMaterialResponse>> uploadStudyMaterialMultipart(
+            @RequestBody Flux<PartEvent> parts,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal OAuth2User oauth2User) {
+
+        if (oauth2User == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        String email = oauth2User.getAttribute("email");
+        Email userEmail = Email.of(email);
+        AtomicReference<StudyMaterialUploadRequest> metadata = new AtomicReference<>();
+
+        // 재시도면 본문(PDF)을 읽지 않고 처음 응답을 돌려줌
+        return idempotencyService.execute(email, idempotencyKey, UPLOAD_SCOPE, StudyMaterialResponse.class,
+                () -> userService.getUserByEmail(userEmail)
+                .flatMap(user -> parts.windowUntil(PartEvent::isLast)
+                        .concatMap(partEvents -> partEvents.switchOnFirst((signal, events) -> {
+                            if (!signal.hasValue()) {
+                                return events.then(Mono.<StudyMaterial>empty());
+                            }
+                            PartEvent first = signal.get();
+                            if (first instanceof FormPartEvent form && "metadata".equals(form.name())) {
+                                metadata.set(readUploadMetadata(form.value()));
+                                return releaseAll(events);
+                            }
+                            if (first instanceof FilePartEvent && "file".equals(first.name())) {
+                                StudyMaterialUploadRequest request = metadata.get();
+                                if (request == null) {
+                                    return releaseAll(events)
+                                            .then(Mono.<StudyMaterial>error(new IllegalArgumentException("metadata 파트를 file 파트보다 먼저 보내주세요")));
+                                }
+                                return studyMaterialService.uploadStudyMaterial(
+                                        user.getId(),
+                                        request.title(),
+                                        request.getSubjectVO(),
+                                        request.getExamTypeVO(),
+                                        request.getSemesterVO(),
+                                        request.getQuestionsVO(),
+                                        events.map(PartEvent::content)
+                                );
+                            }
+                            return releaseAll(events);
+                        }))
+                        .next()
+                        .switchIfEmpty(Mono.error(new IllegalArgumentException("file 파트가 필요합니다"))))
+                .flatMap(studyMaterial -> userService.getUserById(studyMaterial.getUploaderId())
+                        .map(uploader -> StudyMaterialResponse.from(studyMaterial, uploader.getTrustScore().value())))
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response))
+                .onErrorResume(IllegalArgumentException.class, ex -> {
+                    log.warn("multipart 업로드 거부: {}", ex.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                })
+                .onErrorReturn(IllegalStateException.class,
+                        ResponseEntity.status(HttpStatus.FORBIDDEN).build()));
+    }
+
     @GetMapping
-    public Flux<StudyMaterialSummaryResponse> getAllStudyMaterials(
+    public Mono<ResponseEntity<StudyMaterialPageResponse>> getAllStudyMaterials(
             @RequestParam(value = "subject", required = false) String subject,
             @RequestParam(value = "examType", required = false) String examType,
-            @AuthenticationPrincipal OAuth2User oauth2User) {
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @AuthenticationPrincipal OAuth2User oauth2User,
+            ServerWebExchange exchange) {
 
-        // 관리자인지 확인
-        Mono<Boolean> isAdminCheck = oauth2User != null ? 
-            userService.isAdminByEmail(Email.of(oauth2User.getAttribute("email"))) :
-            Mono.just(false);
-
-        return isAdminCheck.flatMapMany(isAdmin -> {
-            // JOIN 쿼리로 N+1 문제 해결 (1번 쿼리)
-            if (subject != null && examType != null) {
-                return studyMaterialRepository.findBySubjectAndExamTypeWithUploader(
-                        Subject.of(subject), ExamType.of(examType));
-            } else if (subject != null) {
-                return studyMaterialRepository.findBySubjectWithUploader(Subject.of(subject));
-            } else {
-                // 관리자는 모든 상태, 일반 사용자는 승인된 것만
-                return isAdmin ?
-                    studyMaterialRepository.findAllWithUploaderForAdmin() :
-                    studyMaterialRepository.findAllWithUploader();
+        CatalogCursor pageCursor = CatalogCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // 관리자인지 확인 (사용자별 접근 집합 캐시, 보통 DB 조회 없음)
+        Mono<Boolean> isAdminCheck = oauth2User != null
+                ? materialAccessService.getAccess(Email.of(oauth2User.getAttribute("email")))
+                        .map(MaterialAccess::admin)
+                        .defaultIfEmpty(false)
+                : Mono.just(false);
+
+        return isAdminCheck.flatMap(isAdmin -> {
+            // 관리자는 필터 없이 조회할 때만 모든 상태, 그 외에는 승인된 것만
+            boolean approvedOnly = !isAdmin || subject != null || examType != null;
+
+            // 조회 전에 버전을 읽어야 조회 중 변경이 생겨도 다음 요청에서 다시 받아감
+            // 관리자 전체 목록은 승인 대기 족보를 포함하므로 ETag가 다른 별도 버전 (로그아웃/권한 변경 후 304 방지)
+            CatalogVersionService.CatalogVersion version = approvedOnly
+                    ? catalogVersionService.catalogVersion()
+                    : catalogVersionService.adminCatalogVersion();
+            if (exchange.checkNotModified(version.etag(), version.lastModified())) {
+                return Mono.just(StudyMaterialController.<StudyMaterialPageResponse>notModified(version));
             }
+
+            // JOIN + keyset 페이지네이션 (1번 쿼리, 다음 페이지 확인용으로 1건 더 조회)
+            return studyMaterialRepository.findPageWithUploader(
+                            subject != null ? Subject.of(subject) : null,
+                            examType != null ? ExamType.of(examType) : null,
+                            approvedOnly,
+                            pageCursor,
+                            pageSize + 1)
+                    .collectList()
+                    .map(rows -> versioned(version, StudyMaterialPageResponse.of(rows, pageSize)));
         });
     }
 
+    // 제목 + 문제 내용 검색 (승인된 족보만, 관련도순 keyset 페이지네이션)
+    @GetMapping("/search")
+    public Mono<StudyMaterialPageResponse> searchStudyMaterials(
+            @RequestParam("q") String q,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+
+        String query = q.strip();
+        if (query.length() < MIN_SEARCH_QUERY_LENGTH) {
+            return Mono.error(new IllegalArgumentException(
+                    String.format("검색어는 %d자 이상 입력해주세요", MIN_SEARCH_QUERY_LENGTH)));
+        }
+        SearchCursor pageCursor = SearchCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        return studyMaterialRepository.searchApproved(query, pageCursor, pageSize + 1)
+                .collectList()
+                .map(rows -> StudyMaterialPageResponse.ofSearch(rows, pageSize));
+    }
+
+    // 검색창 자동완성 (메모리 색인, DB 조회 없음)
+    @GetMapping("/suggest")
+    public Mono<SuggestResponse> suggest(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_SUGGEST_SIZE) int limit) {
+        return Mono.just(suggestService.suggest(q, Math.max(1, Math.min(limit, MAX_SUGGEST_SIZE))));
+    }
+
+    // 필터 사이드바용 과목/시험 유형/학기별 건수 (메모리 집계, DB 조회 없음)
+    @GetMapping("/facets")
+    public Mono<StudyMaterialFacetsResponse> getFacets() {
+        return Mono.fromSupplier(facetService::getFacets);
+    }
+
     @GetMapping("/{materialId}")
     public Mono<ResponseEntity<StudyMaterialResponse>> getStudyMaterial(
             @PathVariable("materialId") Long materialId,
@@ -105,7 +313,7 @@ public class StudyMaterialController {
         
         // 로그인하지 않은 경우 - 미리보기만 제공
         if (oauth2User == null) {
-            return studyMaterialService.getStudyMaterial(id)
+            return studyMaterialService.getStudyMaterialPreview(id, StudyMaterialResponse.PREVIEW_QUESTION_COUNT)
                     .flatMap(this::toPreviewResponse)
                     .map(ResponseEntity::ok)
                     .switchIfEmpty(Mono.just(ResponseEntity.notFound().build()));
@@ -115,57 +323,107 @@ public class StudyMaterialController {
         String email = oauth2User.getAttribute("email");
         Email userEmail = Email.of(email);
 
-        return userService.getUserByEmail(userEmail)
-                .flatMap(user -> {
+        // 권한은 사용자별 접근 집합(메모리)으로 판단: 사용자/관리자/매칭 조회 없이 족보 한 건만 읽음
+        return materialAccessService.getAccess(userEmail)
+                .flatMap(access -> {
                     // 관리자인 경우 모든 족보에 대해 전체 접근 권한 (승인 상태 무관)
-                    return userService.isAdminByEmail(userEmail)
-                            .flatMap(isAdmin -> {
-                                if (isAdmin) {
-                                    return studyMaterialService.getStudyMaterialForAdmin(id)
-                                            .flatMap(this::toFullResponse);
-                                }
-                                
-                                // 일반 사용자는 본인 업로드 또는 매칭 여부에 따라 접근 권한 결정
-                                return studyMaterialService.getStudyMaterial(id)
-                                        .flatMap(material -> {
-                                            // 본인이 업로드한 족보인지 확인
-                                            if (material.isUploadedBy(user.getId())) {
-                                                return toFullResponse(material);
-                                            }
-                                            
-                                            // 매칭으로 접근 권한이 있는지 확인
-                                            return matchRepository.hasAccessToMaterial(user.getId(), id)
-                                                    .flatMap(hasAccess -> {
-                                                        if (hasAccess) {
-                                                            return toFullResponse(material);
-                                                        } else {
-                                                            return toPreviewResponse(material);
-                                                        }
-                                                    });
-                                        });
-                            });
+                    if (access.admin()) {
+                        return studyMaterialService.getStudyMaterialForAdmin(id)
+                                .flatMap(this::toFullResponse);
+                    }
+
+                    // 매칭으로 열람 가능한 족보면 바로 전체를 읽음
+                    if (access.hasMatched(id)) {
+                        return studyMaterialService.getStudyMaterial(id)
+                                .flatMap(this::toFullResponse);
+                    }
+                    // 그 외에는 SQL에서 자른 미리보기만 읽고, 본인 업로드일 때만 전체를 다시 읽음
+                    return studyMaterialService.getStudyMaterialPreview(id, StudyMaterialResponse.PREVIEW_QUESTION_COUNT)
+                            .flatMap(preview -> access.canViewFull(preview)
+                                    ? studyMaterialService.getStudyMaterial(id).flatMap(this::toFullResponse)
+                                    : toPreviewResponse(preview));
                 })
                 .map(ResponseEntity::ok)
                 .switchIfEmpty(Mono.just(ResponseEntity.notFound().build()));
     }
 
 
+    /**
+     * 족보 PDF 다운로드. 관리자와 업로더는 승인 상태와 무관하게, 매칭한 이용자는 승인된 족보만 받을 수 있다.
+     * 파일 기반 Resource를 반환하므로 zero-copy 전송과 Range(206) 응답은 ResourceHttpMessageWriter가 처리하고,
+     * ETag는 내용 해시라 If-None-Match가 맞으면 파일을 열지 않고 304로 끝낸다.
+     */
+    @GetMapping("/{materialId}/pdf")
+    public Mono<ResponseEntity<Resource>> getStudyMaterialPdf(
+            @PathVariable("materialId") Long materialId,
+            @AuthenticationPrincipal OAuth2User oauth2User,
+            ServerWebExchange exchange) {
+
+        if (oauth2User == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        Email userEmail = Email.of(oauth2User.getAttribute("email"));
+        StudyMaterialId id = StudyMaterialId.of(materialId);
+
+        return materialAccessService.getAccess(userEmail)
+                .flatMap(access -> studyMaterialService.getStudyMaterialForPdf(id, access))
+                .filter(StudyMaterial::hasPdf)
+                .flatMap(material -> {
+                    String etag = "\"" + material.getPdfFile().sha256() + "\"";
+                    if (exchange.checkNotModified(etag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag)
+                                .<Resource>build());
+                    }
+                    return studyMaterialService.openPdf(material)
+                            .map(resource -> ResponseEntity.ok()
+                                    .eTag(etag)
+                                    // 매칭 해제 등으로 권한이 바뀔 수 있으므로 매번 재검증 (304라 비용은 거의 없음)
+                                    .cacheControl(CacheControl.noCache().cachePrivate())
+                                    .contentType(MediaType.APPLICATION_PDF)
+                                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                                            .filename(material.getTitle() + ".pdf", StandardCharsets.UTF_8)
+                                            .build()
+                                            .toString())
+                                    .body(resource));
+                })
+                .switchIfEmpty(Mono.just(ResponseEntity.notFound().build()))
+                .onErrorReturn(IllegalStateException.class,
+                        ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+    }
+
     @GetMapping("/my")
-    public Flux<StudyMaterialSummaryResponse> getMyStudyMaterials(
-            @AuthenticationPrincipal OAuth2User oauth2User) {
+    public Mono<ResponseEntity<List<StudyMaterialSummaryResponse>>> getMyStudyMaterials(
+            @AuthenticationPrincipal OAuth2User oauth2User,
+            ServerWebExchange exchange) {
 
         if (oauth2User == null) {
-            return Flux.empty();
+            return Mono.just(ResponseEntity.ok(List.of()));
         }
         
         String email = oauth2User.getAttribute("email");
         Email userEmail = Email.of(email);
 
+        // 이전에 조회한 적 있는 사용자면 DB 없이 304
+        CatalogVersionService.CatalogVersion known = catalogVersionService.userVersion(userEmail);
+        if (known != null && exchange.checkNotModified(known.etag(), known.lastModified())) {
+            return Mono.just(notModified(known));
+        }
+
         return userService.getUserByEmail(userEmail)
-                .flatMapMany(user -> {
+                .flatMap(user -> {
+                    catalogVersionService.rememberUser(userEmail, user.getId());
+                    CatalogVersionService.CatalogVersion version = catalogVersionService.userVersion(user.getId().value());
+                    if (known == null && exchange.checkNotModified(version.etag(), version.lastModified())) {
+                        return Mono.just(notModified(version));
+                    }
                     // JOIN 쿼리로 N+1 문제 해결 (1번 쿼리)
-                    return studyMaterialRepository.findByUploaderIdWithUploader(user.getId());
-                });
+                    return studyMaterialRepository.findByUploaderIdWithUploader(user.getId())
+                            .collectList()
+                            .map(materials -> versioned(version, materials));
+                })
+                .defaultIfEmpty(ResponseEntity.ok(List.of()));
     }
 
     @DeleteMapping("/{materialId}")
@@ -195,22 +453,14 @@ public class StudyMaterialController {
 
     @GetMapping("/subjects")
     public Mono<ResponseEntity<Map<String, Object>>> getAvailableSubjects() {
-        // 현재는 상수로 정의된 과목들을 반환
-        var subjects = java.util.List.of(
-                Subject.COMPUTER_NETWORK_1.name(),
-                Subject.SOCIAL_MEDIA_UNDERSTANDING.name(),
-                Subject.KOREAN_CULTURE_UNDERSTANDING.name(),
-                Subject.CLASSIC_FIELD_STORY.name(),
-                Subject.DIGITAL_PHILOSOPHY.name(),
-                Subject.WESTERN_HISTORY_CULTURE.name(),
-                Subject.COMPUTER_MATH_HJ.name(),
-                Subject.COMPUTER_MATH_YO.name()
-        );
-
-        return Mono.just(ResponseEntity.ok(Map.of(
-                "subjects", subjects,
-                "message", "사용 가능한 과목 목록입니다."
-        )));
+        // subjects 테이블 기준 (관리자가 추가/이름 변경한 과목 반영)
+        return subjectService.getSubjects()
+                .map(Subject::name)
+                .collectList()
+                .map(subjects -> ResponseEntity.ok(Map.of(
+                        "subjects", subjects,
+                        "message", "사용 가능한 과목 목록입니다."
+                )));
     }
 
 
@@ -255,10 +505,39 @@ public class StudyMaterialController {
                 });
     }
 
+    private StudyMaterialUploadRequest readUploadMetadata(String json) {
+        try {
+            StudyMaterialUploadRequest request = objectMapper.readValue(json, StudyMaterialUploadRequest.class);
+            validateUploadRequest(request);
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("metadata 형식이 올바르지 않습니다", e);
+        }
+    }
+
+    // @Valid를 쓸 수 없는 경로(multipart, 일괄 업로드 항목)용 Bean Validation
+    private void validateUploadRequest(StudyMaterialUploadRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("족보 정보가 비어 있습니다");
+        }
+        Set<ConstraintViolation<StudyMaterialUploadRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+    }
+
+    private Mono<StudyMaterial> releaseAll(Flux<PartEvent> events) {
+        return events.doOnNext(event -> DataBufferUtils.release(event.content()))
+                .then(Mono.empty());
+    }
+
     private Mono<StudyMaterialResponse> toFullResponse(StudyMaterial studyMaterial) {
         return userService.getUserById(studyMaterial.getUploaderId())
                 .map(uploader -> StudyMaterialResponse.from(studyMaterial, uploader.getTrustScore().value()))
-                .switchIfEmpty(Mono.just(StudyMaterialResponse.from(studyMaterial, 0)));
+                .switchIfEmpty(Mono.just(StudyMaterialResponse.from(studyMaterial, 0)))
+                .flatMap(response -> studyMaterialService.loadPdfAsBase64(studyMaterial)
+                        .map(response::withTempPdfData)
+                        .defaultIfEmpty(response));
     }
 
     private Mono<StudyMaterialResponse> toPreviewResponse(StudyMaterial studyMaterial) {
@@ -266,4 +545,20 @@ public class StudyMaterialController {
                 .map(uploader -> StudyMaterialResponse.fromPreview(studyMaterial, uploader.getTrustScore().value()))
                 .switchIfEmpty(Mono.just(StudyMaterialResponse.fromPreview(studyMaterial, 0)));
     }
-}
\ No newline at end of file
+
+    private static <T> ResponseEntity<T> versioned(CatalogVersionService.CatalogVersion version, T body) {
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                // 목록은 로그인 사용자마다 다를 수 있으므로 공유 캐시 금지, 매번 재검증
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+
+    private static <T> ResponseEntity<T> notModified(CatalogVersionService.CatalogVersion version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .<T>build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.smwu.matchalot.web.dto;
+
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MatchBatchRequestDto(
+        @NotNull(message = "매칭할 족보의 ID를 입력하세요")
+        Long requesterMaterialId,
+
+        @NotEmpty(message = "매칭할 상대 족보를 1개 이상 선택하세요")
+        @Size(max = 20, message = "한 번에 최대 20개 족보에 요청할 수 있습니다")
+        List<@NotNull Long> receiverMaterialIds
+) {
+    public StudyMaterialId getRequesterMaterialId() {
+        return StudyMaterialId.of(requesterMaterialId);
+    }
+
+    public List<StudyMaterialId> getReceiverMaterialIds() {
+        return receiverMaterialIds.stream().map(StudyMaterialId::of).toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.smwu.matchalot.web.dto;
+
+import com.smwu.matchalot.application.service.MatchService.BatchMatchResult;
+import com.smwu.matchalot.domain.model.entity.Match;
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public record MatchBatchResponse(
+        int requested,
+        int created,
+        int failed,
+        List<ItemResult> results
+) {
+    public record ItemResult(
+            Long receiverMaterialId,
+            Long matchId,
+            String status,  // CREATED | REJECTED
+            String error
+    ) {
+    }
+
+    public static MatchBatchResponse from(BatchMatchResult result) {
+        Map<StudyMaterialId, Match> createdByTarget = new HashMap<>();
+        result.created().forEach(match -> createdByTarget.put(match.getReceiverMaterialId(), match));
+
+        // 요청한 대상 순서대로 결과를 돌려줌
+        List<ItemResult> results = new ArrayList<>();
+        for (StudyMaterialId target : result.targets()) {
+            Match match = createdByTarget.get(target);
+            if (match != null) {
+                results.add(new ItemResult(target.value(), match.getId().value(), "CREATED", null));
+            } else {
+                results.add(new ItemResult(target.value(), null, "REJECTED", result.rejected().get(target)));
+            }
+        }
+        return new MatchBatchResponse(results.size(), result.created().size(), result.rejected().size(), results);
+    }
+}
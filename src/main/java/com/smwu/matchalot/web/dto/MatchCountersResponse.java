@@ -0,0 +1,12 @@
+package com.smwu.matchalot.web.dto;
+
+import com.smwu.matchalot.domain.model.vo.MatchInboxCounters;
+
+public record MatchCountersResponse(
+        int pendingReceived,
+        int pendingSent
+) {
+    public static MatchCountersResponse from(MatchInboxCounters counters) {
+        return new MatchCountersResponse(counters.pendingReceived(), counters.pendingSent());
+    }
+}
@@ -0,0 +1,25 @@
+package com.smwu.matchalot.web.dto;
+
+import com.smwu.matchalot.application.service.MatchmakingService.QueuedMaterial;
+
+import java.time.LocalDateTime;
+
+public record MatchQueueResponse(
+        Long materialId,
+        String materialTitle,
+        String subject,
+        String examType,
+        LocalDateTime queuedAt,
+        int waitingCount
+) {
+    public static MatchQueueResponse from(QueuedMaterial queued) {
+        return new MatchQueueResponse(
+                queued.materialId().value(),
+                queued.materialTitle(),
+                queued.subject().name(),
+                queued.examType().type(),
+                queued.queuedAt(),
+                queued.waitingCount()
+        );
+    }
+}
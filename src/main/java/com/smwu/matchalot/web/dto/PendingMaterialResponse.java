@@ -0,0 +1,25 @@
+package com.smwu.matchalot.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.smwu.matchalot.domain.model.vo.DuplicateCandidate;
+
+import java.util.List;
+
+// 승인 대기 족보 + 중복 의심 족보 (기존 요약 필드는 그대로 펼쳐서 응답)
+public record PendingMaterialResponse(
+        @JsonUnwrapped StudyMaterialSummaryResponse material,
+        List<LikelyDuplicate> likelyDuplicates
+) {
+    public record LikelyDuplicate(Long materialId, double similarity) {
+        public static LikelyDuplicate from(DuplicateCandidate candidate) {
+            return new LikelyDuplicate(candidate.materialId().value(), candidate.similarity());
+        }
+    }
+
+    public static PendingMaterialResponse of(StudyMaterialSummaryResponse material, List<DuplicateCandidate> duplicates) {
+        return new PendingMaterialResponse(
+                material,
+                duplicates.stream().map(LikelyDuplicate::from).toList()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.smwu.matchalot.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// 항목별 검증은 컨트롤러에서 개별로 수행 (한 건이 잘못돼도 나머지는 처리하고 항목별 결과를 응답)
+public record StudyMaterialBulkUploadRequest(
+        @NotEmpty(message = "족보는 최소 1개 이상이어야 합니다")
+        @Size(max = 200, message = "한 번에 최대 200개까지 업로드할 수 있습니다")
+        List<StudyMaterialUploadRequest> materials
+) {
+}
@@ -0,0 +1,30 @@
+package com.smwu.matchalot.web.dto;
+
+import java.util.List;
+
+public record StudyMaterialBulkUploadResponse(
+        int requested,
+        int created,
+        int failed,
+        List<ItemResult> results
+) {
+    public record ItemResult(
+            int index,
+            Long id,
+            String status,  // CREATED | INVALID
+            String error
+    ) {
+        public static ItemResult created(int index, Long id) {
+            return new ItemResult(index, id, "CREATED", null);
+        }
+
+        public static ItemResult invalid(int index, String error) {
+            return new ItemResult(index, null, "INVALID", error);
+        }
+    }
+
+    public static StudyMaterialBulkUploadResponse of(List<ItemResult> results) {
+        int created = (int) results.stream().filter(result -> "CREATED".equals(result.status())).count();
+        return new StudyMaterialBulkUploadResponse(results.size(), created, results.size() - created, results);
+    }
+}
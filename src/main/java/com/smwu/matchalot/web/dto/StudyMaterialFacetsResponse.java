@@ -0,0 +1,22 @@
+package com.smwu.matchalot.web.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record StudyMaterialFacetsResponse(
+        long total,
+        Map<String, Long> subjects,
+        Map<String, Long> examTypes,
+        Map<String, Long> semesters,
+        List<FacetCount> facets
+) {
+    public record FacetCount(
+            String subject,
+            String examType,
+            int year,
+            String season,
+            String semesterDisplay,
+            long count
+    ) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.smwu.matchalot.web.dto;
+
+import com.smwu.matchalot.domain.model.vo.CatalogCursor;
+import com.smwu.matchalot.domain.model.vo.PotentialMatchCursor;
+import com.smwu.matchalot.domain.model.vo.SearchCursor;
+
+import java.util.List;
+
+public record StudyMaterialPageResponse(
+        List<StudyMaterialSummaryResponse> materials,
+        String nextCursor,
+        boolean hasNext
+) {
+    // limit + 1건을 조회한 결과로 다음 페이지 여부와 커서를 계산
+    public static StudyMaterialPageResponse of(List<StudyMaterialSummaryResponse> rows, int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<StudyMaterialSummaryResponse> page = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            StudyMaterialSummaryResponse last = page.get(page.size() - 1);
+            nextCursor = CatalogCursor.of(last.createdAt(), last.id()).encode();
+        }
+        return new StudyMaterialPageResponse(List.copyOf(page), nextCursor, hasNext);
+    }
+
+    // 매칭 후보용: 커서가 (uploader 신뢰도, created_at, id)
+    public static StudyMaterialPageResponse ofPotentialMatches(List<StudyMaterialSummaryResponse> rows, int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<StudyMaterialSummaryResponse> page = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            StudyMaterialSummaryResponse last = page.get(page.size() - 1);
+            nextCursor = PotentialMatchCursor.of(last.uploaderTrustScore(), last.createdAt(), last.id()).encode();
+        }
+        return new StudyMaterialPageResponse(List.copyOf(page), nextCursor, hasNext);
+    }
+
+    // 검색 결과용: 커서가 (rank, id)
+    public static StudyMaterialPageResponse ofSearch(List<StudyMaterialSearchHit> rows, int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<StudyMaterialSearchHit> page = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            StudyMaterialSearchHit last = page.get(page.size() - 1);
+            nextCursor = SearchCursor.of(last.rank(), last.material().id()).encode();
+        }
+        List<StudyMaterialSummaryResponse> materials = page.stream()
+                .map(StudyMaterialSearchHit::material)
+                .toList();
+        return new StudyMaterialPageResponse(materials, nextCursor, hasNext);
+    }
+}
@@ -19,8 +19,12 @@ public record StudyMaterialResponse(
         Integer uploaderTrustScore,
         LocalDateTime createdAt,
         String displayTitle,
-        String tempPdfData
+        boolean hasPdf,
+        String tempPdfData  // Base64, 전체 조회 시 PdfStorage에서 채움
 ) {
+    // 미리보기에 노출하는 앞쪽 문제 수
+    public static final int PREVIEW_QUESTION_COUNT = 2;
+
     // 도메인 엔티티로부터 DTO 생성하는 정적 팩토리 메서드
     public static StudyMaterialResponse from(StudyMaterial studyMaterial, Integer uploaderTrustScore) {
         List<QuestionResponse> questionResponses = studyMaterial.getAllQuestions().stream()
@@ -41,7 +45,8 @@ public record StudyMaterialResponse(
                 uploaderTrustScore,
                 studyMaterial.getCreatedAt(),
                 studyMaterial.getDisplayTitle(),
-                studyMaterial.getTempPdfData()
+                studyMaterial.hasPdf(),
+                null
         );
     }
     public static StudyMaterialResponse fromWithAnswers(StudyMaterial studyMaterial, int trustScore) {
@@ -51,6 +56,7 @@ public record StudyMaterialResponse(
 
     public static StudyMaterialResponse fromPreview(StudyMaterial studyMaterial, int trustScore) {
         List<QuestionResponse> previewQuestions = studyMaterial.getAllQuestions().stream()
+                .limit(PREVIEW_QUESTION_COUNT)
                 .map(question -> QuestionResponse.fromPreview(question))  // 정답 제외 버전
                 .toList();
 
@@ -68,7 +74,13 @@ public record StudyMaterialResponse(
                 trustScore,
                 studyMaterial.getCreatedAt(),
                 studyMaterial.getDisplayTitle(),
-                studyMaterial.getTempPdfData()
+                studyMaterial.hasPdf(),
+                null
         );
     }
+
+    public StudyMaterialResponse withTempPdfData(String base64) {
+        return new StudyMaterialResponse(id, subject, examType, year, season, semesterDisplay, title, questionCount,
+                questions, uploaderId, uploaderTrustScore, createdAt, displayTitle, hasPdf, base64);
+    }
 }
\ No newline at end of file
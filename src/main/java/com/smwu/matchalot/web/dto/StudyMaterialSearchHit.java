@@ -0,0 +1,10 @@
+package com.smwu.matchalot.web.dto;
+
+import java.math.BigDecimal;
+
+// 검색 결과 1건 + 다음 페이지 커서 계산용 rank
+public record StudyMaterialSearchHit(
+        StudyMaterialSummaryResponse material,
+        BigDecimal rank
+) {
+}
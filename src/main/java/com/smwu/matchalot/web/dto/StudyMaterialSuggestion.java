@@ -0,0 +1,9 @@
+package com.smwu.matchalot.web.dto;
+
+public record StudyMaterialSuggestion(
+        Long id,
+        String title,
+        String subject,
+        String examType
+) {
+}
@@ -14,7 +14,8 @@ public record StudyMaterialSummaryResponse(
         Integer questionCount,
         Integer uploaderTrustScore,
         LocalDateTime createdAt,
-        String tempPdfData
+        boolean hasPdf,
+        Long pdfSize
 ) {
     public static StudyMaterialSummaryResponse from(StudyMaterial studyMaterial, Integer trustScore) {
         return new StudyMaterialSummaryResponse(
@@ -27,7 +28,8 @@ public record StudyMaterialSummaryResponse(
                 studyMaterial.getQuestionCount(),
                 trustScore,
                 studyMaterial.getCreatedAt(),
-                studyMaterial.getTempPdfData()
+                studyMaterial.hasPdf(),
+                studyMaterial.hasPdf() ? studyMaterial.getPdfFile().size() : null
         );
     }
 
@@ -43,7 +45,7 @@ public record StudyMaterialSummaryResponse(
             Integer questionCount,
             Integer uploaderTrustScore,
             LocalDateTime createdAt,
-            String tempPdfData
+            Long pdfSize
     ) {
         String semesterDisplay = year + "년 " + season;
         return new StudyMaterialSummaryResponse(
@@ -56,7 +58,8 @@ public record StudyMaterialSummaryResponse(
                 questionCount,
                 uploaderTrustScore,
                 createdAt,
-                tempPdfData
+                pdfSize != null,
+                pdfSize
         );
     }
 }
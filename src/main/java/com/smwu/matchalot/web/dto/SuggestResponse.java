@@ -0,0 +1,9 @@
+package com.smwu.matchalot.web.dto;
+
+import java.util.List;
+
+public record SuggestResponse(
+        List<String> subjects,
+        List<StudyMaterialSuggestion> materials
+) {
+}
@@ -0,0 +1,15 @@
+-- 족보 목록 keyset 페이지네이션 (ORDER BY created_at DESC, id DESC) 용 복합 인덱스
+-- WHERE status = ? [AND subject = ? [AND exam_type = ?]] AND (created_at, id) < (?, ?)
+
+CREATE INDEX IF NOT EXISTS idx_study_material_status_keyset
+    ON study_material(status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_study_material_subject_keyset
+    ON study_material(status, subject, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_study_material_subject_exam_keyset
+    ON study_material(status, subject, exam_type, created_at DESC, id DESC);
+
+-- 관리자 전체 조회 (상태 무관)
+CREATE INDEX IF NOT EXISTS idx_study_material_created_keyset
+    ON study_material(created_at DESC, id DESC);
@@ -0,0 +1,12 @@
+-- PDF 본문을 행에서 분리: 내용 주소(SHA-256) 기반 저장소 참조만 보관
+ALTER TABLE study_material
+ADD COLUMN pdf_sha256 CHAR(64),
+ADD COLUMN pdf_size BIGINT CHECK ( pdf_size > 0 );
+
+-- 같은 PDF를 참조하는 족보 수 확인용 (참조가 없어질 때 저장소에서 삭제)
+CREATE INDEX IF NOT EXISTS idx_study_material_pdf_sha256
+    ON study_material(pdf_sha256) WHERE pdf_sha256 IS NOT NULL;
+
+COMMENT ON COLUMN study_material.pdf_sha256 IS 'PdfStorage에 저장된 PDF의 SHA-256 (hex). 승인/거절 후 해제';
+COMMENT ON COLUMN study_material.pdf_size IS 'PDF 크기 (bytes)';
+COMMENT ON COLUMN study_material.temp_pdf_data IS 'Deprecated: 기동 시 LegacyPdfDataMigrator가 PdfStorage로 이전 후 NULL 처리';
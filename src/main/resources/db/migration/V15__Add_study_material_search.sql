@@ -0,0 +1,33 @@
+-- 족보 검색: 제목 + 문제 내용(questions[*].content)
+-- 한국어는 형태소 분석 사전이 없으므로 부분 일치는 pg_trgm, 단어 일치/랭킹은 'simple' tsvector로 처리
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 생성 컬럼에서 쓰려면 IMMUTABLE 이어야 함
+CREATE OR REPLACE FUNCTION study_material_search_text(title TEXT, questions JSONB)
+    RETURNS TEXT
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS $$
+SELECT coalesce(title, '') || ' ' ||
+       coalesce((SELECT string_agg(q ->> 'content', ' ')
+                 FROM jsonb_array_elements(questions) AS q), '')
+$$;
+
+ALTER TABLE study_material
+    ADD COLUMN search_text TEXT
+        GENERATED ALWAYS AS (study_material_search_text(title, questions)) STORED,
+    ADD COLUMN search_vector TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple'::regconfig, study_material_search_text(title, questions))) STORED;
+
+-- ILIKE '%네트워크%' 부분 일치
+CREATE INDEX IF NOT EXISTS idx_study_material_search_trgm
+    ON study_material USING GIN (search_text gin_trgm_ops);
+
+-- plainto_tsquery 단어 일치
+CREATE INDEX IF NOT EXISTS idx_study_material_search_vector
+    ON study_material USING GIN (search_vector);
+
+COMMENT ON COLUMN study_material.search_text IS '검색용 텍스트 (제목 + 문제 내용, 자동 생성)';
+COMMENT ON COLUMN study_material.search_vector IS '검색용 tsvector (자동 생성)';
@@ -0,0 +1,21 @@
+-- 중복 업로드 탐지: 족보별 MinHash 서명과 중복 의심 목록
+-- 서명은 재시작 시 메모리 LSH 색인을 다시 만들 때 사용 (문제 JSONB를 다시 읽지 않음)
+
+CREATE TABLE study_material_signature (
+    material_id BIGINT PRIMARY KEY REFERENCES study_material(id) ON DELETE CASCADE,
+    minhash INTEGER[] NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE study_material_duplicate (
+    material_id BIGINT NOT NULL REFERENCES study_material(id) ON DELETE CASCADE,
+    duplicate_of_id BIGINT NOT NULL REFERENCES study_material(id) ON DELETE CASCADE,
+    similarity REAL NOT NULL CHECK (similarity >= 0 AND similarity <= 1),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (material_id, duplicate_of_id)
+);
+
+CREATE INDEX idx_study_material_duplicate_of ON study_material_duplicate(duplicate_of_id);
+
+COMMENT ON TABLE study_material_signature IS '족보 문제 내용 MinHash 서명 (128개)';
+COMMENT ON TABLE study_material_duplicate IS '업로드 시 탐지한 중복 의심 족보';
@@ -0,0 +1,47 @@
+-- 과목을 별도 테이블로 분리하고 study_material은 SMALLINT FK로 참조
+-- 과목명 변경은 subjects 한 행만 UPDATE (V9, V12 같은 전체 데이터 마이그레이션 불필요)
+
+CREATE TABLE subjects (
+    id SMALLINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO subjects (name) VALUES
+    ('컴퓨터네트워크Ⅰ'),
+    ('소셜미디어의이해와활용'),
+    ('한국문화의이해'),
+    ('고전의현장과스토리'),
+    ('디지털철학'),
+    ('서양의역사와문화'),
+    ('컴퓨터수학-최영우 교수님'),
+    ('컴퓨터수학-채희준 교수님');
+
+-- 목록에 없는 기존 과목도 보존
+INSERT INTO subjects (name)
+SELECT DISTINCT subject FROM study_material
+ON CONFLICT (name) DO NOTHING;
+
+ALTER TABLE study_material ADD COLUMN subject_id SMALLINT;
+
+UPDATE study_material m
+SET subject_id = s.id
+FROM subjects s
+WHERE s.name = m.subject;
+
+ALTER TABLE study_material
+    ALTER COLUMN subject_id SET NOT NULL,
+    ADD CONSTRAINT fk_study_material_subject FOREIGN KEY (subject_id) REFERENCES subjects(id);
+
+-- 문자열 과목 인덱스(idx_study_material_subject, _subject_exam, _subject_keyset, _subject_exam_keyset)는 컬럼과 함께 삭제됨
+ALTER TABLE study_material DROP COLUMN subject;
+
+CREATE INDEX idx_study_material_subject_exam ON study_material(subject_id, exam_type);
+
+CREATE INDEX idx_study_material_subject_keyset
+    ON study_material(status, subject_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_study_material_subject_exam_keyset
+    ON study_material(status, subject_id, exam_type, created_at DESC, id DESC);
+
+COMMENT ON TABLE subjects IS '과목 (study_material.subject_id가 참조)';
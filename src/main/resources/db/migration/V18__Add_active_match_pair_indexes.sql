@@ -0,0 +1,8 @@
+-- 매칭 후보 조회의 anti-join 용: 내가 참여한 진행 중 매칭에서 상대 족보를 바로 찾음
+CREATE INDEX IF NOT EXISTS idx_matches_active_requester_pair
+    ON matches(requester_id, receiver_material_id)
+    WHERE status IN ('PENDING', 'ACCEPTED');
+
+CREATE INDEX IF NOT EXISTS idx_matches_active_receiver_pair
+    ON matches(receiver_id, requester_material_id)
+    WHERE status IN ('PENDING', 'ACCEPTED');
@@ -0,0 +1,4 @@
+-- 만료 스위퍼 용: 진행 중 매칭만 만료 시각 순으로 (완료/거절/만료 행은 색인에서 제외)
+CREATE INDEX IF NOT EXISTS idx_matches_active_expired_at
+    ON matches(expired_at)
+    WHERE status IN ('PENDING', 'ACCEPTED');
@@ -0,0 +1,4 @@
+-- 매칭 만료 알림 타입 추가
+ALTER TABLE notifications DROP CONSTRAINT chk_notification_type;
+ALTER TABLE notifications ADD CONSTRAINT chk_notification_type
+CHECK (type IN ('USER_PROMOTED', 'MATERIAL_APPROVED', 'MATERIAL_REJECTED', 'MATCH_COMPLETED', 'MATCH_REQUEST_RECEIVED', 'MATCH_EXPIRED', 'SYSTEM'));
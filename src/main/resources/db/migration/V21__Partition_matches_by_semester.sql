@@ -0,0 +1,132 @@
+-- matches를 created_at 기준 학기(3~8월 / 9~2월) 범위 파티션으로 전환
+-- 진행 중 매칭은 생성 후 하루 안에 끝나므로 최근 학기 파티션(hot)에만 있고,
+-- 보관 기간이 지난 학기 파티션은 matches_archive로 옮겨(cold) hot 쪽 인덱스 크기를 학기 단위로 묶어 둔다
+
+-- 학기 시작 시각: 3월 1일 또는 9월 1일 (1~2월은 전년도 2학기)
+CREATE OR REPLACE FUNCTION match_semester_start(ts TIMESTAMP) RETURNS TIMESTAMP AS $$
+    SELECT CASE
+        WHEN EXTRACT(MONTH FROM ts) BETWEEN 3 AND 8 THEN make_timestamp(EXTRACT(YEAR FROM ts)::INT, 3, 1, 0, 0, 0)
+        WHEN EXTRACT(MONTH FROM ts) >= 9 THEN make_timestamp(EXTRACT(YEAR FROM ts)::INT, 9, 1, 0, 0, 0)
+        ELSE make_timestamp(EXTRACT(YEAR FROM ts)::INT - 1, 9, 1, 0, 0, 0)
+    END
+$$ LANGUAGE SQL IMMUTABLE;
+
+-- 학기 파티션 생성 (이름: matches_2025_1, matches_2025_2), 이미 있으면 그대로
+CREATE OR REPLACE FUNCTION create_match_partition(semester_start TIMESTAMP) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := format('matches_%s_%s', EXTRACT(YEAR FROM semester_start)::INT,
+                                  CASE WHEN EXTRACT(MONTH FROM semester_start) = 3 THEN 1 ELSE 2 END);
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF matches FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, semester_start, semester_start + INTERVAL '6 months');
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- cutoff 이전에 끝난 학기 파티션 중 진행 중 매칭이 없는 것을 matches에서 떼어 matches_archive에 붙임
+CREATE OR REPLACE FUNCTION archive_match_partitions(cutoff TIMESTAMP) RETURNS SETOF TEXT AS $$
+DECLARE
+    part RECORD;
+    part_start TIMESTAMP;
+    has_active BOOLEAN;
+BEGIN
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'matches'::regclass
+          AND c.relname ~ '^matches_[0-9]{4}_[12]$'
+        ORDER BY c.relname
+    LOOP
+        part_start := make_timestamp(split_part(part.relname, '_', 2)::INT,
+                                     CASE split_part(part.relname, '_', 3) WHEN '1' THEN 3 ELSE 9 END, 1, 0, 0, 0);
+        CONTINUE WHEN part_start + INTERVAL '6 months' > cutoff;
+
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE status IN (''PENDING'', ''ACCEPTED''))', part.relname)
+            INTO has_active;
+        CONTINUE WHEN has_active;
+
+        EXECUTE format('ALTER TABLE matches DETACH PARTITION %I', part.relname);
+        EXECUTE format('ALTER TABLE matches_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       part.relname, part_start, part_start + INTERVAL '6 months');
+        RETURN NEXT part.relname;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 테이블을 옮기고 같은 구조의 파티션 테이블 생성 (파티션 키가 PK에 포함되어야 함)
+ALTER TABLE matches RENAME TO matches_legacy;
+
+CREATE TABLE matches (
+    id BIGINT NOT NULL DEFAULT nextval('matches_id_seq'),
+    requester_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    receiver_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    requester_material_id BIGINT NOT NULL REFERENCES study_material(id) ON DELETE CASCADE,
+    receiver_material_id BIGINT NOT NULL REFERENCES study_material(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'ACCEPTED', 'REJECTED', 'COMPLETED', 'EXPIRED')),
+    expired_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- legacy 테이블을 지워도 ID 시퀀스는 남도록
+ALTER SEQUENCE matches_id_seq OWNED BY matches.id;
+
+-- 가장 오래된 매칭의 학기부터 다음 학기까지 생성. 범위를 벗어난 행은 default 파티션으로 (평소에는 비어 있음)
+DO $$
+DECLARE
+    semester TIMESTAMP := match_semester_start(COALESCE((SELECT MIN(created_at) FROM matches_legacy), LOCALTIMESTAMP));
+    last_semester TIMESTAMP := match_semester_start(LOCALTIMESTAMP) + INTERVAL '6 months';
+BEGIN
+    WHILE semester <= last_semester LOOP
+        PERFORM create_match_partition(semester);
+        semester := semester + INTERVAL '6 months';
+    END LOOP;
+END;
+$$;
+
+CREATE TABLE matches_default PARTITION OF matches DEFAULT;
+
+INSERT INTO matches (id, requester_id, receiver_id, requester_material_id, receiver_material_id,
+                     status, expired_at, created_at, updated_at)
+SELECT id, requester_id, receiver_id, requester_material_id, receiver_material_id,
+       status, expired_at, created_at, updated_at
+FROM matches_legacy;
+
+DROP TABLE matches_legacy;
+
+-- 인덱스는 부모에 만들면 파티션마다 생성됨 (V4, V18, V19와 동일)
+CREATE INDEX idx_matches_requester ON matches(requester_id);
+CREATE INDEX idx_matches_partner ON matches(receiver_id);
+CREATE INDEX idx_matches_status ON matches(status);
+CREATE INDEX idx_matches_expires_at ON matches(expired_at);
+CREATE INDEX idx_matches_requester_material ON matches(requester_material_id);
+CREATE INDEX idx_matches_partner_material ON matches(receiver_material_id);
+
+CREATE INDEX idx_matches_active_requester_pair
+    ON matches(requester_id, receiver_material_id)
+    WHERE status IN ('PENDING', 'ACCEPTED');
+CREATE INDEX idx_matches_active_receiver_pair
+    ON matches(receiver_id, requester_material_id)
+    WHERE status IN ('PENDING', 'ACCEPTED');
+CREATE INDEX idx_matches_active_expired_at
+    ON matches(expired_at)
+    WHERE status IN ('PENDING', 'ACCEPTED');
+
+-- 보관 학기: 완료/거절/만료된 매칭만 있음. 족보 열람 권한 확인용 인덱스만 둔다
+CREATE TABLE matches_archive (
+    id BIGINT NOT NULL,
+    requester_id BIGINT NOT NULL,
+    receiver_id BIGINT NOT NULL,
+    requester_material_id BIGINT NOT NULL,
+    receiver_material_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    expired_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_matches_archive_requester ON matches_archive(requester_id);
+CREATE INDEX idx_matches_archive_receiver ON matches_archive(receiver_id);
@@ -0,0 +1,19 @@
+-- 재시도 요청 중복 방지: (사용자, Idempotency-Key) -> 처음 요청의 응답
+-- response_status가 NULL이면 처리 중. 처리 중인 요청은 heartbeat_at을 주기적으로 갱신하고,
+-- 갱신이 끊긴(요청을 처리하던 인스턴스가 죽은) 선점은 다른 요청이 claim_token을 바꿔 다시 선점한다.
+-- 하루 지난 키는 주기적으로 삭제
+CREATE TABLE idempotency_key (
+    owner_email VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    request_scope VARCHAR(200) NOT NULL,
+    response_status SMALLINT,
+    response_body TEXT,
+    claim_token VARCHAR(36) NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (owner_email, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_key_created_at ON idempotency_key(created_at);
+
+COMMENT ON TABLE idempotency_key IS 'Idempotency-Key 헤더로 받은 요청의 최초 응답 (재시도 시 그대로 반환)';
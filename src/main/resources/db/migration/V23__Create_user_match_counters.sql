@@ -0,0 +1,49 @@
+-- 매칭 알림 배지용 사용자별 카운터 (받은/보낸 대기 중 요청 수)
+-- matches의 상태가 바뀌는 모든 경로(요청/수락/거절/만료/족보 삭제 cascade)를 트리거로 같은 트랜잭션에서 반영
+CREATE TABLE user_match_counters (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    pending_received INTEGER NOT NULL DEFAULT 0,
+    pending_sent INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO user_match_counters (user_id, pending_received, pending_sent)
+SELECT u.id,
+       COUNT(*) FILTER (WHERE m.receiver_id = u.id),
+       COUNT(*) FILTER (WHERE m.requester_id = u.id)
+FROM users u
+JOIN matches m ON (m.receiver_id = u.id OR m.requester_id = u.id) AND m.status = 'PENDING'
+GROUP BY u.id;
+
+-- 두 사용자 행을 user_id 순서로 갱신해 동시 갱신 시 교착을 피함
+CREATE OR REPLACE FUNCTION apply_match_counter_delta(receiver BIGINT, requester BIGINT, delta INTEGER) RETURNS VOID AS $$
+    INSERT INTO user_match_counters AS c (user_id, pending_received, pending_sent, updated_at)
+    SELECT v.user_id, v.received, v.sent, LOCALTIMESTAMP
+    FROM (VALUES (receiver, delta, 0), (requester, 0, delta)) AS v(user_id, received, sent)
+    ORDER BY v.user_id
+    ON CONFLICT (user_id) DO UPDATE
+        SET pending_received = c.pending_received + EXCLUDED.pending_received,
+            pending_sent = c.pending_sent + EXCLUDED.pending_sent,
+            updated_at = EXCLUDED.updated_at
+$$ LANGUAGE SQL;
+
+CREATE OR REPLACE FUNCTION update_user_match_counters() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.status = NEW.status THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.status = 'PENDING' THEN
+        PERFORM apply_match_counter_delta(OLD.receiver_id, OLD.requester_id, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.status = 'PENDING' THEN
+        PERFORM apply_match_counter_delta(NEW.receiver_id, NEW.requester_id, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_matches_user_counters
+    AFTER INSERT OR UPDATE OF status OR DELETE ON matches
+    FOR EACH ROW EXECUTE FUNCTION update_user_match_counters();
+
+COMMENT ON TABLE user_match_counters IS '사용자별 대기 중 매칭 요청 수 (matches 트리거로 유지)';
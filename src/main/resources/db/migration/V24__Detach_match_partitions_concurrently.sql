@@ -0,0 +1,128 @@
+-- 학기 파티션 보관 이동을 DETACH PARTITION ... CONCURRENTLY로 (V21 보완)
+-- CONCURRENTLY는 트랜잭션 블록 밖에서만 돌 수 있어 plpgsql 함수 안에 둘 수 없으므로
+-- 대상 선정/보관 붙이기만 함수로 두고 떼어내기는 MatchPartitionMaintainer가 단독 문장으로 실행한다.
+-- 부모에 default 파티션이 있으면 CONCURRENTLY를 쓸 수 없어 default 파티션은 정리 후 없앤다
+-- (이번 학기부터 두 학기 뒤까지 여기서 만들어 두고, 이후엔 MatchPartitionMaintainer가 같은 범위를 유지함).
+
+-- 학기 파티션 생성. default 파티션에 그 학기 범위의 행이 있으면 ATTACH 전에 새 파티션으로 옮긴다
+CREATE OR REPLACE FUNCTION create_match_partition(semester_start TIMESTAMP) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := format('matches_%s_%s', EXTRACT(YEAR FROM semester_start)::INT,
+                                  CASE WHEN EXTRACT(MONTH FROM semester_start) = 3 THEN 1 ELSE 2 END);
+    semester_end TIMESTAMP := semester_start + INTERVAL '6 months';
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE matches INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    IF to_regclass('matches_default') IS NOT NULL THEN
+        EXECUTE format('WITH moved AS (DELETE FROM matches_default WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved',
+                       semester_start, semester_end, partition_name);
+    END IF;
+    EXECUTE format('ALTER TABLE matches ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, semester_start, semester_end);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 파티션 이름(matches_2025_1)의 학기 시작 시각
+CREATE OR REPLACE FUNCTION match_partition_start(partition_name TEXT) RETURNS TIMESTAMP AS $$
+    SELECT make_timestamp(split_part(partition_name, '_', 2)::INT,
+                          CASE split_part(partition_name, '_', 3) WHEN '1' THEN 3 ELSE 9 END, 1, 0, 0, 0)
+$$ LANGUAGE SQL IMMUTABLE;
+
+-- 보관으로 옮길 학기 파티션과 남은 단계 (떼어내기는 호출 측에서 단독 문장으로)
+--   DETACH   : cutoff 이전에 끝났고 진행 중 매칭이 없는 matches 파티션
+--   FINALIZE : DETACH ... CONCURRENTLY가 중간에 끊겨 보류된 파티션
+--   ATTACH   : 떼어냈지만 matches_archive에 아직 붙지 않은 파티션
+DROP FUNCTION IF EXISTS archive_match_partitions(TIMESTAMP);
+
+CREATE OR REPLACE FUNCTION archivable_match_partitions(cutoff TIMESTAMP)
+    RETURNS TABLE (partition_name TEXT, step TEXT) AS $$
+DECLARE
+    part RECORD;
+    has_active BOOLEAN;
+BEGIN
+    FOR part IN
+        SELECT c.relname::TEXT AS relname, i.inhparent, COALESCE(i.inhdetachpending, FALSE) AS detach_pending
+        FROM pg_class c
+        LEFT JOIN pg_inherits i ON i.inhrelid = c.oid
+        WHERE c.relkind = 'r'
+          AND c.relnamespace = (SELECT relnamespace FROM pg_class WHERE oid = 'matches'::regclass)
+          AND c.relname ~ '^matches_[0-9]{4}_[12]$'
+        ORDER BY c.relname
+    LOOP
+        IF part.inhparent IS NULL THEN
+            partition_name := part.relname;
+            step := 'ATTACH';
+            RETURN NEXT;
+            CONTINUE;
+        END IF;
+        CONTINUE WHEN part.inhparent <> 'matches'::regclass;
+
+        IF part.detach_pending THEN
+            partition_name := part.relname;
+            step := 'FINALIZE';
+            RETURN NEXT;
+            CONTINUE;
+        END IF;
+
+        CONTINUE WHEN match_partition_start(part.relname) + INTERVAL '6 months' > cutoff;
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE status IN (''PENDING'', ''ACCEPTED''))', part.relname)
+            INTO has_active;
+        CONTINUE WHEN has_active;
+
+        partition_name := part.relname;
+        step := 'DETACH';
+        RETURN NEXT;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- matches에서 떼어낸 학기 파티션을 matches_archive에 붙임
+CREATE OR REPLACE FUNCTION attach_archived_match_partition(partition_name TEXT) RETURNS TEXT AS $$
+DECLARE
+    part_start TIMESTAMP := match_partition_start(partition_name);
+BEGIN
+    EXECUTE format('ALTER TABLE matches_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, part_start, part_start + INTERVAL '6 months');
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- default 파티션에 들어간 행을 학기 파티션으로 옮기고 default 파티션 제거
+DO $$
+DECLARE
+    semester TIMESTAMP;
+BEGIN
+    FOR semester IN
+        SELECT DISTINCT match_semester_start(created_at) FROM matches_default
+    LOOP
+        PERFORM create_match_partition(semester);
+    END LOOP;
+END;
+$$;
+
+DROP TABLE matches_default;
+
+-- default 파티션이 없으므로 앱이 뜨기 전이나 파티션 관리가 밀려도 INSERT가 실패하지 않게 두 학기 앞까지 미리 생성
+SELECT create_match_partition(semester)
+FROM generate_series(match_semester_start(LOCALTIMESTAMP),
+                     match_semester_start(LOCALTIMESTAMP) + INTERVAL '12 months',
+                     INTERVAL '6 months') AS semester;
+
+-- 보관 학기에서도 족보 기준 조회(열람 권한, 족보별 매칭 이력)가 인덱스를 타도록
+CREATE INDEX idx_matches_archive_requester_material ON matches_archive(requester_material_id);
+CREATE INDEX idx_matches_archive_receiver_material ON matches_archive(receiver_material_id);
+
+-- 이력/통계 조회용: 진행 학기 + 보관 학기 전체
+CREATE VIEW matches_all AS
+SELECT id, requester_id, receiver_id, requester_material_id, receiver_material_id,
+       status, expired_at, created_at, updated_at
+FROM matches
+UNION ALL
+SELECT id, requester_id, receiver_id, requester_material_id, receiver_material_id,
+       status, expired_at, created_at, updated_at
+FROM matches_archive;
@@ -0,0 +1,13 @@
+-- 사용자 삭제 cascade로 matches가 지워질 때 트리거가 방금 지운 사용자의 카운터 행을 다시 만들지 않도록
+-- (V23 apply_match_counter_delta 재정의: users에 있는 사용자만 반영)
+CREATE OR REPLACE FUNCTION apply_match_counter_delta(receiver BIGINT, requester BIGINT, delta INTEGER) RETURNS VOID AS $$
+    INSERT INTO user_match_counters AS c (user_id, pending_received, pending_sent, updated_at)
+    SELECT v.user_id, v.received, v.sent, LOCALTIMESTAMP
+    FROM (VALUES (receiver, delta, 0), (requester, 0, delta)) AS v(user_id, received, sent)
+    WHERE EXISTS (SELECT 1 FROM users WHERE id = v.user_id)
+    ORDER BY v.user_id
+    ON CONFLICT (user_id) DO UPDATE
+        SET pending_received = c.pending_received + EXCLUDED.pending_received,
+            pending_sent = c.pending_sent + EXCLUDED.pending_sent,
+            updated_at = EXCLUDED.updated_at
+$$ LANGUAGE SQL;
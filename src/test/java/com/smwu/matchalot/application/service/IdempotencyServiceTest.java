@@ -0,0 +1,248 @@
+package com.smwu.matchalot.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smwu.matchalot.domain.model.vo.IdempotentResponse;
+import com.smwu.matchalot.domain.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String OWNER = "user@sookmyung.ac.kr";
+    private static final String KEY = "upload-1";
+    private static final String SCOPE = "POST /api/v1/study-materials";
+    private static final Duration CLAIM_TIMEOUT = Duration.ofSeconds(30);
+
+    record Created(Long id, String title) {
+    }
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyService idempotencyService;
+    private final AtomicInteger actionCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository, new ObjectMapper(),
+                new SimpleMeterRegistry(), Duration.ofHours(24), CLAIM_TIMEOUT, 100);
+    }
+
+    private Supplier<Mono<ResponseEntity<Created>>> action(ResponseEntity<Created> response) {
+        return () -> {
+            actionCalls.incrementAndGet();
+            return Mono.just(response);
+        };
+    }
+
+    private Mono<ResponseEntity<Created>> execute(String scope, Supplier<Mono<ResponseEntity<Created>>> action) {
+        return idempotencyService.execute(OWNER, KEY, scope, Created.class, action);
+    }
+
+    private void givenNewKey() {
+        when(idempotencyKeyRepository.find(OWNER, KEY)).thenReturn(Mono.empty());
+        when(idempotencyKeyRepository.claim(eq(OWNER), eq(KEY), eq(SCOPE), any(), any())).thenReturn(Mono.just(true));
+    }
+
+    @Test
+    void 키가_없으면_저장하지_않고_그대로_실행한다() {
+        ResponseEntity<Created> response = idempotencyService.execute(OWNER, null, SCOPE, Created.class,
+                action(ResponseEntity.ok(new Created(1L, "네트워크 중간"))))
+                .block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actionCalls).hasValue(1);
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void 빈_키나_너무_긴_키는_400() {
+        assertThat(idempotencyService.execute(OWNER, " ", SCOPE, Created.class, action(ResponseEntity.ok(null)))
+                .block().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(idempotencyService.execute(OWNER, "k".repeat(65), SCOPE, Created.class, action(ResponseEntity.ok(null)))
+                .block().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(actionCalls).hasValue(0);
+    }
+
+    @Test
+    void 처음_요청은_선점_후_실행하고_2xx_응답을_저장한다() {
+        givenNewKey();
+        when(idempotencyKeyRepository.complete(eq(OWNER), eq(KEY), any(), eq(201), any())).thenReturn(Mono.just(true));
+
+        ResponseEntity<Created> response = execute(SCOPE,
+                action(ResponseEntity.status(HttpStatus.CREATED).body(new Created(1L, "네트워크 중간")))).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(actionCalls).hasValue(1);
+        verify(idempotencyKeyRepository).complete(eq(OWNER), eq(KEY), any(), eq(201),
+                eq("{\"id\":1,\"title\":\"네트워크 중간\"}"));
+    }
+
+    @Test
+    void 완료된_키로_다시_보내면_저장된_응답을_그대로_돌려주고_메모리에서_바로_응답한다() {
+        when(idempotencyKeyRepository.find(OWNER, KEY)).thenReturn(Mono.just(new IdempotentResponse(
+                SCOPE, 201, "{\"id\":1,\"title\":\"네트워크 중간\"}", LocalDateTime.now().minusMinutes(5))));
+
+        ResponseEntity<Created> first = execute(SCOPE, action(ResponseEntity.ok(null))).block();
+        ResponseEntity<Created> second = execute(SCOPE, action(ResponseEntity.ok(null))).block();
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(first.getBody()).isEqualTo(new Created(1L, "네트워크 중간"));
+        assertThat(first.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(actionCalls).hasValue(0);
+        verify(idempotencyKeyRepository, times(1)).find(OWNER, KEY);
+    }
+
+    @Test
+    void 같은_키를_다른_요청에_쓰면_422() {
+        when(idempotencyKeyRepository.find(OWNER, KEY)).thenReturn(Mono.just(new IdempotentResponse(
+                "POST /api/v1/match/request/3", 201, "{}", LocalDateTime.now().minusMinutes(5))));
+
+        ResponseEntity<Created> response = execute(SCOPE, action(ResponseEntity.ok(null))).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(actionCalls).hasValue(0);
+    }
+
+    @Test
+    void 처음_요청이_아직_처리_중이면_409() {
+        when(idempotencyKeyRepository.find(OWNER, KEY)).thenReturn(Mono.just(new IdempotentResponse(
+                SCOPE, null, null, LocalDateTime.now().minusSeconds(1))));
+        // 처음 요청이 선점을 갱신하고 있으므로 DB에서 다시 선점되지 않음
+        when(idempotencyKeyRepository.claim(eq(OWNER), eq(KEY), eq(SCOPE), any(), any())).thenReturn(Mono.just(false));
+
+        ResponseEntity<Created> response = execute(SCOPE, action(ResponseEntity.ok(null))).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(actionCalls).hasValue(0);
+    }
+
+    @Test
+    void 갱신이_끊긴_처리_중_선점은_다시_선점해서_실행한다() {
+        when(idempotencyKeyRepository.find(OWNER, KEY)).thenReturn(Mono.just(new IdempotentResponse(
+                SCOPE, null, null, LocalDateTime.now().minus(CLAIM_TIMEOUT).minusSeconds(1))));
+        when(idempotencyKeyRepository.claim(eq(OWNER), eq(KEY), eq(SCOPE), any(), any())).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(eq(OWNER), eq(KEY), any(), eq(200), any())).thenReturn(Mono.just(true));
+
+        ResponseEntity<Created> response = execute(SCOPE, action(ResponseEntity.ok(new Created(2L, "철학 기말")))).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actionCalls).hasValue(1);
+    }
+
+    @Test
+    void 오래_걸리는_요청은_처리하는_동안_선점을_갱신한다() {
+        IdempotencyService shortClaim = new IdempotencyService(idempotencyKeyRepository, new ObjectMapper(),
+                new SimpleMeterRegistry(), Duration.ofHours(24), Duration.ofMillis(300), 100);
+        givenNewKey();
+        when(idempotencyKeyRepository.renew(eq(OWNER), eq(KEY), any())).thenReturn(Mono.just(true));
+        when(idempotencyKeyRepository.complete(eq(OWNER), eq(KEY), any(), eq(201), any())).thenReturn(Mono.just(true));
+
+        ResponseEntity<Created> response = shortClaim.execute(OWNER, KEY, SCOPE, Created.class,
+                        () -> Mono.delay(Duration.ofMillis(400))
+                                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(new Created(1L, "네트워크 중간"))))
+                .block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        verify(idempotencyKeyRepository, atLeastOnce()).renew(eq(OWNER), eq(KEY), any());
+    }
+
+    @Test
+    void 선점을_잃었으면_응답을_돌려주되_메모리에_캐시하지_않는다() {
+        givenNewKey();
+        when(idempotencyKeyRepository.complete(eq(OWNER), eq(KEY), any(), eq(201), any())).thenReturn(Mono.just(false));
+
+        ResponseEntity<Created> first = execute(SCOPE,
+                action(ResponseEntity.status(HttpStatus.CREATED).body(new Created(1L, "네트워크 중간")))).block();
+        execute(SCOPE, action(ResponseEntity.status(HttpStatus.CREATED).body(new Created(1L, "네트워크 중간")))).block();
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        // 캐시됐다면 두 번째 요청은 DB를 보지 않고 재응답했을 것
+        verify(idempotencyKeyRepository, times(2)).find(OWNER, KEY);
+    }
+
+    @Test
+    void 동시에_들어온_요청이_먼저_선점하면_409() {
+        when(idempotencyKeyRepository.find(OWNER, KEY)).thenReturn(Mono.empty());
+        when(idempotencyKeyRepository.claim(eq(OWNER), eq(KEY), eq(SCOPE), any(), any())).thenReturn(Mono.just(false));
+
+        ResponseEntity<Created> response = execute(SCOPE, action(ResponseEntity.ok(null))).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(actionCalls).hasValue(0);
+    }
+
+    @Test
+    void 실패_응답은_저장하지_않고_선점을_푼다() {
+        givenNewKey();
+        when(idempotencyKeyRepository.release(eq(OWNER), eq(KEY), any())).thenReturn(Mono.empty());
+
+        ResponseEntity<Created> response = execute(SCOPE, action(ResponseEntity.badRequest().build())).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void 실행_중_오류가_나면_선점을_풀고_오류를_전달한다() {
+        givenNewKey();
+        when(idempotencyKeyRepository.release(eq(OWNER), eq(KEY), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(execute(SCOPE, () -> Mono.error(new IllegalArgumentException("잘못된 족보"))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(idempotencyKeyRepository).release(eq(OWNER), eq(KEY), any());
+    }
+
+    @Test
+    void 클라이언트가_끊으면_선점을_푼다() {
+        givenNewKey();
+        when(idempotencyKeyRepository.release(eq(OWNER), eq(KEY), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(execute(SCOPE, Mono::never))
+                .thenAwait(Duration.ofMillis(10))
+                .thenCancel()
+                .verify();
+
+        verify(idempotencyKeyRepository).release(eq(OWNER), eq(KEY), any());
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void 저장된_응답을_읽을_수_없으면_500() {
+        when(idempotencyKeyRepository.find(OWNER, KEY)).thenReturn(Mono.just(new IdempotentResponse(
+                SCOPE, 201, "{not json", LocalDateTime.now().minusMinutes(5))));
+
+        ResponseEntity<Created> response = execute(SCOPE, action(ResponseEntity.ok(null))).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(actionCalls).hasValue(0);
+    }
+}
@@ -0,0 +1,96 @@
+package com.smwu.matchalot.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchExpiryWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final int SLOTS = 8;
+
+    private final MatchExpiryWheel wheel = new MatchExpiryWheel(TICK, SLOTS, 0);
+
+    @Test
+    void 만료_tick이_되어야_꺼낸다() {
+        wheel.schedule(1L, 3_000);
+
+        assertThat(wheel.advance(2_999)).isEmpty();
+        assertThat(wheel.advance(3_000)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void tick_경계가_아닌_만료_시각은_다음_tick으로_올림한다() {
+        wheel.schedule(1L, 2_500);
+
+        assertThat(wheel.advance(2_999)).isEmpty();
+        assertThat(wheel.advance(3_000)).containsExactly(1L);
+    }
+
+    @Test
+    void 이미_지난_만료_시각은_다음_tick에_만료한다() {
+        MatchExpiryWheel late = new MatchExpiryWheel(TICK, SLOTS, 10_000);
+        late.schedule(1L, 5_000);
+
+        assertThat(late.advance(10_999)).isEmpty();
+        assertThat(late.advance(11_000)).containsExactly(1L);
+    }
+
+    @Test
+    void 취소한_매칭은_만료되지_않는다() {
+        wheel.schedule(1L, 2_000);
+
+        assertThat(wheel.cancel(1L)).isTrue();
+        assertThat(wheel.cancel(1L)).isFalse();
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(5_000)).isEmpty();
+    }
+
+    @Test
+    void 재등록하면_이전_만료_시각은_무효가_된다() {
+        wheel.schedule(1L, 2_000);
+        wheel.schedule(1L, 5_000);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(2_000)).isEmpty();
+        assertThat(wheel.advance(5_000)).containsExactly(1L);
+    }
+
+    @Test
+    void 한_바퀴보다_먼_항목은_슬롯에_남아_다음_바퀴에_만료된다() {
+        wheel.schedule(1L, 10_000); // tick 10 -> 2번 슬롯
+
+        assertThat(wheel.advance(2_000)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(10_000)).containsExactly(1L);
+    }
+
+    @Test
+    void 한_바퀴_이상_멈췄다가_진행하면_지난_항목을_모두_꺼낸다() {
+        wheel.schedule(1L, 3_000);
+        wheel.schedule(2L, 5_000);
+        wheel.schedule(3L, 20_000);
+        wheel.schedule(4L, 200_000);
+
+        assertThat(wheel.advance(100_000)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(200_000)).containsExactly(4L);
+    }
+
+    @Test
+    void 시계가_뒤로_가면_아무것도_꺼내지_않는다() {
+        wheel.schedule(1L, 3_000);
+        wheel.advance(2_000);
+
+        assertThat(wheel.advance(1_000)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void 슬롯_수가_2의_거듭제곱이_아니면_생성할_수_없다() {
+        assertThatThrownBy(() -> new MatchExpiryWheel(TICK, 6, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,152 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.service.MatchOrderBook.Order;
+import com.smwu.matchalot.application.service.MatchOrderBook.Pairing;
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+import com.smwu.matchalot.domain.model.vo.UserId;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchOrderBookTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 4, 1, 9, 0);
+
+    private final MatchOrderBook book = new MatchOrderBook();
+
+    private static Order order(long userId, long materialId, int trustScore, int queuedMinutes) {
+        return new Order(UserId.of(userId), "이용자" + userId, StudyMaterialId.of(materialId), "족보 " + materialId,
+                trustScore, START.plusMinutes(queuedMinutes));
+    }
+
+    private static List<Long> materialIds(Pairing pairing) {
+        return List.of(pairing.first().materialId().value(), pairing.second().materialId().value());
+    }
+
+    @Test
+    void 같은_사용자의_족보끼리는_짝짓지_않는다() {
+        book.add(order(1, 10, 3, 0));
+        book.add(order(1, 11, 3, 1));
+
+        assertThat(book.drainPairs(10)).isEmpty();
+        assertThat(book.size()).isEqualTo(2);
+    }
+
+    @Test
+    void 같은_사용자를_건너뛰고_다음_사용자와_짝짓는다() {
+        book.add(order(1, 10, 5, 0));
+        book.add(order(1, 11, 4, 1));
+        book.add(order(2, 20, 3, 2));
+
+        List<Pairing> pairings = book.drainPairs(10);
+
+        assertThat(pairings).hasSize(1);
+        assertThat(materialIds(pairings.get(0))).containsExactly(10L, 20L);
+        assertThat(book.orders()).extracting(order -> order.materialId().value()).containsExactly(11L);
+    }
+
+    @Test
+    void 신뢰도_높은_순_같으면_오래_기다린_순으로_짝짓는다() {
+        book.add(order(1, 10, 1, 0));
+        book.add(order(2, 20, 5, 3));
+        book.add(order(3, 30, 5, 1));
+        book.add(order(4, 40, 1, 2));
+
+        List<Pairing> pairings = book.drainPairs(10);
+
+        assertThat(pairings).hasSize(2);
+        // 신뢰도 5끼리(먼저 등록한 30이 요청자), 신뢰도 1끼리
+        assertThat(materialIds(pairings.get(0))).containsExactly(30L, 20L);
+        assertThat(materialIds(pairings.get(1))).containsExactly(10L, 40L);
+        assertThat(book.size()).isZero();
+    }
+
+    @Test
+    void 짝_수_한도까지만_꺼낸다() {
+        book.add(order(1, 10, 5, 0));
+        book.add(order(2, 20, 4, 0));
+        book.add(order(3, 30, 3, 0));
+        book.add(order(4, 40, 2, 0));
+
+        assertThat(book.drainPairs(1)).hasSize(1);
+        assertThat(book.orders()).extracting(order -> order.materialId().value())
+                .containsExactlyInAnyOrder(30L, 40L);
+    }
+
+    @Test
+    void 거부된_쌍은_되돌리되_다시_짝짓지_않는다() {
+        book.add(order(1, 10, 5, 0));
+        book.add(order(2, 20, 5, 1));
+
+        Pairing rejected = book.drainPairs(10).get(0);
+        book.reject(rejected);
+
+        assertThat(book.size()).isEqualTo(2);
+        assertThat(book.drainPairs(10)).isEmpty();
+
+        // 새 상대가 오면 거부된 쌍을 건너뛰고 짝지음
+        book.add(order(3, 30, 1, 2));
+        List<Pairing> retried = book.drainPairs(10);
+
+        assertThat(retried).hasSize(1);
+        assertThat(materialIds(retried.get(0))).containsExactly(10L, 30L);
+        assertThat(book.orders()).extracting(order -> order.materialId().value()).containsExactly(20L);
+    }
+
+    @Test
+    void 저장에_실패하면_다음_주기에_같은_짝을_다시_시도한다() {
+        book.add(order(1, 10, 5, 0));
+        book.add(order(2, 20, 5, 1));
+
+        Pairing failed = book.drainPairs(10).get(0);
+        assertThat(book.size()).isZero();
+        book.restore(failed);
+
+        List<Pairing> retried = book.drainPairs(10);
+        assertThat(retried).hasSize(1);
+        assertThat(materialIds(retried.get(0))).containsExactly(10L, 20L);
+    }
+
+    @Test
+    void 저장_중에_취소한_족보는_되돌리지_않는다() {
+        book.add(order(1, 10, 5, 0));
+        book.add(order(2, 20, 5, 1));
+        Pairing pairing = book.drainPairs(10).get(0);
+
+        // 저장 중이라 대기열에는 없지만 취소는 반영됨
+        assertThat(book.remove(StudyMaterialId.of(10L))).isNull();
+        book.restore(pairing);
+
+        assertThat(book.orders()).extracting(order -> order.materialId().value()).containsExactly(20L);
+        // 취소한 족보는 다시 등록할 수 있음
+        assertThat(book.add(order(1, 10, 5, 2))).isTrue();
+    }
+
+    @Test
+    void 저장_중인_족보는_다시_등록할_수_없다() {
+        book.add(order(1, 10, 5, 0));
+        book.add(order(2, 20, 5, 1));
+        Pairing pairing = book.drainPairs(10).get(0);
+
+        assertThat(book.add(order(1, 10, 5, 2))).isFalse();
+
+        book.complete(pairing);
+        assertThat(book.add(order(1, 10, 5, 3))).isTrue();
+    }
+
+    @Test
+    void 참여_불가가_된_사용자의_주문은_빠지고_신뢰도는_갱신된다() {
+        book.add(order(1, 10, 5, 0));
+        book.add(order(2, 20, 5, 1));
+        book.add(order(3, 30, 5, 2));
+
+        book.updateTrustScore(UserId.of(1L), -5, false);
+        book.updateTrustScore(UserId.of(2L), 2, true);
+
+        assertThat(book.ordersOf(UserId.of(1L))).isEmpty();
+        assertThat(book.ordersOf(UserId.of(2L))).extracting(Order::trustScore).containsExactly(2);
+    }
+}
@@ -0,0 +1,240 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.MatchEvent;
+import com.smwu.matchalot.domain.model.entity.Match;
+import com.smwu.matchalot.domain.model.vo.MatchId;
+import com.smwu.matchalot.domain.model.vo.MatchStatus;
+import com.smwu.matchalot.domain.model.vo.StudyMaterialId;
+import com.smwu.matchalot.domain.model.vo.UserId;
+import com.smwu.matchalot.domain.repository.MatchRepository;
+import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import com.smwu.matchalot.domain.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 조건부 UPDATE(acceptIfPending/rejectIfPending/completeIfAccepted)가 0행일 때
+ * 현재 상태를 다시 읽어 원인에 맞는 오류로 바꾸는지 (transitionFailure).
+ */
+@ExtendWith(MockitoExtension.class)
+class MatchServiceTransitionTest {
+
+    private static final MatchId MATCH_ID = MatchId.of(100L);
+    private static final UserId REQUESTER = UserId.of(1L);
+    private static final UserId RECEIVER = UserId.of(2L);
+    private static final UserId STRANGER = UserId.of(3L);
+
+    @Mock
+    private MatchRepository matchRepository;
+    @Mock
+    private StudyMaterialRepository studyMaterialRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TransactionalOperator transactionalOperator;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private MatchExpiryScheduler matchExpiryScheduler;
+    @Mock
+    private MatchInboxCounterService matchInboxCounterService;
+    @Mock
+    private MaterialAccessService materialAccessService;
+
+    @InjectMocks
+    private MatchService matchService;
+
+    private static Match match(MatchStatus status, LocalDateTime expiredAt) {
+        LocalDateTime createdAt = expiredAt.minusDays(1);
+        return new Match(MATCH_ID, REQUESTER, RECEIVER, StudyMaterialId.of(10L), StudyMaterialId.of(20L),
+                status, createdAt, expiredAt, createdAt);
+    }
+
+    private static Match match(MatchStatus status) {
+        return match(status, LocalDateTime.now().plusHours(12));
+    }
+
+    private void givenStored(Match match) {
+        when(matchRepository.findById(MATCH_ID)).thenReturn(Mono.justOrEmpty(match));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransaction() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void 수락_조건이_맞으면_한_번의_UPDATE로_전이하고_후처리한다() {
+        Match accepted = match(MatchStatus.ACCEPTED);
+        when(matchRepository.acceptIfPending(MATCH_ID, RECEIVER)).thenReturn(Mono.just(accepted));
+
+        StepVerifier.create(matchService.acceptMatch(MATCH_ID, RECEIVER))
+                .expectNext(accepted)
+                .verifyComplete();
+
+        verify(matchRepository, never()).findById(any());
+        verify(matchExpiryScheduler).schedule(accepted);
+        verify(matchInboxCounterService).evict(accepted);
+        verify(materialAccessService).evict(accepted);
+        verify(eventPublisher).publishEvent(any(MatchEvent.class));
+    }
+
+    @Test
+    void 없는_매칭을_수락하면_찾을_수_없음() {
+        when(matchRepository.acceptIfPending(MATCH_ID, RECEIVER)).thenReturn(Mono.empty());
+        givenStored(null);
+
+        StepVerifier.create(matchService.acceptMatch(MATCH_ID, RECEIVER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("찾을 수 없습니다"))
+                .verify();
+    }
+
+    @Test
+    void 받은_사람이_아니면_수락할_권한이_없다() {
+        when(matchRepository.acceptIfPending(MATCH_ID, REQUESTER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.PENDING));
+
+        StepVerifier.create(matchService.acceptMatch(MATCH_ID, REQUESTER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("권한이 없습니다"))
+                .verify();
+        verifyNoInteractions(matchExpiryScheduler, eventPublisher);
+    }
+
+    @Test
+    void 이미_수락된_매칭은_다시_수락할_수_없다() {
+        when(matchRepository.acceptIfPending(MATCH_ID, RECEIVER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.ACCEPTED));
+
+        StepVerifier.create(matchService.acceptMatch(MATCH_ID, RECEIVER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("대기 중인 매칭만 수락"))
+                .verify();
+    }
+
+    @Test
+    void 만료된_매칭은_수락할_수_없다() {
+        when(matchRepository.acceptIfPending(MATCH_ID, RECEIVER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.PENDING, LocalDateTime.now().minusMinutes(1)));
+
+        StepVerifier.create(matchService.acceptMatch(MATCH_ID, RECEIVER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("만료"))
+                .verify();
+    }
+
+    @Test
+    void 수락과_거절이_겹치면_늦은_수락은_거절된_상태를_알린다() {
+        // 다른 기기의 거절이 먼저 커밋돼 조건부 UPDATE가 0행
+        when(matchRepository.acceptIfPending(MATCH_ID, RECEIVER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.REJECTED));
+
+        StepVerifier.create(matchService.acceptMatch(MATCH_ID, RECEIVER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("대기 중인 매칭만 수락"))
+                .verify();
+        verifyNoInteractions(matchExpiryScheduler, matchInboxCounterService, materialAccessService, eventPublisher);
+    }
+
+    @Test
+    void 다시_읽었을_때_조건이_맞으면_동시에_변경된_것으로_알린다() {
+        // UPDATE 시점과 다시 읽은 시점 사이에 상태가 되돌아간 경우 (검증은 통과)
+        when(matchRepository.acceptIfPending(MATCH_ID, RECEIVER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.PENDING));
+
+        StepVerifier.create(matchService.acceptMatch(MATCH_ID, RECEIVER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("이미 변경되었습니다"))
+                .verify();
+    }
+
+    @Test
+    void 받은_사람이_아니면_거절할_권한이_없다() {
+        when(matchRepository.rejectIfPending(MATCH_ID, STRANGER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.PENDING));
+
+        StepVerifier.create(matchService.rejectMatch(MATCH_ID, STRANGER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("거절할 권한이 없습니다"))
+                .verify();
+    }
+
+    @Test
+    void 먼저_수락된_매칭은_거절할_수_없다() {
+        when(matchRepository.rejectIfPending(MATCH_ID, RECEIVER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.ACCEPTED));
+
+        StepVerifier.create(matchService.rejectMatch(MATCH_ID, RECEIVER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("대기 중인 매칭만 거절"))
+                .verify();
+    }
+
+    @Test
+    void 참여자가_아니면_완료할_수_없다() {
+        givenTransaction();
+        when(matchRepository.completeIfAccepted(MATCH_ID, STRANGER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.ACCEPTED));
+
+        StepVerifier.create(matchService.completeMatch(MATCH_ID, STRANGER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("참여자가 아닙니다"))
+                .verify();
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void 수락되지_않은_매칭은_완료할_수_없다() {
+        givenTransaction();
+        when(matchRepository.completeIfAccepted(MATCH_ID, REQUESTER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.PENDING));
+
+        StepVerifier.create(matchService.completeMatch(MATCH_ID, REQUESTER))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("수락된 매칭만 완료"))
+                .verify();
+    }
+
+    @Test
+    void 이미_완료된_매칭을_다시_완료해도_신뢰도는_한_번만_반영된다() {
+        givenTransaction();
+        when(matchRepository.completeIfAccepted(MATCH_ID, RECEIVER)).thenReturn(Mono.empty());
+        givenStored(match(MatchStatus.COMPLETED));
+
+        StepVerifier.create(matchService.completeMatch(MATCH_ID, RECEIVER))
+                .expectError(IllegalStateException.class)
+                .verify();
+        verifyNoInteractions(userService, notificationService, materialAccessService);
+    }
+}
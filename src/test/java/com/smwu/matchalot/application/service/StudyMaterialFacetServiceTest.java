@@ -0,0 +1,118 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.application.event.UserDeletedEvent;
+import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+import com.smwu.matchalot.domain.model.vo.*;
+import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import com.smwu.matchalot.web.dto.StudyMaterialFacetsResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudyMaterialFacetServiceTest {
+
+    private static final Semester SPRING_2025 = Semester.of(2025, Semester.SPRING);
+    private static final Semester FALL_2024 = Semester.of(2024, Semester.FALL);
+    private static final MaterialFacet NETWORK_MIDTERM =
+            MaterialFacet.of(Subject.COMPUTER_NETWORK_1, ExamType.MIDTERM, SPRING_2025);
+    private static final MaterialFacet NETWORK_FINAL_2024 =
+            MaterialFacet.of(Subject.COMPUTER_NETWORK_1, ExamType.FINAL, FALL_2024);
+    private static final MaterialFacet PHILOSOPHY_MIDTERM =
+            MaterialFacet.of(Subject.DIGITAL_PHILOSOPHY, ExamType.MIDTERM, SPRING_2025);
+
+    @Mock
+    private StudyMaterialRepository studyMaterialRepository;
+
+    @InjectMocks
+    private StudyMaterialFacetService facetService;
+
+    @Test
+    void 조합별_건수를_과목_시험유형_학기별로_합산한다() {
+        // given
+        when(studyMaterialRepository.countApprovedByFacet()).thenReturn(Mono.just(Map.of(
+                NETWORK_MIDTERM, 3L,
+                NETWORK_FINAL_2024, 2L,
+                PHILOSOPHY_MIDTERM, 1L)));
+
+        // when
+        facetService.loadCounts();
+        StudyMaterialFacetsResponse facets = facetService.getFacets();
+
+        // then
+        assertThat(facets.total()).isEqualTo(6);
+        // 과목명 순 (디지털철학 < 컴퓨터네트워크Ⅰ), 같은 과목 안에서는 시험 유형 순
+        assertThat(facets.subjects()).containsExactly(
+                Map.entry(Subject.DIGITAL_PHILOSOPHY.name(), 1L),
+                Map.entry(Subject.COMPUTER_NETWORK_1.name(), 5L));
+        assertThat(facets.examTypes()).containsEntry("중간고사", 4L).containsEntry("기말고사", 2L);
+        assertThat(facets.semesters()).containsEntry(SPRING_2025.getDisplayName(), 4L)
+                .containsEntry(FALL_2024.getDisplayName(), 2L);
+        assertThat(facets.facets()).extracting(StudyMaterialFacetsResponse.FacetCount::count)
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void 승인과_삭제를_메모리에서_증감하고_0건_조합은_숨긴다() {
+        when(studyMaterialRepository.countApprovedByFacet()).thenReturn(Mono.just(Map.of(NETWORK_MIDTERM, 1L)));
+        facetService.loadCounts();
+
+        // when
+        facetService.onApproved(material(PHILOSOPHY_MIDTERM, MaterialStatus.APPROVED));
+        facetService.onDeleted(material(NETWORK_MIDTERM, MaterialStatus.APPROVED));
+        // 대기 중 족보 삭제는 집계와 무관
+        facetService.onDeleted(material(PHILOSOPHY_MIDTERM, MaterialStatus.PENDING));
+
+        // then
+        StudyMaterialFacetsResponse facets = facetService.getFacets();
+        assertThat(facets.total()).isEqualTo(1);
+        assertThat(facets.subjects()).containsOnlyKeys(Subject.DIGITAL_PHILOSOPHY.name());
+    }
+
+    @Test
+    void 로드_중_승인은_중복_집계되지_않는다() {
+        // given: 첫 집계가 끝나기 전에 승인이 반영되고, 그 승인이 집계 결과에도 포함된 경우
+        Sinks.One<Map<MaterialFacet, Long>> firstLoad = Sinks.one();
+        when(studyMaterialRepository.countApprovedByFacet())
+                .thenReturn(firstLoad.asMono(), Mono.just(Map.of(NETWORK_MIDTERM, 4L)));
+        facetService.loadCounts();
+        facetService.onApproved(material(NETWORK_MIDTERM, MaterialStatus.APPROVED));
+
+        // when
+        firstLoad.tryEmitValue(Map.of(NETWORK_MIDTERM, 4L));
+
+        // then: 로드 중 변경이 있었으므로 다시 집계해 DB 값으로 맞춤
+        verify(studyMaterialRepository, times(2)).countApprovedByFacet();
+        assertThat(facetService.getFacets().total()).isEqualTo(4);
+    }
+
+    @Test
+    void 사용자_탈퇴_시_다시_집계한다() {
+        when(studyMaterialRepository.countApprovedByFacet())
+                .thenReturn(Mono.just(Map.of(NETWORK_MIDTERM, 3L)), Mono.just(Map.of(NETWORK_MIDTERM, 1L)));
+        facetService.loadCounts();
+
+        // when: 탈퇴한 사용자의 족보 2건이 cascade로 삭제됨
+        facetService.onUserDeleted(new UserDeletedEvent(this, 7L, "gone@sookmyung.ac.kr"));
+
+        // then
+        assertThat(facetService.getFacets().total()).isEqualTo(1);
+    }
+
+    private static StudyMaterial material(MaterialFacet facet, MaterialStatus status) {
+        return new StudyMaterial(UserId.of(1L), "족보", facet.subject(), facet.examType(), facet.semester(),
+                new Questions(List.of(new Question(1, "문제", "정답", "해설"))), status);
+    }
+}
@@ -0,0 +1,102 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+import com.smwu.matchalot.domain.model.vo.*;
+import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudyMaterialPdfAccessTest {
+
+    private static final UserId UPLOADER = UserId.of(1L);
+    private static final UserId MATCHED_USER = UserId.of(2L);
+    private static final UserId STRANGER = UserId.of(3L);
+    private static final StudyMaterialId MATERIAL_ID = StudyMaterialId.of(10L);
+    private static final PdfFile PDF = PdfFile.of("a".repeat(64), 1024);
+
+    @Mock
+    private StudyMaterialRepository studyMaterialRepository;
+
+    @InjectMocks
+    private StudyMaterialService studyMaterialService;
+
+    private StudyMaterial pending;
+
+    @BeforeEach
+    void setUp() {
+        pending = new StudyMaterial(MATERIAL_ID, UPLOADER, "네트워크 중간", Subject.COMPUTER_NETWORK_1,
+                ExamType.MIDTERM, Semester.of(2025, Semester.SPRING),
+                new Questions(List.of(new Question(1, "문제", "정답", "해설"))),
+                MaterialStatus.PENDING, LocalDateTime.now(), PDF);
+    }
+
+    @Test
+    void 승인해도_PDF_참조가_남는다() {
+        StudyMaterial approved = pending.approve();
+
+        assertThat(approved.hasPdf()).isTrue();
+        assertThat(approved.getPdfFile()).isEqualTo(PDF);
+    }
+
+    @Test
+    void 업로더는_승인된_족보의_PDF를_받을_수_있다() {
+        when(studyMaterialRepository.findById(MATERIAL_ID)).thenReturn(Mono.just(pending.approve()));
+
+        StepVerifier.create(studyMaterialService.getStudyMaterialForPdf(MATERIAL_ID, access(UPLOADER)))
+                .assertNext(material -> assertThat(material.getPdfFile()).isEqualTo(PDF))
+                .verifyComplete();
+    }
+
+    @Test
+    void 매칭한_이용자는_승인된_족보의_PDF를_받을_수_있다() {
+        when(studyMaterialRepository.findById(MATERIAL_ID)).thenReturn(Mono.just(pending.approve()));
+
+        StepVerifier.create(studyMaterialService.getStudyMaterialForPdf(MATERIAL_ID, access(MATCHED_USER, MATERIAL_ID.value())))
+                .assertNext(material -> assertThat(material.hasPdf()).isTrue())
+                .verifyComplete();
+    }
+
+    @Test
+    void 업로더는_승인_대기_중인_본인_족보의_PDF도_받을_수_있다() {
+        when(studyMaterialRepository.findById(MATERIAL_ID)).thenReturn(Mono.just(pending));
+
+        StepVerifier.create(studyMaterialService.getStudyMaterialForPdf(MATERIAL_ID, access(UPLOADER)))
+                .expectNext(pending)
+                .verifyComplete();
+    }
+
+    @Test
+    void 매칭하지_않은_이용자는_거부된다() {
+        when(studyMaterialRepository.findById(MATERIAL_ID)).thenReturn(Mono.just(pending.approve()));
+
+        StepVerifier.create(studyMaterialService.getStudyMaterialForPdf(MATERIAL_ID, access(STRANGER)))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void 승인_대기_족보는_업로더가_아니면_없는_것으로_본다() {
+        when(studyMaterialRepository.findById(MATERIAL_ID)).thenReturn(Mono.just(pending));
+
+        StepVerifier.create(studyMaterialService.getStudyMaterialForPdf(MATERIAL_ID, access(MATCHED_USER, MATERIAL_ID.value())))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private static MaterialAccess access(UserId userId, long... matchedMaterialIds) {
+        return new MaterialAccess(userId, false, matchedMaterialIds);
+    }
+}
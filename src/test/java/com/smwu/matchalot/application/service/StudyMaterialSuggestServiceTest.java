@@ -0,0 +1,103 @@
+package com.smwu.matchalot.application.service;
+
+import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+import com.smwu.matchalot.domain.model.vo.*;
+import com.smwu.matchalot.domain.repository.StudyMaterialRepository;
+import com.smwu.matchalot.web.dto.StudyMaterialSuggestion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudyMaterialSuggestServiceTest {
+
+    private static final String NETWORK = "컴퓨터네트워크";
+
+    @Mock
+    private StudyMaterialRepository studyMaterialRepository;
+
+    private StudyMaterialSuggestService suggestService;
+
+    @BeforeEach
+    void setUp() {
+        suggestService = new StudyMaterialSuggestService(studyMaterialRepository, new SimpleMeterRegistry(),
+                10_000, DataSize.ofMegabytes(8));
+    }
+
+    private static StudyMaterial approved(long id, String title) {
+        return new StudyMaterial(StudyMaterialId.of(id), UserId.of(1L), title, Subject.of(NETWORK), ExamType.MIDTERM,
+                Semester.of(2025, Semester.SPRING), new Questions(List.of(new Question(1, "문제", "정답", null))),
+                MaterialStatus.APPROVED, LocalDateTime.now(), null);
+    }
+
+    private List<Long> suggestedIds(String query) {
+        return suggestService.suggest(query, 10).materials().stream()
+                .map(StudyMaterialSuggestion::id)
+                .toList();
+    }
+
+    @Test
+    void 과목명으로도_족보를_찾고_과목을_제안한다() {
+        suggestService.index(approved(1L, "중간고사 정리"));
+
+        assertThat(suggestedIds("네트워크")).containsExactly(1L);
+        assertThat(suggestService.suggest("네트워크", 10).subjects()).containsExactly(NETWORK);
+    }
+
+    @Test
+    void 마지막_족보가_빠지면_과목_제안도_빠진다() {
+        suggestService.index(approved(1L, "중간고사 정리"));
+        suggestService.index(approved(2L, "기말고사 정리"));
+
+        suggestService.remove(StudyMaterialId.of(1L));
+        assertThat(suggestService.suggest("네트워크", 10).subjects()).containsExactly(NETWORK);
+
+        suggestService.remove(StudyMaterialId.of(2L));
+        assertThat(suggestService.suggest("네트워크", 10).subjects()).isEmpty();
+    }
+
+    @Test
+    void 다시_로드하는_동안에는_기존_색인으로_답하고_그사이_변경은_새_색인에도_반영한다() {
+        suggestService.index(approved(1L, "중간고사 정리"));
+        suggestService.index(approved(2L, "기말고사 정리"));
+        Sinks.Many<StudyMaterialSuggestion> rows = Sinks.many().unicast().onBackpressureBuffer();
+        when(studyMaterialRepository.findApprovedSuggestions()).thenReturn(rows.asFlux());
+
+        suggestService.loadApprovedMaterials();
+        // 로드 쿼리는 1, 2를 읽었고 그 뒤 2가 삭제되고 3이 승인됨
+        rows.tryEmitNext(new StudyMaterialSuggestion(1L, "중간고사 정리", NETWORK, "중간고사"));
+        rows.tryEmitNext(new StudyMaterialSuggestion(2L, "기말고사 정리", NETWORK, "기말고사"));
+        suggestService.remove(StudyMaterialId.of(2L));
+        suggestService.index(approved(3L, "퀴즈 정리"));
+
+        // 로드 중에도 기존 색인에 바로 반영되어 검색됨
+        assertThat(suggestedIds("정리")).containsExactlyInAnyOrder(1L, 3L);
+
+        rows.tryEmitComplete();
+
+        assertThat(suggestedIds("정리")).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void 로드가_실패하면_기존_색인을_유지한다() {
+        suggestService.index(approved(1L, "중간고사 정리"));
+        when(studyMaterialRepository.findApprovedSuggestions())
+                .thenReturn(Flux.error(new IllegalStateException("DB 연결 실패")));
+
+        suggestService.loadApprovedMaterials();
+
+        assertThat(suggestedIds("정리")).containsExactly(1L);
+    }
+}
@@ -0,0 +1,166 @@
+package com.smwu.matchalot.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestIndexTest {
+
+    private final SuggestIndex<Long, String> index = new SuggestIndex<>(10_000, 64L * 1024 * 1024);
+
+    private void put(long key, String text) {
+        assertThat(index.put(key, text, text)).isTrue();
+    }
+
+    @Test
+    void 검색어로_시작하는_항목과_중간에_포함한_항목을_모두_찾는다() {
+        put(1L, "컴퓨터네트워크 중간");
+        put(2L, "2024 컴퓨터네트워크 기말");
+        put(3L, "디지털철학 중간");
+
+        assertThat(index.search("컴퓨터", 10)).containsExactly("컴퓨터네트워크 중간", "2024 컴퓨터네트워크 기말");
+        assertThat(index.search("네트워크", 10)).hasSize(2);
+        assertThat(index.search("철학", 10)).containsExactly("디지털철학 중간");
+    }
+
+    @Test
+    void 한_글자_검색은_1_gram으로_찾는다() {
+        put(1L, "철학");
+        put(2L, "문학");
+
+        assertThat(index.search("학", 10)).containsExactlyInAnyOrder("철학", "문학");
+        assertThat(index.search("철", 10)).containsExactly("철학");
+    }
+
+    @Test
+    void 공백과_대소문자를_무시한다() {
+        put(1L, "Computer Network");
+
+        assertThat(index.search("computernet", 10)).containsExactly("Computer Network");
+        assertThat(index.search("WORK", 10)).containsExactly("Computer Network");
+    }
+
+    @Test
+    void 글자_쌍이_모두_있어도_연속으로_포함하지_않으면_제외한다() {
+        // "네트", "트워", "워크"를 모두 가지지만 "네트워크"는 없음
+        put(1L, "네트 트워 워크");
+
+        assertThat(index.search("네트워크", 10)).isEmpty();
+    }
+
+    @Test
+    void 검색어로_시작하는_항목을_먼저_그다음_짧은_순으로_정렬한다() {
+        put(1L, "족보 네트워크 기말 2024");
+        put(2L, "네트워크 기말 2024");
+        put(3L, "족보 네트워크");
+        put(4L, "네트워크");
+
+        assertThat(index.search("네트워크", 10))
+                .containsExactly("네트워크", "네트워크 기말 2024", "족보 네트워크", "족보 네트워크 기말 2024");
+        assertThat(index.search("네트워크", 2)).containsExactly("네트워크", "네트워크 기말 2024");
+    }
+
+    @Test
+    void 지운_항목은_더_이상_찾지_않고_빈_posting도_정리한다() {
+        put(1L, "컴퓨터네트워크");
+        put(2L, "컴퓨터수학");
+        long before = index.estimatedBytes();
+
+        assertThat(index.remove(1L)).isEqualTo("컴퓨터네트워크");
+        assertThat(index.remove(1L)).isNull();
+
+        assertThat(index.search("네트", 10)).isEmpty();
+        assertThat(index.search("컴퓨터", 10)).containsExactly("컴퓨터수학");
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.estimatedBytes()).isLessThan(before);
+    }
+
+    @Test
+    void 같은_키로_다시_넣으면_교체한다() {
+        put(1L, "네트워크 중간");
+        put(1L, "철학 기말");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("네트워크", 10)).isEmpty();
+        assertThat(index.search("철학", 10)).containsExactly("철학 기말");
+    }
+
+    @Test
+    void 한도를_넘으면_추가하지_않는다() {
+        SuggestIndex<Long, String> small = new SuggestIndex<>(2, 64L * 1024 * 1024);
+
+        assertThat(small.put(1L, "네트워크", "네트워크")).isTrue();
+        assertThat(small.put(2L, "철학", "철학")).isTrue();
+        assertThat(small.put(3L, "수학", "수학")).isFalse();
+        assertThat(small.rejectedCount()).isEqualTo(1);
+        // 기존 키 교체는 한도 안
+        assertThat(small.put(2L, "문학", "문학")).isTrue();
+    }
+
+    @Test
+    void 삭제가_많아_압축해도_검색_결과는_그대로다() {
+        for (long key = 0; key < 3_000; key++) {
+            put(key, (key % 2 == 0 ? "네트워크 " : "철학 ") + key);
+        }
+        for (long key = 0; key < 2_000; key++) {
+            index.remove(key);
+        }
+        // 다음 추가에서 빈 슬롯이 절반을 넘어 압축됨
+        put(5_000L, "네트워크 5000");
+
+        assertThat(index.size()).isEqualTo(1_001);
+        assertThat(index.search("네트워크5000", 10)).containsExactly("네트워크 5000");
+        assertThat(index.search("철학2999", 10)).containsExactly("철학 2999");
+        assertThat(index.search("철학1999", 10)).isEmpty();
+    }
+
+    @Test
+    void 검색하는_동안_갱신과_압축이_일어나도_검색어를_포함한_항목만_돌려준다() throws Exception {
+        for (long key = 0; key < 2_000; key++) {
+            put(key, "네트워크 " + key);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            // 지우고 다시 넣기를 반복해 빈 슬롯이 쌓이고 압축이 여러 번 일어나게 함
+            Future<?> writer = executor.submit(() -> {
+                for (int round = 0; round < 20; round++) {
+                    for (long key = 0; key < 1_500; key++) {
+                        index.remove(key);
+                    }
+                    for (long key = 0; key < 1_500; key++) {
+                        index.put(key, "철학 " + round + " " + key, "철학 " + round + " " + key);
+                    }
+                }
+                running.set(false);
+            });
+            List<Future<?>> readers = List.of(
+                    executor.submit(() -> assertConsistentWhile(running, "네트워크")),
+                    executor.submit(() -> assertConsistentWhile(running, "철학")));
+
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertThat(index.size()).isEqualTo(2_000);
+        assertThat(index.search("네트워크", 1_000)).hasSize(500);
+    }
+
+    private void assertConsistentWhile(AtomicBoolean running, String query) {
+        while (running.get()) {
+            assertThat(index.search(query, 50)).allSatisfy(text -> assertThat(text).contains(query));
+        }
+    }
+}
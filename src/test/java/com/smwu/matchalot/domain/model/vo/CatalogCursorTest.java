@@ -0,0 +1,62 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogCursorTest {
+
+    @Test
+    void 인코딩한_커서를_그대로_복원한다() {
+        // given: 나노초까지 있는 시각 (DB timestamp 정밀도)
+        CatalogCursor cursor = CatalogCursor.of(LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000), 42L);
+
+        // when
+        CatalogCursor decoded = CatalogCursor.decode(cursor.encode());
+
+        // then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void 초가_0인_시각도_복원한다() {
+        // LocalDateTime.toString()은 초가 0이면 "2025-03-01T00:00"처럼 초를 생략함
+        CatalogCursor cursor = CatalogCursor.of(LocalDateTime.of(2025, 3, 1, 0, 0), 1L);
+
+        assertThat(CatalogCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void 인코딩_결과는_URL에_그대로_쓸_수_있다() {
+        String encoded = CatalogCursor.of(LocalDateTime.of(2025, 9, 1, 12, 0, 1), Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void 비어있는_커서는_첫_페이지로_본다() {
+        assertThat(CatalogCursor.decode(null)).isNull();
+        assertThat(CatalogCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void 잘못된_커서는_IllegalArgumentException() {
+        assertThatThrownBy(() -> CatalogCursor.decode("!!not-base64!!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CatalogCursor.decode(encodeRaw("2025-03-01T00:00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CatalogCursor.decode(encodeRaw("not-a-date|1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CatalogCursor.decode(encodeRaw("2025-03-01T00:00|abc")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
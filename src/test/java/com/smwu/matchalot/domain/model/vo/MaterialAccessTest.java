@@ -0,0 +1,63 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MaterialAccessTest {
+
+    private static final UserId UPLOADER = UserId.of(1L);
+    private static final UserId VIEWER = UserId.of(2L);
+
+    private static StudyMaterial material(long id) {
+        return new StudyMaterial(StudyMaterialId.of(id), UPLOADER, "네트워크 중간", Subject.COMPUTER_NETWORK_1,
+                ExamType.MIDTERM, Semester.of(2025, Semester.SPRING),
+                new Questions(List.of(new Question(1, "문제", "정답", "해설"))),
+                MaterialStatus.APPROVED, LocalDateTime.now(), null);
+    }
+
+    @Test
+    void 관리자는_모든_족보를_열람할_수_있다() {
+        MaterialAccess admin = new MaterialAccess(VIEWER, true, new long[0]);
+
+        assertThat(admin.canViewFull(material(10L))).isTrue();
+    }
+
+    @Test
+    void 업로더는_매칭_없이도_본인_족보를_열람할_수_있다() {
+        MaterialAccess uploader = new MaterialAccess(UPLOADER, false, new long[0]);
+
+        assertThat(uploader.canViewFull(material(10L))).isTrue();
+    }
+
+    @Test
+    void 매칭으로_열람_가능한_족보만_열람할_수_있다() {
+        MaterialAccess viewer = new MaterialAccess(VIEWER, false, new long[]{3L, 10L, 42L});
+
+        assertThat(viewer.canViewFull(material(3L))).isTrue();
+        assertThat(viewer.canViewFull(material(10L))).isTrue();
+        assertThat(viewer.canViewFull(material(42L))).isTrue();
+        assertThat(viewer.canViewFull(material(1L))).isFalse();
+        assertThat(viewer.canViewFull(material(11L))).isFalse();
+        assertThat(viewer.canViewFull(material(100L))).isFalse();
+    }
+
+    @Test
+    void 매칭한_족보가_없으면_남의_족보는_열람할_수_없다() {
+        MaterialAccess viewer = new MaterialAccess(VIEWER, false, new long[0]);
+
+        assertThat(viewer.canViewFull(material(10L))).isFalse();
+    }
+
+    @Test
+    void 족보를_읽기_전에_매칭_여부만_확인할_수_있다() {
+        MaterialAccess viewer = new MaterialAccess(VIEWER, false, new long[]{3L, 10L});
+
+        assertThat(viewer.hasMatched(StudyMaterialId.of(10L))).isTrue();
+        assertThat(viewer.hasMatched(StudyMaterialId.of(4L))).isFalse();
+    }
+}
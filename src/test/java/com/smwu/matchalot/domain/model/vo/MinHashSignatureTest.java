@@ -0,0 +1,91 @@
+package com.smwu.matchalot.domain.model.vo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MinHashSignatureTest {
+
+    private static final String NETWORK_QUESTION =
+            "TCP 3-way handshake 과정에서 SYN, SYN-ACK, ACK 패킷이 오가는 순서와 각 단계의 시퀀스 번호 변화를 설명하시오.";
+    private static final String PHILOSOPHY_QUESTION =
+            "칸트의 정언명령이 결과주의 윤리와 구별되는 지점을 디지털 환경의 개인정보 문제에 적용해 논하시오.";
+
+    private static Questions questions(String... contents) {
+        return new Questions(IntStream.range(0, contents.length)
+                .mapToObj(i -> Question.of(i + 1, contents[i], "답", "해설"))
+                .toList());
+    }
+
+    private static boolean sharesBand(MinHashSignature a, MinHashSignature b) {
+        return IntStream.range(0, MinHashSignature.BANDS).anyMatch(band -> a.bandKey(band) == b.bandKey(band));
+    }
+
+    @Test
+    void 같은_내용이면_서명과_모든_band_키가_같다() {
+        MinHashSignature first = MinHashSignature.of(questions(NETWORK_QUESTION));
+        MinHashSignature second = MinHashSignature.of(questions(NETWORK_QUESTION));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.similarity(second)).isEqualTo(1.0);
+        IntStream.range(0, MinHashSignature.BANDS)
+                .forEach(band -> assertThat(first.bandKey(band)).isEqualTo(second.bandKey(band)));
+    }
+
+    @Test
+    void 공백_문장부호_대소문자_전각_차이는_무시한다() {
+        MinHashSignature original = MinHashSignature.of(questions(NETWORK_QUESTION));
+        MinHashSignature reformatted = MinHashSignature.of(questions(
+                "tcp  3 way handshake 과정에서 syn/syn-ack/ack 패킷이 오가는 순서와, 각 단계의 시퀀스 번호 변화를 설명하시오!"));
+        MinHashSignature fullWidth = MinHashSignature.of(questions(NETWORK_QUESTION.replace("TCP", "ＴＣＰ")));
+
+        assertThat(reformatted.similarity(original)).isEqualTo(1.0);
+        assertThat(fullWidth.similarity(original)).isEqualTo(1.0);
+    }
+
+    @Test
+    void 일부만_고친_족보는_높은_유사도로_같은_band_버킷에_걸린다() {
+        MinHashSignature original = MinHashSignature.of(questions(NETWORK_QUESTION, PHILOSOPHY_QUESTION));
+        MinHashSignature edited = MinHashSignature.of(questions(
+                NETWORK_QUESTION, PHILOSOPHY_QUESTION.replace("논하시오", "서술하시오")));
+
+        assertThat(edited.similarity(original)).isGreaterThan(0.8);
+        assertThat(sharesBand(edited, original)).isTrue();
+    }
+
+    @Test
+    void 다른_내용은_유사도가_낮고_band_버킷을_공유하지_않는다() {
+        MinHashSignature network = MinHashSignature.of(questions(NETWORK_QUESTION));
+        MinHashSignature philosophy = MinHashSignature.of(questions(PHILOSOPHY_QUESTION));
+
+        assertThat(network.similarity(philosophy)).isLessThan(0.2);
+        assertThat(sharesBand(network, philosophy)).isFalse();
+    }
+
+    @Test
+    void 정규화_후_글자가_없으면_빈_서명이다() {
+        MinHashSignature symbolsOnly = MinHashSignature.of(questions("?!", "— … ·"));
+
+        assertThat(symbolsOnly.isEmpty()).isTrue();
+        assertThat(MinHashSignature.of(questions(NETWORK_QUESTION)).isEmpty()).isFalse();
+    }
+
+    @Test
+    void 저장한_값으로_복원한_서명은_원본과_호환된다() {
+        MinHashSignature original = MinHashSignature.of(questions(NETWORK_QUESTION));
+
+        MinHashSignature restored = MinHashSignature.of(original.values());
+
+        assertThat(restored).isEqualTo(original);
+        assertThat(restored.bandKey(0)).isEqualTo(original.bandKey(0));
+    }
+
+    @Test
+    void 서명_길이가_다르면_생성할_수_없다() {
+        assertThatThrownBy(() -> MinHashSignature.of(new int[MinHashSignature.NUM_HASHES - 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,212 @@
+package com.smwu.matchalot.infrastructure.cache;
+
+import com.smwu.matchalot.application.event.StudyMaterialChangedEvent;
+import com.smwu.matchalot.application.event.SubjectRenamedEvent;
+import com.smwu.matchalot.application.event.TrustScoreChangedEvent;
+import com.smwu.matchalot.application.event.UserDeletedEvent;
+import com.smwu.matchalot.infrastructure.cache.CatalogCache.CatalogKey;
+import com.smwu.matchalot.web.dto.StudyMaterialSummaryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogCacheTest {
+
+    private static final String NETWORK = "컴퓨터네트워크1";
+    private static final String PHILOSOPHY = "철학";
+
+    private final CatalogCache cache = new CatalogCache(new SimpleMeterRegistry(), 20_000);
+    private final Map<CatalogKey, AtomicInteger> loads = new HashMap<>();
+
+    private static CatalogKey page(String subject, String examType) {
+        return new CatalogKey("page", subject, examType, null, 20);
+    }
+
+    private static StudyMaterialSummaryResponse row(long id, long uploaderId, String subject) {
+        return new StudyMaterialSummaryResponse(id, uploaderId, subject, "중간고사", "2025년 1학기", "족보 " + id,
+                10, 50, LocalDateTime.now(), false, null);
+    }
+
+    // 캐시 미스일 때만 loader가 불리므로 키별 호출 수로 조회/재조회를 구분
+    private List<StudyMaterialSummaryResponse> get(CatalogKey key, StudyMaterialSummaryResponse... rows) {
+        return cache.get(key, () -> {
+                    loads.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                    return Flux.just(rows);
+                })
+                .collectList()
+                .block();
+    }
+
+    private int loadsOf(CatalogKey key) {
+        return loads.getOrDefault(key, new AtomicInteger()).get();
+    }
+
+    private static StudyMaterialChangedEvent approved(String subject, String examType) {
+        return new StudyMaterialChangedEvent(new Object(), 100L, 1L, subject, examType, "APPROVED", true);
+    }
+
+    @Test
+    void 같은_키는_한_번만_조회한다() {
+        CatalogKey key = page(NETWORK, null);
+
+        get(key, row(1, 1, NETWORK));
+        List<StudyMaterialSummaryResponse> cached = get(key, row(1, 1, NETWORK));
+
+        assertThat(cached).extracting(StudyMaterialSummaryResponse::id).containsExactly(1L);
+        assertThat(loadsOf(key)).isEqualTo(1);
+    }
+
+    @Test
+    void 족보가_바뀌면_그_과목과_시험_유형을_포함하는_키만_무효화한다() {
+        CatalogKey all = page(null, null);
+        CatalogKey network = page(NETWORK, null);
+        CatalogKey networkMidterm = page(NETWORK, "중간고사");
+        CatalogKey networkFinal = page(NETWORK, "기말고사");
+        CatalogKey philosophy = page(PHILOSOPHY, null);
+        List<CatalogKey> keys = List.of(all, network, networkMidterm, networkFinal, philosophy);
+        keys.forEach(key -> get(key, row(1, 1, NETWORK)));
+
+        cache.onStudyMaterialChanged(approved(NETWORK, "중간고사"));
+        keys.forEach(key -> get(key, row(1, 1, NETWORK)));
+
+        assertThat(loadsOf(all)).isEqualTo(2);
+        assertThat(loadsOf(network)).isEqualTo(2);
+        assertThat(loadsOf(networkMidterm)).isEqualTo(2);
+        assertThat(loadsOf(networkFinal)).isEqualTo(1);
+        assertThat(loadsOf(philosophy)).isEqualTo(1);
+    }
+
+    @Test
+    void 승인_목록이_그대로인_변경은_무효화하지_않는다() {
+        CatalogKey key = page(NETWORK, null);
+        get(key, row(1, 1, NETWORK));
+
+        cache.onStudyMaterialChanged(
+                new StudyMaterialChangedEvent(new Object(), 100L, 1L, NETWORK, "중간고사", "UPLOADED", false));
+        get(key, row(1, 1, NETWORK));
+
+        assertThat(loadsOf(key)).isEqualTo(1);
+    }
+
+    @Test
+    void 조회_도중_무효화되면_그_결과는_저장하지_않는다() {
+        CatalogKey key = page(NETWORK, null);
+        Sinks.One<StudyMaterialSummaryResponse> slowQuery = Sinks.one();
+        AtomicInteger slowLoads = new AtomicInteger();
+        Flux<StudyMaterialSummaryResponse> inFlight = cache.get(key, () -> {
+            slowLoads.incrementAndGet();
+            return slowQuery.asMono().flux();
+        });
+        List<StudyMaterialSummaryResponse> result = new ArrayList<>();
+        inFlight.subscribe(result::add);
+
+        // 쿼리가 옛 목록을 읽은 뒤 승인 이벤트가 먼저 처리됨
+        cache.onStudyMaterialChanged(approved(NETWORK, "중간고사"));
+        slowQuery.tryEmitValue(row(1, 1, NETWORK));
+
+        assertThat(result).extracting(StudyMaterialSummaryResponse::id).containsExactly(1L);
+        assertThat(slowLoads).hasValue(1);
+        List<StudyMaterialSummaryResponse> reloaded = get(key, row(1, 1, NETWORK), row(2, 2, NETWORK));
+        assertThat(reloaded).hasSize(2);
+        assertThat(loadsOf(key)).isEqualTo(1);
+    }
+
+    @Test
+    void 동시에_미스한_같은_키는_쿼리_하나를_공유한다() {
+        CatalogKey key = page(NETWORK, null);
+        Sinks.One<StudyMaterialSummaryResponse> query = Sinks.one();
+        AtomicInteger queries = new AtomicInteger();
+        List<StudyMaterialSummaryResponse> first = new ArrayList<>();
+        List<StudyMaterialSummaryResponse> second = new ArrayList<>();
+
+        cache.get(key, () -> {
+            queries.incrementAndGet();
+            return query.asMono().flux();
+        }).subscribe(first::add);
+        cache.get(key, () -> {
+            queries.incrementAndGet();
+            return query.asMono().flux();
+        }).subscribe(second::add);
+        query.tryEmitValue(row(1, 1, NETWORK));
+
+        assertThat(queries).hasValue(1);
+        assertThat(first).isEqualTo(second).hasSize(1);
+    }
+
+    @Test
+    void 신뢰도가_바뀌면_그_업로더의_행을_가진_키만_무효화한다() {
+        CatalogKey network = page(NETWORK, null);
+        CatalogKey philosophy = page(PHILOSOPHY, null);
+        get(network, row(1, 7, NETWORK), row(2, 8, NETWORK));
+        get(philosophy, row(3, 8, PHILOSOPHY));
+
+        cache.onTrustScoreChanged(new TrustScoreChangedEvent(new Object(), 7L, 80));
+        get(network, row(1, 7, NETWORK), row(2, 8, NETWORK));
+        get(philosophy, row(3, 8, PHILOSOPHY));
+
+        assertThat(loadsOf(network)).isEqualTo(2);
+        assertThat(loadsOf(philosophy)).isEqualTo(1);
+    }
+
+    @Test
+    void 탈퇴한_업로더의_행을_가진_키를_무효화한다() {
+        CatalogKey network = page(NETWORK, null);
+        CatalogKey philosophy = page(PHILOSOPHY, null);
+        get(network, row(1, 7, NETWORK));
+        get(philosophy, row(3, 8, PHILOSOPHY));
+
+        cache.onUserDeleted(new UserDeletedEvent(new Object(), 7L, "gone@sookmyung.ac.kr"));
+        get(network);
+        get(philosophy, row(3, 8, PHILOSOPHY));
+
+        assertThat(loadsOf(network)).isEqualTo(2);
+        assertThat(loadsOf(philosophy)).isEqualTo(1);
+    }
+
+    @Test
+    void 과목명이_바뀌면_모두_무효화한다() {
+        CatalogKey network = page(NETWORK, null);
+        CatalogKey philosophy = page(PHILOSOPHY, null);
+        get(network, row(1, 7, NETWORK));
+        get(philosophy, row(3, 8, PHILOSOPHY));
+
+        cache.onSubjectRenamed(new SubjectRenamedEvent(new Object(), Map.of(NETWORK, "컴퓨터네트워크")));
+        get(network, row(1, 7, NETWORK));
+        get(philosophy, row(3, 8, PHILOSOPHY));
+
+        assertThat(loadsOf(network)).isEqualTo(2);
+        assertThat(loadsOf(philosophy)).isEqualTo(2);
+    }
+
+    @Test
+    void 용량을_넘으면_오래_안_쓴_키부터_밀어낸다() {
+        CatalogCache small = new CatalogCache(new SimpleMeterRegistry(), 4);
+        CatalogKey older = page(NETWORK, null);
+        CatalogKey newer = page(PHILOSOPHY, null);
+        CatalogKey latest = page(null, null);
+        AtomicInteger olderLoads = new AtomicInteger();
+
+        small.get(older, () -> {
+            olderLoads.incrementAndGet();
+            return Flux.just(row(1, 1, NETWORK), row(2, 1, NETWORK));
+        }).blockLast();
+        small.get(newer, () -> Flux.just(row(3, 1, PHILOSOPHY), row(4, 1, PHILOSOPHY))).blockLast();
+        small.get(latest, () -> Flux.just(row(5, 1, NETWORK))).blockLast();
+        small.get(older, () -> {
+            olderLoads.incrementAndGet();
+            return Flux.just(row(1, 1, NETWORK), row(2, 1, NETWORK));
+        }).blockLast();
+
+        assertThat(olderLoads).hasValue(2);
+    }
+}
@@ -0,0 +1,58 @@
+package com.smwu.matchalot.infrastructure.persistence.repository;
+
+import com.smwu.matchalot.infrastructure.persistence.repository.MatchPartitionMaintainer.PartitionStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MatchPartitionHealthIndicatorTest {
+
+    @Mock
+    private MatchPartitionMaintainer maintainer;
+
+    @InjectMocks
+    private MatchPartitionHealthIndicator healthIndicator;
+
+    private Health health(PartitionStatus status) {
+        when(maintainer.partitionStatus()).thenReturn(status);
+        return healthIndicator.health().block();
+    }
+
+    @Test
+    void 앞으로의_학기_파티션이_있으면_UP() {
+        Health health = health(new PartitionStatus(LocalDateTime.now().plusMonths(12), null));
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsKey("coveredUntil");
+    }
+
+    @Test
+    void 파티션_생성이_실패하면_DOWN() {
+        Health health = health(new PartitionStatus(LocalDateTime.now().plusMonths(12), "permission denied"));
+
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsEntry("error", "permission denied");
+    }
+
+    @Test
+    void 이번_학기_파티션이_없으면_DOWN() {
+        Health health = health(new PartitionStatus(LocalDateTime.now().minusDays(1), null));
+
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+    }
+
+    @Test
+    void 첫_확인_전에는_UNKNOWN() {
+        assertThat(health(new PartitionStatus(null, null)).getStatus()).isEqualTo(Status.UNKNOWN);
+    }
+}
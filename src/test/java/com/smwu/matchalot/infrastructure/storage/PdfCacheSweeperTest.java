@@ -0,0 +1,83 @@
+package com.smwu.matchalot.infrastructure.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfCacheSweeperTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T00:00:00Z");
+    private static final Duration MAX_AGE = Duration.ofDays(7);
+
+    @TempDir
+    Path cacheDir;
+
+    private Path cached(String name, int size, Duration unusedFor) throws IOException {
+        Path path = Files.write(cacheDir.resolve(name), new byte[size]);
+        Files.setLastModifiedTime(path, FileTime.from(NOW.minus(unusedFor)));
+        return path;
+    }
+
+    @Test
+    void 오래_안_쓴_파일은_용량이_남아도_지운다() throws Exception {
+        Path old = cached("a.pdf", 10, MAX_AGE.plusHours(1));
+        Path recent = cached("b.pdf", 10, Duration.ofHours(1));
+
+        int removed = PdfCacheSweeper.sweep(cacheDir, 1_000, MAX_AGE, NOW);
+
+        assertThat(removed).isEqualTo(1);
+        assertThat(old).doesNotExist();
+        assertThat(recent).exists();
+    }
+
+    @Test
+    void 용량을_넘으면_오래_안_쓴_파일부터_상한_아래로_지운다() throws Exception {
+        Path oldest = cached("a.pdf", 40, Duration.ofHours(3));
+        Path older = cached("b.pdf", 40, Duration.ofHours(2));
+        Path newest = cached("c.pdf", 40, Duration.ofHours(1));
+
+        PdfCacheSweeper.sweep(cacheDir, 100, MAX_AGE, NOW);
+
+        assertThat(oldest).doesNotExist();
+        assertThat(older).exists();
+        assertThat(newest).exists();
+    }
+
+    @Test
+    void 내려받는_중인_임시_파일은_용량_계산에서_빼고_오래되면_지운다() throws Exception {
+        Path downloading = cached("a.pdf123.tmp", 500, Duration.ofMinutes(1));
+        Path abandoned = cached("b.pdf456.tmp", 500, MAX_AGE.plusHours(1));
+        Path pdf = cached("c.pdf", 40, Duration.ofHours(1));
+
+        PdfCacheSweeper.sweep(cacheDir, 100, MAX_AGE, NOW);
+
+        assertThat(downloading).exists();
+        assertThat(abandoned).doesNotExist();
+        assertThat(pdf).exists();
+    }
+
+    @Test
+    void 사용하면_정리_순서가_뒤로_밀린다() throws Exception {
+        Path used = cached("a.pdf", 60, Duration.ofHours(3));
+        Path unused = cached("b.pdf", 60, Duration.ofHours(2));
+
+        PdfCacheSweeper.touch(used);
+        PdfCacheSweeper.sweep(cacheDir, 100, Duration.ofDays(36_500), Instant.now());
+
+        assertThat(used).exists();
+        assertThat(unused).doesNotExist();
+    }
+
+    @Test
+    void 캐시_디렉터리가_없으면_아무것도_하지_않는다() throws Exception {
+        assertThat(PdfCacheSweeper.sweep(cacheDir.resolve("missing"), 100, MAX_AGE, NOW)).isZero();
+    }
+}
@@ -0,0 +1,117 @@
+package com.smwu.matchalot.infrastructure.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfSpoolerTest {
+
+    private static final long MAX_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private static DataBuffer buffer(String content) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private long spooledFiles() throws IOException {
+        if (!Files.exists(tempDir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    // 임시 파일 삭제는 boundedElastic에서 돌므로 잠시 기다림
+    private void awaitNoSpooledFiles() throws Exception {
+        for (int i = 0; i < 50 && spooledFiles() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(spooledFiles()).isZero();
+    }
+
+    @Test
+    void 받은_내용의_해시와_크기를_넘기고_끝나면_임시_파일을_지운다() throws Exception {
+        Flux<DataBuffer> content = Flux.just(buffer("%PDF-1.4\n"), buffer("body"));
+
+        StepVerifier.create(PdfSpooler.spool(content, MAX_BYTES, tempDir, spooled -> {
+                    assertThat(spooled.path()).exists();
+                    return Mono.just(spooled.pdfFile());
+                }))
+                .assertNext(pdfFile -> {
+                    assertThat(pdfFile.size()).isEqualTo(13);
+                    assertThat(pdfFile.sha256()).hasSize(64);
+                })
+                .verifyComplete();
+
+        awaitNoSpooledFiles();
+    }
+
+    @Test
+    void PDF가_아니면_거부하고_임시_파일을_지운다() throws Exception {
+        StepVerifier.create(PdfSpooler.spool(Flux.just(buffer("hello")), MAX_BYTES, tempDir, spooled -> Mono.just(spooled)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        awaitNoSpooledFiles();
+    }
+
+    @Test
+    void 최대_크기를_넘으면_거부하고_임시_파일을_지운다() throws Exception {
+        Flux<DataBuffer> content = Flux.just(buffer("%PDF-"), buffer("x".repeat(32)));
+
+        StepVerifier.create(PdfSpooler.spool(content, 16, tempDir, spooled -> Mono.just(spooled)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        awaitNoSpooledFiles();
+    }
+
+    @Test
+    void 받는_도중_취소되면_임시_파일을_지운다() throws Exception {
+        // 첫 조각만 오고 끊기지 않는 업로드 (모바일 연결 끊김)
+        Flux<DataBuffer> content = Flux.concat(Flux.just(buffer("%PDF-1.4\n")), Flux.never());
+
+        StepVerifier.create(PdfSpooler.spool(content, MAX_BYTES, tempDir, spooled -> Mono.just(spooled)))
+                .thenAwait(Duration.ofMillis(200))
+                .then(() -> assertThat(uncheckedSpooledFiles()).isEqualTo(1))
+                .thenCancel()
+                .verify();
+
+        awaitNoSpooledFiles();
+    }
+
+    @Test
+    void 저장소로_옮기는_도중_취소되어도_임시_파일을_지운다() throws Exception {
+        StepVerifier.create(PdfSpooler.spool(Flux.just(buffer("%PDF-1.4\n")), MAX_BYTES, tempDir,
+                        spooled -> Mono.never()))
+                .thenAwait(Duration.ofMillis(200))
+                .thenCancel()
+                .verify();
+
+        awaitNoSpooledFiles();
+    }
+
+    private long uncheckedSpooledFiles() {
+        try {
+            return spooledFiles();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.smwu.matchalot.web.controller;
+
+import com.smwu.matchalot.application.service.StudyMaterialService;
+import com.smwu.matchalot.application.service.StudyMaterialService.NewStudyMaterial;
+import com.smwu.matchalot.application.service.StudyMaterialService.NewStudyMaterialResult;
+import com.smwu.matchalot.application.service.UserService;
+import com.smwu.matchalot.domain.model.entity.StudyMaterial;
+import com.smwu.matchalot.domain.model.entity.User;
+import com.smwu.matchalot.domain.model.vo.*;
+import com.smwu.matchalot.web.dto.QuestionRequest;
+import com.smwu.matchalot.web.dto.StudyMaterialBulkUploadRequest;
+import com.smwu.matchalot.web.dto.StudyMaterialBulkUploadResponse;
+import com.smwu.matchalot.web.dto.StudyMaterialUploadRequest;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudyMaterialBulkUploadTest {
+
+    private static final String EMAIL = "user@sookmyung.ac.kr";
+    private static final UserId USER_ID = UserId.of(1L);
+    private static final OAuth2User LOGIN = new DefaultOAuth2User(List.of(), Map.of("email", EMAIL), "email");
+
+    @Mock
+    private StudyMaterialService studyMaterialService;
+    @Mock
+    private UserService userService;
+
+    private StudyMaterialController controller;
+
+    @BeforeEach
+    void setUp() {
+        // 일괄 업로드가 쓰는 의존성만 넣음
+        controller = new StudyMaterialController(studyMaterialService, null, null, null, null, null, null,
+                userService, null, null, null, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    private static StudyMaterialUploadRequest item(String title) {
+        return new StudyMaterialUploadRequest(Subject.COMPUTER_NETWORK_1.name(), ExamType.MIDTERM.type(), 2025,
+                Semester.SPRING, title, List.of(new QuestionRequest(1, "문제", "정답", null)), null);
+    }
+
+    private static StudyMaterial saved(long id, String title) {
+        return new StudyMaterial(StudyMaterialId.of(id), USER_ID, title, Subject.COMPUTER_NETWORK_1, ExamType.MIDTERM,
+                Semester.of(2025, Semester.SPRING), new Questions(List.of(new Question(1, "문제", "정답", null))),
+                MaterialStatus.PENDING, LocalDateTime.now(), null);
+    }
+
+    private void givenUser() {
+        when(userService.getUserByEmail(Email.of(EMAIL))).thenReturn(Mono.just(
+                new User(USER_ID, Email.of(EMAIL), "눈송이", TrustScore.DEFAULT, UserRole.MEMBER, LocalDateTime.now())));
+    }
+
+    private StudyMaterialBulkUploadResponse upload(StudyMaterialUploadRequest... items) {
+        ResponseEntity<StudyMaterialBulkUploadResponse> response = controller.uploadStudyMaterials(
+                new StudyMaterialBulkUploadRequest(List.of(items)), LOGIN).block();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void 항목별_결과를_요청_순서대로_돌려준다() {
+        givenUser();
+        ArgumentCaptor<List<NewStudyMaterial>> validItems = ArgumentCaptor.forClass(List.class);
+        when(studyMaterialService.uploadStudyMaterials(eq(USER_ID), validItems.capture())).thenReturn(Mono.just(List.of(
+                new NewStudyMaterialResult(saved(10L, "네트워크 중간 족보"), null),
+                new NewStudyMaterialResult(null, "등록되지 않은 과목입니다"))));
+
+        StudyMaterialBulkUploadResponse body = upload(item("네트워크 중간 족보"), item("짧음"), item("철학 기말 족보"));
+
+        assertThat(validItems.getValue()).extracting(NewStudyMaterial::title)
+                .containsExactly("네트워크 중간 족보", "철학 기말 족보");
+        assertThat(body.requested()).isEqualTo(3);
+        assertThat(body.created()).isEqualTo(1);
+        assertThat(body.failed()).isEqualTo(2);
+        assertThat(body.results()).extracting(StudyMaterialBulkUploadResponse.ItemResult::index)
+                .containsExactly(0, 1, 2);
+        assertThat(body.results()).extracting(StudyMaterialBulkUploadResponse.ItemResult::status)
+                .containsExactly("CREATED", "INVALID", "INVALID");
+        assertThat(body.results().get(0).id()).isEqualTo(10L);
+        assertThat(body.results().get(2).error()).isEqualTo("등록되지 않은 과목입니다");
+    }
+
+    @Test
+    void 저장된_항목이_없어도_200과_항목별_결과를_돌려준다() {
+        givenUser();
+        when(studyMaterialService.uploadStudyMaterials(eq(USER_ID), anyList())).thenReturn(Mono.just(List.of()));
+
+        StudyMaterialBulkUploadResponse body = upload(item("짧음"), item(""));
+
+        assertThat(body.created()).isZero();
+        assertThat(body.failed()).isEqualTo(2);
+        assertThat(body.results()).allSatisfy(result -> {
+            assertThat(result.status()).isEqualTo("INVALID");
+            assertThat(result.error()).isNotBlank();
+        });
+    }
+
+    @Test
+    void 로그인하지_않으면_401() {
+        ResponseEntity<StudyMaterialBulkUploadResponse> response = controller.uploadStudyMaterials(
+                new StudyMaterialBulkUploadRequest(List.of(item("네트워크 중간 족보"))), null).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(studyMaterialService, userService);
+    }
+}